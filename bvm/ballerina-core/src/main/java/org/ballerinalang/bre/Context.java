@@ -55,8 +55,10 @@ public class Context {
     public ProgramFile programFile;
     // TODO : Temporary solution to make non-blocking working.
     public NonBlockingContext nonBlockingContext;
-    // TODO : Fix this. Added this for fork-join. Issue #3718.
-    public boolean blockingInvocation;
+
+    private volatile boolean cancelled;
+    // Releases the context from whatever it is waiting on when it is cancelled, see onCancel()
+    private Runnable cancelHandler;
 
     @Deprecated
     public Context() {
@@ -187,6 +189,61 @@ public class Context {
         return workerCounter.await(timeout);
     }
 
+    /**
+     * Cancel the execution of this context. Cancellation is cooperative: the VM stops executing a cancelled context
+     * at its next branch or after its next native function call, and a context which waits for a worker receive or
+     * in {@link #awaitCancellation(long)} is woken up.
+     */
+    public void cancel() {
+        Runnable handler;
+        synchronized (this) {
+            this.cancelled = true;
+            handler = cancelHandler;
+            cancelHandler = null;
+            notifyAll();
+        }
+        if (handler != null) {
+            handler.run();
+        }
+    }
+
+    /**
+     * Set the handler which releases this context from what it is waiting on, if it is cancelled. The handler is
+     * run right away if the context is already cancelled.
+     *
+     * @param handler handler to run when the context is cancelled
+     */
+    public void onCancel(Runnable handler) {
+        synchronized (this) {
+            if (!cancelled) {
+                cancelHandler = handler;
+                return;
+            }
+        }
+        handler.run();
+    }
+
+    /**
+     * Wait until this context is cancelled, or the given time has passed.
+     *
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @return {@code true} if the context was cancelled
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized boolean awaitCancellation(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (!cancelled && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return cancelled;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     /**
      * Mark this context is associated with a resource.
      */
@@ -67,12 +67,13 @@ import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.LockableStructureType;
+import org.ballerinalang.model.values.SharedValues;
 import org.ballerinalang.model.values.StructureType;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.TransactionStatus;
 import org.ballerinalang.util.codegen.ActionInfo;
-import org.ballerinalang.util.codegen.AttachedFunctionInfo;
+import org.ballerinalang.util.codegen.CallSiteCache;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.ConnectorInfo;
 import org.ballerinalang.util.codegen.ErrorTableEntry;
@@ -120,19 +121,11 @@ import org.slf4j.LoggerFactory;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.io.PrintStream;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.ballerinalang.util.BLangConstants.STRING_NULL_VALUE;
 
@@ -152,12 +145,26 @@ public class BLangVM {
     // Instruction pointer;
     private int ip = 0;
     private Instruction[] code;
+    // Opcodes and operands of the current package laid out inline, see PackageInfo#getCodeStream().
+    private int[] codeStream;
+    private int[] codeOffsets;
 
     private LockableStructureType globalMemBlock;
 
+    // Stack frames are not reused while debugging, since the debugger keeps references to them.
+    private boolean framePoolEnabled;
+
+    // Set when the current context gave up this thread to wait for data from another worker. The context is then
+    // resumed by the sending worker, possibly before this VM returns from run().
+    private boolean suspendedOnWorkerReceive;
+
+    // Profiler sampling this VM, null unless profiling is enabled.
+    private BLangVMProfiler profiler;
+
     public BLangVM(ProgramFile programFile) {
         this.programFile = programFile;
         this.globalMemBlock = programFile.getGlobalMemoryBlock();
+        this.framePoolEnabled = !programFile.getDebugger().isDebugEnabled();
     }
 
     private void traceCode(PackageInfo packageInfo) {
@@ -171,11 +178,18 @@ public class BLangVM {
         StackFrame currentFrame = ctx.getControlStack().getCurrentFrame();
         this.constPool = currentFrame.packageInfo.getConstPoolEntries();
         this.code = currentFrame.packageInfo.getInstructions();
+        this.codeStream = currentFrame.packageInfo.getCodeStream();
+        this.codeOffsets = currentFrame.packageInfo.getCodeOffsets();
 
         this.context = ctx;
         this.controlStack = context.getControlStack();
         this.ip = context.getStartIP();
 
+        this.profiler = BLangVMProfiler.current();
+        if (profiler != null) {
+            profiler.vmStarted(this);
+        }
+
         if (context.getError() != null) {
             handleError();
         } else if (isWaitingOnNonBlockingAction()) {
@@ -184,11 +198,18 @@ public class BLangVM {
             StackFrame calleeSF = controlStack.popFrame();
             this.constPool = controlStack.currentFrame.packageInfo.getConstPoolEntries();
             this.code = controlStack.currentFrame.packageInfo.getInstructions();
+            this.codeStream = controlStack.currentFrame.packageInfo.getCodeStream();
+            this.codeOffsets = controlStack.currentFrame.packageInfo.getCodeOffsets();
             handleReturnFromNativeCallableUnit(controlStack.currentFrame, context.nonBlockingContext.retRegs,
                     calleeSF.returnValues, retTypes);
             context.nonBlockingContext = null;
         }
 
+        if (context.isCancelled()) {
+            // Resumed after being cancelled, e.g. while waiting for a worker receive, so stop right away.
+            ip = -1;
+        }
+
         try {
             exec();
         } catch (Throwable e) {
@@ -201,19 +222,37 @@ public class BLangVM {
             context.setError(BLangVMErrors.createError(context, ip, message));
             handleError();
         } finally {
+            if (profiler != null) {
+                profiler.vmStopped(this);
+                profiler = null;
+            }
             Debugger debugger = programFile.getDebugger();
             if (debugger.isDebugEnabled() && debugger.isClientSessionActive() && context.getDebugContext().isAtive()) {
                 context.getDebugContext().setActive(false);
                 debugger.releaseDebugSessionLock();
             }
-            if (!isWaitingOnNonBlockingAction() || context.getError() != null) {
+            if (suspendedOnWorkerReceive) {
+                // The context now belongs to the thread which resumes it, hence it must not be accessed here.
+                suspendedOnWorkerReceive = false;
+            } else if (!isWaitingOnNonBlockingAction() || context.getError() != null) {
                 // end of the active worker from the VM. ( graceful or forced exit on unhandled error. )
                 // Doesn't count non-blocking action invocation.
                 ctx.endTrackWorker();
+                if (ctx instanceof WorkerContext && ((WorkerContext) ctx).completionListener != null) {
+                    ((WorkerContext) ctx).completionListener.run();
+                }
             }
         }
     }
 
+    StackFrame getCurrentFrame() {
+        return controlStack == null ? null : controlStack.currentFrame;
+    }
+
+    int getCurrentIP() {
+        return ip;
+    }
+
     public void execWorker(Context context, int startIP) {
         context.setStartIP(startIP);
         Debugger debugger = programFile.getDebugger();
@@ -246,86 +285,86 @@ public class BLangVM {
             if (debugEnabled) {
                 debug();
             }
-            Instruction instruction = code[ip];
-            int opcode = instruction.getOpcode();
-            int[] operands = instruction.getOperands();
+            int[] operands = codeStream;
+            int base = codeOffsets[ip];
+            int opcode = operands[base++];
             ip++;
             StackFrame sf = controlStack.currentFrame;
 
             switch (opcode) {
                 case InstructionCodes.ICONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
+                    cpIndex = operands[base];
+                    i = operands[base + 1];
                     sf.longRegs[i] = ((IntegerCPEntry) constPool[cpIndex]).getValue();
                     break;
                 case InstructionCodes.FCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
+                    cpIndex = operands[base];
+                    i = operands[base + 1];
                     sf.doubleRegs[i] = ((FloatCPEntry) constPool[cpIndex]).getValue();
                     break;
                 case InstructionCodes.SCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
+                    cpIndex = operands[base];
+                    i = operands[base + 1];
                     sf.stringRegs[i] = ((StringCPEntry) constPool[cpIndex]).getValue();
                     break;
                 case InstructionCodes.ICONST_0:
-                    i = operands[0];
+                    i = operands[base];
                     sf.longRegs[i] = 0;
                     break;
                 case InstructionCodes.ICONST_1:
-                    i = operands[0];
+                    i = operands[base];
                     sf.longRegs[i] = 1;
                     break;
                 case InstructionCodes.ICONST_2:
-                    i = operands[0];
+                    i = operands[base];
                     sf.longRegs[i] = 2;
                     break;
                 case InstructionCodes.ICONST_3:
-                    i = operands[0];
+                    i = operands[base];
                     sf.longRegs[i] = 3;
                     break;
                 case InstructionCodes.ICONST_4:
-                    i = operands[0];
+                    i = operands[base];
                     sf.longRegs[i] = 4;
                     break;
                 case InstructionCodes.ICONST_5:
-                    i = operands[0];
+                    i = operands[base];
                     sf.longRegs[i] = 5;
                     break;
                 case InstructionCodes.FCONST_0:
-                    i = operands[0];
+                    i = operands[base];
                     sf.doubleRegs[i] = 0;
                     break;
                 case InstructionCodes.FCONST_1:
-                    i = operands[0];
+                    i = operands[base];
                     sf.doubleRegs[i] = 1;
                     break;
                 case InstructionCodes.FCONST_2:
-                    i = operands[0];
+                    i = operands[base];
                     sf.doubleRegs[i] = 2;
                     break;
                 case InstructionCodes.FCONST_3:
-                    i = operands[0];
+                    i = operands[base];
                     sf.doubleRegs[i] = 3;
                     break;
                 case InstructionCodes.FCONST_4:
-                    i = operands[0];
+                    i = operands[base];
                     sf.doubleRegs[i] = 4;
                     break;
                 case InstructionCodes.FCONST_5:
-                    i = operands[0];
+                    i = operands[base];
                     sf.doubleRegs[i] = 5;
                     break;
                 case InstructionCodes.BCONST_0:
-                    i = operands[0];
+                    i = operands[base];
                     sf.intRegs[i] = 0;
                     break;
                 case InstructionCodes.BCONST_1:
-                    i = operands[0];
+                    i = operands[base];
                     sf.intRegs[i] = 1;
                     break;
                 case InstructionCodes.RCONST_NULL:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = null;
                     break;
 
@@ -357,7 +396,7 @@ public class BLangVM {
                 case InstructionCodes.MAPLOAD:
                 case InstructionCodes.JSONLOAD:
                 case InstructionCodes.ENUMERATORLOAD:
-                    execLoadOpcodes(sf, opcode, operands);
+                    execLoadOpcodes(sf, opcode, operands, base);
                     break;
 
                 case InstructionCodes.ISTORE:
@@ -387,10 +426,11 @@ public class BLangVM {
                 case InstructionCodes.RFIELDSTORE:
                 case InstructionCodes.MAPSTORE:
                 case InstructionCodes.JSONSTORE:
-                    execStoreOpcodes(sf, opcode, operands);
+                    execStoreOpcodes(sf, opcode, operands, base);
                     break;
 
                 case InstructionCodes.IADD:
+                case InstructionCodes.IADD_IMM:
                 case InstructionCodes.FADD:
                 case InstructionCodes.SADD:
                 case InstructionCodes.XMLADD:
@@ -417,21 +457,21 @@ public class BLangVM {
                 case InstructionCodes.BNE:
                 case InstructionCodes.RNE:
                 case InstructionCodes.TNE:
-                    execBinaryOpCodes(sf, opcode, operands);
+                    execBinaryOpCodes(sf, opcode, operands, base);
                     break;
 
                 case InstructionCodes.LENGTHOF:
-                    calculateLength(operands, sf);
+                    calculateLength(operands, base, sf);
                     break;
                 case InstructionCodes.TYPELOAD:
-                    cpIndex = operands[0];
-                    j = operands[1];
+                    cpIndex = operands[base];
+                    j = operands[base + 1];
                     TypeRefCPEntry typeEntry = (TypeRefCPEntry) constPool[cpIndex];
                     sf.refRegs[j] = new BTypeValue(typeEntry.getType());
                     break;
                 case InstructionCodes.TYPEOF:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     if (sf.refRegs[i] == null) {
                         handleNullRefError();
                         break;
@@ -451,54 +491,59 @@ public class BLangVM {
                 case InstructionCodes.RNE_NULL:
                 case InstructionCodes.BR_TRUE:
                 case InstructionCodes.BR_FALSE:
+                case InstructionCodes.BR_IEQ:
+                case InstructionCodes.BR_INE:
+                case InstructionCodes.BR_IGT:
+                case InstructionCodes.BR_IGE:
+                case InstructionCodes.BR_ILT:
+                case InstructionCodes.BR_ILE:
                 case InstructionCodes.GOTO:
                 case InstructionCodes.HALT:
                 case InstructionCodes.SEQ_NULL:
                 case InstructionCodes.SNE_NULL:
-                    execCmpAndBranchOpcodes(sf, opcode, operands);
+                    execCmpAndBranchOpcodes(sf, opcode, operands, base);
                     break;
 
                 case InstructionCodes.TR_RETRY:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     retryTransaction(i, j);
                     break;
                 case InstructionCodes.CALL:
-                    callIns = (InstructionCALL) instruction;
+                    callIns = (InstructionCALL) code[ip - 1];
                     invokeCallableUnit(callIns.functionInfo, callIns.argRegs, callIns.retRegs);
                     break;
                 case InstructionCodes.VCALL:
-                    InstructionVCALL vcallIns = (InstructionVCALL) instruction;
-                    invokeVirtualFunction(vcallIns.receiverRegIndex, vcallIns.functionInfo,
-                            vcallIns.argRegs, vcallIns.retRegs);
+                    InstructionVCALL vcallIns = (InstructionVCALL) code[ip - 1];
+                    invokeVirtualFunction(vcallIns);
                     break;
                 case InstructionCodes.ACALL:
-                    InstructionACALL acallIns = (InstructionACALL) instruction;
-                    invokeAction(acallIns.actionName, acallIns.argRegs, acallIns.retRegs);
+                    InstructionACALL acallIns = (InstructionACALL) code[ip - 1];
+                    invokeAction(acallIns);
                     break;
                 case InstructionCodes.TCALL:
-                    InstructionTCALL tcallIns = (InstructionTCALL) instruction;
+                    InstructionTCALL tcallIns = (InstructionTCALL) code[ip - 1];
                     invokeCallableUnit(tcallIns.transformerInfo, tcallIns.argRegs, tcallIns.retRegs);
                     break;
                 case InstructionCodes.TR_BEGIN:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     beginTransaction(i, j);
                     break;
                 case InstructionCodes.TR_END:
-                    i = operands[0];
+                    i = operands[base];
                     endTransaction(i);
                     break;
                 case InstructionCodes.WRKSEND:
-                    InstructionWRKSendReceive wrkSendIns = (InstructionWRKSendReceive) instruction;
+                    InstructionWRKSendReceive wrkSendIns = (InstructionWRKSendReceive) code[ip - 1];
                     handleWorkerSend(wrkSendIns.dataChannelInfo, wrkSendIns.types, wrkSendIns.regs);
                     break;
                 case InstructionCodes.WRKRECEIVE:
-                    InstructionWRKSendReceive wrkReceiveIns = (InstructionWRKSendReceive) instruction;
+                    InstructionWRKSendReceive wrkReceiveIns = (InstructionWRKSendReceive) code[ip - 1];
                     handleWorkerReceive(wrkReceiveIns.dataChannelInfo, wrkReceiveIns.types, wrkReceiveIns.regs);
                     break;
                 case InstructionCodes.FORKJOIN:
-                    InstructionFORKJOIN forkJoinIns = (InstructionFORKJOIN) instruction;
+                    InstructionFORKJOIN forkJoinIns = (InstructionFORKJOIN) code[ip - 1];
                     invokeForkJoin(forkJoinIns);
                     break;
                 case InstructionCodes.WRKSTART:
@@ -508,7 +553,7 @@ public class BLangVM {
                     handleWorkerReturn();
                     break;
                 case InstructionCodes.THROW:
-                    i = operands[0];
+                    i = operands[base];
                     if (i >= 0) {
                         BStruct error = (BStruct) sf.refRegs[i];
                         if (error == null) {
@@ -522,18 +567,18 @@ public class BLangVM {
                     handleError();
                     break;
                 case InstructionCodes.ERRSTORE:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = context.getError();
                     // clear error.
                     context.setError(null);
                     break;
                 case InstructionCodes.FPCALL:
-                    i = operands[0];
+                    i = operands[base];
                     if (sf.refRegs[i] == null) {
                         handleNullRefError();
                         break;
                     }
-                    cpIndex = operands[1];
+                    cpIndex = operands[base + 1];
                     funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
                     funcRefCPEntry = ((BFunctionPointer) sf.refRegs[i]).value();
                     functionInfo = funcRefCPEntry.getFunctionInfo();
@@ -544,8 +589,8 @@ public class BLangVM {
                     }
                     break;
                 case InstructionCodes.FPLOAD:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     funcRefCPEntry = (FunctionRefCPEntry) constPool[i];
                     sf.refRegs[j] = new BFunctionPointer(funcRefCPEntry);
                     break;
@@ -575,7 +620,7 @@ public class BLangVM {
                 case InstructionCodes.JSON2S:
                 case InstructionCodes.JSON2B:
                 case InstructionCodes.NULL2S:
-                    execTypeCastOpcodes(sf, opcode, operands);
+                    execTypeCastOpcodes(sf, opcode, operands, base);
                     break;
 
                 case InstructionCodes.I2F:
@@ -603,16 +648,16 @@ public class BLangVM {
                 case InstructionCodes.S2XML:
                 case InstructionCodes.S2JSONX:
                 case InstructionCodes.XML2S:
-                    execTypeConversionOpcodes(sf, opcode, operands);
+                    execTypeConversionOpcodes(sf, opcode, operands, base);
                     break;
 
                 case InstructionCodes.INEWARRAY:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BIntArray();
                     break;
                 case InstructionCodes.ARRAYLEN:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
 
                     BValue value = sf.refRegs[i];
 
@@ -622,37 +667,37 @@ public class BLangVM {
                     }
 
                     if (value.getType().getTag() == TypeTags.JSON_TAG) {
-                        sf.longRegs[j] = ((BJSON) value).value().size();
+                        sf.longRegs[j] = JSONUtils.getJSONArrayLength((BJSON) value);
                         break;
                     }
 
                     sf.longRegs[j] = ((BNewArray) value).size();
                     break;
                 case InstructionCodes.FNEWARRAY:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BFloatArray();
                     break;
                 case InstructionCodes.SNEWARRAY:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BStringArray();
                     break;
                 case InstructionCodes.BNEWARRAY:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BBooleanArray();
                     break;
                 case InstructionCodes.LNEWARRAY:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BBlobArray();
                     break;
                 case InstructionCodes.RNEWARRAY:
-                    i = operands[0];
-                    cpIndex = operands[1];
+                    i = operands[base];
+                    cpIndex = operands[base + 1];
                     typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
                     sf.refRegs[i] = new BRefValueArray(typeRefCPEntry.getType());
                     break;
                 case InstructionCodes.JSONNEWARRAY:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     // This is a temporary solution to create n-valued JSON array
                     StringJoiner stringJoiner = new StringJoiner(",", "[", "]");
                     for (int index = 0; index < sf.longRegs[j]; index++) {
@@ -662,71 +707,71 @@ public class BLangVM {
                     break;
 
                 case InstructionCodes.NEWSTRUCT:
-                    createNewStruct(operands, sf);
+                    createNewStruct(operands, base, sf);
                     break;
                 case InstructionCodes.NEWCONNECTOR:
-                    createNewConnector(operands, sf);
+                    createNewConnector(operands, base, sf);
                     break;
                 case InstructionCodes.NEWMAP:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BMap<String, BRefType>();
                     break;
                 case InstructionCodes.NEWJSON:
-                    i = operands[0];
-                    cpIndex = operands[1];
+                    i = operands[base];
+                    cpIndex = operands[base + 1];
                     typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
                     sf.refRegs[i] = new BJSON("{}", typeRefCPEntry.getType());
                     break;
                 case InstructionCodes.NEWTABLE:
-                    i = operands[0];
+                    i = operands[base];
                     sf.refRegs[i] = new BTable(null);
                     break;
                 case InstructionCodes.NEW_INT_RANGE:
-                    createNewIntRange(operands, sf);
+                    createNewIntRange(operands, base, sf);
                     break;
                 case InstructionCodes.IRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     currentSF = controlStack.currentFrame;
                     callersSF = controlStack.currentFrame.prevStackFrame;
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.longRegs[callersRetRegIndex] = currentSF.longRegs[j];
                     break;
                 case InstructionCodes.FRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     currentSF = controlStack.currentFrame;
                     callersSF = controlStack.currentFrame.prevStackFrame;
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.doubleRegs[callersRetRegIndex] = currentSF.doubleRegs[j];
                     break;
                 case InstructionCodes.SRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     currentSF = controlStack.currentFrame;
                     callersSF = controlStack.currentFrame.prevStackFrame;
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.stringRegs[callersRetRegIndex] = currentSF.stringRegs[j];
                     break;
                 case InstructionCodes.BRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     currentSF = controlStack.currentFrame;
                     callersSF = controlStack.currentFrame.prevStackFrame;
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.intRegs[callersRetRegIndex] = currentSF.intRegs[j];
                     break;
                 case InstructionCodes.LRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     currentSF = controlStack.currentFrame;
                     callersSF = controlStack.currentFrame.prevStackFrame;
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.byteRegs[callersRetRegIndex] = currentSF.byteRegs[j];
                     break;
                 case InstructionCodes.RRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = operands[base];
+                    j = operands[base + 1];
                     currentSF = controlStack.currentFrame;
                     callersSF = controlStack.currentFrame.prevStackFrame;
                     callersRetRegIndex = currentSF.retRegIndexes[i];
@@ -746,19 +791,19 @@ public class BLangVM {
                 case InstructionCodes.NEWXMLPI:
                 case InstructionCodes.XMLSTORE:
                 case InstructionCodes.XMLLOAD:
-                    execXMLOpcodes(sf, opcode, operands);
+                    execXMLOpcodes(sf, opcode, operands, base);
                     break;
                 case InstructionCodes.ITR_NEW:
                 case InstructionCodes.ITR_NEXT:
                 case InstructionCodes.ITR_HAS_NEXT:
-                    execIteratorOperation(sf, instruction);
+                    execIteratorOperation(sf, opcode, operands, base);
                     break;
                 case InstructionCodes.LOCK:
-                    InstructionLock instructionLock = (InstructionLock) instruction;
+                    InstructionLock instructionLock = (InstructionLock) code[ip - 1];
                     handleVariableLock(instructionLock.types, instructionLock.varRegs);
                     break;
                 case InstructionCodes.UNLOCK:
-                    InstructionLock instructionUnLock = (InstructionLock) instruction;
+                    InstructionLock instructionUnLock = (InstructionLock) code[ip - 1];
                     handleVariableUnlock(instructionUnLock.types, instructionUnLock.varRegs);
                     break;
                 default:
@@ -767,66 +812,66 @@ public class BLangVM {
         }
     }
 
-    private void execCmpAndBranchOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execCmpAndBranchOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
         switch (opcode) {
             case InstructionCodes.IGT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FGT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.IGE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FGE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.ILT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FLT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.ILE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FLE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.REQ_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 if (sf.refRegs[i] == null) {
                     sf.intRegs[j] = 1;
                 } else {
@@ -834,8 +879,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RNE_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 if (sf.refRegs[i] != null) {
                     sf.intRegs[j] = 1;
                 } else {
@@ -843,8 +888,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SEQ_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 if (sf.stringRegs[i] == null) {
                     sf.intRegs[j] = 1;
                 } else {
@@ -852,8 +897,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SNE_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 if (sf.stringRegs[i] != null) {
                     sf.intRegs[j] = 1;
                 } else {
@@ -861,22 +906,71 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BR_TRUE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 if (sf.intRegs[i] == 1) {
                     ip = j;
                 }
                 break;
             case InstructionCodes.BR_FALSE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 if (sf.intRegs[i] == 0) {
                     ip = j;
                 }
                 break;
+            case InstructionCodes.BR_IEQ:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                if (sf.longRegs[i] == sf.longRegs[j]) {
+                    ip = k;
+                }
+                break;
+            case InstructionCodes.BR_INE:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                if (sf.longRegs[i] != sf.longRegs[j]) {
+                    ip = k;
+                }
+                break;
+            case InstructionCodes.BR_IGT:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                if (sf.longRegs[i] > sf.longRegs[j]) {
+                    ip = k;
+                }
+                break;
+            case InstructionCodes.BR_IGE:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                if (sf.longRegs[i] >= sf.longRegs[j]) {
+                    ip = k;
+                }
+                break;
+            case InstructionCodes.BR_ILT:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                if (sf.longRegs[i] < sf.longRegs[j]) {
+                    ip = k;
+                }
+                break;
+            case InstructionCodes.BR_ILE:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                if (sf.longRegs[i] <= sf.longRegs[j]) {
+                    ip = k;
+                }
+                break;
             case InstructionCodes.GOTO:
-                i = operands[0];
-                ip = i;
+                i = operands[base];
+                // Loops branch back through GOTO, hence a cancelled worker is stopped here.
+                ip = context.isCancelled() ? -1 : i;
                 break;
             case InstructionCodes.HALT:
                 ip = -1;
@@ -886,7 +980,7 @@ public class BLangVM {
         }
     }
 
-    private void execLoadOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execLoadOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
@@ -904,39 +998,39 @@ public class BLangVM {
         BJSON jsonVal;
         switch (opcode) {
             case InstructionCodes.IMOVE:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = operands[base];
+                i = operands[base + 1];
                 sf.longRegs[i] = sf.longRegs[lvIndex];
                 break;
             case InstructionCodes.FMOVE:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = operands[base];
+                i = operands[base + 1];
                 sf.doubleRegs[i] = sf.doubleRegs[lvIndex];
                 break;
             case InstructionCodes.SMOVE:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = operands[base];
+                i = operands[base + 1];
                 sf.stringRegs[i] = sf.stringRegs[lvIndex];
                 break;
             case InstructionCodes.BMOVE:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = operands[base];
+                i = operands[base + 1];
                 sf.intRegs[i] = sf.intRegs[lvIndex];
                 break;
             case InstructionCodes.LMOVE:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = operands[base];
+                i = operands[base + 1];
                 sf.byteRegs[i] = sf.byteRegs[lvIndex];
                 break;
             case InstructionCodes.RMOVE:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = operands[base];
+                i = operands[base + 1];
                 sf.refRegs[i] = sf.refRegs[lvIndex];
                 break;
             case InstructionCodes.IALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bIntArray = (BIntArray) sf.refRegs[i];
                 if (bIntArray == null) {
                     handleNullRefError();
@@ -951,9 +1045,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.FALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bFloatArray = (BFloatArray) sf.refRegs[i];
                 if (bFloatArray == null) {
                     handleNullRefError();
@@ -968,9 +1062,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bStringArray = (BStringArray) sf.refRegs[i];
                 if (bStringArray == null) {
                     handleNullRefError();
@@ -985,9 +1079,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bBooleanArray = (BBooleanArray) sf.refRegs[i];
                 if (bBooleanArray == null) {
                     handleNullRefError();
@@ -1002,9 +1096,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.LALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bBlobArray = (BBlobArray) sf.refRegs[i];
                 if (bBlobArray == null) {
                     handleNullRefError();
@@ -1019,9 +1113,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bArray = (BRefValueArray) sf.refRegs[i];
                 if (bArray == null) {
                     handleNullRefError();
@@ -1036,9 +1130,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSONALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1054,41 +1148,41 @@ public class BLangVM {
                 break;
             case InstructionCodes.IGLOAD:
                 // Global variable index
-                i = operands[0];
+                i = operands[base];
                 // Stack registry index
-                j = operands[1];
+                j = operands[base + 1];
                 sf.longRegs[j] = globalMemBlock.getIntField(i);
                 break;
             case InstructionCodes.FGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.doubleRegs[j] = globalMemBlock.getFloatField(i);
                 break;
             case InstructionCodes.SGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.stringRegs[j] = globalMemBlock.getStringField(i);
                 break;
             case InstructionCodes.BGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.intRegs[j] = globalMemBlock.getBooleanField(i);
                 break;
             case InstructionCodes.LGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.byteRegs[j] = globalMemBlock.getBlobField(i);
                 break;
             case InstructionCodes.RGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = globalMemBlock.getRefField(i);
                 break;
 
             case InstructionCodes.IFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1098,9 +1192,9 @@ public class BLangVM {
                 sf.longRegs[j] = structureType.getIntField(fieldIndex);
                 break;
             case InstructionCodes.FFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1110,9 +1204,9 @@ public class BLangVM {
                 sf.doubleRegs[j] = structureType.getFloatField(fieldIndex);
                 break;
             case InstructionCodes.SFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1122,9 +1216,9 @@ public class BLangVM {
                 sf.stringRegs[j] = structureType.getStringField(fieldIndex);
                 break;
             case InstructionCodes.BFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1134,9 +1228,9 @@ public class BLangVM {
                 sf.intRegs[j] = structureType.getBooleanField(fieldIndex);
                 break;
             case InstructionCodes.LFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1146,9 +1240,9 @@ public class BLangVM {
                 sf.byteRegs[j] = structureType.getBlobField(fieldIndex);
                 break;
             case InstructionCodes.RFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1159,9 +1253,9 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.MAPLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bMap = (BMap<String, BRefType>) sf.refRegs[i];
                 if (bMap == null) {
                     handleNullRefError();
@@ -1172,9 +1266,9 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.JSONLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1184,9 +1278,9 @@ public class BLangVM {
                 sf.refRegs[k] = JSONUtils.getElement(jsonVal, sf.stringRegs[j]);
                 break;
             case InstructionCodes.ENUMERATORLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[i];
                 BEnumType enumType = (BEnumType) typeRefCPEntry.getType();
                 sf.refRegs[k] = enumType.getEnumerator(j);
@@ -1196,7 +1290,7 @@ public class BLangVM {
         }
     }
 
-    private void execStoreOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execStoreOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
@@ -1214,39 +1308,39 @@ public class BLangVM {
         BJSON jsonVal;
         switch (opcode) {
             case InstructionCodes.ISTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = operands[base];
+                lvIndex = operands[base + 1];
                 sf.longRegs[lvIndex] = sf.longRegs[i];
                 break;
             case InstructionCodes.FSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = operands[base];
+                lvIndex = operands[base + 1];
                 sf.doubleRegs[lvIndex] = sf.doubleRegs[i];
                 break;
             case InstructionCodes.SSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = operands[base];
+                lvIndex = operands[base + 1];
                 sf.stringRegs[lvIndex] = sf.stringRegs[i];
                 break;
             case InstructionCodes.BSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = operands[base];
+                lvIndex = operands[base + 1];
                 sf.intRegs[lvIndex] = sf.intRegs[i];
                 break;
             case InstructionCodes.LSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = operands[base];
+                lvIndex = operands[base + 1];
                 sf.byteRegs[lvIndex] = sf.byteRegs[i];
                 break;
             case InstructionCodes.RSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = operands[base];
+                lvIndex = operands[base + 1];
                 sf.refRegs[lvIndex] = sf.refRegs[i];
                 break;
             case InstructionCodes.IASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bIntArray = (BIntArray) sf.refRegs[i];
                 if (bIntArray == null) {
                     handleNullRefError();
@@ -1261,9 +1355,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.FASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bFloatArray = (BFloatArray) sf.refRegs[i];
                 if (bFloatArray == null) {
                     handleNullRefError();
@@ -1278,9 +1372,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bStringArray = (BStringArray) sf.refRegs[i];
                 if (bStringArray == null) {
                     handleNullRefError();
@@ -1295,9 +1389,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bBooleanArray = (BBooleanArray) sf.refRegs[i];
                 if (bBooleanArray == null) {
                     handleNullRefError();
@@ -1312,9 +1406,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.LASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bBlobArray = (BBlobArray) sf.refRegs[i];
                 if (bBlobArray == null) {
                     handleNullRefError();
@@ -1329,9 +1423,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bArray = (BRefValueArray) sf.refRegs[i];
                 if (bArray == null) {
                     handleNullRefError();
@@ -1346,9 +1440,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSONASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1364,41 +1458,42 @@ public class BLangVM {
                 break;
             case InstructionCodes.IGSTORE:
                 // Stack reg index
-                i = operands[0];
+                i = operands[base];
                 // Global var index
-                j = operands[1];
+                j = operands[base + 1];
                 globalMemBlock.setIntField(j, sf.longRegs[i]);
                 break;
             case InstructionCodes.FGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 globalMemBlock.setFloatField(j, sf.doubleRegs[i]);
                 break;
             case InstructionCodes.SGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 globalMemBlock.setStringField(j, sf.stringRegs[i]);
                 break;
             case InstructionCodes.BGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 globalMemBlock.setBooleanField(j, sf.intRegs[i]);
                 break;
             case InstructionCodes.LGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 globalMemBlock.setBlobField(j, sf.byteRegs[i]);
                 break;
             case InstructionCodes.RGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
+                SharedValues.markShared(sf.refRegs[i]);
                 globalMemBlock.setRefField(j, sf.refRegs[i]);
                 break;
 
             case InstructionCodes.IFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1408,9 +1503,9 @@ public class BLangVM {
                 structureType.setIntField(fieldIndex, sf.longRegs[j]);
                 break;
             case InstructionCodes.FFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1420,9 +1515,9 @@ public class BLangVM {
                 structureType.setFloatField(fieldIndex, sf.doubleRegs[j]);
                 break;
             case InstructionCodes.SFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1432,9 +1527,9 @@ public class BLangVM {
                 structureType.setStringField(fieldIndex, sf.stringRegs[j]);
                 break;
             case InstructionCodes.BFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1444,9 +1539,9 @@ public class BLangVM {
                 structureType.setBooleanField(fieldIndex, sf.intRegs[j]);
                 break;
             case InstructionCodes.LFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1456,9 +1551,9 @@ public class BLangVM {
                 structureType.setBlobField(fieldIndex, sf.byteRegs[j]);
                 break;
             case InstructionCodes.RFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = operands[base];
+                fieldIndex = operands[base + 1];
+                j = operands[base + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1470,9 +1565,9 @@ public class BLangVM {
 
 
             case InstructionCodes.MAPSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 bMap = (BMap<String, BRefType>) sf.refRegs[i];
                 if (bMap == null) {
                     handleNullRefError();
@@ -1484,9 +1579,9 @@ public class BLangVM {
 
 
             case InstructionCodes.JSONSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1499,33 +1594,39 @@ public class BLangVM {
         }
     }
 
-    private void execBinaryOpCodes(StackFrame sf, int opcode, int[] operands) {
+    private void execBinaryOpCodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
         switch (opcode) {
             case InstructionCodes.IADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
                 break;
+            case InstructionCodes.IADD_IMM:
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                sf.longRegs[k] = sf.longRegs[i] + j;
+                break;
             case InstructionCodes.FADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] + sf.doubleRegs[j];
                 break;
             case InstructionCodes.SADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
                 break;
             case InstructionCodes.XMLADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 BXML lhsXMLVal = (BXML) sf.refRegs[i];
                 BXML rhsXMLVal = (BXML) sf.refRegs[j];
                 if (lhsXMLVal == null || rhsXMLVal == null) {
@@ -1537,33 +1638,33 @@ public class BLangVM {
                 sf.refRegs[k] = XMLUtils.concatenate(lhsXMLVal, rhsXMLVal);
                 break;
             case InstructionCodes.ISUB:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
                 break;
             case InstructionCodes.FSUB:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] - sf.doubleRegs[j];
                 break;
             case InstructionCodes.IMUL:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
                 break;
             case InstructionCodes.FMUL:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] * sf.doubleRegs[j];
                 break;
             case InstructionCodes.IDIV:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 if (sf.longRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1573,9 +1674,9 @@ public class BLangVM {
                 sf.longRegs[k] = sf.longRegs[i] / sf.longRegs[j];
                 break;
             case InstructionCodes.FDIV:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 if (sf.doubleRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1585,9 +1686,9 @@ public class BLangVM {
                 sf.doubleRegs[k] = sf.doubleRegs[i] / sf.doubleRegs[j];
                 break;
             case InstructionCodes.IMOD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 if (sf.longRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1597,9 +1698,9 @@ public class BLangVM {
                 sf.longRegs[k] = sf.longRegs[i] % sf.longRegs[j];
                 break;
             case InstructionCodes.FMOD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 if (sf.doubleRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1609,54 +1710,54 @@ public class BLangVM {
                 sf.doubleRegs[k] = sf.doubleRegs[i] % sf.doubleRegs[j];
                 break;
             case InstructionCodes.INEG:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.longRegs[j] = -sf.longRegs[i];
                 break;
             case InstructionCodes.FNEG:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.doubleRegs[j] = -sf.doubleRegs[i];
                 break;
             case InstructionCodes.BNOT:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.intRegs[j] = sf.intRegs[i] == 0 ? 1 : 0;
                 break;
             case InstructionCodes.IEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.SEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = StringUtils.isEqual(sf.stringRegs[i], sf.stringRegs[j]) ? 1 : 0;
                 break;
             case InstructionCodes.BEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.REQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.TEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 if (sf.refRegs[i] == null || sf.refRegs[j] == null) {
                     handleNullRefError();
                 }
@@ -1664,39 +1765,39 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.INE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.SNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = !StringUtils.isEqual(sf.stringRegs[i], sf.stringRegs[j]) ? 1 : 0;
                 break;
             case InstructionCodes.BNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.RNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.TNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 if (sf.refRegs[i] == null || sf.refRegs[j] == null) {
                     handleNullRefError();
                 }
@@ -1707,7 +1808,7 @@ public class BLangVM {
         }
     }
 
-    private void execXMLOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execXMLOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
@@ -1720,9 +1821,9 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.XMLATTRSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1740,9 +1841,9 @@ public class BLangVM {
                         sf.stringRegs[k]);
                 break;
             case InstructionCodes.XMLATTRLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1760,8 +1861,8 @@ public class BLangVM {
                         xmlQName.getPrefix());
                 break;
             case InstructionCodes.XML2XMLATTRS:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1772,9 +1873,9 @@ public class BLangVM {
                 sf.refRegs[j] = new BXMLAttributes(xmlVal);
                 break;
             case InstructionCodes.S2QNAME:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 String qNameStr = sf.stringRegs[i];
                 int parenEndIndex = qNameStr.indexOf('}');
@@ -1789,10 +1890,10 @@ public class BLangVM {
 
                 break;
             case InstructionCodes.NEWQNAME:
-                localNameIndex = operands[0];
-                uriIndex = operands[1];
-                prefixIndex = operands[2];
-                i = operands[3];
+                localNameIndex = operands[base];
+                uriIndex = operands[base + 1];
+                prefixIndex = operands[base + 2];
+                i = operands[base + 3];
 
                 String localname = sf.stringRegs[localNameIndex];
                 localname = StringEscapeUtils.escapeXml11(localname);
@@ -1803,9 +1904,9 @@ public class BLangVM {
                 sf.refRegs[i] = new BXMLQName(localname, sf.stringRegs[uriIndex], prefix);
                 break;
             case InstructionCodes.XMLLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1821,14 +1922,14 @@ public class BLangVM {
             case InstructionCodes.NEWXMLTEXT:
             case InstructionCodes.NEWXMLPI:
             case InstructionCodes.XMLSTORE:
-                execXMLCreationOpcodes(sf, opcode, operands);
+                execXMLCreationOpcodes(sf, opcode, operands, base);
                 break;
             default:
                 throw new UnsupportedOperationException();
         }
     }
 
-    private void execTypeCastOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execTypeCastOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
@@ -1839,34 +1940,34 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.I2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BInteger(sf.longRegs[i]);
                 break;
             case InstructionCodes.F2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BFloat(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.S2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BString(sf.stringRegs[i]);
                 break;
             case InstructionCodes.B2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BBoolean(sf.intRegs[i] == 1);
                 break;
             case InstructionCodes.L2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BBlob(sf.byteRegs[i]);
                 break;
             case InstructionCodes.ANY2I:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1881,9 +1982,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2F:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1898,9 +1999,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2S:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1915,9 +2016,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2B:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1932,9 +2033,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2L:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1949,28 +2050,28 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2JSON:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeJSON);
+                handleAnyToRefTypeCast(sf, operands, base, BTypes.typeJSON);
                 break;
             case InstructionCodes.ANY2XML:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeXML);
+                handleAnyToRefTypeCast(sf, operands, base, BTypes.typeXML);
                 break;
             case InstructionCodes.ANY2MAP:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeMap);
+                handleAnyToRefTypeCast(sf, operands, base, BTypes.typeMap);
                 break;
             case InstructionCodes.ANY2TYPE:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeType);
+                handleAnyToRefTypeCast(sf, operands, base, BTypes.typeType);
                 break;
             case InstructionCodes.ANY2DT:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeTable);
+                handleAnyToRefTypeCast(sf, operands, base, BTypes.typeTable);
                 break;
             case InstructionCodes.ANY2E:
             case InstructionCodes.ANY2T:
             case InstructionCodes.ANY2C:
             case InstructionCodes.CHECKCAST:
-                i = operands[0];
-                cpIndex = operands[1];
-                j = operands[2];
-                k = operands[3];
+                i = operands[base];
+                cpIndex = operands[base + 1];
+                j = operands[base + 2];
+                k = operands[base + 3];
                 typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
 
                 bRefType = sf.refRegs[i];
@@ -1987,28 +2088,28 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NULL2JSON:
-                j = operands[1];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BJSON("null");
                 break;
             case InstructionCodes.B2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BJSON(sf.intRegs[i] == 1 ? "true" : "false");
                 break;
             case InstructionCodes.JSON2I:
-                castJSONToInt(operands, sf);
+                castJSONToInt(operands, base, sf);
                 break;
             case InstructionCodes.JSON2F:
-                castJSONToFloat(operands, sf);
+                castJSONToFloat(operands, base, sf);
                 break;
             case InstructionCodes.JSON2S:
-                castJSONToString(operands, sf);
+                castJSONToString(operands, base, sf);
                 break;
             case InstructionCodes.JSON2B:
-                castJSONToBoolean(operands, sf);
+                castJSONToBoolean(operands, base, sf);
                 break;
             case InstructionCodes.NULL2S:
-                j = operands[1];
+                j = operands[base + 1];
                 sf.stringRegs[j] = null;
                 break;
             default:
@@ -2016,7 +2117,7 @@ public class BLangVM {
         }
     }
 
-    private void execTypeConversionOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execTypeConversionOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
@@ -2025,49 +2126,49 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.I2F:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.doubleRegs[j] = (double) sf.longRegs[i];
                 break;
             case InstructionCodes.I2S:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.stringRegs[j] = Long.toString(sf.longRegs[i]);
                 break;
             case InstructionCodes.I2B:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.intRegs[j] = sf.longRegs[i] != 0 ? 1 : 0;
                 break;
             case InstructionCodes.I2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BJSON(Long.toString(sf.longRegs[i]));
                 break;
             case InstructionCodes.F2I:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.longRegs[j] = (long) sf.doubleRegs[i];
                 break;
             case InstructionCodes.F2S:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.stringRegs[j] = Double.toString(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.F2B:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.intRegs[j] = sf.doubleRegs[i] != 0.0 ? 1 : 0;
                 break;
             case InstructionCodes.F2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.refRegs[j] = new BJSON(Double.toString(sf.doubleRegs[i]));
                 break;
             case InstructionCodes.S2I:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 str = sf.stringRegs[i];
                 if (str == null) {
@@ -2085,9 +2186,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2F:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 str = sf.stringRegs[i];
                 if (str == null) {
@@ -2105,37 +2206,37 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2B:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 sf.intRegs[j] = Boolean.parseBoolean(sf.stringRegs[i]) ? 1 : 0;
                 sf.refRegs[k] = null;
                 break;
             case InstructionCodes.S2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 str = StringEscapeUtils.escapeJson(sf.stringRegs[i]);
                 sf.refRegs[j] = str == null ? null : new BJSON("\"" + str + "\"");
                 break;
             case InstructionCodes.B2I:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.longRegs[j] = sf.intRegs[i];
                 break;
             case InstructionCodes.B2F:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.doubleRegs[j] = sf.intRegs[i];
                 break;
             case InstructionCodes.B2S:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.stringRegs[j] = sf.intRegs[i] == 1 ? "true" : "false";
                 break;
             case InstructionCodes.DT2XML:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2152,9 +2253,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.DT2JSON:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2171,20 +2272,20 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.T2MAP:
-                convertStructToMap(operands, sf);
+                convertStructToMap(operands, base, sf);
                 break;
             case InstructionCodes.T2JSON:
-                convertStructToJSON(operands, sf);
+                convertStructToJSON(operands, base, sf);
                 break;
             case InstructionCodes.MAP2T:
-                convertMapToStruct(operands, sf);
+                convertMapToStruct(operands, base, sf);
                 break;
             case InstructionCodes.JSON2T:
-                convertJSONToStruct(operands, sf);
+                convertJSONToStruct(operands, base, sf);
                 break;
             case InstructionCodes.XMLATTRS2MAP:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2195,9 +2296,9 @@ public class BLangVM {
                 sf.refRegs[j] = ((BXMLAttributes) sf.refRegs[i]).value();
                 break;
             case InstructionCodes.S2XML:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 str = sf.stringRegs[i];
                 if (str == null) {
@@ -2216,9 +2317,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2JSONX:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
                 str = sf.stringRegs[i];
 
                 try {
@@ -2231,8 +2332,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.XML2S:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
                 sf.stringRegs[j] = sf.refRegs[i].stringValue();
                 break;
             default:
@@ -2240,15 +2341,15 @@ public class BLangVM {
         }
     }
 
-    private void execIteratorOperation(StackFrame sf, Instruction instruction) {
+    private void execIteratorOperation(StackFrame sf, int opcode, int[] operands, int base) {
         int i, j;
         BCollection collection;
         BIterator iterator;
         InstructionIteratorNext nextInstruction;
-        switch (instruction.getOpcode()) {
+        switch (opcode) {
             case InstructionCodes.ITR_NEW:
-                i = instruction.getOperands()[0];   // collection
-                j = instruction.getOperands()[1];   // iterator variable (ref) index.
+                i = operands[base];   // collection
+                j = operands[base + 1];   // iterator variable (ref) index.
                 collection = (BCollection) sf.refRegs[i];
                 if (collection == null) {
                     handleNullRefError();
@@ -2257,8 +2358,8 @@ public class BLangVM {
                 sf.refRegs[j] = collection.newIterator();
                 break;
             case InstructionCodes.ITR_HAS_NEXT:
-                i = instruction.getOperands()[0];   // iterator
-                j = instruction.getOperands()[1];   // boolean variable index to store has next result
+                i = operands[base];   // iterator
+                j = operands[base + 1];   // boolean variable index to store has next result
                 iterator = (BIterator) sf.refRegs[i];
                 if (iterator == null) {
                     sf.intRegs[j] = 0;
@@ -2267,7 +2368,7 @@ public class BLangVM {
                 sf.intRegs[j] = iterator.hasNext() ? 1 : 0;
                 break;
             case InstructionCodes.ITR_NEXT:
-                nextInstruction = (InstructionIteratorNext) instruction;
+                nextInstruction = (InstructionIteratorNext) code[ip - 1];
                 iterator = (BIterator) sf.refRegs[nextInstruction.iteratorIndex];
                 if (iterator == null) {
                     return;
@@ -2304,7 +2405,7 @@ public class BLangVM {
         }
     }
 
-    private void execXMLCreationOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execXMLCreationOpcodes(StackFrame sf, int opcode, int[] operands, int base) {
         int i;
         int j;
         int k;
@@ -2313,10 +2414,10 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.NEWXMLELEMENT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                l = operands[3];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
+                l = operands[base + 3];
 
                 BXMLQName startTagName = (BXMLQName) sf.refRegs[j];
                 BXMLQName endTagName = (BXMLQName) sf.refRegs[k];
@@ -2329,8 +2430,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLCOMMENT:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLComment(sf.stringRegs[j]);
@@ -2340,8 +2441,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLTEXT:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLText(sf.stringRegs[j]);
@@ -2351,9 +2452,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLPI:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = operands[base];
+                j = operands[base + 1];
+                k = operands[base + 2];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLProcessingInstruction(sf.stringRegs[j], sf.stringRegs[k]);
@@ -2363,8 +2464,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.XMLSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = operands[base];
+                j = operands[base + 1];
 
                 xmlVal = (BXML<?>) sf.refRegs[i];
                 BXML<?> child = (BXML<?>) sf.refRegs[j];
@@ -2563,10 +2664,10 @@ public class BLangVM {
         }
     }
 
-    private void handleAnyToRefTypeCast(StackFrame sf, int[] operands, BType targetType) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void handleAnyToRefTypeCast(StackFrame sf, int[] operands, int base, BType targetType) {
+        int i = operands[base];
+        int j = operands[base + 1];
+        int k = operands[base + 2];
 
         BRefType bRefType = sf.refRegs[i];
         if (bRefType == null) {
@@ -2616,24 +2717,24 @@ public class BLangVM {
         sf.refRegs[errorRegIndex] = errorVal;
     }
 
-    private void createNewIntRange(int[] operands, StackFrame sf) {
-        long startValue = sf.longRegs[operands[0]];
-        long endValue = sf.longRegs[operands[1]];
-        sf.refRegs[operands[2]] = new BIntRange(startValue, endValue);
+    private void createNewIntRange(int[] operands, int base, StackFrame sf) {
+        long startValue = sf.longRegs[operands[base]];
+        long endValue = sf.longRegs[operands[base + 1]];
+        sf.refRegs[operands[base + 2]] = new BIntRange(startValue, endValue);
     }
 
-    private void createNewConnector(int[] operands, StackFrame sf) {
-        int cpIndex = operands[0];
-        int i = operands[1];
+    private void createNewConnector(int[] operands, int base, StackFrame sf) {
+        int cpIndex = operands[base];
+        int i = operands[base + 1];
         StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) constPool[cpIndex];
         ConnectorInfo connectorInfo = (ConnectorInfo) structureRefCPEntry.getStructureTypeInfo();
         BConnector bConnector = new BConnector(connectorInfo.getType());
         sf.refRegs[i] = bConnector;
     }
 
-    private void createNewStruct(int[] operands, StackFrame sf) {
-        int cpIndex = operands[0];
-        int i = operands[1];
+    private void createNewStruct(int[] operands, int base, StackFrame sf) {
+        int cpIndex = operands[base];
+        int i = operands[base + 1];
         StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) constPool[cpIndex];
         StructInfo structInfo = (StructInfo) structureRefCPEntry.getStructureTypeInfo();
         BStruct bStruct = new BStruct(structInfo.getType());
@@ -2738,12 +2839,15 @@ public class BLangVM {
             invokeNativeFunction((FunctionInfo) callableUnitInfo, argRegs, retRegs);
             return;
         }
+        if (profiler != null) {
+            profiler.callableUnitInvoked(callableUnitInfo);
+        }
 
         BType[] paramTypes = callableUnitInfo.getParamTypes();
         StackFrame callerSF = controlStack.currentFrame;
 
         WorkerInfo defaultWorkerInfo = callableUnitInfo.getDefaultWorkerInfo();
-        StackFrame calleeSF = new StackFrame(callableUnitInfo, defaultWorkerInfo, ip, retRegs);
+        StackFrame calleeSF = controlStack.acquireFrame(callableUnitInfo, defaultWorkerInfo, ip, retRegs);
         controlStack.pushFrame(calleeSF);
 
         // Copy arg values from the current StackFrame to the new StackFrame
@@ -2752,24 +2856,36 @@ public class BLangVM {
         // TODO Improve following two lines
         this.constPool = calleeSF.packageInfo.getConstPoolEntries();
         this.code = calleeSF.packageInfo.getInstructions();
+        this.codeStream = calleeSF.packageInfo.getCodeStream();
+        this.codeOffsets = calleeSF.packageInfo.getCodeOffsets();
         ip = defaultWorkerInfo.getCodeAttributeInfo().getCodeAddrs();
     }
 
-    private void invokeVirtualFunction(int receiver, FunctionInfo virtualFuncInfo, int[] argRegs, int[] retRegs) {
-        BStruct structVal = (BStruct) controlStack.currentFrame.refRegs[receiver];
+    private void invokeVirtualFunction(InstructionVCALL vcallIns) {
+        BStruct structVal = (BStruct) controlStack.currentFrame.refRegs[vcallIns.receiverRegIndex];
         if (structVal == null) {
             context.setError(BLangVMErrors.createNullRefError(this.context, ip));
             handleError();
             return;
         }
 
-        StructInfo structInfo = structVal.getType().structInfo;
-        AttachedFunctionInfo attachedFuncInfo = structInfo.funcInfoEntries.get(virtualFuncInfo.getName());
-        FunctionInfo concreteFuncInfo = attachedFuncInfo.functionInfo;
-        invokeCallableUnit(concreteFuncInfo, argRegs, retRegs);
+        BStructType structType = structVal.getType();
+        CallSiteCache cache = vcallIns.cache;
+        CallableUnitInfo concreteFuncInfo;
+        if (cache != null && cache.getReceiverType() == structType) {
+            concreteFuncInfo = cache.getTarget();
+        } else {
+            StructInfo structInfo = structType.structInfo;
+            concreteFuncInfo = structInfo.getAttachedFunctionInfo(vcallIns.funcIndex,
+                    vcallIns.functionInfo.getName()).functionInfo;
+            vcallIns.cache = new CallSiteCache(structType, concreteFuncInfo);
+        }
+        invokeCallableUnit(concreteFuncInfo, vcallIns.argRegs, vcallIns.retRegs);
     }
 
-    public void invokeAction(String actionName, int[] argRegs, int[] retRegs) {
+    public void invokeAction(InstructionACALL acallIns) {
+        int[] argRegs = acallIns.argRegs;
+        int[] retRegs = acallIns.retRegs;
         StackFrame callerSF = controlStack.currentFrame;
         if (callerSF.refRegs[argRegs[0]] == null) {
             context.setError(BLangVMErrors.createNullRefError(this.context, ip));
@@ -2778,9 +2894,14 @@ public class BLangVM {
         }
 
         BConnectorType actualCon = (BConnectorType) ((BConnector) callerSF.refRegs[argRegs[0]]).getConnectorType();
-        //TODO find a way to change this to method table
-        ActionInfo newActionInfo = programFile.getPackageInfo(actualCon.getPackagePath())
-                .getConnectorInfo(actualCon.getName()).getActionInfo(actionName);
+        CallSiteCache cache = acallIns.cache;
+        ActionInfo newActionInfo;
+        if (cache != null && cache.getReceiverType() == actualCon) {
+            newActionInfo = (ActionInfo) cache.getTarget();
+        } else {
+            newActionInfo = resolveAction(actualCon, acallIns);
+            acallIns.cache = new CallSiteCache(actualCon, newActionInfo);
+        }
 
         if (newActionInfo.isNative()) {
             invokeNativeAction(newActionInfo, argRegs, retRegs);
@@ -2789,6 +2910,16 @@ public class BLangVM {
         }
     }
 
+    private ActionInfo resolveAction(BConnectorType connectorType, InstructionACALL acallIns) {
+        ConnectorInfo connectorInfo = connectorType.getConnectorInfo();
+        if (connectorInfo == null) {
+            connectorInfo = programFile.getPackageInfo(connectorType.getPackagePath())
+                    .getConnectorInfo(connectorType.getName());
+        }
+
+        return connectorInfo.getActionInfo(acallIns.actionIndex, acallIns.actionName);
+    }
+
     public void handleWorkerSend(WorkerDataChannelInfo workerDataChannel, BType[] types, int[] regs) {
         StackFrame currentFrame = controlStack.currentFrame;
 
@@ -2803,16 +2934,26 @@ public class BLangVM {
 
     public void invokeForkJoin(InstructionFORKJOIN forkJoinIns) {
         ForkjoinInfo forkjoinInfo = forkJoinIns.forkJoinCPEntry.getForkjoinInfo();
-        List<BLangVMWorkers.WorkerExecutor> workerRunnerList = new ArrayList<>();
-        long timeout = Long.MAX_VALUE;
+        long timeoutMillis = Long.MAX_VALUE;
         if (forkjoinInfo.isTimeoutAvailable()) {
-            timeout = this.controlStack.currentFrame.getLongRegs()[forkJoinIns.timeoutRegIndex];
+            timeoutMillis = this.controlStack.currentFrame.getLongRegs()[forkJoinIns.timeoutRegIndex];
         }
-        Queue<WorkerResult> resultMsgs = new ConcurrentLinkedQueue<>();
-        Map<String, BLangVMWorkers.WorkerExecutor> workers = new HashMap<>();
+
+        Set<String> joinWorkerNames = new LinkedHashSet<>(Lists.of(forkjoinInfo.getJoinWorkerNames()));
+        if (joinWorkerNames.isEmpty()) {
+            /* if no join workers are specified, that means, all should be considered */
+            joinWorkerNames.addAll(forkjoinInfo.getWorkerInfoMap().keySet());
+        }
+        int joinCount;
+        if (forkjoinInfo.getJoinType().equalsIgnoreCase(JOIN_TYPE_SOME)) {
+            joinCount = forkjoinInfo.getWorkerCount();
+        } else {
+            joinCount = joinWorkerNames.size();
+        }
+
+        ForkJoinExecution forkJoin = new ForkJoinExecution(joinWorkerNames, joinCount);
         for (WorkerInfo workerInfo : forkjoinInfo.getWorkerInfoMap().values()) {
-            Context workerContext = new WorkerContext(this.programFile, context);
-            workerContext.blockingInvocation = true;
+            WorkerContext workerContext = new WorkerContext(this.programFile, context);
             StackFrame callerSF = this.controlStack.currentFrame;
             int[] argRegs = forkjoinInfo.getArgRegs();
             ControlStack workerControlStack = workerContext.getControlStack();
@@ -2821,62 +2962,20 @@ public class BLangVM {
             workerControlStack.pushFrame(calleeSF);
             BLangVM.copyValuesForForkJoin(callerSF, calleeSF, argRegs);
             BLangVM bLangVM = new BLangVM(this.programFile);
-            BLangVMWorkers.WorkerExecutor workerRunner = new BLangVMWorkers.WorkerExecutor(bLangVM,
-                    workerContext, workerInfo, resultMsgs);
-            workerRunnerList.add(workerRunner);
+            forkJoin.addWorker(new BLangVMWorkers.WorkerExecutor(bLangVM, workerContext, workerInfo, forkJoin));
             workerContext.startTrackWorker();
-            workers.put(workerInfo.getWorkerName(), workerRunner);
-        }
-        Set<String> joinWorkerNames = new LinkedHashSet<>(Lists.of(forkjoinInfo.getJoinWorkerNames()));
-        if (joinWorkerNames.isEmpty()) {
-            /* if no join workers are specified, that means, all should be considered */
-            joinWorkerNames.addAll(workers.keySet());
-        }
-        int workerCount;
-        if (forkjoinInfo.getJoinType().equalsIgnoreCase(JOIN_TYPE_SOME)) {
-            workerCount = forkjoinInfo.getWorkerCount();
-        } else {
-            workerCount = joinWorkerNames.size();
         }
-        boolean success = this.invokeJoinWorkers(workers, joinWorkerNames, workerCount, timeout);
-        if (success) {
+
+        boolean joined = forkJoin.execute(ThreadPoolFactory.getInstance().getWorkerExecutor(), timeoutMillis);
+        if (joined) {
             this.ip = forkJoinIns.joinBlockAddr;
             /* assign values to join block message arrays */
-
-            int offsetJoin = forkJoinIns.joinVarRegIndex;
-            BMap<String, BRefValueArray> mbMap = new BMap<>();
-            for (WorkerResult workerResult : resultMsgs) {
-                mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
-            }
-            this.controlStack.currentFrame.getRefRegs()[offsetJoin] = mbMap;
+            this.controlStack.currentFrame.getRefRegs()[forkJoinIns.joinVarRegIndex] = forkJoin.getResults();
         } else {
             /* timed out */
             this.ip = forkJoinIns.timeoutBlockAddr;
             /* execute the timeout block */
-
-            int offsetTimeout = forkJoinIns.timeoutVarRegIndex;
-            BMap<String, BRefValueArray> mbMap = new BMap<>();
-            for (WorkerResult workerResult : resultMsgs) {
-                mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
-            }
-            this.controlStack.currentFrame.getRefRegs()[offsetTimeout] = mbMap;
-        }
-    }
-
-    private boolean invokeJoinWorkers(Map<String, BLangVMWorkers.WorkerExecutor> workers,
-                                      Set<String> joinWorkerNames, int joinCount, long timeout) {
-        ExecutorService exec = ThreadPoolFactory.getInstance().getWorkerExecutor();
-        Semaphore resultCounter = new Semaphore(-joinCount + 1);
-        workers.forEach((k, v) -> {
-            if (joinWorkerNames.contains(k)) {
-                v.setResultCounterSemaphore(resultCounter);
-            }
-            exec.submit(v);
-        });
-        try {
-            return resultCounter.tryAcquire(timeout, TimeUnit.SECONDS);
-        } catch (InterruptedException ignore) {
-            return false;
+            this.controlStack.currentFrame.getRefRegs()[forkJoinIns.timeoutVarRegIndex] = forkJoin.getResults();
         }
     }
 
@@ -2900,6 +2999,8 @@ public class BLangVM {
             controlStack.popFrame();
             this.constPool = this.controlStack.currentFrame.packageInfo.getConstPoolEntries();
             this.code = this.controlStack.currentFrame.packageInfo.getInstructions();
+            this.codeStream = this.controlStack.currentFrame.packageInfo.getCodeStream();
+            this.codeOffsets = this.controlStack.currentFrame.packageInfo.getCodeOffsets();
             ip = parentSF.retAddrs;
         } else {
             String msg = workerContext.parentSF.returnedWorker + " already returned.";
@@ -2909,8 +3010,38 @@ public class BLangVM {
     }
 
     public void handleWorkerReceive(WorkerDataChannelInfo workerDataChannel, BType[] types, int[] regs) {
-        BValue[] passedInValues = (BValue[]) workerDataChannel.takeData();
         StackFrame currentFrame = controlStack.currentFrame;
+        if (programFile.getDebugger().isDebugEnabled()) {
+            BValue[] passedInValues = (BValue[]) workerDataChannel.takeData();
+            copyArgValuesForWorkerReceive(currentFrame, regs, types, passedInValues);
+            return;
+        }
+
+        // Give up the thread instead of blocking it until the data arrives. The sending worker copies the data
+        // into the waiting frame and resumes the context on the resource pool, in the same way a non-blocking
+        // action resumes it.
+        Context waitingContext = context;
+        int resumeIP = ip;
+        suspendedOnWorkerReceive = true;
+        Consumer<Object[]> receiver = data -> {
+            copyArgValuesForWorkerReceive(currentFrame, regs, types, (BValue[]) data);
+            waitingContext.setStartIP(resumeIP);
+            ThreadPoolFactory.getInstance().resume(waitingContext);
+        };
+        BValue[] passedInValues = (BValue[]) workerDataChannel.takeDataOrSuspend(receiver);
+        if (passedInValues == null) {
+            // A cancelled worker gets no data any more, hence it is resumed to let it finish.
+            waitingContext.onCancel(() -> {
+                if (workerDataChannel.removeSuspendedReceiver(receiver)) {
+                    waitingContext.setStartIP(resumeIP);
+                    ThreadPoolFactory.getInstance().resume(waitingContext);
+                }
+            });
+            ip = -1;
+            return;
+        }
+
+        suspendedOnWorkerReceive = false;
         copyArgValuesForWorkerReceive(currentFrame, regs, types, passedInValues);
     }
 
@@ -2937,6 +3068,7 @@ public class BLangVM {
                     break;
                 default:
                     arguments[i] = callerSF.refRegs[argReg];
+                    SharedValues.markShared(arguments[i]);
             }
         }
     }
@@ -2994,6 +3126,7 @@ public class BLangVM {
 
         for (int i = 0; i <= refLocalVals; i++) {
             calleeSF.getRefRegs()[i] = callerSF.getRefRegs()[i];
+            SharedValues.markShared(calleeSF.getRefRegs()[i]);
         }
 
         for (int i = 0; i <= blobLocalVals; i++) {
@@ -3009,6 +3142,10 @@ public class BLangVM {
         System.arraycopy(parent.stringRegs, 0, workerSF.stringRegs, 0, codeInfo.getMaxStringLocalVars());
         System.arraycopy(parent.byteRegs, 0, workerSF.byteRegs, 0, codeInfo.getMaxByteLocalVars());
         System.arraycopy(parent.refRegs, 0, workerSF.refRegs, 0, codeInfo.getMaxRefLocalVars());
+        // Ref locals of the parent are visible to all its workers.
+        for (int i = 0; i < codeInfo.getMaxRefLocalVars(); i++) {
+            SharedValues.markShared(parent.refRegs[i]);
+        }
     }
 
 
@@ -3046,16 +3183,19 @@ public class BLangVM {
     }
 
     private void handleReturn() {
-
-        // TODO Cache stack frames -  improvement
         StackFrame currentSF = controlStack.popFrame();
         if (controlStack.currentFrame != null) {
             StackFrame callersSF = controlStack.currentFrame;
             // TODO Improve
             this.constPool = callersSF.packageInfo.getConstPoolEntries();
             this.code = callersSF.packageInfo.getInstructions();
+            this.codeStream = callersSF.packageInfo.getCodeStream();
+            this.codeOffsets = callersSF.packageInfo.getCodeOffsets();
         }
         ip = currentSF.retAddrs;
+        if (framePoolEnabled) {
+            controlStack.releaseFrame(currentSF);
+        }
     }
 
     private void copyWorkersReturnValues(StackFrame workerSF, StackFrame parentsSF) {
@@ -3114,13 +3254,16 @@ public class BLangVM {
     }
 
     private void invokeNativeFunction(FunctionInfo functionInfo, int[] argRegs, int[] retRegs) {
+        if (profiler != null) {
+            profiler.callableUnitInvoked(functionInfo);
+        }
         StackFrame callerSF = controlStack.currentFrame;
 
         // TODO : Remove once we handle this properly for return values
         BType[] retTypes = functionInfo.getRetParamTypes();
-        BValue[] returnValues = new BValue[retTypes.length];
 
-        StackFrame caleeSF = new StackFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null, returnValues);
+        StackFrame caleeSF = controlStack.acquireFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null);
+        BValue[] returnValues = caleeSF.resetReturnValues(retTypes.length);
         copyArgValues(callerSF, caleeSF, argRegs, functionInfo.getParamTypes());
 
         controlStack.pushFrame(caleeSF);
@@ -3141,9 +3284,19 @@ public class BLangVM {
         // Copy return values to the callers stack
         controlStack.popFrame();
         handleReturnFromNativeCallableUnit(callerSF, retRegs, returnValues, retTypes);
+        if (framePoolEnabled) {
+            controlStack.releaseFrame(caleeSF);
+        }
+        if (context.isCancelled()) {
+            // Natives which wait, such as sleep, return early when cancelled, so stop before the next instruction.
+            ip = -1;
+        }
     }
 
     private void invokeNativeAction(ActionInfo actionInfo, int[] argRegs, int[] retRegs) {
+        if (profiler != null) {
+            profiler.callableUnitInvoked(actionInfo);
+        }
         StackFrame callerSF = controlStack.currentFrame;
 
         WorkerInfo defaultWorkerInfo = actionInfo.getDefaultWorkerInfo();
@@ -3163,8 +3316,7 @@ public class BLangVM {
         controlStack.pushFrame(caleeSF);
 
         try {
-            boolean nonBlocking = !context.isInTransaction() && nativeAction.isNonBlockingAction() &&
-                    !context.blockingInvocation;
+            boolean nonBlocking = !context.isInTransaction() && nativeAction.isNonBlockingAction();
             BClientConnectorFutureListener listener = new BClientConnectorFutureListener(context, nonBlocking);
             if (nonBlocking) {
                 // Enable non-blocking.
@@ -3473,10 +3625,10 @@ public class BLangVM {
         return false;
     }
 
-    private void castJSONToInt(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void castJSONToInt(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int j = operands[base + 1];
+        int k = operands[base + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3505,10 +3657,10 @@ public class BLangVM {
         handleTypeCastError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.INT_TNAME);
     }
 
-    private void castJSONToFloat(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void castJSONToFloat(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int j = operands[base + 1];
+        int k = operands[base + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3537,10 +3689,10 @@ public class BLangVM {
         handleTypeCastError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.FLOAT_TNAME);
     }
 
-    private void castJSONToString(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void castJSONToString(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int j = operands[base + 1];
+        int k = operands[base + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3570,10 +3722,10 @@ public class BLangVM {
         handleTypeCastError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.STRING_TNAME);
     }
 
-    private void castJSONToBoolean(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void castJSONToBoolean(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int j = operands[base + 1];
+        int k = operands[base + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3678,9 +3830,9 @@ public class BLangVM {
         }
     }
 
-    private void convertStructToMap(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
+    private void convertStructToMap(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int j = operands[base + 1];
 
         BStruct bStruct = (BStruct) sf.refRegs[i];
         if (bStruct == null) {
@@ -3725,10 +3877,10 @@ public class BLangVM {
         sf.refRegs[j] = map;
     }
 
-    private void convertStructToJSON(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertStructToJSON(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int j = operands[base + 1];
+        int k = operands[base + 2];
 
         BStruct bStruct = (BStruct) sf.refRegs[i];
         if (bStruct == null) {
@@ -3746,11 +3898,11 @@ public class BLangVM {
         }
     }
 
-    private void convertMapToStruct(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
-        int k = operands[3];
+    private void convertMapToStruct(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int cpIndex = operands[base + 1];
+        int j = operands[base + 2];
+        int k = operands[base + 3];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         BMap<String, BValue> bMap = (BMap<String, BValue>) sf.refRegs[i];
@@ -3850,11 +4002,11 @@ public class BLangVM {
         sf.refRegs[k] = null;
     }
 
-    private void convertJSONToStruct(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
-        int k = operands[3];
+    private void convertJSONToStruct(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int cpIndex = operands[base + 1];
+        int j = operands[base + 2];
+        int k = operands[base + 3];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         BJSON bjson = (BJSON) sf.refRegs[i];
@@ -3923,6 +4075,8 @@ public class BLangVM {
             PackageInfo packageInfo = currentFrame.packageInfo;
             this.constPool = packageInfo.getConstPoolEntries();
             this.code = packageInfo.getInstructions();
+            this.codeStream = packageInfo.getCodeStream();
+            this.codeOffsets = packageInfo.getCodeOffsets();
             ip = match.getIpTarget();
             return;
         }
@@ -3944,10 +4098,10 @@ public class BLangVM {
         return context.nonBlockingContext != null;
     }
 
-    private void calculateLength(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
+    private void calculateLength(int[] operands, int base, StackFrame sf) {
+        int i = operands[base];
+        int cpIndex = operands[base + 1];
+        int j = operands[base + 2];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         int typeTag = typeRefCPEntry.getType().getTag();
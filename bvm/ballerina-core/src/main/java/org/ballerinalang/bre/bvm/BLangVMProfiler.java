@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code BLangVMProfiler} is a sampling profiler for the Ballerina VM.
+ * <p>
+ * While running, it periodically walks the control stack of every active {@link BLangVM}, resolves each frame's
+ * instruction pointer to a source line and records the result as a collapsed stack, which can be fed to flame graph
+ * tools as is. Calls to each callable unit are counted exactly, while time and allocations are estimated from the
+ * samples. The profiler is started on VM startup when the {@link Constants#SYSTEM_PROP_BAL_PROFILE} system property
+ * is set, and the profile is written to the directory given by that property when the runtime shuts down.
+ *
+ * @since 0.961.1
+ */
+public class BLangVMProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangVMProfiler.class);
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 10;
+    private static final int MAX_STACK_DEPTH = 1024;
+    private static final String COLLAPSED_STACKS_FILE = "ballerina-profile.collapsed";
+    private static final String SUMMARY_FILE = "ballerina-profile.txt";
+
+    private static volatile BLangVMProfiler profiler;
+
+    static {
+        String outputDir = System.getProperty(Constants.SYSTEM_PROP_BAL_PROFILE);
+        if (outputDir != null) {
+            long interval = Long.getLong(Constants.SYSTEM_PROP_BAL_PROFILE_INTERVAL, DEFAULT_INTERVAL_MILLIS);
+            BLangVMProfiler startupProfiler = start(interval);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                startupProfiler.stopSampling();
+                try {
+                    startupProfiler.dump(Paths.get(outputDir));
+                } catch (IOException e) {
+                    logger.error("error writing the Ballerina profile to " + outputDir, e);
+                }
+            }));
+        }
+    }
+
+    private final long intervalMillis;
+    private final ScheduledExecutorService sampler;
+    private final Map<BLangVM, SampledVM> activeVMs = new ConcurrentHashMap<>();
+    private final Map<CallableUnitInfo, FunctionStats> functionStats = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stackSamples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> lineSamples = new ConcurrentHashMap<>();
+    private final Map<PackageInfo, LineNumberInfo[]> lineTables = new ConcurrentHashMap<>();
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+
+    private BLangVMProfiler(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+        this.allocationMXBean = getAllocationMXBean();
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-vm-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sampler.scheduleAtFixedRate(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the running profiler, if any.
+     *
+     * @return the running profiler or null if profiling is disabled
+     */
+    public static BLangVMProfiler current() {
+        return profiler;
+    }
+
+    /**
+     * Starts a new profiler which samples all VMs every given number of milliseconds. A profiler which is already
+     * running is stopped first.
+     *
+     * @param intervalMillis sampling interval in milliseconds
+     * @return the started profiler
+     */
+    public static synchronized BLangVMProfiler start(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("invalid profiler sampling interval: " + intervalMillis);
+        }
+        stop();
+        profiler = new BLangVMProfiler(intervalMillis);
+        return profiler;
+    }
+
+    /**
+     * Stops the running profiler. The collected data stays available through the stopped instance.
+     */
+    public static synchronized void stop() {
+        BLangVMProfiler running = profiler;
+        if (running != null) {
+            profiler = null;
+            running.stopSampling();
+        }
+    }
+
+    void vmStarted(BLangVM vm) {
+        SampledVM sampledVM = new SampledVM(Thread.currentThread());
+        sampledVM.allocatedBytes = getAllocatedBytes(sampledVM.thread);
+        activeVMs.put(vm, sampledVM);
+    }
+
+    void vmStopped(BLangVM vm) {
+        activeVMs.remove(vm);
+    }
+
+    void callableUnitInvoked(CallableUnitInfo callableUnitInfo) {
+        getFunctionStats(callableUnitInfo).calls.increment();
+    }
+
+    public long getCallCount(CallableUnitInfo callableUnitInfo) {
+        FunctionStats stats = functionStats.get(callableUnitInfo);
+        return stats == null ? 0 : stats.calls.sum();
+    }
+
+    public long getSampleCount() {
+        long count = 0;
+        for (LongAdder adder : stackSamples.values()) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Writes the collapsed stacks and the per function and per line summary to the given directory.
+     *
+     * @param outputDir directory to write the profile to
+     * @throws IOException if the profile cannot be written
+     */
+    public void dump(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputDir.resolve(COLLAPSED_STACKS_FILE),
+                StandardCharsets.UTF_8))) {
+            writeCollapsedStacks(writer);
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputDir.resolve(SUMMARY_FILE),
+                StandardCharsets.UTF_8))) {
+            writeSummary(writer);
+        }
+    }
+
+    public void writeCollapsedStacks(PrintWriter writer) {
+        stackSamples.forEach((stack, count) -> writer.println(stack + " " + count.sum()));
+    }
+
+    public void writeSummary(PrintWriter writer) {
+        writer.println("# sampling interval: " + intervalMillis + "ms, samples: " + getSampleCount());
+        writer.println("# function\tcalls\tself samples\ttotal samples\tself ms (est)\ttotal ms (est)\t" +
+                "allocated bytes (est)");
+        List<Map.Entry<CallableUnitInfo, FunctionStats>> functions = new ArrayList<>(functionStats.entrySet());
+        functions.sort(Comparator.comparingLong(
+                (Map.Entry<CallableUnitInfo, FunctionStats> entry) -> entry.getValue().selfSamples.sum()).reversed());
+        for (Map.Entry<CallableUnitInfo, FunctionStats> entry : functions) {
+            FunctionStats stats = entry.getValue();
+            long selfSamples = stats.selfSamples.sum();
+            long totalSamples = stats.totalSamples.sum();
+            writer.println(getFunctionName(entry.getKey()) + "\t" + stats.calls.sum() + "\t" + selfSamples + "\t" +
+                    totalSamples + "\t" + selfSamples * intervalMillis + "\t" + totalSamples * intervalMillis + "\t" +
+                    stats.allocatedBytes.sum());
+        }
+
+        writer.println();
+        writer.println("# line\tself samples");
+        List<Map.Entry<String, LongAdder>> lines = new ArrayList<>(lineSamples.entrySet());
+        lines.sort(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum())
+                .reversed());
+        for (Map.Entry<String, LongAdder> entry : lines) {
+            writer.println(entry.getKey() + "\t" + entry.getValue().sum());
+        }
+    }
+
+    private void stopSampling() {
+        sampler.shutdown();
+        try {
+            sampler.awaitTermination(intervalMillis * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sample() {
+        for (Map.Entry<BLangVM, SampledVM> entry : activeVMs.entrySet()) {
+            try {
+                sample(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                // The VM is read without synchronization and might be changing frames underneath, drop the sample.
+            }
+        }
+    }
+
+    private void sample(BLangVM vm, SampledVM sampledVM) {
+        // Walk from the top most frame, each frame's return address gives the call site in its caller.
+        List<CallableUnitInfo> functions = new ArrayList<>();
+        List<String> frames = new ArrayList<>();
+        StackFrame frame = vm.getCurrentFrame();
+        int ip = vm.getCurrentIP() - 1;
+        while (frame != null && frames.size() < MAX_STACK_DEPTH) {
+            CallableUnitInfo callableUnitInfo = frame.callableUnitInfo;
+            if (callableUnitInfo != null) {
+                String name = getFunctionName(callableUnitInfo);
+                LineNumberInfo lineNumberInfo = callableUnitInfo.isNative() ? null :
+                        getLineNumberInfo(frame.packageInfo, ip);
+                if (lineNumberInfo != null) {
+                    name = name + ":" + lineNumberInfo.getLineNumber();
+                }
+                functions.add(callableUnitInfo);
+                frames.add(name);
+                if (frames.size() == 1 && lineNumberInfo != null) {
+                    lineSamples.computeIfAbsent(lineNumberInfo.getPackageInfo().getPkgPath() + ":" +
+                            lineNumberInfo.getFileName() + ":" + lineNumberInfo.getLineNumber(),
+                            key -> new LongAdder()).increment();
+                }
+            }
+            // Native callable units do not move the instruction pointer of their caller.
+            if (callableUnitInfo == null || !callableUnitInfo.isNative()) {
+                ip = frame.retAddrs - 1;
+            }
+            frame = frame.prevStackFrame;
+        }
+        if (frames.isEmpty()) {
+            return;
+        }
+
+        StringBuilder collapsed = new StringBuilder();
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            collapsed.append(frames.get(i));
+            if (i > 0) {
+                collapsed.append(';');
+            }
+        }
+        stackSamples.computeIfAbsent(collapsed.toString(), key -> new LongAdder()).increment();
+
+        FunctionStats topStats = getFunctionStats(functions.get(0));
+        topStats.selfSamples.increment();
+        List<CallableUnitInfo> seen = new ArrayList<>();
+        for (CallableUnitInfo callableUnitInfo : functions) {
+            // Recursive calls count only once towards the inclusive samples of a function.
+            if (!seen.contains(callableUnitInfo)) {
+                seen.add(callableUnitInfo);
+                getFunctionStats(callableUnitInfo).totalSamples.increment();
+            }
+        }
+
+        long allocatedBytes = getAllocatedBytes(sampledVM.thread);
+        if (allocatedBytes > sampledVM.allocatedBytes && sampledVM.allocatedBytes >= 0) {
+            topStats.allocatedBytes.add(allocatedBytes - sampledVM.allocatedBytes);
+        }
+        sampledVM.allocatedBytes = allocatedBytes;
+    }
+
+    private FunctionStats getFunctionStats(CallableUnitInfo callableUnitInfo) {
+        FunctionStats stats = functionStats.get(callableUnitInfo);
+        if (stats == null) {
+            stats = functionStats.computeIfAbsent(callableUnitInfo, key -> new FunctionStats());
+        }
+        return stats;
+    }
+
+    private LineNumberInfo getLineNumberInfo(PackageInfo packageInfo, int ip) {
+        LineNumberInfo[] lineTable = lineTables.computeIfAbsent(packageInfo, BLangVMProfiler::createLineTable);
+        int low = 0;
+        int high = lineTable.length - 1;
+        LineNumberInfo match = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (lineTable[mid].getIp() <= ip) {
+                match = lineTable[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return match;
+    }
+
+    private static LineNumberInfo[] createLineTable(PackageInfo packageInfo) {
+        LineNumberTableAttributeInfo attributeInfo = (LineNumberTableAttributeInfo) packageInfo
+                .getAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
+        if (attributeInfo == null) {
+            return new LineNumberInfo[0];
+        }
+        LineNumberInfo[] lineTable = attributeInfo.getLineNumberInfoList().toArray(new LineNumberInfo[0]);
+        Arrays.sort(lineTable, Comparator.comparingInt(LineNumberInfo::getIp));
+        return lineTable;
+    }
+
+    private static String getFunctionName(CallableUnitInfo callableUnitInfo) {
+        return callableUnitInfo.getPkgPath() + ":" + callableUnitInfo.getName();
+    }
+
+    private long getAllocatedBytes(Thread thread) {
+        return allocationMXBean == null ? -1 : allocationMXBean.getThreadAllocatedBytes(thread.getId());
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (allocationMXBean.isThreadAllocatedMemorySupported() &&
+                    allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationMXBean;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sampling state of a running VM.
+     */
+    private static class SampledVM {
+        final Thread thread;
+        volatile long allocatedBytes;
+
+        SampledVM(Thread thread) {
+            this.thread = thread;
+        }
+    }
+
+    /**
+     * Counters collected for a single callable unit.
+     */
+    private static class FunctionStats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder selfSamples = new LongAdder();
+        final LongAdder totalSamples = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+    }
+}
@@ -22,26 +22,22 @@ import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.types.TypeTags;
-import org.ballerinalang.model.values.BBlob;
-import org.ballerinalang.model.values.BBoolean;
-import org.ballerinalang.model.values.BFloat;
-import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BRefValueArray;
-import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.WorkerDataChannelInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * This class contains helper functions to invoke workers.
@@ -55,6 +51,7 @@ public class BLangVMWorkers {
         StackFrame callerSF = parent.getControlStack().currentFrame;
         WorkerReturnIndex workerReturnIndex = calculateWorkerReturnIndex(callableUnitInfo.getRetParamTypes());
 
+        List<WorkerExecutor> workers = new ArrayList<>();
         for (WorkerInfo workerInfo : callableUnitInfo.getWorkerInfoMap().values()) {
             WorkerContext workerContext = new WorkerContext(programFile, parent);
             workerContext.setStartIP(workerInfo.getCodeAttributeInfo().getCodeAddrs());
@@ -66,13 +63,37 @@ public class BLangVMWorkers {
             populateWorkerStack(callableUnitInfo, workerInfo, workerContext, workerReturnIndex, callerSF);
 
             BLangVM bLangVM = new BLangVM(programFile);
-            ExecutorService executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
-            WorkerExecutor workerRunner = new WorkerExecutor(bLangVM, workerContext, workerInfo, 
-                    new ConcurrentLinkedQueue<>());
+            workers.add(new WorkerExecutor(bLangVM, workerContext, workerInfo));
             workerContext.startTrackWorker();
-            executor.submit(workerRunner);
         }
+        try {
+            start(ThreadPoolFactory.getInstance().getWorkerExecutor(), workers);
+        } catch (BallerinaException e) {
+            // A worker which already returned carries on with the parent, which then must not fail as well
+            if (callerSF.tryReturn()) {
+                throw e;
+            }
+        }
+    }
 
+    /**
+     * Start workers which are already tracked by their parent. If the executor rejects one of them, the workers
+     * which have started are cancelled and the others finish without running, so that nothing waits for them.
+     *
+     * @param executor executor to run the workers on
+     * @param workers  workers to start
+     * @throws BallerinaException if a worker is rejected by the executor
+     */
+    static void start(ExecutorService executor, List<WorkerExecutor> workers) {
+        for (int i = 0; i < workers.size(); i++) {
+            try {
+                executor.submit(workers.get(i));
+            } catch (RejectedExecutionException e) {
+                workers.subList(0, i).forEach(WorkerExecutor::cancel);
+                workers.subList(i, workers.size()).forEach(WorkerExecutor::abandon);
+                throw new BallerinaException("unable to start workers: " + e.getMessage());
+            }
+        }
     }
 
     public static void invoke(ProgramFile programFile, CallableUnitInfo callableUnitInfo, Context parent) {
@@ -133,66 +154,74 @@ public class BLangVMWorkers {
         private static PrintStream outStream = System.out;
 
         private BLangVM bLangVM;
-        private Context bContext;
+        private WorkerContext bContext;
         private WorkerInfo workerInfo;
-        private Queue<WorkerResult> resultHolder;
-        private Semaphore resultCounter;
+        private ForkJoinExecution forkJoin;
+
+        public WorkerExecutor(BLangVM bLangVM, WorkerContext bContext, WorkerInfo workerInfo) {
+            this(bLangVM, bContext, workerInfo, null);
+        }
 
-        public WorkerExecutor(BLangVM bLangVM, Context bContext, WorkerInfo workerInfo, 
-                Queue<WorkerResult> resultHolder) {
+        public WorkerExecutor(BLangVM bLangVM, WorkerContext bContext, WorkerInfo workerInfo,
+                              ForkJoinExecution forkJoin) {
             this.bLangVM = bLangVM;
             this.bContext = bContext;
             this.workerInfo = workerInfo;
-            this.resultHolder = resultHolder;
+            this.forkJoin = forkJoin;
+            bContext.completionListener = this::completed;
         }
 
-        @SuppressWarnings("rawtypes")
         @Override
         public void run() throws BallerinaException {
-            BRefValueArray bRefValueArray = new BRefValueArray(new BArrayType(BTypes.typeAny));
+            // The worker may give up this thread while waiting for data, in which case it completes on the
+            // thread which resumes it. A worker cancelled before it got a thread stops before its first instruction.
             bLangVM.execWorker(bContext, workerInfo.getCodeAttributeInfo().getCodeAddrs());
+        }
+
+        private void completed() {
+            if (bContext.isCancelled()) {
+                return;
+            }
             if (bContext.getError() != null) {
                 String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
                 outStream.println("error in worker '" + workerInfo.getWorkerName() + "': " + stackTraceStr);
             }
 
-            if (workerInfo.getWorkerDataChannelInfoForForkJoin() != null) {
-                BValue[] results = (BValue[]) workerInfo.getWorkerDataChannelInfoForForkJoin().takeData();
-                BType[] types = workerInfo.getWorkerDataChannelInfoForForkJoin().getTypes();
-                for (int i = 0; i < types.length; i++) {
-                    BType paramType = types[i];
-                    switch (paramType.getTag()) {
-                        case TypeTags.INT_TAG:
-                            bRefValueArray.add(i, ((BInteger) results[i]));
-                            break;
-                        case TypeTags.FLOAT_TAG:
-                            bRefValueArray.add(i, ((BFloat) results[i]));
-                            break;
-                        case TypeTags.STRING_TAG:
-                            bRefValueArray.add(i, ((BString) results[i]));
-                            break;
-                        case TypeTags.BOOLEAN_TAG:
-                            bRefValueArray.add(i, ((BBoolean) results[i]));
-                            break;
-                        case TypeTags.BLOB_TAG:
-                            bRefValueArray.add(i, ((BBlob) results[i]));
-                            break;
-                        default:
-                            bRefValueArray.add(i, ((BRefType) results[i]));
-                    }
-                }
+            if (forkJoin == null) {
+                return;
             }
 
-            this.resultHolder.add(new WorkerResult(workerInfo.getWorkerName(), bRefValueArray));
-            if (this.resultCounter != null) {
-                this.resultCounter.release();
+            BRefValueArray bRefValueArray;
+            WorkerDataChannelInfo forkJoinChannel = workerInfo.getWorkerDataChannelInfoForForkJoin();
+            if (forkJoinChannel != null) {
+                // Values sent to the fork/join are already boxed by the worker send.
+                BValue[] results = (BValue[]) forkJoinChannel.takeData();
+                BRefType[] refValues = new BRefType[results == null ? 0 : results.length];
+                for (int i = 0; i < refValues.length; i++) {
+                    refValues[i] = (BRefType) results[i];
+                }
+                bRefValueArray = new BRefValueArray(refValues, new BArrayType(BTypes.typeAny));
+            } else {
+                bRefValueArray = new BRefValueArray(new BArrayType(BTypes.typeAny));
             }
+            forkJoin.workerCompleted(workerInfo.getWorkerName(), bRefValueArray);
         }
-        
-        public void setResultCounterSemaphore(Semaphore resultCounter) {
-            this.resultCounter = resultCounter;
+
+        /**
+         * Cancel this worker. The worker is not interrupted, but stops at its next branch or native function call.
+         * A worker which waits for a worker receive or sleeps is woken up to do so.
+         */
+        public void cancel() {
+            bContext.cancel();
+        }
+
+        /**
+         * Finish this worker in the calling thread without running it, when it could not be started.
+         */
+        void abandon() {
+            bContext.cancel();
+            run();
         }
-        
     }
 
     static class WorkerReturnIndex {
@@ -17,6 +17,9 @@
 */
 package org.ballerinalang.bre.bvm;
 
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+
 /**
  * {@code ControlStack} represents function call stack.
  *
@@ -24,8 +27,14 @@ package org.ballerinalang.bre.bvm;
  */
 public class ControlStack {
 
+    private static final int FRAME_POOL_SIZE = 16;
+
     public StackFrame currentFrame;
 
+    // Frames released by completed invocations, reused by subsequent calls on this stack.
+    private final StackFrame[] framePool = new StackFrame[FRAME_POOL_SIZE];
+    private int pooledFrameCount;
+
     public void pushFrame(StackFrame frame) {
         frame.prevStackFrame = this.currentFrame;
         this.currentFrame = frame;
@@ -40,6 +49,44 @@ public class ControlStack {
         return poppedFrame;
     }
 
+    /**
+     * Returns a frame for the given invocation, reusing a previously released frame and its register arrays when
+     * one is available.
+     *
+     * @param callableUnitInfo callable unit which is being invoked
+     * @param workerInfo       worker of the callable unit which is being executed
+     * @param retAddrs         return address of the caller
+     * @param retRegIndexes    caller's register indexes to which the return values should be copied
+     * @return a frame which is ready to be pushed to this stack
+     */
+    public StackFrame acquireFrame(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs,
+                                   int[] retRegIndexes) {
+        StackFrame frame;
+        if (pooledFrameCount > 0) {
+            frame = framePool[--pooledFrameCount];
+            framePool[pooledFrameCount] = null;
+        } else {
+            frame = new StackFrame();
+            frame.recyclable = true;
+        }
+        frame.reset(callableUnitInfo, workerInfo, retAddrs, retRegIndexes);
+        return frame;
+    }
+
+    /**
+     * Returns a popped frame to the pool. Frames which were not acquired from the pool, or which are still
+     * referenced elsewhere (e.g. by workers), are left to the garbage collector.
+     *
+     * @param frame popped frame
+     */
+    public void releaseFrame(StackFrame frame) {
+        if (!frame.recyclable || pooledFrameCount == FRAME_POOL_SIZE) {
+            return;
+        }
+        frame.clear();
+        framePool[pooledFrameCount++] = frame;
+    }
+
     public StackFrame getCurrentFrame() {
         return currentFrame;
     }
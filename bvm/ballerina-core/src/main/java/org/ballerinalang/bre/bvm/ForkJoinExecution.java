@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ForkJoinExecution} tracks the workers of a single fork/join statement. Workers hand their results directly
+ * to the map passed to the join or timeout block. Once the join condition is met, or the timeout expires, the
+ * workers which are still running are cancelled and their late results are discarded.
+ *
+ * @since 0.961.1
+ */
+class ForkJoinExecution {
+
+    private final Set<String> joinWorkerNames;
+    private final CountDownLatch joinLatch;
+    private final List<BLangVMWorkers.WorkerExecutor> workers = new ArrayList<>();
+    private final BMap<String, BRefValueArray> results = new BMap<>();
+    private boolean completed;
+
+    ForkJoinExecution(Set<String> joinWorkerNames, int joinCount) {
+        this.joinWorkerNames = joinWorkerNames;
+        this.joinLatch = new CountDownLatch(Math.max(joinCount, 0));
+    }
+
+    void addWorker(BLangVMWorkers.WorkerExecutor worker) {
+        workers.add(worker);
+    }
+
+    /**
+     * Start all the workers and wait until the join condition is met.
+     *
+     * @param executor      executor to run the workers on
+     * @param timeoutMillis maximum time to wait for the join condition, in milliseconds
+     * @return {@code true} if the join condition was met, {@code false} if the wait timed out
+     * @throws org.ballerinalang.util.exceptions.BallerinaException if the executor rejects a worker
+     */
+    boolean execute(ExecutorService executor, long timeoutMillis) {
+        BLangVMWorkers.start(executor, workers);
+        boolean joined;
+        try {
+            joined = joinLatch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            joined = false;
+        }
+
+        synchronized (this) {
+            completed = true;
+        }
+        // The workers which have not finished yet can no longer affect the outcome.
+        workers.forEach(BLangVMWorkers.WorkerExecutor::cancel);
+        return joined;
+    }
+
+    /**
+     * Record the result of a finished worker.
+     *
+     * @param workerName name of the worker
+     * @param result     values sent by the worker to the fork/join statement
+     */
+    synchronized void workerCompleted(String workerName, BRefValueArray result) {
+        if (completed) {
+            return;
+        }
+        results.put(workerName, result);
+        if (joinWorkerNames.contains(workerName)) {
+            joinLatch.countDown();
+        }
+    }
+
+    synchronized BMap<String, BRefValueArray> getResults() {
+        return results;
+    }
+}
@@ -35,6 +35,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @since 0.88
  */
 public class StackFrame {
+    private static final byte[] EMPTY_BYTES = new byte[0];
+    private static final BValue[] EMPTY_VALUES = new BValue[0];
+
     long[] longRegs;
     double[] doubleRegs;
     String[] stringRegs;
@@ -64,6 +67,12 @@ public class StackFrame {
     
     public StackFrame prevStackFrame;
 
+    // Whether this frame can be returned to the control stack's frame pool once it is popped.
+    boolean recyclable;
+
+    StackFrame() {
+    }
+
     public StackFrame(PackageInfo packageInfo, int retAddrs, int[] retRegIndexes) {
         this.packageInfo = packageInfo;
         this.retAddrs = retAddrs;
@@ -180,6 +189,100 @@ public class StackFrame {
         return workerInfo;
     }
 
+    /**
+     * Re-initializes a pooled frame for a new invocation. The register arrays of the previous invocation are reused
+     * when they are large enough for the given worker.
+     *
+     * @param callableUnitInfo callable unit which is being invoked
+     * @param workerInfo       worker of the callable unit which is being executed
+     * @param retAddrs         return address of the caller
+     * @param retRegIndexes    caller's register indexes to which the return values should be copied
+     */
+    void reset(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs, int[] retRegIndexes) {
+        this.callableUnitInfo = callableUnitInfo;
+        this.packageInfo = callableUnitInfo.getPackageInfo();
+        this.workerInfo = workerInfo;
+        CodeAttributeInfo codeAttribInfo = workerInfo.getCodeAttributeInfo();
+
+        int size = codeAttribInfo.getMaxLongRegs();
+        if (longRegs == null || longRegs.length < size) {
+            longRegs = new long[size];
+        } else {
+            Arrays.fill(longRegs, 0, size, 0);
+        }
+
+        size = codeAttribInfo.getMaxDoubleRegs();
+        if (doubleRegs == null || doubleRegs.length < size) {
+            doubleRegs = new double[size];
+        } else {
+            Arrays.fill(doubleRegs, 0, size, 0);
+        }
+
+        size = codeAttribInfo.getMaxStringRegs();
+        if (stringRegs == null || stringRegs.length < size) {
+            stringRegs = new String[size];
+        }
+
+        size = codeAttribInfo.getMaxIntRegs();
+        if (intRegs == null || intRegs.length < size) {
+            intRegs = new int[size];
+        } else {
+            Arrays.fill(intRegs, 0, size, 0);
+        }
+
+        size = codeAttribInfo.getMaxByteRegs();
+        if (byteRegs == null || byteRegs.length < size) {
+            byteRegs = new byte[size][];
+            Arrays.fill(byteRegs, EMPTY_BYTES);
+        }
+
+        size = codeAttribInfo.getMaxRefRegs();
+        if (refRegs == null || refRegs.length < size) {
+            refRegs = new BRefType[size];
+        }
+
+        this.retAddrs = retAddrs;
+        this.retRegIndexes = retRegIndexes;
+        this.errorThrown = null;
+        this.returnedWorker = "";
+        this.workerReturned.set(false);
+    }
+
+    /**
+     * Prepares the return value holder used by native callable units, reusing the previous holder when it has the
+     * same size.
+     *
+     * @param count number of return values
+     * @return the cleared return value holder of this frame
+     */
+    BValue[] resetReturnValues(int count) {
+        if (count == 0) {
+            returnValues = EMPTY_VALUES;
+        } else if (returnValues == null || returnValues.length != count) {
+            returnValues = new BValue[count];
+        }
+        return returnValues;
+    }
+
+    /**
+     * Drops the references held by this frame so that a pooled frame does not keep values of a completed
+     * invocation alive.
+     */
+    void clear() {
+        Arrays.fill(stringRegs, null);
+        Arrays.fill(byteRegs, EMPTY_BYTES);
+        Arrays.fill(refRegs, null);
+        if (returnValues != null) {
+            Arrays.fill(returnValues, null);
+        }
+        this.callableUnitInfo = null;
+        this.packageInfo = null;
+        this.workerInfo = null;
+        this.retRegIndexes = null;
+        this.errorThrown = null;
+        this.prevStackFrame = null;
+    }
+
     public boolean tryReturn() {
         return this.workerReturned.compareAndSet(false, true);
     }
@@ -26,7 +26,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * @since 0.961.0
  */
 public class VarLock {
-    private Lock lock;
+    private final Lock lock;
 
     public VarLock() {
         lock = new ReentrantLock();
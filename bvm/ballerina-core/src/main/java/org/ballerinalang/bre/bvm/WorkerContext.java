@@ -29,11 +29,18 @@ public class WorkerContext extends Context {
 
     public Context parent;
     StackFrame parentSF;
+    // Called once the worker has finished, on the thread which ran it last. That need not be the thread it started
+    // on, as the worker may be suspended and resumed on the way.
+    Runnable completionListener;
 
     public WorkerContext(ProgramFile programFile, Context parent) {
         super(programFile);
         this.parent = parent;
         parentSF = parent.getControlStack().currentFrame;
+        if (parentSF != null) {
+            // Workers refer to the parent frame after it returns, hence it must not be reused.
+            parentSF.recyclable = false;
+        }
         this.workerCounter = parent.getWorkerCounter();
         this.populateContextPropsFromParent();
     }
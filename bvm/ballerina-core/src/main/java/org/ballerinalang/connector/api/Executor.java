@@ -22,8 +22,10 @@ import org.ballerinalang.connector.impl.ResourceExecutor;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.threadpool.BallerinaWorkerThread;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * {@code Executor} Is the entry point from server connector side to ballerina side.
@@ -52,7 +54,8 @@ public class Executor {
     /**
      * This method will execute Ballerina resource in non-blocking manner.
      * It will use Ballerina worker-pool for the execution and will return the
-     * connector thread immediately.
+     * connector thread immediately. If the pool is saturated, the resource is not
+     * executed and the returned future is notified of the failure.
      *
      * @param resource  to be executed.
      * @param properties to be passed to context.
@@ -61,8 +64,13 @@ public class Executor {
      */
     public static ConnectorFuture submit(Resource resource, Map<String, Object> properties, BValue... values) {
         BServerConnectorFuture connectorFuture = new BServerConnectorFuture();
-        ThreadPoolFactory.getInstance().getExecutor().
-                execute(new BallerinaWorkerThread(resource, connectorFuture, properties, values));
+        try {
+            ThreadPoolFactory.getInstance().getExecutor().
+                    execute(new BallerinaWorkerThread(resource, connectorFuture, properties, values));
+        } catch (RejectedExecutionException e) {
+            // The resource is not executed when the pool is saturated, and the caller gets the failure instead
+            connectorFuture.notifyFailure(new BallerinaException(e.getMessage()));
+        }
         return connectorFuture;
     }
 
@@ -23,7 +23,6 @@ import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.connector.api.ConnectorFutureListener;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 
 import java.util.concurrent.Semaphore;
@@ -69,8 +68,7 @@ public class BClientConnectorFutureListener implements ConnectorFutureListener {
 
     private void done() {
         if (nonBlocking) {
-            ThreadPoolFactory.getInstance().getExecutor()
-                    .execute(new ResponseWorkerThread(context));
+            ThreadPoolFactory.getInstance().resume(context);
         } else {
             executionWaitSem.release();
 //            synchronized (context) {
@@ -59,13 +59,17 @@ public class TableJSONDataSource implements JSONDataSource {
 
     @Override
     public void serialize(JsonGenerator gen) throws IOException {
-        gen.writeStartArray();
-        while (this.df.hasNext(this.isInTransaction)) {
-            this.df.next();
-            this.objGen.transform(this.df).serialize(gen);
+        // Rows are written one at a time, and the table is closed even if writing fails part way through
+        try {
+            gen.writeStartArray();
+            while (this.df.hasNext(this.isInTransaction)) {
+                this.df.next();
+                this.objGen.transform(this.df).serialize(gen);
+            }
+            gen.writeEndArray();
+        } finally {
+            this.df.close(this.isInTransaction);
         }
-        gen.writeEndArray();
-        this.df.close(this.isInTransaction);
     }
 
     /**
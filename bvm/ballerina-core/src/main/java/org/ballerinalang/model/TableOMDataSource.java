@@ -58,31 +58,34 @@ public class TableOMDataSource extends AbstractPushOMDataSource {
 
     @Override
     public void serialize(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
-        xmlStreamWriter.writeStartElement("", this.rootWrapper, "");
-        while (table.hasNext(this.isInTransaction)) {
-            table.next();
-            xmlStreamWriter.writeStartElement("", this.rowWrapper, "");
-            BStructType structType = table.getStructType();
-            BStructType.StructField[] structFields = null;
-            if (structType != null) {
-                structFields = structType.getStructFields();
-            }
-            int index = 1;
-            for (ColumnDefinition col : table.getColumnDefs()) {
-                String name;
-                if (structFields != null) {
-                    name = structFields[index - 1].getFieldName();
-                } else {
-                    name = col.getName();
+        try {
+            xmlStreamWriter.writeStartElement("", this.rootWrapper, "");
+            while (table.hasNext(this.isInTransaction)) {
+                table.next();
+                xmlStreamWriter.writeStartElement("", this.rowWrapper, "");
+                BStructType structType = table.getStructType();
+                BStructType.StructField[] structFields = null;
+                if (structType != null) {
+                    structFields = structType.getStructFields();
+                }
+                int index = 1;
+                for (ColumnDefinition col : table.getColumnDefs()) {
+                    String name;
+                    if (structFields != null) {
+                        name = structFields[index - 1].getFieldName();
+                    } else {
+                        name = col.getName();
+                    }
+                    writeElement(xmlStreamWriter, name, col.getType(), index, structFields);
+                    ++index;
                 }
-                writeElement(xmlStreamWriter, name, col.getType(), index, structFields);
-                ++index;
+                xmlStreamWriter.writeEndElement();
             }
             xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.flush();
+        } finally {
+            table.close(isInTransaction);
         }
-        xmlStreamWriter.writeEndElement();
-        table.close(isInTransaction);
-        xmlStreamWriter.flush();
     }
 
     private void writeElement(XMLStreamWriter xmlStreamWriter, String name, TypeKind type, int index,
@@ -19,6 +19,7 @@ package org.ballerinalang.model.types;
 
 import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ConnectorInfo;
 
 /**
  * {@code BConnectorType} represents a {@code Connector} in Ballerina.
@@ -28,6 +29,7 @@ import org.ballerinalang.model.values.BValue;
 public class BConnectorType extends BType {
 
     private int[] fieldTypeCount;
+    private ConnectorInfo connectorInfo;
 
     /**
      * Create a {@code BConnectorType} which represents the Ballerina Connector type.
@@ -39,6 +41,14 @@ public class BConnectorType extends BType {
         super(typeName, pkgPath, BConnector.class);
     }
 
+    public ConnectorInfo getConnectorInfo() {
+        return connectorInfo;
+    }
+
+    public void setConnectorInfo(ConnectorInfo connectorInfo) {
+        this.connectorInfo = connectorInfo;
+    }
+
     public int[] getFieldTypeCount() {
         return fieldTypeCount;
     }
@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.model.types;
 
+import org.ballerinalang.model.util.JsonStructBinder;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.util.codegen.StructInfo;
@@ -32,6 +33,7 @@ public class BStructType extends BType {
     private StructField[] structFields;
     private AttachedFunction[] attachedFunctions;
     private int[] fieldTypeCount;
+    private JsonStructBinder jsonBinder;
     public int flags;
 
     /**
@@ -70,6 +72,14 @@ public class BStructType extends BType {
         this.fieldTypeCount = fieldCount;
     }
 
+    public JsonStructBinder getJsonBinder() {
+        return jsonBinder;
+    }
+
+    public void setJsonBinder(JsonStructBinder jsonBinder) {
+        this.jsonBinder = jsonBinder;
+    }
+
     @Override
     public <V extends BValue> V getZeroValue() {
         return null;
@@ -24,10 +24,7 @@ import org.apache.axiom.om.OMFactory;
 import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMText;
 import org.ballerinalang.model.TableJSONDataSource;
-import org.ballerinalang.model.types.BAnyType;
 import org.ballerinalang.model.types.BArrayType;
-import org.ballerinalang.model.types.BJSONType;
-import org.ballerinalang.model.types.BMapType;
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
@@ -53,8 +50,6 @@ import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.model.values.BXMLItem;
 import org.ballerinalang.model.values.BXMLSequence;
 import org.ballerinalang.util.codegen.PackageInfo;
-import org.ballerinalang.util.codegen.StructFieldInfo;
-import org.ballerinalang.util.codegen.StructInfo;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
@@ -86,6 +81,11 @@ public class JSONUtils {
      * @return Boolean 'true' if JSON has given field.
      */
     public static boolean hasElement(BJSON json, String elementName) {
+        JsonTape tape = json.getTape();
+        if (tape != null) {
+            return tape.get(json.getTapeIndex(), elementName) >= 0;
+        }
+
         JsonNode jsonNode = json.value();
         return jsonNode.has(elementName);
     }
@@ -258,58 +258,7 @@ public class JSONUtils {
      */
     @SuppressWarnings("unchecked")
     public static BJSON convertStructToJSON(BStruct struct) {
-        BJSON bjson = new BJSON(new JsonNode(Type.OBJECT));
-        JsonNode jsonNode = bjson.value();
-        BStructType structType = (BStructType) struct.getType();
-
-        int longRegIndex = -1;
-        int doubleRegIndex = -1;
-        int stringRegIndex = -1;
-        int booleanRegIndex = -1;
-        int refRegIndex = -1;
-        for (BStructType.StructField structField : structType.getStructFields()) {
-            String key = structField.getFieldName();
-            BType fieldType = structField.getFieldType();
-            try {
-                switch (fieldType.getTag()) {
-                    case TypeTags.INT_TAG:
-                        jsonNode.set(key, struct.getIntField(++longRegIndex));
-                        break;
-                    case TypeTags.FLOAT_TAG:
-                        jsonNode.set(key, struct.getFloatField(++doubleRegIndex));
-                        break;
-                    case TypeTags.STRING_TAG:
-                        jsonNode.set(key, struct.getStringField(++stringRegIndex));
-                        break;
-                    case TypeTags.BOOLEAN_TAG:
-                        jsonNode.set(key, struct.getBooleanField(++booleanRegIndex) == 1);
-                        break;
-                    case TypeTags.BLOB_TAG:
-                        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
-                                BTypes.typeJSON, BTypes.typeBlob);
-                    default:
-                        BValue value = struct.getRefField(++refRegIndex);
-                        if (value == null) {
-                            jsonNode.set(key, new BJSON(NULL).value());
-                        } else if (value.getType() == BTypes.typeMap) {
-                            jsonNode.set(key, convertMapToJSON((BMap<String, BValue>) value).value());
-                        } else if (value instanceof BJSON) {
-                            jsonNode.set(key, ((BJSON) value).value());
-                        } else if (value instanceof BNewArray) {
-                            jsonNode.set(key, convertArrayToJSON((BNewArray) value).value());
-                        } else if (value instanceof BStruct) {
-                            jsonNode.set(key, convertStructToJSON((BStruct) value).value());
-                        } else {
-                            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
-                                    BTypes.typeJSON, value.getType());
-                        }
-                }
-            } catch (BallerinaException e) {
-                handleError(e, key);
-            }
-        }
-
-        return bjson;
+        return JsonStructBinder.get((BStructType) struct.getType()).toJSON(struct);
     }
 
     /**
@@ -331,6 +280,15 @@ public class JSONUtils {
      * @return Element of JSON having the provided name, if the JSON is object type. Null otherwise.
      */
     public static BJSON getElement(BJSON json, String elementName) {
+        JsonTape tape = json.getTape();
+        if (tape != null) {
+            int element = tape.get(json.getTapeIndex(), elementName);
+            if (element < 0 || tape.getType(element) == Type.NULL) {
+                return null;
+            }
+            return new BJSON(tape, element);
+        }
+
         JsonNode jsonNode = json.value();
         
         if (!jsonNode.isObject()) {
@@ -387,6 +345,10 @@ public class JSONUtils {
         if (json == null) {
             return false;
         }
+        JsonTape tape = json.getTape();
+        if (tape != null) {
+            return tape.getType(json.getTapeIndex()) == Type.ARRAY;
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.isArray();
     }
@@ -401,6 +363,10 @@ public class JSONUtils {
         if (json == null) {
             return -1;
         }
+        JsonTape tape = json.getTape();
+        if (tape != null) {
+            return tape.size(json.getTapeIndex());
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.size();
     }
@@ -413,6 +379,11 @@ public class JSONUtils {
      * @return Element at the given index, if the provided JSON is an array. Null, otherwise. 
      */
     public static BJSON getArrayElement(BJSON json, long index) {
+        JsonTape tape = json.getTape();
+        if (tape != null) {
+            return getArrayElement(tape, json.getTapeIndex(), index);
+        }
+
         JsonNode jsonNode = json.value();
 
         if (!jsonNode.isArray()) {
@@ -434,6 +405,29 @@ public class JSONUtils {
         }
     }
     
+    private static BJSON getArrayElement(JsonTape tape, int entry, long index) {
+        if (tape.getType(entry) != Type.ARRAY) {
+            return null;
+        }
+
+        try {
+            int size = tape.size(entry);
+            if (size <= index) {
+                throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.ARRAY_INDEX_OUT_OF_RANGE, index, size);
+            }
+            int element = tape.get(entry, (int) index);
+            if (element < 0) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            if (tape.getType(element) == Type.NULL) {
+                return null;
+            }
+            return new BJSON(tape, element);
+        } catch (Throwable t) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.JSON_GET_ERROR, t.getMessage());
+        }
+    }
+
     /**
      * Set an element in the given position of a JSON array. This method will update the existing value.
      * If the JSON is not array type, then this operation has no effect.
@@ -603,7 +597,7 @@ public class JSONUtils {
      * @param jsonNode {@link JsonNode} to be converted
      * @return BInteger value of the JSON, if its a integer or a long JSON node. Error, otherwise.
      */
-    private static long jsonNodeToInt(JsonNode jsonNode) {
+    static long jsonNodeToInt(JsonNode jsonNode) {
         if (jsonNode.isLong()) {
             return jsonNode.longValue();
         }
@@ -618,7 +612,7 @@ public class JSONUtils {
      * @param jsonNode {@link JsonNode} to be converted
      * @return BFloat value of the JSON, if its a double or a float JSON node. Error, otherwise.
      */
-    private static double jsonNodeToFloat(JsonNode jsonNode) {
+    static double jsonNodeToFloat(JsonNode jsonNode) {
         if (jsonNode.isDouble()) {
             return jsonNode.doubleValue();
         }
@@ -633,7 +627,7 @@ public class JSONUtils {
      * @param jsonNode {@link JsonNode} to be converted
      * @return BBoolean value of the JSON, if its a boolean node. Error, otherwise.
      */
-    private static boolean jsonNodeToBool(JsonNode jsonNode) {
+    static boolean jsonNodeToBool(JsonNode jsonNode) {
         if (jsonNode.isBoolean()) {
             return jsonNode.booleanValue();
         }
@@ -649,7 +643,7 @@ public class JSONUtils {
      * @return If the provided JSON is of object-type, this method will return a {@link BMap} containing the values
      * of the JSON object. Otherwise a {@link BallerinaException} will be thrown.
      */
-    private static BMap<String, ?> jsonNodeToBMap(JsonNode jsonNode) {
+    static BMap<String, ?> jsonNodeToBMap(JsonNode jsonNode) {
         BMap<String, BValue> map = BTypes.typeMap.getEmptyValue();
         if (!jsonNode.isObject()) {
             throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
@@ -674,7 +668,7 @@ public class JSONUtils {
      * of the JSON object. Otherwise the method will throw a {@link BallerinaException}.
      */
     public static BStruct convertJSONToStruct(BJSON bjson, BStructType structType, PackageInfo pkgInfo) {
-        return convertJSONNodeToStruct(bjson.value(), structType, pkgInfo);
+        return JsonStructBinder.get(structType).toStruct(bjson);
     }
 
     /**
@@ -687,72 +681,7 @@ public class JSONUtils {
      * of the JSON object. Otherwise the method will throw a {@link BallerinaException}.
      */
     public static BStruct convertJSONNodeToStruct(JsonNode jsonNode, BStructType structType, PackageInfo pkgInfo) {
-        if (!jsonNode.isObject()) {
-            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
-                    getComplexObjectTypeName(Type.OBJECT), getTypeName(jsonNode));
-        }
-
-        int longRegIndex = -1;
-        int doubleRegIndex = -1;
-        int stringRegIndex = -1;
-        int booleanRegIndex = -1;
-        int refRegIndex = -1;
-
-        BStruct bStruct = new BStruct(structType);
-        StructInfo structInfo = pkgInfo.getStructInfo(structType.getName());
-        for (StructFieldInfo fieldInfo : structInfo.getFieldInfoEntries()) {
-            BType fieldType = fieldInfo.getFieldType();
-            String fieldName = fieldInfo.getName();
-            try {
-                if (!jsonNode.has(fieldName)) {
-                    throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.MISSING_FIELD_IN_JSON, fieldName);
-                }
-
-                JsonNode jsonValue = jsonNode.get(fieldName);
-                switch (fieldType.getTag()) {
-                    case TypeTags.INT_TAG:
-                        bStruct.setIntField(++longRegIndex, jsonNodeToInt(jsonValue));
-                        break;
-                    case TypeTags.FLOAT_TAG:
-                        bStruct.setFloatField(++doubleRegIndex, jsonNodeToFloat(jsonValue));
-                        break;
-                    case TypeTags.STRING_TAG:
-                        String stringVal;
-                        if (jsonValue.isString()) {
-                            stringVal = jsonValue.stringValue();
-                        } else {
-                            stringVal = jsonValue.toString();
-                        }
-                        bStruct.setStringField(++stringRegIndex, stringVal);
-                        break;
-                    case TypeTags.BOOLEAN_TAG:
-                        bStruct.setBooleanField(++booleanRegIndex, jsonNodeToBool(jsonValue) ? 1 : 0);
-                        break;
-                    default:
-                        refRegIndex++;
-                        if ((jsonValue == null || jsonValue.isNull())) {
-                            bStruct.setRefField(refRegIndex, null);
-                        } else if (fieldType instanceof BJSONType || fieldType instanceof BAnyType) {
-                            bStruct.setRefField(refRegIndex, new BJSON(jsonValue));
-                        } else if (fieldType instanceof BMapType) {
-                            bStruct.setRefField(refRegIndex, jsonNodeToBMap(jsonValue));
-                        } else if (fieldType instanceof BStructType) {
-                            bStruct.setRefField(refRegIndex,
-                                    convertJSONNodeToStruct(jsonValue, (BStructType) fieldType, pkgInfo));
-                        } else if (fieldType instanceof BArrayType) {
-                            bStruct.setRefField(refRegIndex,
-                                    jsonNodeToBArray(jsonValue, (BArrayType) fieldType, pkgInfo));
-                        } else {
-                            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
-                                    fieldName, getTypeName(jsonValue));
-                        }
-                }
-            } catch (BallerinaException e) {
-                handleError(e, fieldName);
-            }
-        }
-
-        return bStruct;
+        return JsonStructBinder.get(structType).toStruct(jsonNode);
     }
 
     /**
@@ -766,6 +695,12 @@ public class JSONUtils {
             return new BStringArray();
         }
 
+        JsonTape tape = json.getTape();
+        if (tape != null) {
+            Set<String> keys = tape.getFieldNames(json.getTapeIndex());
+            return new BStringArray(keys.toArray(new String[keys.size()]));
+        }
+
         JsonNode node = json.value();
 
         if (!node.isObject()) {
@@ -805,7 +740,7 @@ public class JSONUtils {
      *         of the JSON array. Otherwise the method will throw a {@link BallerinaException}.
      */
     @SuppressWarnings("rawtypes")
-    private static BNewArray jsonNodeToBArray(JsonNode arrayNode, BArrayType targetArrayType, PackageInfo pkgInfo) {
+    static BNewArray jsonNodeToBArray(JsonNode arrayNode, BArrayType targetArrayType) {
         if (!arrayNode.isArray()) {
             throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
                     getComplexObjectTypeName(Type.ARRAY), getTypeName(arrayNode));
@@ -837,9 +772,9 @@ public class JSONUtils {
                     if (elementType == BTypes.typeMap) {
                         refValueArray.add(i, jsonNodeToBMap(element));
                     } else if (elementType instanceof BStructType) {
-                        refValueArray.add(i, convertJSONNodeToStruct(element, (BStructType) elementType, pkgInfo));
+                        refValueArray.add(i, JsonStructBinder.get((BStructType) elementType).toStruct(element));
                     } else if (elementType instanceof BArrayType) {
-                        refValueArray.add(i, jsonNodeToBArray(element, (BArrayType) elementType, pkgInfo));
+                        refValueArray.add(i, jsonNodeToBArray(element, (BArrayType) elementType));
                     } else {
                         throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
                                 elementType, getTypeName(element));
@@ -914,7 +849,10 @@ public class JSONUtils {
     }
     
     public static String getTypeName(JsonNode jsonValue) {
-        Type nodeType = jsonValue.getType();
+        return getTypeName(jsonValue.getType());
+    }
+
+    static String getTypeName(Type nodeType) {
         switch(nodeType) {
             case LONG:
                 return "int";
@@ -929,11 +867,11 @@ public class JSONUtils {
         }
     }
     
-    private static String getComplexObjectTypeName(Type nodeType) {
+    static String getComplexObjectTypeName(Type nodeType) {
         return "json-" + nodeType.name().toLowerCase();
     }
     
-    private static void handleError(BallerinaException e, String fieldName) {
+    static void handleError(BallerinaException e, String fieldName) {
         String errorMsg = e.getCause() == null ? "error while mapping '" + fieldName + "': " : "";
         throw new BallerinaException(errorMsg + e.getMessage(), e);
     }
@@ -23,6 +23,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This class represents the functionality to generate the JSON constructs to be written out
@@ -42,23 +43,36 @@ public class JsonGenerator {
     
     private boolean fieldActive;
     
-    private static boolean[] escChars = new boolean[93];
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Escape sequences of the characters which must be escaped in a JSON string, by character
+    private static final String[] ESCAPES = new String[128];
     
     static {
-        escChars['"'] = true;
-        escChars['\\'] = true;
-        escChars['\b'] = true;
-        escChars['\n'] = true;
-        escChars['\r'] = true;
-        escChars['\t'] = true;
-    }
-    
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = "\\u00" + HEX_DIGITS[i >> 4] + HEX_DIGITS[i & 0xF];
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
+    
+    /**
+     * Creates a generator which writes UTF-8 encoded JSON to the given stream, through a pooled buffer.
+     *
+     * @param out stream to write to
+     */
     public JsonGenerator(OutputStream out) {
-        this(out, Charset.defaultCharset());
+        this(new Utf8StreamWriter(out));
     }
     
     public JsonGenerator(OutputStream out, Charset charset) {
-        this(new BufferedWriter(new OutputStreamWriter(out, charset)));
+        this(StandardCharsets.UTF_8.equals(charset) ? new Utf8StreamWriter(out) :
+                new BufferedWriter(new OutputStreamWriter(out, charset)));
     }
 
     public JsonGenerator(Writer writer) {
@@ -135,88 +149,35 @@ public class JsonGenerator {
     
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
-        this.writer.write("\"" + fieldName + "\":");
+        this.writer.write('"');
+        this.writeEscaped(fieldName);
+        this.writer.write("\":");
     }
     
     public void writeString(String value) throws IOException {
         this.processValueInit();
-        this.writer.write("\"");        
-        int count = value.length();
-        char ch;
-        boolean escaped = false;
-        char[] chs = value.toCharArray();
-        for (int i = 0; i < count; i++) {
-            ch = chs[i];
-            if (ch < escChars.length && escChars[ch]) {
-                escaped = true;
-                break;
-            }
-        }        
-        if (escaped) {
-            this.writeStringEsc(chs);            
-        } else {
-            this.writer.write(chs);
-        }        
-        this.writer.write("\"");
+        this.writer.write('"');
+        this.writeEscaped(value);
+        this.writer.write('"');
     }
     
     public void writeStringEsc(char[] chs) throws IOException {
-        this.processValueInit();
-        int count = chs.length;
+        this.writeEscaped(new String(chs));
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        // Runs of characters which need no escaping are written as they are
+        int count = value.length();
         int index = 0;
-        char ch;
         for (int i = 0; i < count; i++) {
-            ch = chs[i];
-            switch (ch) {
-            case '"':
-                this.writer.write(chs, index, i - index);
-                writer.write("\"");
-                index = i + 1;
-                break;
-            case '\\':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\");
-                index = i + 1;
-                break;
-            case '/':
-                this.writer.write(chs, index, i - index);
-                writer.write("/");
-                index = i + 1;
-                break;
-            case '\b':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\b");
-                index = i + 1;
-                break;
-            case '\n':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\n");
+            char ch = value.charAt(i);
+            if (ch < ESCAPES.length && ESCAPES[ch] != null) {
+                this.writer.write(value, index, i - index);
+                this.writer.write(ESCAPES[ch]);
                 index = i + 1;
-                break;
-            case '\r':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\r");
-                index = i + 1;
-                break;
-            case '\f':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\f");
-                index = i + 1;
-                break;
-            case '\t':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\t");
-                index = i + 1;
-                break;
-            default:
-                break;
             }
         }
-        
-        if (count - index > 0) {
-            this.writer.write(chs, index, count - index);
-        }
-
+        this.writer.write(value, index, count - index);
     }
     
     public void writeNumber(long value) throws IOException {
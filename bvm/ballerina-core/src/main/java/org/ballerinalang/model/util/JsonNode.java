@@ -19,9 +19,9 @@ package org.ballerinalang.model.util;
 
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -57,6 +57,11 @@ public class JsonNode {
     
     protected String fieldName;
     
+    // Parsed document to read the members of this object or array from, until they are first accessed
+    private volatile JsonTape tape;
+    
+    private int tapeIndex;
+    
     public JsonNode() {
         this(Type.OBJECT);
     }
@@ -81,11 +86,47 @@ public class JsonNode {
         this.setBooleanValue(booleanValue);
     }
     
+    JsonNode(JsonTape tape, int tapeIndex, Type type) {
+        this.type = type;
+        this.tape = tape;
+        this.tapeIndex = tapeIndex;
+    }
+    
+    private void load() {
+        if (this.tape == null) {
+            return;
+        }
+        synchronized (this) {
+            JsonTape tape = this.tape;
+            if (tape != null) {
+                // Stop reading from the tape only once the members are filled in, so that a thread which sees
+                // no tape also sees all the members
+                tape.load(this, this.tapeIndex);
+                this.tape = null;
+            }
+        }
+    }
+    
+    void loadField(String name, JsonNode value) {
+        if (this.fields == null) {
+            this.fields = new LinkedHashMap<>();
+        }
+        this.fields.put(name, value);
+    }
+    
+    void loadElement(JsonNode arrayElement) {
+        if (this.arrayElements == null) {
+            this.arrayElements = new LinkedList<>();
+        }
+        this.arrayElements.add(arrayElement);
+    }
+    
     public Type getType() {
         return type;
     }
     
     public void add(JsonNode arrayElement) {
+        this.load();
         if (arrayElements == null) {
             arrayElements = new LinkedList<>();
         }
@@ -113,6 +154,7 @@ public class JsonNode {
     }
     
     public void setString(String stringValue) {
+        this.tape = null;
         if (stringValue != null) {
             this.stringValue = stringValue;
             this.type = Type.STRING;
@@ -122,21 +164,25 @@ public class JsonNode {
     }
     
     public void setNumber(long longValue) {
+        this.tape = null;
         this.longValue = longValue;
         this.type = Type.LONG;
     }
     
     public void setNumber(double doubleValue) {
+        this.tape = null;
         this.doubleValue = doubleValue;
         this.type = Type.DOUBLE;
     }
     
     public void setBooleanValue(boolean booleanValue) {
+        this.tape = null;
         this.booleanValue = booleanValue;
         this.type = Type.BOOLEAN;
     }
     
     public void setNull() {
+        this.tape = null;
         this.type = Type.NULL;
     }
     
@@ -173,6 +219,7 @@ public class JsonNode {
     }
     
     public int size() {
+        this.load();
         if (this.arrayElements != null) {
             return this.arrayElements.size();
         } else {
@@ -197,6 +244,7 @@ public class JsonNode {
     }
     
     public void set(String name, String stringValue) {
+        this.load();
         if (this.fields == null) {
             this.fields = new LinkedHashMap<>();
         }
@@ -208,6 +256,7 @@ public class JsonNode {
     }
     
     public void set(String name, long longValue) {
+        this.load();
         if (this.fields == null) {
             this.fields = new LinkedHashMap<>();
         }
@@ -215,6 +264,7 @@ public class JsonNode {
     }
     
     public void set(String name, double doubleValue) {
+        this.load();
         if (this.fields == null) {
             this.fields = new LinkedHashMap<>();
         }
@@ -222,6 +272,7 @@ public class JsonNode {
     }
     
     public void set(String name, boolean booleanValue) {
+        this.load();
         if (this.fields == null) {
             this.fields = new LinkedHashMap<>();
         }
@@ -229,6 +280,7 @@ public class JsonNode {
     }
     
     public void set(String name, JsonNode jsonNode) {
+        this.load();
         if (this.fields == null) {
             this.fields = new LinkedHashMap<>();
         }
@@ -240,6 +292,7 @@ public class JsonNode {
     }
     
     public void set(int index, JsonNode jsonNode) {
+        this.load();
         if (this.arrayElements == null) {
             throw new BallerinaException("JSON array is empty to set values");
         }
@@ -251,6 +304,7 @@ public class JsonNode {
     }
     
     public JsonNode get(String name) {
+        this.load();
         if (this.fields != null) {
             return this.fields.get(name);
         } else {
@@ -259,6 +313,7 @@ public class JsonNode {
     }
     
     public JsonNode get(int index) {
+        this.load();
         if (this.arrayElements != null) {
             return this.arrayElements.get(index);
         } else {
@@ -284,6 +339,7 @@ public class JsonNode {
     }
     
     public Iterator<String> fieldNames() {
+        this.load();
         if (this.fields != null) {
             return this.fields.keySet().iterator();
         } else {
@@ -292,6 +348,7 @@ public class JsonNode {
     }
     
     public Iterator<Entry<String, JsonNode>> fields() {
+        this.load();
         if (this.fields != null) {
             return new LinkedHashMap<>(this.fields).entrySet().iterator();
         } else {
@@ -300,6 +357,7 @@ public class JsonNode {
     }
     
     public Iterator<JsonNode> elements() {
+        this.load();
         if (this.arrayElements != null) {
             return this.arrayElements.iterator();
         } else {
@@ -308,21 +366,56 @@ public class JsonNode {
     }
     
     public void remove(String fieldName) {
+        this.load();
         if (this.fields != null) {
             this.fields.remove(fieldName);
         }
     }
     
+    /**
+     * Returns a deep copy of this node. Members which have not been read from a parsed document yet are
+     * not copied, but read from the same document when the copy is first accessed.
+     * 
+     * @return a copy of this node
+     */
+    public JsonNode deepCopy() {
+        JsonTape tape = this.tape;
+        if (tape != null && !tape.hasNodesWithin(this.tapeIndex)) {
+            return tape.copyNode(this.tapeIndex);
+        }
+        this.load();
+        
+        JsonNode copy = new JsonNode(this.type);
+        copy.stringValue = this.stringValue;
+        copy.longValue = this.longValue;
+        copy.doubleValue = this.doubleValue;
+        copy.booleanValue = this.booleanValue;
+        if (this.fields != null) {
+            copy.fields = new LinkedHashMap<>();
+            for (Entry<String, JsonNode> entry : this.fields.entrySet()) {
+                JsonNode value = entry.getValue();
+                copy.fields.put(entry.getKey(), value == null ? null : value.deepCopy());
+            }
+        }
+        if (this.arrayElements != null) {
+            copy.arrayElements = new LinkedList<>();
+            for (JsonNode element : this.arrayElements) {
+                copy.arrayElements.add(element == null ? null : element.deepCopy());
+            }
+        }
+        return copy;
+    }
+    
     public String toString() {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-        JsonGenerator gen = new JsonGenerator(byteOut);
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
         try {
             this.serialize(gen);
             gen.flush();
         } catch (IOException e) {
             throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
         }
-        return new String(byteOut.toByteArray());
+        return writer.toString();
     }
     
     /**
@@ -345,6 +438,11 @@ public class JsonNode {
     }
     
     public void serialize(JsonGenerator gen) throws IOException {
+        JsonTape tape = this.tape;
+        if (tape != null) {
+            tape.serialize(this.tapeIndex, gen);
+            return;
+        }
         switch (this.type) {
         case ARRAY:
             gen.writeStartArray();
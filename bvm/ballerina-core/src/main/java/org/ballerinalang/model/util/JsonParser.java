@@ -28,6 +28,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 /**
  * This class represents a JSON parser.
@@ -93,6 +94,55 @@ public class JsonParser {
         return sm.execute(reader);
     }
     
+    /**
+     * Parses the contents in the given string into a {@link JsonTape}.
+     *
+     * @param jsonStr the string which contains the JSON content
+     * @return JSON structure as a {@link JsonTape}
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonTape parseTape(String jsonStr) throws BallerinaException {
+        char[] chars = jsonStr.toCharArray();
+        return JsonTape.parse(chars, chars.length);
+    }
+
+    /**
+     * Parses the contents in the given {@link InputStream} into a {@link JsonTape}.
+     *
+     * @param in input stream which contains the JSON content
+     * @return JSON structure as a {@link JsonTape}
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonTape parseTape(InputStream in) throws BallerinaException {
+        return parseTape(in, Charset.defaultCharset().name());
+    }
+
+    /**
+     * Parses the contents in the given {@link InputStream} into a {@link JsonTape}.
+     *
+     * @param in input stream which contains the JSON content
+     * @param charsetName the character set name of the input stream
+     * @return JSON structure as a {@link JsonTape}
+     * @throws BallerinaException for any parsing error
+     */
+    public static JsonTape parseTape(InputStream in, String charsetName) throws BallerinaException {
+        try {
+            Reader reader = new InputStreamReader(in, charsetName);
+            char[] chars = new char[1024];
+            int length = 0;
+            int count;
+            while ((count = reader.read(chars, length, chars.length - length)) > 0) {
+                length += count;
+                if (length == chars.length) {
+                    chars = Arrays.copyOf(chars, chars.length * 2);
+                }
+            }
+            return JsonTape.parse(chars, length);
+        } catch (IOException e) {
+            throw new BallerinaException("Error in parsing JSON data: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Represents a JSON parser related exception.
      */
@@ -0,0 +1,462 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.types.BAnyType;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BJSONType;
+import org.ballerinalang.model.types.BMapType;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.util.JsonNode.Type;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BBooleanArray;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BFloatArray;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BNewArray;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BLangExceptionHelper;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.exceptions.RuntimeErrors;
+
+/**
+ * {@code JsonStructBinder} converts JSON values to and from the values of a single struct type.
+ * <p>
+ * The fields of the struct type, and the index of each field in the typed field arrays of a {@link BStruct},
+ * are resolved once when the binder is created. A binder is created on first use and kept in the
+ * {@link BStructType}, so every later conversion of that type only reads and writes field arrays.
+ * A JSON document which is still in its parsed {@link JsonTape} form is bound straight from the tape,
+ * without building a {@link JsonNode} tree.
+ *
+ * @since 0.961.1
+ */
+public class JsonStructBinder {
+
+    private final BStructType structType;
+
+    private final String[] fieldNames;
+
+    private final BType[] fieldTypes;
+
+    // Index of each field in the field array of the struct value which holds its type
+    private final int[] fieldIndexes;
+
+    private JsonStructBinder(BStructType structType) {
+        BStructType.StructField[] structFields = structType.getStructFields();
+        this.structType = structType;
+        this.fieldNames = new String[structFields.length];
+        this.fieldTypes = new BType[structFields.length];
+        this.fieldIndexes = new int[structFields.length];
+
+        int longRegIndex = -1;
+        int doubleRegIndex = -1;
+        int stringRegIndex = -1;
+        int booleanRegIndex = -1;
+        int blobRegIndex = -1;
+        int refRegIndex = -1;
+        for (int i = 0; i < structFields.length; i++) {
+            BType fieldType = structFields[i].getFieldType();
+            this.fieldNames[i] = structFields[i].getFieldName();
+            this.fieldTypes[i] = fieldType;
+            switch (fieldType.getTag()) {
+                case TypeTags.INT_TAG:
+                    this.fieldIndexes[i] = ++longRegIndex;
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    this.fieldIndexes[i] = ++doubleRegIndex;
+                    break;
+                case TypeTags.STRING_TAG:
+                    this.fieldIndexes[i] = ++stringRegIndex;
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    this.fieldIndexes[i] = ++booleanRegIndex;
+                    break;
+                case TypeTags.BLOB_TAG:
+                    this.fieldIndexes[i] = ++blobRegIndex;
+                    break;
+                default:
+                    this.fieldIndexes[i] = ++refRegIndex;
+            }
+        }
+    }
+
+    /**
+     * Returns the binder of the given struct type, creating it on first use.
+     *
+     * @param structType type of the struct
+     * @return binder of the struct type
+     */
+    public static JsonStructBinder get(BStructType structType) {
+        JsonStructBinder binder = structType.getJsonBinder();
+        if (binder == null) {
+            // The binder is immutable, so a binder created concurrently by another thread is just as good
+            binder = new JsonStructBinder(structType);
+            structType.setJsonBinder(binder);
+        }
+        return binder;
+    }
+
+    /**
+     * Convert a JSON value to a struct of the type of this binder. The value is read from its parsed
+     * {@link JsonTape} for as long as it has not been materialized into a {@link JsonNode} tree.
+     *
+     * @param bjson JSON to convert
+     * @return If the provided JSON is of object-type, this method will return a {@link BStruct} containing the values
+     * of the JSON object. Otherwise the method will throw a {@link BallerinaException}.
+     */
+    public BStruct toStruct(BJSON bjson) {
+        JsonTape tape = bjson.getTape();
+        if (tape != null) {
+            return this.toStruct(tape, bjson.getTapeIndex());
+        }
+        return this.toStruct(bjson.value());
+    }
+
+    /**
+     * Convert a {@link JsonNode} to a struct of the type of this binder.
+     *
+     * @param jsonNode JSON to convert
+     * @return If the provided JSON is of object-type, this method will return a {@link BStruct} containing the values
+     * of the JSON object. Otherwise the method will throw a {@link BallerinaException}.
+     */
+    public BStruct toStruct(JsonNode jsonNode) {
+        if (!jsonNode.isObject()) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    JSONUtils.getComplexObjectTypeName(Type.OBJECT), JSONUtils.getTypeName(jsonNode));
+        }
+
+        BStruct bStruct = new BStruct(this.structType);
+        for (int i = 0; i < this.fieldNames.length; i++) {
+            String fieldName = this.fieldNames[i];
+            BType fieldType = this.fieldTypes[i];
+            int fieldIndex = this.fieldIndexes[i];
+            try {
+                if (!jsonNode.has(fieldName)) {
+                    throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.MISSING_FIELD_IN_JSON, fieldName);
+                }
+
+                JsonNode jsonValue = jsonNode.get(fieldName);
+                switch (fieldType.getTag()) {
+                    case TypeTags.INT_TAG:
+                        bStruct.setIntField(fieldIndex, JSONUtils.jsonNodeToInt(jsonValue));
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        bStruct.setFloatField(fieldIndex, JSONUtils.jsonNodeToFloat(jsonValue));
+                        break;
+                    case TypeTags.STRING_TAG:
+                        String stringVal;
+                        if (jsonValue.isString()) {
+                            stringVal = jsonValue.stringValue();
+                        } else {
+                            stringVal = jsonValue.toString();
+                        }
+                        bStruct.setStringField(fieldIndex, stringVal);
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        bStruct.setBooleanField(fieldIndex, JSONUtils.jsonNodeToBool(jsonValue) ? 1 : 0);
+                        break;
+                    default:
+                        if ((jsonValue == null || jsonValue.isNull())) {
+                            this.setNullField(bStruct, i);
+                        } else if (fieldType instanceof BJSONType || fieldType instanceof BAnyType) {
+                            bStruct.setRefField(fieldIndex, new BJSON(jsonValue));
+                        } else if (fieldType instanceof BMapType) {
+                            bStruct.setRefField(fieldIndex, JSONUtils.jsonNodeToBMap(jsonValue));
+                        } else if (fieldType instanceof BStructType) {
+                            bStruct.setRefField(fieldIndex, get((BStructType) fieldType).toStruct(jsonValue));
+                        } else if (fieldType instanceof BArrayType) {
+                            bStruct.setRefField(fieldIndex,
+                                    JSONUtils.jsonNodeToBArray(jsonValue, (BArrayType) fieldType));
+                        } else {
+                            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                                    fieldName, JSONUtils.getTypeName(jsonValue));
+                        }
+                }
+            } catch (BallerinaException e) {
+                JSONUtils.handleError(e, fieldName);
+            }
+        }
+
+        return bStruct;
+    }
+
+    /**
+     * Convert an object entry of a {@link JsonTape} to a struct of the type of this binder. The object is read
+     * once to find the values of all the fields, and no {@link JsonNode} is created for it. Values of json
+     * fields refer to the same tape, so they share their nodes with the other values of the document.
+     *
+     * @param tape parsed JSON document
+     * @param entry entry of the object in the tape
+     * @return If the provided JSON is of object-type, this method will return a {@link BStruct} containing the values
+     * of the JSON object. Otherwise the method will throw a {@link BallerinaException}.
+     */
+    public BStruct toStruct(JsonTape tape, int entry) {
+        if (tape.getType(entry) != Type.OBJECT) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    JSONUtils.getComplexObjectTypeName(Type.OBJECT), JSONUtils.getTypeName(tape.getType(entry)));
+        }
+
+        int[] values = tape.get(entry, this.fieldNames);
+        BStruct bStruct = new BStruct(this.structType);
+        for (int i = 0; i < this.fieldNames.length; i++) {
+            String fieldName = this.fieldNames[i];
+            BType fieldType = this.fieldTypes[i];
+            int fieldIndex = this.fieldIndexes[i];
+            int value = values[i];
+            try {
+                if (value < 0) {
+                    throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.MISSING_FIELD_IN_JSON, fieldName);
+                }
+
+                Type valueType = tape.getType(value);
+                switch (fieldType.getTag()) {
+                    case TypeTags.INT_TAG:
+                        bStruct.setIntField(fieldIndex, toInt(tape, value));
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        bStruct.setFloatField(fieldIndex, toFloat(tape, value));
+                        break;
+                    case TypeTags.STRING_TAG:
+                        bStruct.setStringField(fieldIndex, toString(tape, value));
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        bStruct.setBooleanField(fieldIndex, toBoolean(tape, value) ? 1 : 0);
+                        break;
+                    default:
+                        if (valueType == Type.NULL) {
+                            this.setNullField(bStruct, i);
+                        } else if (fieldType instanceof BJSONType || fieldType instanceof BAnyType) {
+                            bStruct.setRefField(fieldIndex, new BJSON(tape, value));
+                        } else if (fieldType instanceof BMapType) {
+                            bStruct.setRefField(fieldIndex, toMap(tape, value));
+                        } else if (fieldType instanceof BStructType) {
+                            bStruct.setRefField(fieldIndex, get((BStructType) fieldType).toStruct(tape, value));
+                        } else if (fieldType instanceof BArrayType) {
+                            bStruct.setRefField(fieldIndex, toArray(tape, value, (BArrayType) fieldType));
+                        } else {
+                            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                                    fieldName, JSONUtils.getTypeName(valueType));
+                        }
+                }
+            } catch (BallerinaException e) {
+                JSONUtils.handleError(e, fieldName);
+            }
+        }
+
+        return bStruct;
+    }
+
+    /**
+     * Convert a struct of the type of this binder to JSON.
+     *
+     * @param struct {@link BStruct} to be converted to {@link BJSON}
+     * @return JSON representation of the provided struct
+     */
+    @SuppressWarnings("unchecked")
+    public BJSON toJSON(BStruct struct) {
+        JsonNode jsonNode = new JsonNode(Type.OBJECT);
+        for (int i = 0; i < this.fieldNames.length; i++) {
+            String key = this.fieldNames[i];
+            int fieldIndex = this.fieldIndexes[i];
+            try {
+                switch (this.fieldTypes[i].getTag()) {
+                    case TypeTags.INT_TAG:
+                        jsonNode.set(key, struct.getIntField(fieldIndex));
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                        jsonNode.set(key, struct.getFloatField(fieldIndex));
+                        break;
+                    case TypeTags.STRING_TAG:
+                        jsonNode.set(key, struct.getStringField(fieldIndex));
+                        break;
+                    case TypeTags.BOOLEAN_TAG:
+                        jsonNode.set(key, struct.getBooleanField(fieldIndex) == 1);
+                        break;
+                    case TypeTags.BLOB_TAG:
+                        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                                BTypes.typeJSON, BTypes.typeBlob);
+                    default:
+                        BValue value = struct.getRefField(fieldIndex);
+                        if (value == null) {
+                            jsonNode.set(key, new JsonNode(Type.NULL));
+                        } else if (value.getType() == BTypes.typeMap) {
+                            jsonNode.set(key, JSONUtils.convertMapToJSON((BMap<String, BValue>) value).value());
+                        } else if (value instanceof BJSON) {
+                            jsonNode.set(key, ((BJSON) value).value());
+                        } else if (value instanceof BNewArray) {
+                            jsonNode.set(key, JSONUtils.convertArrayToJSON((BNewArray) value).value());
+                        } else if (value instanceof BStruct) {
+                            jsonNode.set(key, get((BStructType) value.getType()).toJSON((BStruct) value).value());
+                        } else {
+                            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                                    BTypes.typeJSON, value.getType());
+                        }
+                }
+            } catch (BallerinaException e) {
+                JSONUtils.handleError(e, key);
+            }
+        }
+
+        return new BJSON(jsonNode);
+    }
+
+    private void setNullField(BStruct bStruct, int field) {
+        if (this.fieldTypes[field].getTag() != TypeTags.BLOB_TAG) {
+            bStruct.setRefField(this.fieldIndexes[field], null);
+        }
+    }
+
+    private static long toInt(JsonTape tape, int entry) {
+        Type type = tape.getType(entry);
+        if (type == Type.LONG) {
+            return tape.longValue(entry);
+        }
+
+        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING_JSON,
+                BTypes.typeInt, JSONUtils.getTypeName(type));
+    }
+
+    private static double toFloat(JsonTape tape, int entry) {
+        Type type = tape.getType(entry);
+        if (type == Type.DOUBLE) {
+            return tape.doubleValue(entry);
+        }
+
+        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING_JSON,
+                BTypes.typeFloat, JSONUtils.getTypeName(type));
+    }
+
+    private static boolean toBoolean(JsonTape tape, int entry) {
+        Type type = tape.getType(entry);
+        if (type == Type.BOOLEAN) {
+            return tape.booleanValue(entry);
+        }
+
+        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING_JSON,
+                BTypes.typeBoolean, JSONUtils.getTypeName(type));
+    }
+
+    private static String toString(JsonTape tape, int entry) {
+        if (tape.getType(entry) == Type.STRING) {
+            return tape.stringValue(entry);
+        }
+        // Other values are given in their serialized form, as JsonNode#toString gives them
+        return new BJSON(tape, entry).getMessageAsString();
+    }
+
+    private static BValue toBValue(JsonTape tape, int entry) {
+        switch (tape.getType(entry)) {
+            case NULL:
+                return null;
+            case STRING:
+                return new BString(tape.stringValue(entry));
+            case LONG:
+                return new BInteger(tape.longValue(entry));
+            case DOUBLE:
+                return new BFloat(tape.doubleValue(entry));
+            case BOOLEAN:
+                return new BBoolean(tape.booleanValue(entry));
+            default:
+                return new BJSON(tape, entry);
+        }
+    }
+
+    private static BMap<String, ?> toMap(JsonTape tape, int entry) {
+        Type type = tape.getType(entry);
+        if (type != Type.OBJECT) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    JSONUtils.getComplexObjectTypeName(Type.OBJECT), JSONUtils.getTypeName(type));
+        }
+
+        BMap<String, BValue> map = BTypes.typeMap.getEmptyValue();
+        for (int key = entry + 1, end = tape.end(entry); key < end; key = tape.next(key + 1)) {
+            map.put(tape.stringValue(key), toBValue(tape, key + 1));
+        }
+        return map;
+    }
+
+    private static BNewArray toArray(JsonTape tape, int entry, BArrayType targetArrayType) {
+        Type type = tape.getType(entry);
+        if (type != Type.ARRAY) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                    JSONUtils.getComplexObjectTypeName(Type.ARRAY), JSONUtils.getTypeName(type));
+        }
+
+        BType elementType = targetArrayType.getElementType();
+        int size = tape.size(entry);
+        int element = entry + 1;
+        switch (elementType.getTag()) {
+            case TypeTags.INT_TAG:
+                long[] longValues = new long[size];
+                for (int i = 0; i < size; i++, element = tape.next(element)) {
+                    longValues[i] = toInt(tape, element);
+                }
+                return new BIntArray(longValues);
+            case TypeTags.FLOAT_TAG:
+                double[] doubleValues = new double[size];
+                for (int i = 0; i < size; i++, element = tape.next(element)) {
+                    doubleValues[i] = toFloat(tape, element);
+                }
+                return new BFloatArray(doubleValues);
+            case TypeTags.STRING_TAG:
+                String[] stringValues = new String[size];
+                for (int i = 0; i < size; i++, element = tape.next(element)) {
+                    stringValues[i] = toString(tape, element);
+                }
+                return new BStringArray(stringValues);
+            case TypeTags.BOOLEAN_TAG:
+                int[] booleanValues = new int[size];
+                for (int i = 0; i < size; i++, element = tape.next(element)) {
+                    booleanValues[i] = toBoolean(tape, element) ? 1 : 0;
+                }
+                return new BBooleanArray(booleanValues);
+            case TypeTags.ANY_TAG:
+                BRefValueArray anyArray = new BRefValueArray(elementType);
+                for (int i = 0; i < size; i++, element = tape.next(element)) {
+                    anyArray.add(i, (BRefType) toBValue(tape, element));
+                }
+                return anyArray;
+            default:
+                BRefValueArray refValueArray = new BRefValueArray(elementType);
+                for (int i = 0; i < size; i++, element = tape.next(element)) {
+                    if (elementType == BTypes.typeMap) {
+                        refValueArray.add(i, toMap(tape, element));
+                    } else if (elementType instanceof BStructType) {
+                        refValueArray.add(i, get((BStructType) elementType).toStruct(tape, element));
+                    } else if (elementType instanceof BArrayType) {
+                        refValueArray.add(i, toArray(tape, element, (BArrayType) elementType));
+                    } else {
+                        throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.INCOMPATIBLE_TYPE_FOR_CASTING,
+                                elementType, JSONUtils.getTypeName(tape.getType(element)));
+                    }
+                }
+                return refValueArray;
+        }
+    }
+}
@@ -0,0 +1,919 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.util.JsonNode.Type;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code JsonTape} is a compact, index based representation of a parsed JSON document.
+ * <p>
+ * Every value in the document is recorded as a fixed size entry in a flat int array, holding
+ * the kind of the value and offsets into the original characters. Objects and arrays record
+ * the entry just after their last child, so that siblings can be skipped without walking the
+ * children. Strings and numbers are only decoded when they are read. {@link JsonNode}s are only
+ * created when they are asked for, which is when the document is about to be mutated, and read
+ * their members from the tape when they are first accessed. The tape is never modified, so copies
+ * of a document can share it.
+ * <p>
+ * The tape parser accepts the common subset of the syntax accepted by the {@link JsonParser}
+ * state machine. Any other input is handed over to the state machine, so that the values and the
+ * error messages stay the same as before.
+ *
+ * @since 0.961.1
+ */
+public class JsonTape {
+
+    private static final int OBJECT = 0;
+    private static final int ARRAY = 1;
+    private static final int STRING = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int TRUE = 5;
+    private static final int FALSE = 6;
+    private static final int NULL = 7;
+
+    private static final int KIND_MASK = 0xF;
+    private static final int ESCAPED = 0x10;
+
+    private static final int ENTRY_SIZE = 3;
+
+    // Longer digit sequences may not fit in a long, and are left to the state machine
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // Objects larger than this are checked for repeated fields with a hash set
+    private static final int MAX_SCANNED_OBJECT_SIZE = 8;
+
+    // Arrays shorter than this are searched by skipping over the elements
+    private static final int MIN_INDEXED_ARRAY_SIZE = 16;
+
+    private final char[] chars;
+
+    private int[] tape;
+
+    private int entryCount;
+
+    // Whether a value is always given the same node, so that updates made through any reference to it
+    // are seen by the others. Views read by copied nodes do not have other references to share with.
+    private final boolean sharedNodes;
+
+    // Nodes handed out for objects and arrays, by entry
+    private Map<Integer, JsonNode> nodes;
+
+    private BitSet createdNodes;
+
+    private JsonNode root;
+
+    private volatile boolean materialized;
+
+    private volatile JsonTape detachedView;
+
+    private volatile ArrayIndex arrayIndex;
+
+    private JsonTape(char[] chars, int length) {
+        this.chars = chars;
+        this.tape = new int[Math.max(16, length / 16) * ENTRY_SIZE];
+        this.sharedNodes = true;
+    }
+
+    private JsonTape(JsonNode root) {
+        this.chars = new char[0];
+        this.root = root;
+        this.entryCount = 1;
+        this.sharedNodes = true;
+        this.materialized = true;
+    }
+
+    private JsonTape(JsonTape source, boolean sharedNodes) {
+        this.chars = source.chars;
+        this.tape = source.tape;
+        this.entryCount = source.entryCount;
+        this.sharedNodes = sharedNodes;
+    }
+
+    /**
+     * Parses the given characters into a tape.
+     *
+     * @param chars characters of the JSON document
+     * @param length number of characters to read
+     * @return the tape of the document, whose root value is entry {@code 0}
+     */
+    public static JsonTape parse(char[] chars, int length) {
+        JsonTape tape = new JsonTape(chars, length);
+        if (new TapeBuilder(tape, length).build()) {
+            return tape;
+        }
+        return new JsonTape(JsonParser.parse(new CharArrayReader(chars, 0, length)));
+    }
+
+    /**
+     * Returns whether a {@link JsonNode} has been handed out for an object or array of this tape. Once it has,
+     * the nodes are the only valid view of the document and the tape must not be read any more.
+     *
+     * @return true if the tape has been materialized
+     */
+    public boolean isMaterialized() {
+        return this.materialized;
+    }
+
+    /**
+     * Returns a tape over the same document which materializes its own nodes. Neither tape sees the updates
+     * made through the nodes of the other. This must only be called before the tape has been materialized.
+     *
+     * @return a copy of this tape
+     */
+    public JsonTape copy() {
+        return new JsonTape(this, true);
+    }
+
+    /**
+     * Returns the {@link JsonNode} of the given entry. An object or array is always given the same node, so that
+     * updates made through any of them are seen by the others. Its members are only read from the tape when the
+     * node is first accessed.
+     *
+     * @param entry entry of the value
+     * @return the {@link JsonNode} of the value
+     */
+    public JsonNode getNode(int entry) {
+        if (this.tape == null) {
+            // The document was parsed by the state machine
+            return this.root;
+        }
+
+        int kind = this.kind(entry);
+        if (kind != OBJECT && kind != ARRAY) {
+            return this.createValueNode(entry);
+        }
+        if (!this.sharedNodes) {
+            return new JsonNode(this, entry, this.getType(entry));
+        }
+
+        synchronized (this) {
+            if (this.nodes == null) {
+                this.nodes = new HashMap<>();
+                this.createdNodes = new BitSet();
+                this.materialized = true;
+            }
+            JsonNode node = this.nodes.get(entry);
+            if (node == null) {
+                node = new JsonNode(this, entry, this.getType(entry));
+                this.nodes.put(entry, node);
+                this.createdNodes.set(entry);
+            }
+            return node;
+        }
+    }
+
+    public Type getType(int entry) {
+        switch (this.kind(entry)) {
+            case OBJECT:
+                return Type.OBJECT;
+            case ARRAY:
+                return Type.ARRAY;
+            case STRING:
+                return Type.STRING;
+            case LONG:
+                return Type.LONG;
+            case DOUBLE:
+                return Type.DOUBLE;
+            case TRUE:
+            case FALSE:
+                return Type.BOOLEAN;
+            default:
+                return Type.NULL;
+        }
+    }
+
+    /**
+     * Returns the number of elements of an array entry, or {@code 0} for other values.
+     *
+     * @param entry entry of the value
+     * @return number of array elements
+     */
+    public int size(int entry) {
+        if (this.kind(entry) != ARRAY) {
+            return 0;
+        }
+        return this.tape[entry * ENTRY_SIZE + 2];
+    }
+
+    /**
+     * Returns the entry of the value of the given field of an object entry. If the field is repeated,
+     * the last value wins, as it does in {@link JsonNode}.
+     *
+     * @param entry entry of the object
+     * @param fieldName name of the field
+     * @return entry of the field value, or {@code -1} if there is no such field
+     */
+    public int get(int entry, String fieldName) {
+        if (this.kind(entry) != OBJECT) {
+            return -1;
+        }
+
+        int result = -1;
+        int end = this.tape[entry * ENTRY_SIZE + 1];
+        for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+            if (this.keyEquals(key, fieldName)) {
+                result = key + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entries of the values of the given fields of an object entry, reading the object only once.
+     * Fields are expected in the given order, so that a document written from the same fields is matched
+     * with one comparison per field. If a field is repeated, the last value wins.
+     *
+     * @param entry entry of the object
+     * @param fieldNames names of the fields
+     * @return entries of the field values, with {@code -1} for the fields which are not in the object
+     */
+    public int[] get(int entry, String[] fieldNames) {
+        int[] result = new int[fieldNames.length];
+        Arrays.fill(result, -1);
+        if (this.kind(entry) != OBJECT || fieldNames.length == 0) {
+            return result;
+        }
+
+        int expected = 0;
+        int end = this.tape[entry * ENTRY_SIZE + 1];
+        for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+            for (int i = 0; i < fieldNames.length; i++) {
+                int field = (expected + i) % fieldNames.length;
+                if (this.keyEquals(key, fieldNames[field])) {
+                    result[field] = key + 1;
+                    expected = field + 1;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entry of the element at the given index of an array entry.
+     *
+     * @param entry entry of the array
+     * @param index index of the element
+     * @return entry of the element, or {@code -1} if there is no such element
+     */
+    public int get(int entry, int index) {
+        int size = this.size(entry);
+        if (index < 0 || index >= size) {
+            return -1;
+        }
+
+        if (size < MIN_INDEXED_ARRAY_SIZE) {
+            int element = entry + 1;
+            for (int i = 0; i < index; i++) {
+                element = this.next(element);
+            }
+            return element;
+        }
+
+        ArrayIndex arrayIndex = this.arrayIndex;
+        if (arrayIndex == null || arrayIndex.array != entry) {
+            arrayIndex = new ArrayIndex(entry, size);
+            this.arrayIndex = arrayIndex;
+        }
+        return arrayIndex.elements[index];
+    }
+
+    /**
+     * Returns the distinct field names of an object entry, in the order they first appear.
+     *
+     * @param entry entry of the object
+     * @return field names of the object
+     */
+    public Set<String> getFieldNames(int entry) {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        if (this.kind(entry) != OBJECT) {
+            return fieldNames;
+        }
+
+        int end = this.tape[entry * ENTRY_SIZE + 1];
+        for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+            fieldNames.add(this.stringValue(key));
+        }
+        return fieldNames;
+    }
+
+    public String stringValue(int entry) {
+        int offset = entry * ENTRY_SIZE;
+        int start = this.tape[offset + 1];
+        int end = this.tape[offset + 2];
+        if ((this.tape[offset] & ESCAPED) == 0) {
+            return new String(this.chars, start, end - start);
+        }
+        return this.unescape(start, end);
+    }
+
+    public long longValue(int entry) {
+        int offset = entry * ENTRY_SIZE;
+        int start = this.tape[offset + 1];
+        int end = this.tape[offset + 2];
+        boolean negative = this.chars[start] == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            value = value * 10 + (this.chars[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    public double doubleValue(int entry) {
+        int offset = entry * ENTRY_SIZE;
+        int start = this.tape[offset + 1];
+        return Double.parseDouble(new String(this.chars, start, this.tape[offset + 2] - start));
+    }
+
+    public boolean booleanValue(int entry) {
+        return this.kind(entry) == TRUE;
+    }
+
+    /**
+     * Writes the given entry to a {@link JsonGenerator} without building a {@link JsonNode} tree.
+     *
+     * @param entry entry of the value
+     * @param gen generator to write to
+     * @throws IOException if the value cannot be written
+     */
+    public void serialize(int entry, JsonGenerator gen) throws IOException {
+        this.serialize(entry, gen, this.hasNodesWithin(entry));
+    }
+
+    private void serialize(int entry, JsonGenerator gen, boolean hasNodes) throws IOException {
+        switch (this.kind(entry)) {
+            case OBJECT:
+                gen.startObject();
+                if (this.hasDuplicateKeys(entry)) {
+                    // Repeated fields are written once, with the last value, as JsonNode does
+                    for (String fieldName : this.getFieldNames(entry)) {
+                        gen.writeFieldName(fieldName);
+                        this.serializeMember(this.get(entry, fieldName), gen, hasNodes);
+                    }
+                } else {
+                    int end = this.tape[entry * ENTRY_SIZE + 1];
+                    for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+                        gen.writeFieldName(this.stringValue(key));
+                        this.serializeMember(key + 1, gen, hasNodes);
+                    }
+                }
+                gen.endObject();
+                break;
+            case ARRAY:
+                gen.writeStartArray();
+                int size = this.size(entry);
+                for (int i = 0, element = entry + 1; i < size; i++, element = this.next(element)) {
+                    this.serializeMember(element, gen, hasNodes);
+                }
+                gen.writeEndArray();
+                break;
+            case STRING:
+                gen.writeString(this.stringValue(entry));
+                break;
+            case LONG:
+                gen.writeNumber(this.longValue(entry));
+                break;
+            case DOUBLE:
+                gen.writeNumber(this.doubleValue(entry));
+                break;
+            case TRUE:
+            case FALSE:
+                gen.writeBoolean(this.booleanValue(entry));
+                break;
+            default:
+                gen.writeNull();
+                break;
+        }
+    }
+
+    private void serializeMember(int entry, JsonGenerator gen, boolean hasNodes) throws IOException {
+        if (!hasNodes) {
+            this.serialize(entry, gen, false);
+            return;
+        }
+
+        // Members which already have nodes may have been updated through them
+        JsonNode node = this.getCreatedNode(entry);
+        if (node != null) {
+            node.serialize(gen);
+        } else {
+            this.serialize(entry, gen, this.hasNodesWithin(entry));
+        }
+    }
+
+    private synchronized JsonNode getCreatedNode(int entry) {
+        return this.nodes == null ? null : this.nodes.get(entry);
+    }
+
+    /**
+     * Returns whether nodes have been handed out for any of the members of an entry, at any depth.
+     *
+     * @param entry entry of the value
+     * @return true if the members of the entry may have been updated through their nodes
+     */
+    synchronized boolean hasNodesWithin(int entry) {
+        if (this.createdNodes == null) {
+            return false;
+        }
+        int next = this.createdNodes.nextSetBit(entry + 1);
+        return next >= 0 && next < this.next(entry);
+    }
+
+    /**
+     * Returns the entry just after the last member of an object or array entry.
+     *
+     * @param entry entry of the object or array
+     * @return entry following the members
+     */
+    int end(int entry) {
+        return this.tape[entry * ENTRY_SIZE + 1];
+    }
+
+    private int kind(int entry) {
+        return this.tape[entry * ENTRY_SIZE] & KIND_MASK;
+    }
+
+    int next(int entry) {
+        int offset = entry * ENTRY_SIZE;
+        int kind = this.tape[offset] & KIND_MASK;
+        return kind == OBJECT || kind == ARRAY ? this.tape[offset + 1] : entry + 1;
+    }
+
+    private boolean hasDuplicateKeys(int entry) {
+        int end = this.tape[entry * ENTRY_SIZE + 1];
+        if (this.tape[entry * ENTRY_SIZE + 2] > MAX_SCANNED_OBJECT_SIZE) {
+            Set<String> fieldNames = new HashSet<>();
+            for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+                if (!fieldNames.add(this.stringValue(key))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+            for (int other = this.next(key + 1); other < end; other = this.next(other + 1)) {
+                if (this.keysEqual(key, other)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean keysEqual(int key, int other) {
+        int keyOffset = key * ENTRY_SIZE;
+        int otherOffset = other * ENTRY_SIZE;
+        if (((this.tape[keyOffset] | this.tape[otherOffset]) & ESCAPED) != 0) {
+            return this.stringValue(key).equals(this.stringValue(other));
+        }
+
+        int start = this.tape[keyOffset + 1];
+        int otherStart = this.tape[otherOffset + 1];
+        int length = this.tape[keyOffset + 2] - start;
+        if (length != this.tape[otherOffset + 2] - otherStart) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.chars[start + i] != this.chars[otherStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean keyEquals(int key, String fieldName) {
+        int offset = key * ENTRY_SIZE;
+        if ((this.tape[offset] & ESCAPED) != 0) {
+            return this.stringValue(key).equals(fieldName);
+        }
+
+        int start = this.tape[offset + 1];
+        int length = this.tape[offset + 2] - start;
+        if (length != fieldName.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (this.chars[start + i] != fieldName.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String unescape(int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char ch = this.chars[i];
+            if (ch != '\\') {
+                sb.append(ch);
+                continue;
+            }
+            ch = this.chars[++i];
+            switch (ch) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(new String(this.chars, i + 1, 4), 16));
+                    i += 4;
+                    break;
+                default:
+                    // '"', '\\' and '/' stand for themselves
+                    sb.append(ch);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private JsonNode createValueNode(int entry) {
+        switch (this.kind(entry)) {
+            case STRING:
+                return new JsonNode(this.stringValue(entry));
+            case LONG:
+                return new JsonNode(this.longValue(entry));
+            case DOUBLE:
+                return new JsonNode(this.doubleValue(entry));
+            case TRUE:
+            case FALSE:
+                return new JsonNode(this.booleanValue(entry));
+            default:
+                return new JsonNode(Type.NULL);
+        }
+    }
+
+    /**
+     * Adds the members of an object or array entry to its node.
+     *
+     * @param node node of the entry
+     * @param entry entry of the object or array
+     */
+    void load(JsonNode node, int entry) {
+        if (this.kind(entry) == OBJECT) {
+            int end = this.tape[entry * ENTRY_SIZE + 1];
+            for (int key = entry + 1; key < end; key = this.next(key + 1)) {
+                node.loadField(this.stringValue(key), this.getNode(key + 1));
+            }
+            return;
+        }
+
+        int size = this.size(entry);
+        for (int i = 0, element = entry + 1; i < size; i++, element = this.next(element)) {
+            node.loadElement(this.getNode(element));
+        }
+    }
+
+    /**
+     * Returns a new node for an object or array entry, whose members are read from this document
+     * independently of the nodes handed out by {@link #getNode(int)}. The members must not have
+     * been updated, as checked by {@link #hasNodesWithin(int)}.
+     *
+     * @param entry entry of the object or array
+     * @return a new node for the entry
+     */
+    JsonNode copyNode(int entry) {
+        JsonTape view = this;
+        if (this.sharedNodes) {
+            view = this.detachedView;
+            if (view == null) {
+                view = new JsonTape(this, false);
+                this.detachedView = view;
+            }
+        }
+        return new JsonNode(view, entry, this.getType(entry));
+    }
+
+    /**
+     * Entries of the elements of an array, for constant time access by index.
+     */
+    private class ArrayIndex {
+
+        private final int array;
+
+        private final int[] elements;
+
+        private ArrayIndex(int array, int size) {
+            this.array = array;
+            this.elements = new int[size];
+            for (int i = 0, element = array + 1; i < size; i++, element = next(element)) {
+                this.elements[i] = element;
+            }
+        }
+    }
+
+    /**
+     * Builds the tape of a document in a single pass, without recursion.
+     */
+    private static class TapeBuilder {
+
+        private final JsonTape tape;
+
+        private final char[] chars;
+
+        private final int length;
+
+        private int[] containers = new int[16];
+
+        private int depth;
+
+        private TapeBuilder(JsonTape tape, int length) {
+            this.tape = tape;
+            this.chars = tape.chars;
+            this.length = length;
+        }
+
+        /**
+         * Builds the tape.
+         *
+         * @return false if the document is not in the syntax subset handled here
+         */
+        private boolean build() {
+            int pos = this.skipWhitespace(0);
+            boolean expectValue = true;
+            while (true) {
+                if (expectValue) {
+                    if (pos >= this.length) {
+                        return false;
+                    }
+                    char ch = this.chars[pos];
+                    if (ch == '{' || ch == '[') {
+                        this.open(ch == '{' ? OBJECT : ARRAY);
+                        pos = this.skipWhitespace(pos + 1);
+                        if (pos >= this.length) {
+                            return false;
+                        }
+                        if (this.chars[pos] == (ch == '{' ? '}' : ']')) {
+                            this.close();
+                            pos++;
+                            expectValue = false;
+                        } else if (ch == '{') {
+                            pos = this.readFieldName(pos);
+                        }
+                    } else if (ch == '"' || ch == '\'') {
+                        pos = this.readString(pos);
+                        expectValue = false;
+                    } else {
+                        pos = this.readToken(pos);
+                        expectValue = false;
+                    }
+                    if (pos < 0) {
+                        return false;
+                    }
+                    continue;
+                }
+
+                if (this.depth == 0) {
+                    return this.skipWhitespace(pos) == this.length;
+                }
+
+                pos = this.skipWhitespace(pos);
+                if (pos >= this.length) {
+                    return false;
+                }
+                int container = this.containers[this.depth - 1];
+                int offset = container * ENTRY_SIZE;
+                this.tape.tape[offset + 2]++;
+                boolean inObject = this.tape.tape[offset] == OBJECT;
+                char ch = this.chars[pos];
+                if (ch == ',') {
+                    pos = this.skipWhitespace(pos + 1);
+                    if (inObject) {
+                        pos = this.readFieldName(pos);
+                        if (pos < 0) {
+                            return false;
+                        }
+                    }
+                    expectValue = true;
+                } else if (ch == (inObject ? '}' : ']')) {
+                    this.close();
+                    pos++;
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        private int addEntry(int kind, int a, int b) {
+            JsonTape tape = this.tape;
+            int offset = tape.entryCount * ENTRY_SIZE;
+            if (offset + ENTRY_SIZE > tape.tape.length) {
+                int[] newTape = new int[tape.tape.length * 2];
+                System.arraycopy(tape.tape, 0, newTape, 0, offset);
+                tape.tape = newTape;
+            }
+            tape.tape[offset] = kind;
+            tape.tape[offset + 1] = a;
+            tape.tape[offset + 2] = b;
+            return tape.entryCount++;
+        }
+
+        private void open(int kind) {
+            int entry = this.addEntry(kind, 0, 0);
+            if (this.depth == this.containers.length) {
+                int[] newContainers = new int[this.depth * 2];
+                System.arraycopy(this.containers, 0, newContainers, 0, this.depth);
+                this.containers = newContainers;
+            }
+            this.containers[this.depth++] = entry;
+        }
+
+        private void close() {
+            int container = this.containers[--this.depth];
+            this.tape.tape[container * ENTRY_SIZE + 1] = this.tape.entryCount;
+        }
+
+        private int skipWhitespace(int pos) {
+            while (pos < this.length) {
+                char ch = this.chars[pos];
+                if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                    break;
+                }
+                pos++;
+            }
+            return pos;
+        }
+
+        private int readFieldName(int pos) {
+            if (pos >= this.length || (this.chars[pos] != '"' && this.chars[pos] != '\'')) {
+                return -1;
+            }
+            pos = this.readString(pos);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = this.skipWhitespace(pos);
+            if (pos >= this.length || this.chars[pos] != ':') {
+                return -1;
+            }
+            return this.skipWhitespace(pos + 1);
+        }
+
+        private int readString(int pos) {
+            char quote = this.chars[pos];
+            int start = pos + 1;
+            int kind = STRING;
+            for (int i = start; i < this.length; i++) {
+                char ch = this.chars[i];
+                if (ch == quote) {
+                    this.addEntry(kind, start, i);
+                    return i + 1;
+                }
+                if (ch != '\\') {
+                    continue;
+                }
+                kind = STRING | ESCAPED;
+                if (++i >= this.length) {
+                    return -1;
+                }
+                switch (this.chars[i]) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                    case 'b':
+                    case 'f':
+                    case 'n':
+                    case 'r':
+                    case 't':
+                        break;
+                    case 'u':
+                        if (i + 4 >= this.length) {
+                            return -1;
+                        }
+                        for (int j = i + 1; j <= i + 4; j++) {
+                            if (!isHexDigit(this.chars[j])) {
+                                return -1;
+                            }
+                        }
+                        i += 4;
+                        break;
+                    default:
+                        return -1;
+                }
+            }
+            return -1;
+        }
+
+        private int readToken(int pos) {
+            int end = pos;
+            while (end < this.length) {
+                char ch = this.chars[end];
+                if (ch == ',' || ch == '}' || ch == ']' || ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+                    break;
+                }
+                end++;
+            }
+
+            int kind = this.tokenKind(pos, end);
+            if (kind < 0) {
+                return -1;
+            }
+            this.addEntry(kind, pos, end);
+            return end;
+        }
+
+        private int tokenKind(int start, int end) {
+            int length = end - start;
+            if (length == 4 && this.matches(start, "true")) {
+                return TRUE;
+            } else if (length == 5 && this.matches(start, "false")) {
+                return FALSE;
+            } else if (length == 4 && this.matches(start, "null")) {
+                return NULL;
+            }
+
+            int i = start;
+            if (i < end && this.chars[i] == '-') {
+                i++;
+            }
+            int digitsStart = i;
+            i = this.skipDigits(i, end);
+            int integerDigits = i - digitsStart;
+            if (integerDigits == 0) {
+                return -1;
+            }
+            if (i == end) {
+                return integerDigits <= MAX_LONG_DIGITS ? LONG : -1;
+            }
+
+            if (this.chars[i] != '.') {
+                return -1;
+            }
+            int fractionStart = i + 1;
+            i = this.skipDigits(fractionStart, end);
+            if (i == fractionStart) {
+                return -1;
+            }
+            if (i < end && (this.chars[i] == 'e' || this.chars[i] == 'E')) {
+                i++;
+                if (i < end && (this.chars[i] == '+' || this.chars[i] == '-')) {
+                    i++;
+                }
+                int exponentStart = i;
+                i = this.skipDigits(i, end);
+                if (i == exponentStart) {
+                    return -1;
+                }
+            }
+            return i == end ? DOUBLE : -1;
+        }
+
+        private static boolean isHexDigit(char ch) {
+            return (ch >= '0' && ch <= '9') || (ch >= 'A' && ch <= 'F') || (ch >= 'a' && ch <= 'f');
+        }
+
+        private int skipDigits(int pos, int end) {
+            while (pos < end && this.chars[pos] >= '0' && this.chars[pos] <= '9') {
+                pos++;
+            }
+            return pos;
+        }
+
+        private boolean matches(int pos, String token) {
+            for (int i = 0; i < token.length(); i++) {
+                if (this.chars[pos + i] != token.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
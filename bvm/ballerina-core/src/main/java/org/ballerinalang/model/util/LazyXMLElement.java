@@ -0,0 +1,555 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.om.OMXMLParserWrapper;
+import org.apache.axiom.om.util.StAXParserConfiguration;
+import org.apache.axiom.om.util.StAXUtils;
+import org.ballerinalang.model.values.BXMLItem;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * {@code LazyXMLElement} is an element of an XML document which is kept as unparsed UTF-8 bytes, and read with a
+ * StAX cursor only when it is asked for.
+ * <p>
+ * When a document is read from a stream, its bytes are buffered and checked for well-formedness in a single
+ * pass, which records where the root element starts and ends. Selecting the children or the descendants of an
+ * element runs a cursor over the bytes of that element, skips the elements which do not match, and records the
+ * byte range of the ones which do. Writing an element out copies its bytes as they are. An object model of an
+ * element is only built when it is asked for.
+ * <p>
+ * Namespaces which an element uses, but which are declared by its ancestors, are recorded with the element.
+ * They are declared on an enclosing element when the element is parsed on its own, and added to its start tag
+ * when it is written out, so that the output is well-formed on its own.
+ * <p>
+ * Documents in encodings other than UTF-8, and documents with a document type declaration, are built as an
+ * object model as before.
+ *
+ * @since 0.961.1
+ */
+public final class LazyXMLElement {
+
+    private static final OMFactory OM_FACTORY = OMAbstractFactory.getOMFactory();
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final String[] NO_NAMESPACES = new String[0];
+
+    private static final int[] NO_PATH = new int[0];
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    // Element which declares the namespaces of the ancestors, when an element is parsed on its own
+    private static final String SCOPE_START = "<scope";
+
+    private static final String SCOPE_END = "</scope>";
+
+    private final byte[] source;
+
+    private final int start;
+
+    private final int end;
+
+    private final QName name;
+
+    // Prefixes and URIs, in pairs, of the namespaces of the ancestors which are used within the element
+    private final String[] namespaces;
+
+    // Indexes among the child elements, from the element which this element was selected from
+    private final int[] path;
+
+    private LazyXMLElement(byte[] source, int start, int end, QName name, String[] namespaces, int[] path) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.name = name;
+        this.namespaces = namespaces;
+        this.path = path;
+    }
+
+    /**
+     * Read the XML document in a stream, and create an item for each child of the document. The root element
+     * is read lazily when possible.
+     *
+     * @param inputStream stream to read the document from
+     * @return the items of the document
+     * @throws XMLStreamException if the document is not well-formed
+     * @throws IOException if the stream cannot be read
+     */
+    public static List<BXMLItem> parseDocument(InputStream inputStream) throws XMLStreamException, IOException {
+        // Streams which know their length are read without growing the buffer
+        byte[] source = new byte[Math.max(INITIAL_BUFFER_SIZE, inputStream.available() + 1)];
+        int length = 0;
+        int read;
+        while ((read = inputStream.read(source, length, source.length - length)) != -1) {
+            length += read;
+            if (length == source.length) {
+                source = Arrays.copyOf(source, source.length * 2);
+            }
+        }
+
+        List<BXMLItem> items = parseDocument(source, length);
+        if (items != null) {
+            return items;
+        }
+
+        items = new ArrayList<>();
+        OMDocument document = OMXMLBuilderFactory.createOMBuilder(new ByteArrayInputStream(source, 0, length))
+                .getDocument();
+        Iterator<OMNode> children = document.getChildren();
+        while (children.hasNext()) {
+            items.add(new BXMLItem(children.next()));
+        }
+        return items;
+    }
+
+    /**
+     * Get the name of the element.
+     *
+     * @return name of the element
+     */
+    public QName getName() {
+        return name;
+    }
+
+    /**
+     * Get the position of the element, as the indexes among the child elements at each level, starting from
+     * the element which this element was selected from.
+     *
+     * @return indexes of the element and of its ancestors among their sibling elements
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Select the child elements, or the descendant elements, which have the given name. Elements within a
+     * selected element are not looked at.
+     *
+     * @param qname name of the elements to select
+     * @param descend whether to select descendants, rather than only children
+     * @return selected elements, in document order
+     * @throws XMLStreamException if the element cannot be read
+     */
+    public List<LazyXMLElement> select(QName qname, boolean descend) throws XMLStreamException {
+        List<LazyXMLElement> elements = new ArrayList<>();
+        Cursor cursor = open();
+        XMLStreamReader reader = cursor.reader;
+        try {
+            List<String> scope = new ArrayList<>(Arrays.asList(namespaces));
+            declare(reader, scope);
+            int[] scopeSizes = new int[8];
+            int[] indexes = new int[8];
+            int depth = 0;
+            indexes[0] = -1;
+            int event = reader.next();
+            while (true) {
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    indexes[depth]++;
+                    if (qname.getLocalPart().equals(reader.getLocalName())
+                            && qname.getNamespaceURI().equals(nullToEmpty(reader.getNamespaceURI()))) {
+                        int elementStart = cursor.offset();
+                        QName elementName = reader.getName();
+                        String[] used = cursor.skipElement(inherited(reader, scope));
+                        elements.add(new LazyXMLElement(source, elementStart, cursor.offset(), elementName, used,
+                                Arrays.copyOf(indexes, depth + 1)));
+                        event = reader.getEventType();
+                        continue;
+                    }
+
+                    if (!descend) {
+                        cursor.skipElement(NO_NAMESPACES);
+                        event = reader.getEventType();
+                        continue;
+                    }
+
+                    depth++;
+                    if (depth == indexes.length) {
+                        indexes = Arrays.copyOf(indexes, depth * 2);
+                        scopeSizes = Arrays.copyOf(scopeSizes, depth * 2);
+                    }
+                    indexes[depth] = -1;
+                    scopeSizes[depth] = scope.size();
+                    declare(reader, scope);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == 0) {
+                        break;
+                    }
+                    scope.subList(scopeSizes[depth], scope.size()).clear();
+                    depth--;
+                }
+                event = reader.next();
+            }
+        } finally {
+            reader.close();
+        }
+        return elements;
+    }
+
+    /**
+     * Build an object model of the element, as the document element of a new document.
+     *
+     * @return the element
+     */
+    public OMElement build() {
+        OMElement element = buildInScope();
+        element.detach();
+        OM_FACTORY.createOMDocument().addChild(element);
+        return element;
+    }
+
+    /**
+     * Build an object model of the element. If the element uses namespaces of its ancestors, it is built as the
+     * child of an element which declares them.
+     *
+     * @return the element
+     */
+    public OMElement buildInScope() {
+        OMXMLParserWrapper builder = OMXMLBuilderFactory.createOMBuilder(newInputStream(), ENCODING);
+        OMElement element = builder.getDocumentElement();
+        if (namespaces.length > 0) {
+            element = element.getFirstElement();
+        }
+        element.build();
+        return element;
+    }
+
+    /**
+     * Write the element to a stream, as it is in the document.
+     *
+     * @param outputStream stream to write to
+     * @throws IOException if the stream cannot be written to
+     */
+    public void serialize(OutputStream outputStream) throws IOException {
+        if (namespaces.length == 0) {
+            outputStream.write(source, start, end - start);
+            return;
+        }
+
+        int nameEnd = nameEnd();
+        outputStream.write(source, start, nameEnd - start);
+        outputStream.write(declarations().getBytes(StandardCharsets.UTF_8));
+        outputStream.write(source, nameEnd, end - nameEnd);
+    }
+
+    @Override
+    public String toString() {
+        if (namespaces.length == 0) {
+            return new String(source, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        int nameEnd = nameEnd();
+        return new String(source, start, nameEnd - start, StandardCharsets.UTF_8) + declarations()
+                + new String(source, nameEnd, end - nameEnd, StandardCharsets.UTF_8);
+    }
+
+    private static List<BXMLItem> parseDocument(byte[] source, int length) throws XMLStreamException {
+        int offset = length >= 3 && source[0] == (byte) 0xEF && source[1] == (byte) 0xBB
+                && source[2] == (byte) 0xBF ? 3 : 0;
+        XMLStreamReader reader = StAXUtils.createXMLStreamReader(new ByteArrayInputStream(source, 0, length));
+        try {
+            String encoding = reader.getEncoding();
+            if (encoding != null && !encoding.equalsIgnoreCase(ENCODING) && !encoding.equalsIgnoreCase("US-ASCII")) {
+                return null;
+            }
+
+            Cursor cursor = new Cursor(source, reader, 0, offset);
+            OMDocument document = OM_FACTORY.createOMDocument();
+            List<BXMLItem> items = new ArrayList<>();
+            int event = reader.next();
+            while (event != XMLStreamConstants.END_DOCUMENT) {
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        int elementStart = cursor.offset();
+                        QName elementName = reader.getName();
+                        cursor.skipElement(NO_NAMESPACES);
+                        items.add(new BXMLItem(new LazyXMLElement(source, elementStart, cursor.offset(), elementName,
+                                NO_NAMESPACES, NO_PATH)));
+                        event = reader.getEventType();
+                        continue;
+                    case XMLStreamConstants.COMMENT:
+                        items.add(new BXMLItem(OM_FACTORY.createOMComment(document, reader.getText())));
+                        break;
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        items.add(new BXMLItem(OM_FACTORY.createOMProcessingInstruction(document,
+                                reader.getPITarget(), reader.getPIData())));
+                        break;
+                    case XMLStreamConstants.SPACE:
+                    case XMLStreamConstants.CHARACTERS:
+                        items.add(new BXMLItem(OM_FACTORY.createOMText(document, reader.getText(),
+                                OMNode.SPACE_NODE)));
+                        break;
+                    case XMLStreamConstants.DTD:
+                        // Entities declared in the document type cannot be resolved within a part of the document
+                        return null;
+                    default:
+                        break;
+                }
+                event = reader.next();
+            }
+            return items;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Cursor open() throws XMLStreamException {
+        // Text is not read by the cursor, so it does not need to be coalesced
+        XMLStreamReader reader = StAXUtils.createXMLStreamReader(StAXParserConfiguration.NON_COALESCING,
+                newInputStream(), ENCODING);
+        Cursor cursor = new Cursor(source, reader, namespaces.length > 0 ? scopeStartTag().length() : 0, start);
+        int startElements = namespaces.length > 0 ? 2 : 1;
+        while (startElements > 0) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                startElements--;
+            }
+        }
+        return cursor;
+    }
+
+    private InputStream newInputStream() {
+        InputStream inputStream = new ByteArrayInputStream(source, start, end - start);
+        if (namespaces.length == 0) {
+            return inputStream;
+        }
+
+        return new SequenceInputStream(new SequenceInputStream(
+                new ByteArrayInputStream(scopeStartTag().getBytes(StandardCharsets.UTF_8)), inputStream),
+                new ByteArrayInputStream(SCOPE_END.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String scopeStartTag() {
+        return SCOPE_START + declarations() + '>';
+    }
+
+    private String declarations() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < namespaces.length; i += 2) {
+            sb.append(" xmlns");
+            if (!namespaces[i].isEmpty()) {
+                sb.append(':').append(namespaces[i]);
+            }
+            sb.append("=\"");
+            String uri = namespaces[i + 1];
+            for (int j = 0; j < uri.length(); j++) {
+                char ch = uri.charAt(j);
+                switch (ch) {
+                    case '&':
+                        sb.append("&amp;");
+                        break;
+                    case '<':
+                        sb.append("&lt;");
+                        break;
+                    case '"':
+                        sb.append("&quot;");
+                        break;
+                    default:
+                        sb.append(ch);
+                        break;
+                }
+            }
+            sb.append('"');
+        }
+        return sb.toString();
+    }
+
+    private int nameEnd() {
+        int i = start + 1;
+        while (i < end) {
+            switch (source[i]) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                case '/':
+                case '>':
+                    return i;
+                default:
+                    i++;
+                    break;
+            }
+        }
+        return i;
+    }
+
+    private static void declare(XMLStreamReader reader, List<String> scope) {
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            scope.add(nullToEmpty(reader.getNamespacePrefix(i)));
+            scope.add(nullToEmpty(reader.getNamespaceURI(i)));
+        }
+    }
+
+    /**
+     * Get the namespaces in scope at the current element which are not declared by the element itself.
+     */
+    private static String[] inherited(XMLStreamReader reader, List<String> scope) {
+        if (scope.isEmpty()) {
+            return NO_NAMESPACES;
+        }
+
+        List<String> inherited = new ArrayList<>();
+        for (int i = 0; i < scope.size(); i += 2) {
+            String prefix = scope.get(i);
+            if (!isDeclared(reader, prefix) && !isRedeclared(scope, i)) {
+                inherited.add(prefix);
+                inherited.add(scope.get(i + 1));
+            }
+        }
+        return inherited.toArray(new String[inherited.size()]);
+    }
+
+    private static boolean isDeclared(XMLStreamReader reader, String prefix) {
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            if (prefix.equals(nullToEmpty(reader.getNamespacePrefix(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRedeclared(List<String> scope, int index) {
+        for (int i = index + 2; i < scope.size(); i += 2) {
+            if (scope.get(i).equals(scope.get(index))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * {@code Cursor} is a StAX reader over the bytes of a document, which maps the character offsets of the
+     * events to byte offsets in the document.
+     */
+    private static final class Cursor {
+
+        private final byte[] source;
+
+        private final XMLStreamReader reader;
+
+        // Character offset reached by the reader, and the byte offset of that character
+        private int chars;
+
+        private int bytes;
+
+        private Cursor(byte[] source, XMLStreamReader reader, int chars, int bytes) {
+            this.source = source;
+            this.reader = reader;
+            this.chars = chars;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Get the byte offset of the current event. Offsets can only be asked for in document order.
+         */
+        private int offset() {
+            int target = reader.getLocation().getCharacterOffset();
+            while (chars < target) {
+                int b = source[bytes];
+                if (b >= 0) {
+                    bytes++;
+                    chars++;
+                } else if ((b & 0xE0) == 0xC0) {
+                    bytes += 2;
+                    chars++;
+                } else if ((b & 0xF0) == 0xE0) {
+                    bytes += 3;
+                    chars++;
+                } else {
+                    // Four byte sequences are read as surrogate pairs
+                    bytes += 4;
+                    chars += 2;
+                }
+            }
+            return bytes;
+        }
+
+        /**
+         * Move the reader from the start of an element to the event after its end, and get the namespaces out of
+         * the given ones which are used within the element.
+         */
+        private String[] skipElement(String[] namespaces) throws XMLStreamException {
+            boolean[] used = new boolean[namespaces.length / 2];
+            int usedCount = 0;
+            int depth = 0;
+            int event = reader.getEventType();
+            do {
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (usedCount < used.length) {
+                        usedCount += markUsed(namespaces, used, nullToEmpty(reader.getPrefix()));
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            String prefix = reader.getAttributePrefix(i);
+                            if (prefix != null && !prefix.isEmpty()) {
+                                usedCount += markUsed(namespaces, used, prefix);
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+                event = reader.next();
+            } while (depth > 0);
+
+            if (usedCount == used.length) {
+                return namespaces;
+            }
+            String[] usedNamespaces = new String[usedCount * 2];
+            for (int i = 0, j = 0; i < used.length; i++) {
+                if (used[i]) {
+                    usedNamespaces[j++] = namespaces[i * 2];
+                    usedNamespaces[j++] = namespaces[i * 2 + 1];
+                }
+            }
+            return usedNamespaces;
+        }
+
+        private static int markUsed(String[] namespaces, boolean[] used, String prefix) {
+            for (int i = 0; i < used.length; i++) {
+                if (!used[i] && namespaces[i * 2].equals(prefix)) {
+                    used[i] = true;
+                    return 1;
+                }
+            }
+            return 0;
+        }
+    }
+}
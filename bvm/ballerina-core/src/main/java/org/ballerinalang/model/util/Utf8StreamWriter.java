@@ -0,0 +1,182 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * {@code Utf8StreamWriter} is a {@link Writer} which encodes characters to UTF-8 into a byte buffer, and writes
+ * the buffer to an {@link OutputStream} whenever it fills up. Large values are thus written out incrementally,
+ * without holding the whole document as a {@link String} or a byte array.
+ * <p>
+ * The byte buffer is borrowed from a per thread pool when writing starts, and given back when the writer is
+ * flushed, so that writing a message does not allocate a new buffer each time. A writer which is written to
+ * again after a flush borrows a buffer again.
+ *
+ * @since 0.961.1
+ */
+public class Utf8StreamWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Longest encoding of a single character, or of a surrogate pair
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private static final byte REPLACEMENT = '?';
+
+    // Buffer of each thread which is not in use by a writer
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private final OutputStream out;
+
+    private byte[] buffer;
+
+    private int position;
+
+    // High surrogate of a pair whose low surrogate is yet to be written
+    private char highSurrogate;
+
+    public Utf8StreamWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        this.ensureCapacity();
+        this.encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; i++) {
+            this.ensureCapacity();
+            char ch = cbuf[i];
+            if (ch < 0x80 && this.highSurrogate == 0) {
+                this.buffer[this.position++] = (byte) ch;
+            } else {
+                this.encode(ch);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end; i++) {
+            this.ensureCapacity();
+            char ch = str.charAt(i);
+            if (ch < 0x80 && this.highSurrogate == 0) {
+                this.buffer[this.position++] = (byte) ch;
+            } else {
+                this.encode(ch);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.highSurrogate != 0) {
+            this.ensureCapacity();
+            this.buffer[this.position++] = REPLACEMENT;
+            this.highSurrogate = 0;
+        }
+        this.writeBuffer();
+        this.releaseBuffer();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.out.close();
+        }
+    }
+
+    private void encode(char ch) {
+        byte[] buffer = this.buffer;
+        int position = this.position;
+        if (this.highSurrogate != 0) {
+            if (Character.isLowSurrogate(ch)) {
+                int codePoint = Character.toCodePoint(this.highSurrogate, ch);
+                this.highSurrogate = 0;
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                this.position = position;
+                return;
+            }
+            // Unpaired surrogates are replaced, as the JDK encoder does. The replacement and the character
+            // still fit in the space reserved for a single character.
+            this.highSurrogate = 0;
+            buffer[position++] = REPLACEMENT;
+        }
+
+        if (ch < 0x80) {
+            buffer[position++] = (byte) ch;
+        } else if (ch < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (ch >> 6));
+            buffer[position++] = (byte) (0x80 | (ch & 0x3F));
+        } else if (Character.isHighSurrogate(ch)) {
+            this.highSurrogate = ch;
+        } else if (Character.isLowSurrogate(ch)) {
+            buffer[position++] = REPLACEMENT;
+        } else {
+            buffer[position++] = (byte) (0xE0 | (ch >> 12));
+            buffer[position++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (ch & 0x3F));
+        }
+        this.position = position;
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (this.buffer == null) {
+            this.acquireBuffer();
+        } else if (this.position + MAX_CHAR_BYTES > this.buffer.length) {
+            this.writeBuffer();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        if (this.position > 0) {
+            this.out.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+
+    private void acquireBuffer() {
+        byte[] buffer = BUFFERS.get();
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        } else {
+            BUFFERS.set(null);
+        }
+        this.buffer = buffer;
+        this.position = 0;
+    }
+
+    private void releaseBuffer() {
+        if (this.buffer != null) {
+            BUFFERS.set(this.buffer);
+            this.buffer = null;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMNode;
+import org.ballerinalang.model.values.BXMLSequence;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code XMLIndex} keeps the children and the descendants selected from the elements of an XML document by name,
+ * so that selecting them again returns the same sequence without walking the document again.
+ * <p>
+ * There is a single index for each document, which is found from the top most node of the document. The index
+ * is cleared whenever the children of an element in the document change, including when nodes are moved out of
+ * the document. Changes to attributes and namespace declarations do not change the names of existing elements,
+ * so they leave the index as it is.
+ * <p>
+ * Unparsed documents never change, so their index is never cleared. Once an unparsed element is built, it is
+ * indexed along with the document it is built into.
+ *
+ * @since 0.961.1
+ */
+public final class XMLIndex {
+
+    /**
+     * Kinds of selections kept in an index.
+     */
+    public enum Selection {
+        CHILDREN,
+        NAMED_CHILDREN,
+        DESCENDANTS
+    }
+
+    // Indexes of the documents in use, by the top most node of each document. An index is only kept as long as
+    // values of its document refer to it.
+    private static final Map<OMContainer, WeakReference<XMLIndex>> INDEXES = new WeakHashMap<>();
+
+    private final OMContainer root;
+
+    private final Map<Key, BXMLSequence> selections = new ConcurrentHashMap<>();
+
+    private XMLIndex(OMContainer root) {
+        this.root = root;
+    }
+
+    /**
+     * Create an index for an unparsed document.
+     *
+     * @return new index
+     */
+    public static XMLIndex newUnparsedIndex() {
+        return new XMLIndex(null);
+    }
+
+    /**
+     * Get the index of the document of a node.
+     *
+     * @param node node of the document
+     * @param index index last used with the node, which is returned if the node is still in the same document
+     * @return index of the document
+     */
+    public static XMLIndex of(OMNode node, XMLIndex index) {
+        OMContainer root = getRoot(node);
+        if (index != null && index.root == root) {
+            return index;
+        }
+
+        synchronized (INDEXES) {
+            WeakReference<XMLIndex> reference = INDEXES.get(root);
+            index = reference == null ? null : reference.get();
+            if (index == null) {
+                index = new XMLIndex(root);
+                INDEXES.put(root, new WeakReference<>(index));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Clear the index of the document of a node, before the children of one of its elements change.
+     *
+     * @param node node of the document
+     * @param index index last used with the node, if any
+     */
+    public static void invalidate(OMNode node, XMLIndex index) {
+        OMContainer root = getRoot(node);
+        if (root == null) {
+            return;
+        }
+
+        if (index == null || index.root != root) {
+            synchronized (INDEXES) {
+                WeakReference<XMLIndex> reference = INDEXES.get(root);
+                index = reference == null ? null : reference.get();
+            }
+        }
+        if (index != null) {
+            index.selections.clear();
+        }
+    }
+
+    /**
+     * Get a selection made before.
+     *
+     * @param node node the selection was made from
+     * @param selection kind of the selection
+     * @param qname name of the selected elements, if any
+     * @return the selected sequence, or null if it is not in the index
+     */
+    public BXMLSequence get(Object node, Selection selection, String qname) {
+        return selections.get(new Key(node, selection, qname));
+    }
+
+    /**
+     * Add a selection to the index.
+     *
+     * @param node node the selection was made from
+     * @param selection kind of the selection
+     * @param qname name of the selected elements, if any
+     * @param sequence the selected sequence
+     */
+    public void put(Object node, Selection selection, String qname, BXMLSequence sequence) {
+        selections.put(new Key(node, selection, qname), sequence);
+    }
+
+    private static OMContainer getRoot(OMNode node) {
+        OMContainer parent = node.getParent();
+        while (parent instanceof OMNode) {
+            node = (OMNode) parent;
+            parent = node.getParent();
+        }
+        if (parent != null) {
+            return parent;
+        }
+        return node instanceof OMContainer ? (OMContainer) node : null;
+    }
+
+    /**
+     * {@code Key} identifies a selection by the identity of the node it was made from.
+     */
+    private static final class Key {
+
+        private final Object node;
+
+        private final Selection selection;
+
+        private final String qname;
+
+        private Key(Object node, Selection selection, String qname) {
+            this.node = node;
+            this.selection = selection;
+            this.qname = qname;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return node == key.node && selection == key.selection
+                    && (qname == null ? key.qname == null : qname.equals(key.qname));
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(node) * 31 + selection.hashCode();
+            return qname == null ? hash : hash * 31 + qname.hashCode();
+        }
+    }
+}
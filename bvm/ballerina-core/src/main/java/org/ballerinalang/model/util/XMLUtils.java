@@ -29,7 +29,6 @@ import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMProcessingInstruction;
 import org.apache.axiom.om.OMText;
-import org.apache.axiom.om.OMXMLBuilderFactory;
 import org.apache.axiom.om.impl.dom.TextImpl;
 import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
 import org.apache.axiom.om.util.AXIOMUtil;
@@ -48,6 +47,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.XMLConstants;
@@ -125,16 +125,16 @@ public class XMLUtils {
     @SuppressWarnings("unchecked")
     public static BXML<?> parse(InputStream xmlStream) {
         BRefValueArray elementsSeq = new BRefValueArray();
-        OMDocument doc;
         try {
-            doc = OMXMLBuilderFactory.createOMBuilder(xmlStream).getDocument();
-            Iterator<OMNode> docChildItr = doc.getChildren();
-            int i = 0;
-            while (docChildItr.hasNext()) {
-                elementsSeq.add(i++, new BXMLItem(docChildItr.next()));
+            // The root element is kept unparsed, and is only built when it is needed
+            List<BXMLItem> items = LazyXMLElement.parseDocument(xmlStream);
+            for (int i = 0; i < items.size(); i++) {
+                elementsSeq.add(i, items.get(i));
             }
         } catch (DeferredParsingException e) {
             throw new BallerinaException(e.getCause().getMessage());
+        } catch (XMLStreamException e) {
+            throw new BallerinaException(e.getMessage());
         } catch (Throwable e) {
             throw new BallerinaException("failed to create xml: " + e.getMessage());
         }
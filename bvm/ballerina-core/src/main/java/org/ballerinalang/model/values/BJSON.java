@@ -28,6 +28,7 @@ import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.model.util.JsonNode;
 import org.ballerinalang.model.util.JsonNode.Type;
 import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.util.JsonTape;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
@@ -36,6 +37,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.StringJoiner;
@@ -55,6 +58,11 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     // json object model associated with this JSONType object
     private JsonNode value;
 
+    // Parsed form of the json, read until the json object model is needed
+    private JsonTape tape;
+
+    private int tapeIndex;
+
     /**
      * Initialize a {@link BJSON} from a {@link JsonNode} object.
      *
@@ -76,6 +84,18 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         this.type = type;
     }
 
+    /**
+     * Initialize a {@link BJSON} from a value in a parsed {@link JsonTape}.
+     *
+     * @param tape parsed json document
+     * @param tapeIndex entry of the value in the tape
+     */
+    public BJSON(JsonTape tape, int tapeIndex) {
+        this.tape = tape;
+        this.tapeIndex = tapeIndex;
+        setType();
+    }
+
     /**
      * Initialize a {@link BJSON} from a streaming datasource.
      * 
@@ -99,7 +119,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         }
 
         try {
-            this.value = JsonParser.parse(jsonString);
+            this.tape = JsonParser.parseTape(jsonString);
             setType();
         } catch (Throwable t) {
             handleJsonException(t);
@@ -123,7 +143,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public BJSON(InputStream in, String schema) {
         try {
-            this.value = JsonParser.parse(in);
+            this.tape = JsonParser.parseTape(in);
         } catch (Throwable t) {
             handleJsonException("failed to create json: ", t);
         }
@@ -143,6 +163,28 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public void setValue(JsonNode value) {
         this.value = value;
+        this.tape = null;
+    }
+
+    /**
+     * Returns the parsed {@link JsonTape} of this json, if it can still be read instead of the json object model.
+     *
+     * @return parsed json document, or null if the json object model has to be used
+     */
+    public JsonTape getTape() {
+        if (this.value != null || this.tape == null || this.tape.isMaterialized()) {
+            return null;
+        }
+        return this.tape;
+    }
+
+    /**
+     * Returns the entry of this json in the {@link JsonTape} returned by {@link #getTape()}.
+     *
+     * @return entry of this json in the tape
+     */
+    public int getTapeIndex() {
+        return this.tapeIndex;
     }
 
     @Override
@@ -150,8 +192,13 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         try {
             /* the below order is important, where if the value is generated from a streaming data source,
              * it should be able to serialize the data out again using the value */
-            if (this.value != null) {
-                this.value.serialize(outputStream);
+            JsonTape tape = this.getTape();
+            if (tape != null) {
+                JsonGenerator gen = new JsonGenerator(outputStream);
+                tape.serialize(this.tapeIndex, gen);
+                gen.flush();
+            } else if (this.value != null || this.tape != null) {
+                this.value().serialize(outputStream);
             } else {
                 JsonGenerator gen = new JsonGenerator(outputStream);
                 this.datasource.serialize(gen);
@@ -169,13 +216,17 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     @Override
     public JsonNode value() {
-        if (this.value == null) {
+        if (this.value == null && this.tape != null) {
+            this.value = this.tape.getNode(this.tapeIndex);
+            this.tape = null;
+        } else if (this.value == null) {
             ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
             try {
                 JsonGenerator gen = new JsonGenerator(byteOut);
                 this.datasource.serialize(gen);
                 gen.flush();
-                this.value = JsonParser.parse(new ByteArrayInputStream(byteOut.toByteArray()));
+                this.value = JsonParser.parse(new ByteArrayInputStream(byteOut.toByteArray()),
+                        StandardCharsets.UTF_8.name());
             } catch (Throwable t) {
                 handleJsonException("Error in building JSON node: ", t);
             }
@@ -185,6 +236,17 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     @Override
     public String stringValue() {
+        JsonTape tape = this.getTape();
+        if (tape != null) {
+            Type nodeType = tape.getType(this.tapeIndex);
+            if (nodeType == Type.ARRAY || (nodeType == Type.OBJECT
+                    && ((BJSONType) this.type).getConstrainedType() == null)) {
+                return this.tapeToString(tape);
+            } else if (nodeType != Type.OBJECT) {
+                return tape.getNode(this.tapeIndex).asText();
+            }
+        }
+
         JsonNode node = this.value();
         if (node.isValueNode()) {
             return this.value().asText();
@@ -219,13 +281,29 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     @Override
     public String getMessageAsString() {
         try {
-            return this.value.toString();
+            JsonTape tape = this.getTape();
+            if (tape != null) {
+                return this.tapeToString(tape);
+            }
+            return this.value().toString();
         } catch (Throwable t) {
             handleJsonException("failed to get json as string: ", t);
         }
         return null;
     }
 
+    private String tapeToString(JsonTape tape) {
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(writer);
+        try {
+            tape.serialize(this.tapeIndex, gen);
+            gen.flush();
+        } catch (IOException e) {
+            throw new BallerinaException("Error in converting JSON to a string: " + e.getMessage(), e);
+        }
+        return writer.toString();
+    }
+
     private static void handleJsonException(Throwable t) {
         if (t.getCause() != null) {
             throw new BallerinaException(t.getCause().getMessage());
@@ -248,9 +326,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     public BallerinaMessageDataSource clone() {
         BJSON clonedMessage = new BJSON("{}");
         try {
-            String elementString = this.getMessageAsString();
-            JsonNode clonedContent = JsonParser.parse(elementString);
-            clonedMessage.setValue(clonedContent);
+            clonedMessage.setValue(this.value().deepCopy());
         } catch (Throwable t) {
             handleJsonException("failed to clone the json message: ", t);
         }
@@ -278,7 +354,11 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
         BJSONIterator(BJSON value) {
             collection = value;
-            if (collection.type.getTag() == TypeTags.ARRAY_TAG || collection.value().isArray()) {
+            JsonTape tape = collection.getTape();
+            if (tape != null && tape.getType(collection.tapeIndex) == Type.ARRAY) {
+                isJSONArray = true;     // Elements are read from the tape until the json is materialized.
+                size = tape.size(collection.tapeIndex);
+            } else if (collection.type.getTag() == TypeTags.ARRAY_TAG || collection.value().isArray()) {
                 isJSONArray = true;     // This is a JSON Array. Index will be a int.
                 size = collection.value().size();
             } else {
@@ -290,10 +370,11 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         public BValue[] getNext(int arity) {
             if (isJSONArray) {
                 long cursor = this.cursor++;
+                BJSON element = getElement((int) cursor);
                 if (arity == 1) {
-                    return new BValue[] {new BJSON(collection.value.get((int) cursor))};
+                    return new BValue[] {element};
                 } else {
-                    return new BValue[] {new BInteger(cursor), new BJSON(collection.value.get((int) cursor))};
+                    return new BValue[] {new BInteger(cursor), element};
                 }
             }
             if (arity == 1) {
@@ -302,6 +383,14 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
             return null;
         }
 
+        private BJSON getElement(int index) {
+            JsonTape tape = collection.getTape();
+            if (tape != null) {
+                return new BJSON(tape, tape.get(collection.tapeIndex, index));
+            }
+            return new BJSON(collection.value().get(index));
+        }
+
         @Override
         public boolean hasNext() {
             return isJSONArray ? cursor < size : iterator.hasNext();
@@ -325,11 +414,35 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     
     @Override
     public BValue copy() {
-        return new BJSON(this.stringValue());
+        if (this.type.getTag() == TypeTags.JSON_TAG && ((BJSONType) this.type).getConstrainedType() != null
+                && this.value().isObject()) {
+            // Only the fields of the constrained type are copied
+            JsonNode node = this.value();
+            JsonNode copy = new JsonNode(Type.OBJECT);
+            for (StructField field : ((BStructType) ((BJSONType) this.type).getConstrainedType()).getStructFields()) {
+                JsonNode fieldValue = node.get(field.fieldName);
+                copy.set(field.fieldName, fieldValue == null ? null : fieldValue.deepCopy());
+            }
+            return new BJSON(copy);
+        }
+
+        JsonTape tape = this.getTape();
+        if (tape != null) {
+            return new BJSON(tape.copy(), this.tapeIndex);
+        }
+        return new BJSON(this.value().deepCopy());
     }
     
     private void setType() {
-        switch (this.value.getType()) {
+        Type nodeType;
+        if (this.value != null) {
+            nodeType = this.value.getType();
+        } else if (this.tape.isMaterialized()) {
+            nodeType = this.tape.getNode(this.tapeIndex).getType();
+        } else {
+            nodeType = this.tape.getType(this.tapeIndex);
+        }
+        switch (nodeType) {
             case ARRAY:
                 this.type = new BArrayType(BTypes.typeJSON);
                 break;
@@ -19,17 +19,20 @@ package org.ballerinalang.model.values;
 
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.util.Utf8StreamWriter;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.Charset;
+import java.io.Writer;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -42,12 +45,14 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implements BRefType, BCollection {
 
+    private final LinkedHashMap<K, V> map;
 
-    @SuppressWarnings("unchecked")
-    private LinkedHashMap<K, V> map;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    // A map is accessed without locking while it is confined to the worker which created it. Once it escapes to
+    // another worker, a global variable or a session, it is marked as shared and every access takes the lock.
+    // The locks are published through the volatile write of this flag.
+    private volatile boolean shared;
+    private Lock readLock;
+    private Lock writeLock;
 
     public BMap() {
         map =  new LinkedHashMap<>();
@@ -59,6 +64,10 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return value
      */
     public V get(K key) {
+        if (!shared) {
+            return map.get(key);
+        }
+
         readLock.lock();
         try {
             return map.get(key);
@@ -73,6 +82,13 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
+        if (!shared) {
+            map.put(key, value);
+            return;
+        }
+
+        // Values stored in a shared map are reachable from other workers as well.
+        SharedValues.markShared(value);
         writeLock.lock();
         try {
             map.put(key, value);
@@ -85,7 +101,17 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * Clear map entries.
      */
     public void clear() {
-        map.clear();
+        if (!shared) {
+            map.clear();
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            map.clear();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -95,7 +121,16 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns boolean true if key exists
      */
     public boolean hasKey(K key) {
-        return map.containsKey(key);
+        if (!shared) {
+            return map.containsKey(key);
+        }
+
+        readLock.lock();
+        try {
+            return map.containsKey(key);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -103,7 +138,16 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns the size of the map
      */
     public int size() {
-        return map.size();
+        if (!shared) {
+            return map.size();
+        }
+
+        readLock.lock();
+        try {
+            return map.size();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -111,15 +155,34 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key of the item to be removed
      */
     public void remove(K key) {
-        map.remove(key);
+        if (!shared) {
+            map.remove(key);
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            map.remove(key);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
-     * Retrieve the set of keys related to this map.
+     * Retrieve the set of keys related to this map. A snapshot of the keys is returned if the map is shared.
      * @return returns the set of keys
      */
     public Set<K> keySet() {
-        return map.keySet();
+        if (!shared) {
+            return map.keySet();
+        }
+
+        readLock.lock();
+        try {
+            return new LinkedHashSet<>(map.keySet());
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**Return true if this map is empty.
@@ -127,7 +190,56 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return Flag indicating whether the map is empty or not
      */
     public boolean isEmpty() {
-        return map.size() == 0;
+        return size() == 0;
+    }
+
+    /**
+     * Mark this map as shared between workers. Use {@link SharedValues#markShared(BValue)} to mark the values
+     * reachable from this map as well.
+     *
+     * @return {@code true} if the map was not shared before
+     */
+    synchronized boolean share() {
+        if (shared) {
+            return false;
+        }
+
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
+        shared = true;
+        return true;
+    }
+
+    /**
+     * Check whether this map is shared between workers.
+     *
+     * @return {@code true} if the map is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    void forEachValue(Consumer<V> action) {
+        for (V value : entries().values()) {
+            action.accept(value);
+        }
+    }
+
+    /**
+     * Returns the entries of the map which are safe to iterate over; a copy is taken if the map is shared.
+     */
+    private Map<K, V> entries() {
+        if (!shared) {
+            return map;
+        }
+
+        readLock.lock();
+        try {
+            return new LinkedHashMap<>(map);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     @Override
@@ -139,7 +251,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     public String stringValue() {
         StringJoiner sj = new StringJoiner(", ", "{", "}");
 
-        for (Iterator<Map.Entry<K, V>> i = map.entrySet().iterator(); i.hasNext();) {
+        for (Iterator<Map.Entry<K, V>> i = entries().entrySet().iterator(); i.hasNext();) {
 
             String key;
             String stringValue;
@@ -170,7 +282,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     @Override
     public BValue copy() {
         BMap<K, BValue> newMap = BTypes.typeMap.getEmptyValue();
-        for (Map.Entry<K, V> entry: map.entrySet()) {
+        for (Map.Entry<K, V> entry: entries().entrySet()) {
             BValue value = entry.getValue();
             newMap.put(entry.getKey(), value == null ? null : value.copy());
         }
@@ -185,12 +297,46 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     @Override
     public void serializeData(OutputStream outputStream) {
         try {
-            outputStream.write(stringValue().getBytes(Charset.defaultCharset()));
+            Writer writer = new Utf8StreamWriter(outputStream);
+            this.serialize(writer);
+            writer.flush();
         } catch (IOException e) {
             throw new BallerinaException("Error occurred while serializing data", e);
         }
     }
 
+    /**
+     * Writes the same text as {@link #stringValue()} entry by entry, so that the whole map is never held
+     * as a single string. Maps nested in the map are written the same way.
+     */
+    private void serialize(Writer writer) throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (Map.Entry<K, V> e : entries().entrySet()) {
+            if (!first) {
+                writer.write(", ");
+            }
+            first = false;
+
+            writer.write('"');
+            writer.write((String) e.getKey());
+            writer.write("\":");
+            V value = e.getValue();
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof BString) {
+                writer.write('"');
+                writer.write(value.stringValue());
+                writer.write('"');
+            } else if (value instanceof BMap) {
+                ((BMap<?, ?>) value).serialize(writer);
+            } else {
+                writer.write(value.stringValue());
+            }
+        }
+        writer.write('}');
+    }
+
     @Override
     public BIterator newIterator() {
         return new BMapIterator<>(this);
@@ -208,7 +354,8 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
         BMapIterator(BMap<K, V> value) {
             collection = value;
-            iterator = new LinkedHashMap<>(value.map).entrySet().iterator();
+            iterator = value.shared ? value.entries().entrySet().iterator()
+                    : new LinkedHashMap<>(value.map).entrySet().iterator();
         }
 
         @Override
@@ -31,6 +31,8 @@ public class BRefValueArray extends BNewArray {
 
     private BRefType[] values;
 
+    private volatile boolean shared;
+
     public BRefValueArray(BRefType[] values, BType type) {
         this.values = values;
         this.arrayType = type;
@@ -47,6 +49,10 @@ public class BRefValueArray extends BNewArray {
     }
 
     public void add(long index, BRefType value) {
+        if (shared) {
+            // Values stored in a shared array are reachable from other workers as well.
+            SharedValues.markShared(value);
+        }
         prepareForAdd(index, values.length);
         values[(int) index] = value;
     }
@@ -86,4 +92,28 @@ public class BRefValueArray extends BNewArray {
     public BValue getBValue(long index) {
         return get(index);
     }
+
+    /**
+     * Mark this array as shared between workers. Use {@link SharedValues#markShared(BValue)} to mark the values
+     * reachable from this array as well.
+     *
+     * @return {@code true} if the array was not shared before
+     */
+    synchronized boolean share() {
+        if (shared) {
+            return false;
+        }
+
+        shared = true;
+        return true;
+    }
+
+    /**
+     * Check whether this array is shared between workers.
+     *
+     * @return {@code true} if the array is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
 }
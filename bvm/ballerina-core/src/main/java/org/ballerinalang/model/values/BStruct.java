@@ -37,18 +37,24 @@ public final class BStruct implements BRefType, LockableStructureType {
 
     private HashMap<String, Object> nativeData = new HashMap<>();
 
+    private static final int LONG_FIELDS = 0;
+    private static final int DOUBLE_FIELDS = 1;
+    private static final int STRING_FIELDS = 2;
+    private static final int INT_FIELDS = 3;
+    private static final int BYTE_FIELDS = 4;
+    private static final int REF_FIELDS = 5;
+
     private long[] longFields;
-    private VarLock[] longLocks;
     private double[] doubleFields;
-    private VarLock[] doubleLocks;
     private String[] stringFields;
-    private VarLock[] stringLocks;
     private int[] intFields;
-    private VarLock[] intLocks;
     private byte[][] byteFields;
-    private VarLock[] byteLocks;
     private BRefType[] refFields;
-    private VarLock[] refLocks;
+
+    // Locks of all the fields, laid out in the order of the field arrays above. Created on first use.
+    private volatile VarLock[] fieldLocks;
+
+    private volatile boolean shared;
 
     private BStructType structType;
 
@@ -177,189 +183,106 @@ public final class BStruct implements BRefType, LockableStructureType {
 
     @Override
     public void setRefField(int index, BRefType value) {
+        if (shared) {
+            // Values stored in a shared struct are reachable from other workers as well.
+            SharedValues.markShared(value);
+        }
         refFields[index] = value;
     }
 
     @Override
     public void lockIntField(int index) {
-        /*
-        TODO below synchronization is done on non final variable(which is getting changed in copy method)
-        This is ok for the time being as below synchronizations are only valid for global memory block which is
-        not getting copied, even in that case there shouldn't be a problem as synchronization always happens after
-        copying, but look into that when implementing locking support for struct fields and connector variables.
-         */
-        if (longLocks == null) {
-            synchronized (longFields) {
-                if (longLocks == null) {
-                    longLocks = new VarLock[longFields.length];
-                }
-            }
-        }
-        if (longLocks[index] == null) {
-            //locking the whole field array
-            synchronized (longFields) {
-                if (longLocks[index] == null) {
-                    longLocks[index] = new VarLock();
-                }
-            }
-        }
-        longLocks[index].lock();
+        getFieldLock(LONG_FIELDS, index).lock();
     }
 
     @Override
     public void unlockIntField(int index) {
-        longLocks[index].unlock();
+        getFieldLock(LONG_FIELDS, index).unlock();
     }
 
     @Override
     public void lockFloatField(int index) {
-        /*
-        TODO below synchronization is done on non final variable(which is getting changed in copy method)
-        This is ok for the time being as below synchronizations are only valid for global memory block which is
-        not getting copied, even in that case there shouldn't be a problem as synchronization always happens after
-        copying, but look into that when implementing locking support for struct fields and connector variables.
-         */
-        if (doubleLocks == null) {
-            synchronized (doubleFields) {
-                if (doubleLocks == null) {
-                    doubleLocks = new VarLock[doubleFields.length];
-                }
-            }
-        }
-        if (doubleLocks[index] == null) {
-            //locking the whole field array
-            synchronized (doubleFields) {
-                if (doubleLocks[index] == null) {
-                    doubleLocks[index] = new VarLock();
-                }
-            }
-        }
-        doubleLocks[index].lock();
+        getFieldLock(DOUBLE_FIELDS, index).lock();
     }
 
     @Override
     public void unlockFloatField(int index) {
-        doubleLocks[index].unlock();
+        getFieldLock(DOUBLE_FIELDS, index).unlock();
     }
 
     @Override
     public void lockStringField(int index) {
-        /*
-        TODO below synchronization is done on non final variable(which is getting changed in copy method)
-        This is ok for the time being as below synchronizations are only valid for global memory block which is
-        not getting copied, even in that case there shouldn't be a problem as synchronization always happens after
-        copying, but look into that when implementing locking support for struct fields and connector variables.
-         */
-        if (stringLocks == null) {
-            synchronized (stringFields) {
-                if (stringLocks == null) {
-                    stringLocks = new VarLock[stringFields.length];
-                }
-            }
-        }
-        if (stringLocks[index] == null) {
-            synchronized (stringFields) {
-                if (stringLocks[index] == null) {
-                    stringLocks[index] = new VarLock();
-                }
-            }
-        }
-        stringLocks[index].lock();
+        getFieldLock(STRING_FIELDS, index).lock();
     }
 
     @Override
     public void unlockStringField(int index) {
-        stringLocks[index].unlock();
+        getFieldLock(STRING_FIELDS, index).unlock();
     }
 
     @Override
     public void lockBooleanField(int index) {
-        /*
-        TODO below synchronization is done on non final variable(which is getting changed in copy method)
-        This is ok for the time being as below synchronizations are only valid for global memory block which is
-        not getting copied, even in that case there shouldn't be a problem as synchronization always happens after
-        copying, but look into that when implementing locking support for struct fields and connector variables.
-         */
-        if (intLocks == null) {
-            synchronized (intFields) {
-                if (intLocks == null) {
-                    intLocks = new VarLock[intFields.length];
-                }
-            }
-        }
-        if (intLocks[index] == null) {
-            synchronized (intFields) {
-                if (intLocks[index] == null) {
-                    intLocks[index] = new VarLock();
-                }
-            }
-        }
-        intLocks[index].lock();
+        getFieldLock(INT_FIELDS, index).lock();
     }
 
     @Override
     public void unlockBooleanField(int index) {
-        intLocks[index].unlock();
+        getFieldLock(INT_FIELDS, index).unlock();
     }
 
     @Override
     public void lockBlobField(int index) {
-        /*
-        TODO below synchronization is done on non final variable(which is getting changed in copy method)
-        This is ok for the time being as below synchronizations are only valid for global memory block which is
-        not getting copied, even in that case there shouldn't be a problem as synchronization always happens after
-        copying, but look into that when implementing locking support for struct fields and connector variables.
-         */
-        if (byteLocks == null) {
-            synchronized (byteFields) {
-                if (byteLocks == null) {
-                    byteLocks = new VarLock[byteFields.length];
-                }
-            }
-        }
-        if (byteLocks[index] == null) {
-            synchronized (byteFields) {
-                if (byteLocks[index] == null) {
-                    byteLocks[index] = new VarLock();
-                }
-            }
-        }
-        byteLocks[index].lock();
+        getFieldLock(BYTE_FIELDS, index).lock();
     }
 
     @Override
     public void unlockBlobField(int index) {
-        byteLocks[index].unlock();
+        getFieldLock(BYTE_FIELDS, index).unlock();
     }
 
     @Override
     public void lockRefField(int index) {
-        /*
-        TODO below synchronization is done on non final variable(which is getting changed in copy method)
-        This is ok for the time being as below synchronizations are only valid for global memory block which is
-        not getting copied, even in that case there shouldn't be a problem as synchronization always happens after
-        copying, but look into that when implementing locking support for struct fields and connector variables.
-         */
-        if (refLocks == null) {
-            synchronized (refFields) {
-                if (refLocks == null) {
-                    refLocks = new VarLock[refFields.length];
-                }
-            }
+        getFieldLock(REF_FIELDS, index).lock();
+    }
+
+    @Override
+    public void unlockRefField(int index) {
+        getFieldLock(REF_FIELDS, index).unlock();
+    }
+
+    /**
+     * Returns the lock of the given field. Locks are only used for structures shared between workers, such as the
+     * global memory block, hence the lock table and the locks are created lazily on first use.
+     *
+     * @param fieldKind kind of the field, i.e. the index of the field array in {@link BStructType#getFieldTypeCount()}
+     * @param index     index of the field within its field array
+     * @return the lock of the field
+     */
+    private VarLock getFieldLock(int fieldKind, int index) {
+        int lockIndex = fieldLockOffset(fieldKind) + index;
+        VarLock[] locks = fieldLocks;
+        if (locks != null && locks[lockIndex] != null) {
+            return locks[lockIndex];
         }
-        if (refLocks[index] == null) {
-            synchronized (refFields) {
-                if (refLocks[index] == null) {
-                    refLocks[index] = new VarLock();
-                }
+
+        synchronized (this) {
+            if (fieldLocks == null) {
+                fieldLocks = new VarLock[fieldLockOffset(REF_FIELDS + 1)];
+            }
+            if (fieldLocks[lockIndex] == null) {
+                fieldLocks[lockIndex] = new VarLock();
             }
+            return fieldLocks[lockIndex];
         }
-        refLocks[index].lock();
     }
 
-    @Override
-    public void unlockRefField(int index) {
-        refLocks[index].unlock();
+    private int fieldLockOffset(int fieldKind) {
+        int[] fieldCount = structType.getFieldTypeCount();
+        int offset = 0;
+        for (int i = 0; i < fieldKind; i++) {
+            offset += fieldCount[i];
+        }
+        return offset;
     }
 
     @Override
@@ -374,6 +297,30 @@ public final class BStruct implements BRefType, LockableStructureType {
         return bStruct;
     }
 
+    /**
+     * Mark this struct as shared between workers. Use {@link SharedValues#markShared(BValue)} to mark the values
+     * reachable from this struct as well.
+     *
+     * @return {@code true} if the struct was not shared before
+     */
+    synchronized boolean share() {
+        if (shared) {
+            return false;
+        }
+
+        shared = true;
+        return true;
+    }
+
+    /**
+     * Check whether this struct is shared between workers.
+     *
+     * @return {@code true} if the struct is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
     /**
      * Add natively accessible data to a struct.
      *
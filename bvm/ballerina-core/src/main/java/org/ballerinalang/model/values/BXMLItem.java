@@ -23,8 +23,8 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMProcessingInstruction;
+import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.OMText;
-import org.apache.axiom.om.OMXMLBuilderFactory;
 import org.apache.axiom.om.impl.common.OMNamespaceImpl;
 import org.apache.axiom.om.impl.dom.CommentImpl;
 import org.apache.axiom.om.impl.dom.TextImpl;
@@ -33,7 +33,11 @@ import org.apache.axiom.om.impl.llom.OMDocumentImpl;
 import org.apache.axiom.om.impl.llom.OMElementImpl;
 import org.apache.axiom.om.impl.llom.OMProcessingInstructionImpl;
 import org.apache.axiom.om.util.AXIOMUtil;
+import org.ballerinalang.model.TableOMDataSource;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.util.LazyXMLElement;
+import org.ballerinalang.model.util.XMLIndex;
+import org.ballerinalang.model.util.XMLIndex.Selection;
 import org.ballerinalang.model.util.XMLNodeType;
 import org.ballerinalang.model.util.XMLValidationUtils;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -41,11 +45,14 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.WeakHashMap;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
 
 import static org.ballerinalang.util.BLangConstants.STRING_NULL_VALUE;
 
@@ -58,6 +65,13 @@ import static org.ballerinalang.util.BLangConstants.STRING_NULL_VALUE;
  * <li>comment</li>
  * <li>processing instruction</li>
  * </ul>
+ * An element read from a stream is kept unparsed, as a {@link LazyXMLElement}, until it is changed or its object
+ * model is asked for. Elements selected from it are unparsed as well. When an unparsed element is bound to an
+ * object model, the unparsed elements selected from it are bound to the corresponding nodes of the same tree, so
+ * that changes to either of them are seen by the other, as with elements selected from a built tree.
+ * <p>
+ * Children and descendants selected from an element are kept in the {@link XMLIndex} of its document, and are
+ * returned again until the children of an element in the document change.
  *
  * @since 0.88
  */
@@ -66,6 +80,20 @@ public final class BXMLItem extends BXML<OMNode> {
     private OMNode omNode;
     private XMLNodeType nodeType;
 
+    // Unparsed element, until the item is bound to an object model
+    private LazyXMLElement lazyElement;
+
+    // Unparsed item this item was selected from, and the unparsed items selected from this item which are still
+    // referenced. Items nobody refers to any more need not be bound, so they are dropped once collected.
+    private BXMLItem lazyParent;
+    private Set<BXMLItem> lazyChildren;
+
+    // Object model built to read an unparsed element from, which is not a part of the tree of its parent
+    private OMElement readOnlyNode;
+
+    // Index of the document of the item, when it was last looked up
+    private XMLIndex index;
+
     /**
      * Create an empty XMLValue.
      */
@@ -102,6 +130,11 @@ public final class BXMLItem extends BXML<OMNode> {
         setXMLNodeType();
     }
 
+    private BXMLItem(OMNode value, XMLIndex index) {
+        this(value);
+        this.index = index;
+    }
+
     /**
      * Create a {@link BXMLItem} from a {@link InputStream}.
      *
@@ -113,12 +146,38 @@ public final class BXMLItem extends BXML<OMNode> {
         }
 
         try {
-            omNode = OMXMLBuilderFactory.createOMBuilder(inputStream).getDocumentElement();
-            setXMLNodeType();
+            for (BXMLItem item : LazyXMLElement.parseDocument(inputStream)) {
+                if (item.nodeType == XMLNodeType.ELEMENT) {
+                    omNode = item.omNode;
+                    lazyElement = item.lazyElement;
+                    nodeType = XMLNodeType.ELEMENT;
+                    return;
+                }
+            }
+            throw new IllegalStateException("document element not found");
         } catch (Throwable t) {
             handleXmlException("failed to create xml: ", t);
         }
     }
+
+    /**
+     * Create a {@link BXMLItem} from an unparsed element.
+     *
+     * @param element unparsed element
+     */
+    public BXMLItem(LazyXMLElement element) {
+        this.lazyElement = element;
+        this.nodeType = XMLNodeType.ELEMENT;
+    }
+
+    private BXMLItem(LazyXMLElement element, BXMLItem lazyParent) {
+        this(element);
+        this.lazyParent = lazyParent;
+        if (lazyParent.lazyChildren == null) {
+            lazyParent.lazyChildren = Collections.newSetFromMap(new WeakHashMap<>());
+        }
+        lazyParent.lazyChildren.add(this);
+    }
     
     /**
      * {@inheritDoc}
@@ -133,7 +192,7 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BBoolean isEmpty() {
-        return new BBoolean(omNode == null);
+        return new BBoolean(omNode == null && lazyElement == null);
     }
     
     /**
@@ -157,6 +216,10 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BString getElementName() {
+        if (lazyElement != null) {
+            return new BString(lazyElement.getName().toString());
+        }
+
         if (nodeType == XMLNodeType.ELEMENT) {
             return new BString(((OMElement) omNode).getQName().toString());
         }
@@ -172,7 +235,7 @@ public final class BXMLItem extends BXML<OMNode> {
         switch(nodeType) {
             case ELEMENT:
                 StringBuilder elementTextBuilder = new StringBuilder();
-                Iterator<OMNode> children = ((OMElement) omNode).getChildren();
+                Iterator<OMNode> children = ((OMElement) readNode()).getChildren();
                 while (children.hasNext()) {
                     elementTextBuilder.append(getTextValue(children.next()));
                 }
@@ -205,13 +268,14 @@ public final class BXMLItem extends BXML<OMNode> {
             return STRING_NULL_VALUE;
         }
         QName attributeName = getQName(localName, namespace, prefix); 
-        OMAttribute attribute = ((OMElement) omNode).getAttribute(attributeName);
+        OMElement element = (OMElement) readNode();
+        OMAttribute attribute = element.getAttribute(attributeName);
         
         if (attribute != null) {
             return attribute.getAttributeValue();
         }
         
-        OMNamespace ns = ((OMElement) omNode).findNamespaceURI(localName);
+        OMNamespace ns = element.findNamespaceURI(localName);
         return ns == null ? STRING_NULL_VALUE : ns.getNamespaceURI();
     }
     
@@ -233,7 +297,7 @@ public final class BXMLItem extends BXML<OMNode> {
         XMLValidationUtils.validateXMLName(prefix);
         
         // If the attribute already exists, update the value.
-        OMElement node = (OMElement) omNode;
+        OMElement node = (OMElement) node();
         QName qname = getQName(localName, namespaceUri, prefix);
         OMAttribute attr = node.getAttribute(qname);
         if (attr != null) {
@@ -317,11 +381,12 @@ public final class BXMLItem extends BXML<OMNode> {
             return attrMap;
         }
         
-        OMNamespace defaultNs = ((OMElement) omNode).getDefaultNamespace();
+        OMElement element = (OMElement) readNode();
+        OMNamespace defaultNs = element.getDefaultNamespace();
         String namespaceOfPrefix = '{' + (defaultNs == null ? XMLConstants.XMLNS_ATTRIBUTE_NS_URI : 
                 defaultNs.getNamespaceURI()) + '}';
         
-        Iterator<OMNamespace> namespaceIterator = ((OMElement) omNode).getAllDeclaredNamespaces();
+        Iterator<OMNamespace> namespaceIterator = element.getAllDeclaredNamespaces();
         while (namespaceIterator.hasNext()) {
             OMNamespace namespace = namespaceIterator.next();
             String prefix = namespace.getPrefix();
@@ -331,7 +396,7 @@ public final class BXMLItem extends BXML<OMNode> {
             attrMap.put(namespaceOfPrefix + prefix, new BString(namespace.getNamespaceURI()));
         }
         
-        Iterator<OMAttribute> attrIterator = ((OMElement) omNode).getAllAttributes();
+        Iterator<OMAttribute> attrIterator = element.getAllAttributes();
         while (attrIterator.hasNext()) {
             OMAttribute attr = attrIterator.next();
             attrMap.put(attr.getQName().toString(), new BString(attr.getAttributeValue()));
@@ -350,7 +415,7 @@ public final class BXMLItem extends BXML<OMNode> {
         }
 
         // Remove existing attributes
-        OMElement omElement = ((OMElement) omNode);
+        OMElement omElement = ((OMElement) node());
         Iterator<OMAttribute> attrIterator = omElement.getAllAttributes();
         while (attrIterator.hasNext()) {
             omElement.removeAttribute(attrIterator.next());
@@ -423,12 +488,21 @@ public final class BXMLItem extends BXML<OMNode> {
         BRefValueArray elementsSeq = new BRefValueArray();
         switch (nodeType) {
             case ELEMENT:
-                Iterator<OMNode> childrenItr = ((OMElement) omNode).getChildren();
+                OMElement element = (OMElement) node();
+                XMLIndex index = getIndex();
+                BXMLSequence children = index.get(element, Selection.CHILDREN, null);
+                if (children != null) {
+                    return children;
+                }
+
+                Iterator<OMNode> childrenItr = element.getChildren();
                 int i = 0;
                 while (childrenItr.hasNext()) {
-                    elementsSeq.add(i++, new BXMLItem(childrenItr.next()));
+                    elementsSeq.add(i++, new BXMLItem(childrenItr.next(), index));
                 }
-                break;
+                children = new BXMLSequence(elementsSeq);
+                index.put(element, Selection.CHILDREN, null, children);
+                return children;
             default:
                 break;
         }
@@ -441,16 +515,28 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BXML<?> children(String qname) {
+        if (lazyElement != null) {
+            return select(qname, false);
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray();
         switch (nodeType) {
             case ELEMENT:
+                XMLIndex index = getIndex();
+                BXMLSequence children = index.get(omNode, Selection.NAMED_CHILDREN, qname);
+                if (children != null) {
+                    return children;
+                }
+
                 Iterator<OMNode> childrenItr = ((OMElement) omNode).getChildrenWithName(getQname(qname));
                 int i = 0;
                 while (childrenItr.hasNext()) {
                     OMNode node = childrenItr.next();
-                    elementsSeq.add(i++, new BXMLItem(node));
+                    elementsSeq.add(i++, new BXMLItem(node, index));
                 }
-                break;
+                children = new BXMLSequence(elementsSeq);
+                index.put(omNode, Selection.NAMED_CHILDREN, qname, children);
+                return children;
             default:
                 break;
         }
@@ -469,21 +555,22 @@ public final class BXMLItem extends BXML<OMNode> {
         OMElement currentNode;
         switch (nodeType) {
             case ELEMENT:
-                currentNode = ((OMElement) omNode);
+                currentNode = ((OMElement) node());
                 break;
             default:
                 throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
+        XMLIndex.invalidate(currentNode, index);
         currentNode.removeChildren();
         
         if (seq.getNodeType() == XMLNodeType.SEQUENCE) {
             BRefValueArray childSeq = ((BXMLSequence) seq).value();
             for (int i = 0; i < childSeq.size(); i++) {
-                currentNode.addChild((OMNode) childSeq.get(i).value());
+                currentNode.addChild(moveNode((BXML<?>) childSeq.get(i)));
             }
         } else {
-            currentNode.addChild((OMNode) seq.value());
+            currentNode.addChild(moveNode(seq));
         }
     }
 
@@ -499,19 +586,20 @@ public final class BXMLItem extends BXML<OMNode> {
         OMElement currentNode;
         switch (nodeType) {
             case ELEMENT:
-                currentNode = ((OMElement) omNode);
+                currentNode = ((OMElement) node());
                 break;
             default:
                 throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
+        XMLIndex.invalidate(currentNode, index);
         if (seq.getNodeType() == XMLNodeType.SEQUENCE) {
             BRefValueArray childSeq = ((BXMLSequence) seq).value();
             for (int i = 0; i < childSeq.size(); i++) {
-                currentNode.addChild((OMNode) childSeq.get(i).value());
+                currentNode.addChild(moveNode((BXML<?>) childSeq.get(i)));
             }
         } else {
-            currentNode.addChild((OMNode) seq.value());
+            currentNode.addChild(moveNode(seq));
         }
     }
 
@@ -520,7 +608,7 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BXML<?> strip() {
-        if (omNode == null || (nodeType == XMLNodeType.TEXT && 
+        if ((omNode == null && lazyElement == null) || (nodeType == XMLNodeType.TEXT && 
                 ((OMText) omNode).getText().isEmpty())) {
             return new BXMLSequence();
         }
@@ -561,11 +649,27 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BXML<?> descendants(String qname) {
+        if (lazyElement != null) {
+            return select(qname, true);
+        }
+
         List<BXML<?>> descendants = new ArrayList<BXML<?>>();
         switch (nodeType) {
             case ELEMENT:
+                XMLIndex index = getIndex();
+                BXMLSequence selected = index.get(omNode, Selection.DESCENDANTS, qname);
+                if (selected != null) {
+                    return selected;
+                }
+
                 addDescendants(descendants, (OMElement) omNode, getQname(qname).toString());
-                break;
+                for (BXML<?> descendant : descendants) {
+                    ((BXMLItem) descendant).index = index;
+                }
+                selected = new BXMLSequence(new BRefValueArray(descendants.toArray(new BXML[descendants.size()]),
+                        BTypes.typeXML));
+                index.put(omNode, Selection.DESCENDANTS, qname, selected);
+                return selected;
             default:
                 break;
         }
@@ -581,18 +685,33 @@ public final class BXMLItem extends BXML<OMNode> {
     @Override
     public void serializeData(OutputStream outputStream) {
         try {
+            if (lazyElement != null) {
+                lazyElement.serialize(outputStream);
+                return;
+            }
+            if (isUnreadTable()) {
+                // Write the rows of the table as they are read, rather than building the element first. The rows
+                // can only be read once, as when the element is built.
+                this.omNode.serializeAndConsume(outputStream);
+                return;
+            }
             this.omNode.serialize(outputStream);
         } catch (Throwable t) {
             handleXmlException("error occurred during writing the message to the output stream: ", t);
         }
     }
 
+    private boolean isUnreadTable() {
+        return omNode instanceof OMSourcedElement && !((OMSourcedElement) omNode).isExpanded()
+                && ((OMSourcedElement) omNode).getDataSource() instanceof TableOMDataSource;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public OMNode value() {
-        return this.omNode;
+        return node();
     }
 
     /**
@@ -600,6 +719,10 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public String stringValue() {
+        if (lazyElement != null) {
+            return lazyElement.toString();
+        }
+
         try {
             switch (nodeType) {
                 case COMMENT:
@@ -623,6 +746,11 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BXMLItem copy() {
+        if (lazyElement != null) {
+            // Unparsed elements are never changed, so the copy can read from the same one
+            return new BXMLItem(lazyElement);
+        }
+
         OMNode clonedNode = null;
         switch (nodeType) {
             case ELEMENT:
@@ -713,7 +841,7 @@ public final class BXMLItem extends BXML<OMNode> {
      * {@inheritDoc}
      */
     public int length() {
-        return this.omNode == null ? 0 : 1;
+        return this.omNode == null && this.lazyElement == null ? 0 : 1;
     }
 
     /**
@@ -721,7 +849,10 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public void build() {
-        this.omNode.build();
+        // The whole of an unparsed element is already read into memory
+        if (lazyElement == null) {
+            this.omNode.build();
+        }
     }
 
     /**
@@ -733,7 +864,7 @@ public final class BXMLItem extends BXML<OMNode> {
             return;
         }
 
-        OMElement omElement = (OMElement) omNode;
+        OMElement omElement = (OMElement) node();
         OMAttribute attribute = omElement.getAttribute(getQname(qname));
 
         if (attribute == null) {
@@ -743,6 +874,114 @@ public final class BXMLItem extends BXML<OMNode> {
         omElement.removeAttribute(attribute);
     }
 
+    /**
+     * Get the object model of the item, binding an unparsed item to it first.
+     */
+    private OMNode node() {
+        if (lazyElement != null) {
+            bind();
+        }
+        return omNode;
+    }
+
+    /**
+     * Get an object model of the item to read from. An unparsed item which was selected from another one is
+     * built on its own, so that the rest of the document is not built.
+     */
+    private OMNode readNode() {
+        if (lazyElement == null) {
+            return omNode;
+        }
+
+        if (lazyParent == null) {
+            bind();
+            return omNode;
+        }
+
+        if (readOnlyNode == null) {
+            readOnlyNode = lazyElement.buildInScope();
+        }
+        return readOnlyNode;
+    }
+
+    private void bind() {
+        if (lazyParent != null) {
+            // Binding the parent binds this item to the corresponding node of its tree
+            lazyParent.bind();
+            return;
+        }
+
+        bind(lazyElement.build());
+    }
+
+    private void bind(OMElement element) {
+        omNode = element;
+        lazyElement = null;
+        lazyParent = null;
+        readOnlyNode = null;
+        index = null;
+        if (lazyChildren == null) {
+            return;
+        }
+
+        for (BXMLItem child : lazyChildren) {
+            OMElement childElement = element;
+            for (int index : child.lazyElement.getPath()) {
+                Iterator<OMElement> childElements = childElement.getChildElements();
+                for (int i = 0; i < index; i++) {
+                    childElements.next();
+                }
+                childElement = childElements.next();
+            }
+            child.bind(childElement);
+        }
+        lazyChildren = null;
+    }
+
+    private BXMLSequence select(String qname, boolean descend) {
+        if (index == null) {
+            index = XMLIndex.newUnparsedIndex();
+        }
+        Selection selection = descend ? Selection.DESCENDANTS : Selection.NAMED_CHILDREN;
+        BXMLSequence selected = index.get(lazyElement, selection, qname);
+        if (selected != null) {
+            return selected;
+        }
+
+        BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
+        try {
+            List<LazyXMLElement> elements = lazyElement.select(getQname(qname), descend);
+            for (int i = 0; i < elements.size(); i++) {
+                BXMLItem item = new BXMLItem(elements.get(i), this);
+                item.index = index;
+                elementsSeq.add(i, item);
+            }
+        } catch (XMLStreamException e) {
+            handleXmlException("failed to read xml: ", e);
+        }
+        selected = new BXMLSequence(elementsSeq);
+        index.put(lazyElement, selection, qname, selected);
+        return selected;
+    }
+
+    /**
+     * Get the index of the document of the item.
+     */
+    private XMLIndex getIndex() {
+        index = XMLIndex.of(omNode, index);
+        return index;
+    }
+
+    /**
+     * Get the node of an item which is about to be added to an element. The node is moved out of its current
+     * document, if any, so the index of that document is cleared.
+     */
+    private static OMNode moveNode(BXML<?> item) {
+        OMNode node = (OMNode) item.value();
+        XMLIndex.invalidate(node, item instanceof BXMLItem ? ((BXMLItem) item).index : null);
+        return node;
+    }
+
     private QName getQName(String localName, String namespaceUri, String prefix) {
         QName qname;
         if (prefix != null) {
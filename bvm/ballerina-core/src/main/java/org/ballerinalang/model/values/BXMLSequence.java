@@ -16,8 +16,6 @@
 
 package org.ballerinalang.model.values;
 
-import org.apache.axiom.om.OMElement;
-import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.util.XMLNodeType;
@@ -26,9 +24,7 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import javax.xml.namespace.QName;
 
 import static org.ballerinalang.util.BLangConstants.STRING_NULL_VALUE;
 
@@ -209,17 +205,22 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> children() {
+        if (isSingleElement()) {
+            // Selections from an element are indexed, so they are returned as they are
+            return ((BXMLItem) sequence.get(0)).children();
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
+        int j = 0;
         for (int i = 0; i < sequence.size(); i++) {
             BXMLItem element = (BXMLItem) sequence.get(i);
             if (element.getNodeType() != XMLNodeType.ELEMENT) {
                 continue;
             }
 
-            Iterator<OMNode> childrenItr = ((OMElement) element.value()).getChildren();
-            int j = 0;
-            while (childrenItr.hasNext()) {
-                elementsSeq.add(j++, new BXMLItem(childrenItr.next()));
+            BXML<?> children = element.children();
+            for (int k = 0; k < children.length(); k++) {
+                elementsSeq.add(j++, children.getItem(k));
             }
         }
         
@@ -231,19 +232,22 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> children(String qname) {
+        if (isSingleElement()) {
+            // Selections from an element are indexed, so they are returned as they are
+            return ((BXMLItem) sequence.get(0)).children(qname);
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray();
-        QName name = getQname(qname);
+        int j = 0;
         for (int i = 0; i < sequence.size(); i++) {
             BXMLItem element = (BXMLItem) sequence.get(i);
             if (element.getNodeType() != XMLNodeType.ELEMENT) {
                 continue;
             }
 
-            Iterator<OMNode> childrenItr = ((OMElement) element.value()).getChildrenWithName(name);
-            int j = 0;
-            while (childrenItr.hasNext()) {
-                OMNode child = childrenItr.next();
-                elementsSeq.add(j++, new BXMLItem(child));
+            BXML<?> children = element.children(qname);
+            for (int k = 0; k < children.length(); k++) {
+                elementsSeq.add(j++, children.getItem(k));
             }
         }
         return new BXMLSequence(elementsSeq);
@@ -282,7 +286,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         int j = 0;
         for (int i = 0; i < sequence.size(); i++) {
             BXMLItem element = (BXMLItem) sequence.get(i);
-            if (element.value() == null || (element.getNodeType() == XMLNodeType.TEXT && 
+            if (element.isEmpty().booleanValue() || (element.getNodeType() == XMLNodeType.TEXT && 
                     ((OMText) element.value()).getText().trim().isEmpty())) {
                 continue;
             }
@@ -331,12 +335,20 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> descendants(String qname) {
+        if (isSingleElement()) {
+            // Selections from an element are indexed, so they are returned as they are
+            return ((BXMLItem) sequence.get(0)).descendants(qname);
+        }
+
         List<BXML<?>> descendants = new ArrayList<BXML<?>>();
         for (int i = 0; i < sequence.size(); i++) {
             BXMLItem element = (BXMLItem) sequence.get(i);
             switch (element.getNodeType()) {
                 case ELEMENT:
-                    addDescendants(descendants, (OMElement) element.value(), getQname(qname).toString());
+                    BXML<?> elementDescendants = element.descendants(qname);
+                    for (int j = 0; j < elementDescendants.length(); j++) {
+                        descendants.add(elementDescendants.getItem(j));
+                    }
                     break;
                 default:
                     break;
@@ -429,6 +441,10 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         ((BXMLItem) sequence.get(0)).removeAttribute(qname);
     }
 
+    private boolean isSingleElement() {
+        return sequence.size() == 1 && ((BXMLItem) sequence.get(0)).getNodeType() == XMLNodeType.ELEMENT;
+    }
+
     @Override
     public BIterator newIterator() {
         return new BXMLSequenceIterator(this);
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.values;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * {@code SharedValues} marks values which escape the worker that created them, i.e. values sent to another worker,
+ * stored in a global variable or stored in a session. Maps reachable from such a value switch to synchronized access.
+ * Structs and ref arrays are marked as well, so that a map stored into them later on is marked when it is stored.
+ *
+ * @since 0.961.1
+ */
+public final class SharedValues {
+
+    private SharedValues() {
+    }
+
+    /**
+     * Mark the given value and all the maps reachable from it as shared between workers.
+     *
+     * @param value value which escapes the current worker
+     */
+    public static void markShared(BValue value) {
+        if (!isContainer(value)) {
+            return;
+        }
+
+        Deque<BValue> pending = new ArrayDeque<>();
+        Set<BValue> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        pending.push(value);
+        while (!pending.isEmpty()) {
+            BValue current = pending.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+
+            if (current instanceof BMap) {
+                BMap<?, ?> map = (BMap<?, ?>) current;
+                // Values of an already shared map have been marked when they were added.
+                if (map.share()) {
+                    map.forEachValue(v -> pushIfContainer(pending, v));
+                }
+            } else if (current instanceof BStruct) {
+                BStruct struct = (BStruct) current;
+                // Like maps, shared structs and arrays mark the values stored in them from then on.
+                if (struct.share()) {
+                    int refFieldCount = struct.getType().getFieldTypeCount()[5];
+                    for (int i = 0; i < refFieldCount; i++) {
+                        pushIfContainer(pending, struct.getRefField(i));
+                    }
+                }
+            } else if (current instanceof BRefValueArray) {
+                BRefValueArray array = (BRefValueArray) current;
+                if (array.share()) {
+                    for (long i = 0; i < array.size(); i++) {
+                        pushIfContainer(pending, array.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void pushIfContainer(Deque<BValue> pending, BValue value) {
+        if (isContainer(value)) {
+            pending.push(value);
+        }
+    }
+
+    private static boolean isContainer(BValue value) {
+        return value instanceof BMap || value instanceof BStruct || value instanceof BRefValueArray;
+    }
+}
@@ -28,4 +28,10 @@ public class Constants {
 
     // Name of the system property to hold the debug port
     public static final String SYSTEM_PROP_BAL_DEBUG = "debug";
+
+    // Name of the system property to hold the output directory of the VM profiler, profiling is enabled when set
+    public static final String SYSTEM_PROP_BAL_PROFILE = "ballerina.profile";
+
+    // Name of the system property to hold the sampling interval of the VM profiler in milliseconds
+    public static final String SYSTEM_PROP_BAL_PROFILE_INTERVAL = "ballerina.profile.interval";
 }
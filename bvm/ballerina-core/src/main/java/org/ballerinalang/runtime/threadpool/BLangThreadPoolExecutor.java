@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ObjectName;
+
+/**
+ * {@code BLangThreadPoolExecutor} is a bounded thread pool which keeps track of its queue depth, rejected tasks
+ * and task latencies.
+ * <p>
+ * The rejection policy of the pool only applies to tasks which start new work. A context which is already suspended,
+ * e.g. on a non-blocking action or a worker receive, is resumed with {@link #resume(Context)}, which is never
+ * rejected because the pool is saturated.
+ *
+ * @since 0.961.1
+ */
+public class BLangThreadPoolExecutor extends ThreadPoolExecutor implements ThreadPoolMetricsMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangThreadPoolExecutor.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final int REJECTION_LOG_INTERVAL = 1000;
+
+    private final String name;
+    private final int queueCapacity;
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder timedTasks = new LongAdder();
+    private final LongAdder totalQueueTimeNanos = new LongAdder();
+    private final LongAdder totalExecTimeNanos = new LongAdder();
+    private final ThreadLocal<Long> execStartTime = new ThreadLocal<>();
+
+    public BLangThreadPoolExecutor(String name, int poolSize, int queueCapacity, RejectionPolicy rejectionPolicy,
+                                   ThreadFactory threadFactory) {
+        super(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, createQueue(queueCapacity), threadFactory);
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.allowCoreThreadTimeOut(true);
+        this.setRejectedExecutionHandler(new MeteredRejectionHandler(rejectionPolicy));
+    }
+
+    private static BlockingQueue<Runnable> createQueue(int capacity) {
+        if (capacity <= 0) {
+            return new SynchronousQueue<>();
+        }
+        return new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Registers the metrics of this pool with the platform MBean server.
+     */
+    public void registerMetrics() {
+        try {
+            ObjectName objectName = new ObjectName("org.ballerinalang:type=ThreadPool,name=" + name);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(objectName)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            }
+        } catch (Exception e) {
+            logger.debug("unable to register metrics of thread pool '" + name + "'", e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new TimedTask(command));
+    }
+
+    /**
+     * Resume a suspended context on this pool. Nothing else resumes a suspended context, hence it is resumed in the
+     * calling thread when the pool is saturated, whatever the rejection policy of the pool is. When the pool has been
+     * shut down, the context is failed with an error in the calling thread instead.
+     *
+     * @param context context to resume
+     */
+    public void resume(Context context) {
+        ResponseWorkerThread resumption = new ResponseWorkerThread(context);
+        try {
+            execute(resumption);
+            return;
+        } catch (RejectedExecutionException e) {
+            if (isShutdown()) {
+                context.setError(BLangVMErrors.createError(context, context.getStartIP() - 1, e.getMessage()));
+            }
+        }
+        resumption.run();
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        long now = System.nanoTime();
+        if (r instanceof TimedTask) {
+            totalQueueTimeNanos.add(now - ((TimedTask) r).submittedTime);
+        }
+        execStartTime.set(now);
+        super.beforeExecute(t, r);
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        Long startTime = execStartTime.get();
+        if (startTime != null) {
+            totalExecTimeNanos.add(System.nanoTime() - startTime);
+            timedTasks.increment();
+            execStartTime.remove();
+        }
+    }
+
+    @Override
+    public int getActiveThreadCount() {
+        return getActiveCount();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return rejectedTasks.sum();
+    }
+
+    @Override
+    public double getAverageQueueTime() {
+        return average(totalQueueTimeNanos.sum());
+    }
+
+    @Override
+    public double getAverageExecutionTime() {
+        return average(totalExecTimeNanos.sum());
+    }
+
+    private double average(long totalNanos) {
+        long count = timedTasks.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return totalNanos / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Policy applied when a task is submitted to a pool whose threads are busy and whose queue is full.
+     */
+    public enum RejectionPolicy {
+        /**
+         * Runs the task in the submitting thread, which slows down the producer. The submitting thread may be a
+         * transport thread, or a worker which then waits on the task it ran, so this has to be chosen explicitly.
+         */
+        CALLER_RUNS,
+        /**
+         * Fails the submission with a {@link RejectedExecutionException}.
+         */
+        ABORT;
+
+        public static RejectionPolicy fromString(String value) {
+            if (value == null || value.isEmpty()) {
+                return ABORT;
+            }
+            switch (value.trim().toLowerCase()) {
+                case "abort":
+                    return ABORT;
+                case "callerruns":
+                case "caller-runs":
+                    return CALLER_RUNS;
+                default:
+                    throw new IllegalArgumentException("invalid thread pool rejection policy: " + value);
+            }
+        }
+    }
+
+    /**
+     * Wraps a task to record the time it was submitted to the pool.
+     */
+    private static class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submittedTime = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Counts and reports rejected tasks before applying the configured {@link RejectionPolicy}.
+     */
+    private class MeteredRejectionHandler implements RejectedExecutionHandler {
+
+        private final RejectionPolicy policy;
+
+        MeteredRejectionHandler(RejectionPolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejectedTasks.increment();
+            long rejectedCount = rejectedTasks.sum();
+            if (rejectedCount % REJECTION_LOG_INTERVAL == 1) {
+                logger.warn("thread pool '" + name + "' is saturated: " + getActiveCount() + " active threads, "
+                        + getQueue().size() + " queued tasks, " + rejectedCount + " rejected tasks in total");
+            }
+
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("thread pool '" + name + "' has been shut down");
+            }
+            if (policy == RejectionPolicy.ABORT) {
+                throw new RejectedExecutionException("thread pool '" + name + "' is saturated");
+            }
+            r.run();
+        }
+    }
+}
@@ -18,30 +18,102 @@
 
 package org.ballerinalang.runtime.threadpool;
 
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.runtime.threadpool.BLangThreadPoolExecutor.RejectionPolicy;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * The pool sizes, queue capacities and rejection policies can be set in ballerina.conf. e.g.
+ * <pre>
+ * ballerina.runtime.resource.pool.size=64
+ * ballerina.runtime.resource.queue.capacity=10000
+ * ballerina.runtime.resource.rejection.policy=abort
+ * ballerina.runtime.worker.pool.size=32
+ * ballerina.runtime.worker.queue.capacity=10000
+ * ballerina.runtime.worker.rejection.policy=abort
+ * </pre>
+ * When not configured, the pool sizes are derived from the number of available processors. A pool whose threads are
+ * busy and whose queue is full rejects new tasks, unless its rejection policy is set to {@code callerRuns}, in which
+ * case the submitting thread runs the task itself. Suspended contexts are resumed with {@link #resume(Context)},
+ * which is never rejected because the pool is saturated.
  *
  * @since 0.8.0
  */
 public class ThreadPoolFactory {
 
+    private static final String RESOURCE_POOL = "resource";
+    private static final String WORKER_POOL = "worker";
+    private static final String CONFIG_PREFIX = "ballerina.runtime.";
+    private static final String POOL_SIZE = ".pool.size";
+    private static final String QUEUE_CAPACITY = ".queue.capacity";
+    private static final String REJECTION_POLICY = ".rejection.policy";
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_RESOURCE_POOL_SIZE = CORES * 16;
+    private static final int DEFAULT_WORKER_POOL_SIZE = CORES * 8;
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    //TODO: Make the thread count configurable.
-    // Ideally number of threads need to be calculated and spawned intelligently
-    // based on the environment and runtime status (CPU Usage, memory, etc).
-    // A configuration parameter which is user configurable is also required.
-    // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500, new BLangThreadFactory("BLangWorker"));
+    private BLangThreadPoolExecutor executorService;
+
+    private BLangThreadPoolExecutor workerExecutor;
 
-    //TODO: Make the number of threads configurable
-    private ExecutorService workerExecutor = Executors.newFixedThreadPool(100,
-            new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+    private ThreadPoolFactory() {
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        executorService = createThreadPool(configRegistry, RESOURCE_POOL, DEFAULT_RESOURCE_POOL_SIZE,
+                new BLangThreadFactory("BLangWorker"));
+        workerExecutor = createThreadPool(configRegistry, WORKER_POOL, DEFAULT_WORKER_POOL_SIZE,
+                new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+    }
+
+    /**
+     * Create a thread pool configured by the {@code ballerina.runtime.<poolName>.*} values of the config registry.
+     *
+     * @param configRegistry  registry to read the configuration from
+     * @param poolName        name of the pool in the configuration and in the metrics
+     * @param defaultPoolSize number of threads when the pool size is not configured
+     * @param threadFactory   factory of the threads of the pool
+     * @return the thread pool
+     */
+    public static BLangThreadPoolExecutor createThreadPool(ConfigRegistry configRegistry, String poolName,
+                                                           int defaultPoolSize, ThreadFactory threadFactory) {
+        int poolSize = getIntConfig(configRegistry, poolName + POOL_SIZE, defaultPoolSize);
+        if (poolSize <= 0) {
+            throw new BLangRuntimeException("invalid " + poolName + " thread pool size: " + poolSize);
+        }
+        int queueCapacity = getIntConfig(configRegistry, poolName + QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        RejectionPolicy rejectionPolicy;
+        try {
+            rejectionPolicy = RejectionPolicy.fromString(
+                    configRegistry.getGlobalConfigValue(CONFIG_PREFIX + poolName + REJECTION_POLICY));
+        } catch (IllegalArgumentException e) {
+            throw new BLangRuntimeException(e.getMessage());
+        }
+
+        BLangThreadPoolExecutor executor = new BLangThreadPoolExecutor(poolName, poolSize, queueCapacity,
+                rejectionPolicy, threadFactory);
+        executor.registerMetrics();
+        return executor;
+    }
 
-    private ThreadPoolFactory(){};
+    private static int getIntConfig(ConfigRegistry configRegistry, String key, int defaultValue) {
+        String value = configRegistry.getGlobalConfigValue(CONFIG_PREFIX + key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BLangRuntimeException("invalid value for " + CONFIG_PREFIX + key + ": " + value);
+        }
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
@@ -51,8 +123,25 @@ public class ThreadPoolFactory {
         return executorService;
     }
 
+    /**
+     * Resume a suspended context on the resource pool.
+     *
+     * @param context context to resume
+     * @see BLangThreadPoolExecutor#resume(Context)
+     */
+    public void resume(Context context) {
+        executorService.resume(context);
+    }
+
     public ExecutorService getWorkerExecutor() {
         return workerExecutor;
     }
 
+    public ThreadPoolMetricsMXBean getExecutorMetrics() {
+        return executorService;
+    }
+
+    public ThreadPoolMetricsMXBean getWorkerExecutorMetrics() {
+        return workerExecutor;
+    }
 }
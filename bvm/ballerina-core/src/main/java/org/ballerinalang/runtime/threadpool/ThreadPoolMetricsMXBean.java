@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.threadpool;
+
+/**
+ * {@code ThreadPoolMetricsMXBean} exposes the runtime statistics of a Ballerina thread pool through JMX.
+ *
+ * @since 0.961.1
+ */
+public interface ThreadPoolMetricsMXBean {
+
+    int getPoolSize();
+
+    int getMaximumPoolSize();
+
+    int getActiveThreadCount();
+
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    long getCompletedTaskCount();
+
+    long getRejectedTaskCount();
+
+    /**
+     * Returns the average time a task waited in the queue before it started executing.
+     *
+     * @return average queue time in milliseconds
+     */
+    double getAverageQueueTime();
+
+    /**
+     * Returns the average execution time of a task.
+     *
+     * @return average execution time in milliseconds
+     */
+    double getAverageExecutionTime();
+}
@@ -0,0 +1,47 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.model.types.BType;
+
+/**
+ * {@code CallSiteCache} is a monomorphic inline cache of a dynamically dispatched call site (ACALL, VCALL).
+ * <p>
+ * It remembers the callable unit which was resolved for the last receiver type seen at the call site. Instances are
+ * immutable, hence a cache entry can be replaced by one thread while others are reading it without locking.
+ *
+ * @since 0.961.1
+ */
+public class CallSiteCache {
+
+    private final BType receiverType;
+    private final CallableUnitInfo target;
+
+    public CallSiteCache(BType receiverType, CallableUnitInfo target) {
+        this.receiverType = receiverType;
+        this.target = target;
+    }
+
+    public BType getReceiverType() {
+        return receiverType;
+    }
+
+    public CallableUnitInfo getTarget() {
+        return target;
+    }
+}
@@ -19,6 +19,7 @@ package org.ballerinalang.util.codegen;
 
 import org.ballerinalang.model.types.BConnectorType;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -34,6 +35,10 @@ public class ConnectorInfo extends StructureTypeInfo {
 
     private Map<String, ActionInfo> actionInfoMap = new HashMap<>();
 
+    // Actions of this connector indexed by ProgramFile#getActionIndex(String). Entries are added as the actions are
+    // dispatched on this connector, hence it doesn't hold the actions of other connectors.
+    private volatile ActionInfo[] actionTable = new ActionInfo[0];
+
     // This variable holds the method table for this type.
     protected Map<Integer, Integer> methodTableIndex = new HashMap<>();
     protected Map<BConnectorType, ConnectorInfo> methodTableType = new HashMap<>();
@@ -66,6 +71,31 @@ public class ConnectorInfo extends StructureTypeInfo {
         return actionInfoMap.get(actionName);
     }
 
+    /**
+     * Returns the action at the given dispatch table index. An action which is not in the table yet is looked up by
+     * name, and added to the table if it has an index.
+     *
+     * @param actionIndex index assigned to the action name by the program file, or a negative value if it has none
+     * @param actionName  name of the action
+     * @return the action, or {@code null} if this connector doesn't have such an action
+     */
+    public ActionInfo getActionInfo(int actionIndex, String actionName) {
+        ActionInfo[] table = actionTable;
+        if (actionIndex >= 0 && actionIndex < table.length && table[actionIndex] != null) {
+            return table[actionIndex];
+        }
+
+        ActionInfo actionInfo = actionInfoMap.get(actionName);
+        if (actionInfo != null && actionIndex >= 0) {
+            synchronized (this) {
+                table = Arrays.copyOf(actionTable, Math.max(actionTable.length, actionIndex + 1));
+                table[actionIndex] = actionInfo;
+                actionTable = table;
+            }
+        }
+        return actionInfo;
+    }
+
     public ActionInfo[] getActionInfoEntries() {
         return actionInfoMap.values().toArray(new ActionInfo[0]);
     }
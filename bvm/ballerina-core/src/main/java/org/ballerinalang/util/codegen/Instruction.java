@@ -97,11 +97,15 @@ public class Instruction {
      */
     public static class InstructionVCALL extends InstructionCALL {
         public int receiverRegIndex;
+        // Index of the attached function in the receiver struct's dispatch table.
+        public int funcIndex;
+        public CallSiteCache cache;
 
-        InstructionVCALL(int opcode, int receiverRegIndex, int funcRefCPIndex,
-                        FunctionInfo functionInfo, int[] argRegs, int[] retRegs) {
+        InstructionVCALL(int opcode, int receiverRegIndex, int funcRefCPIndex, FunctionInfo functionInfo,
+                         int funcIndex, int[] argRegs, int[] retRegs) {
             super(opcode, funcRefCPIndex, functionInfo, argRegs, retRegs);
             this.receiverRegIndex = receiverRegIndex;
+            this.funcIndex = funcIndex;
         }
 
         @Override
@@ -130,11 +134,16 @@ public class Instruction {
         public String actionName;
         public int[] argRegs;
         public int[] retRegs;
+        // Index of the action in the receiver connector's dispatch table.
+        public int actionIndex;
+        public CallSiteCache cache;
 
-        InstructionACALL(int opcode, int actionRefCPIndex, String actionName, int[] argRegs, int[] retRegs) {
+        InstructionACALL(int opcode, int actionRefCPIndex, String actionName, int actionIndex,
+                         int[] argRegs, int[] retRegs) {
             super(opcode);
             this.actionRefCPIndex = actionRefCPIndex;
             this.actionName = actionName;
+            this.actionIndex = actionIndex;
             this.argRegs = argRegs;
             this.retRegs = retRegs;
         }
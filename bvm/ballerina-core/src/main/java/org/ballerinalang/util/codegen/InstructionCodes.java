@@ -258,6 +258,15 @@ public interface InstructionCodes {
     int ITR_HAS_NEXT = 221;
     int ITR_NEXT = 222;
 
+    // Superinstructions emitted by the bytecode optimizer
+    int BR_IEQ = 223;
+    int BR_INE = 224;
+    int BR_IGT = 225;
+    int BR_IGE = 226;
+    int BR_ILT = 227;
+    int BR_ILE = 228;
+    int IADD_IMM = 229;
+
     int IRET = 231;
     int FRET = 232;
     int SRET = 233;
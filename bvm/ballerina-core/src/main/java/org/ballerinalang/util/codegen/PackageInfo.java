@@ -46,6 +46,10 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
+    // Flattened instruction stream used by the BVM interpreter loop.
+    private int[] codeStream;
+    private int[] codeOffsets;
+
     private Map<String, PackageVarInfo> constantInfoMap = new LinkedHashMap<>();
 
     private Map<String, PackageVarInfo> globalVarInfoMap = new LinkedHashMap<>();
@@ -224,6 +228,26 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
         return instructionList.size();
     }
 
+    /**
+     * Returns the instructions of this package laid out in a single int array. Each instruction is encoded as its
+     * opcode followed by its operands inline. Instructions which also carry resolved objects (e.g. CALL, ACALL,
+     * FORKJOIN) are encoded the same way, but the objects are read from {@link #getInstructions()}.
+     *
+     * @return the flattened instruction stream
+     */
+    public int[] getCodeStream() {
+        return codeStream;
+    }
+
+    /**
+     * Returns the offset of each instruction in the code stream, indexed by the instruction pointer.
+     *
+     * @return instruction offsets in the code stream
+     */
+    public int[] getCodeOffsets() {
+        return codeOffsets;
+    }
+
     public LineNumberInfo getLineNumberInfo(LineNumberInfo lineNumberInfo) {
         LineNumberTableAttributeInfo lineNumberTableAttributeInfo = (LineNumberTableAttributeInfo) attributeInfoMap
                 .get(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
@@ -273,6 +297,25 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     public void complete() {
         this.constPool = constantPoolEntries.toArray(new ConstantPoolEntry[0]);
         this.instructions = instructionList.toArray(new Instruction[0]);
+        buildCodeStream();
+    }
+
+    private void buildCodeStream() {
+        int streamLength = 0;
+        for (Instruction instruction : instructions) {
+            streamLength += 1 + instruction.operands.length;
+        }
+
+        this.codeStream = new int[streamLength];
+        this.codeOffsets = new int[instructions.length];
+        int offset = 0;
+        for (int i = 0; i < instructions.length; i++) {
+            Instruction instruction = instructions[i];
+            codeOffsets[i] = offset;
+            codeStream[offset++] = instruction.opcode;
+            System.arraycopy(instruction.operands, 0, codeStream, offset, instruction.operands.length);
+            offset += instruction.operands.length;
+        }
     }
 
     @Override
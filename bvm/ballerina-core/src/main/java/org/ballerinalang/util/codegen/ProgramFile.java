@@ -74,6 +74,10 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
 
     private List<AnnAttributeValue> unresolvedAnnAttrValues = new ArrayList<>();
 
+    // Dispatch table indexes of the action and attached function names used in ACALL and VCALL instructions.
+    private Map<String, Integer> actionIndexes = new HashMap<>();
+    private Map<String, Integer> attachedFunctionIndexes = new HashMap<>();
+
     public int getMagicValue() {
         return magicValue;
     }
@@ -166,6 +170,24 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
         return packageInfoMap.get(packageName);
     }
 
+    public int getActionIndex(String actionName) {
+        Integer index = actionIndexes.get(actionName);
+        if (index == null) {
+            index = actionIndexes.size();
+            actionIndexes.put(actionName, index);
+        }
+        return index;
+    }
+
+    public int getAttachedFunctionIndex(String funcName) {
+        Integer index = attachedFunctionIndexes.get(funcName);
+        if (index == null) {
+            index = attachedFunctionIndexes.size();
+            attachedFunctionIndexes.put(funcName, index);
+        }
+        return index;
+    }
+
     public PackageInfo[] getPackageInfoEntries() {
         return packageInfoMap.values().toArray(new PackageInfo[0]);
     }
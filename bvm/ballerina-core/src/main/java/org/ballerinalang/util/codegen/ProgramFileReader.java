@@ -484,6 +484,7 @@ public class ProgramFileReader {
 
             // Set connector type
             BConnectorType bConnectorType = new BConnectorType(connectorName, packageInfo.getPkgPath());
+            bConnectorType.setConnectorInfo(connectorInfo);
             connectorInfo.setType(bConnectorType);
         }
 
@@ -1520,6 +1521,13 @@ public class ProgramFileReader {
                 case InstructionCodes.FLT:
                 case InstructionCodes.ILE:
                 case InstructionCodes.FLE:
+                case InstructionCodes.BR_IEQ:
+                case InstructionCodes.BR_INE:
+                case InstructionCodes.BR_IGT:
+                case InstructionCodes.BR_IGE:
+                case InstructionCodes.BR_ILT:
+                case InstructionCodes.BR_ILE:
+                case InstructionCodes.IADD_IMM:
                 case InstructionCodes.I2ANY:
                 case InstructionCodes.F2ANY:
                 case InstructionCodes.S2ANY:
@@ -1605,14 +1613,17 @@ public class ProgramFileReader {
                     int receiverRegIndex = codeStream.readInt();
                     funcRefCPIndex = codeStream.readInt();
                     funcRefCPEntry = (FunctionRefCPEntry) packageInfo.getCPEntry(funcRefCPIndex);
+                    FunctionInfo virtualFuncInfo = funcRefCPEntry.getFunctionInfo();
                     packageInfo.addInstruction(new InstructionVCALL(opcode, receiverRegIndex, funcRefCPIndex,
-                            funcRefCPEntry.getFunctionInfo(), getArgRegs(codeStream), getArgRegs(codeStream)));
+                            virtualFuncInfo, programFile.getAttachedFunctionIndex(virtualFuncInfo.getName()),
+                            getArgRegs(codeStream), getArgRegs(codeStream)));
                     break;
                 case InstructionCodes.ACALL:
                     int actionRefCPIndex = codeStream.readInt();
                     ActionRefCPEntry actionRefCPEntry = (ActionRefCPEntry) packageInfo.getCPEntry(actionRefCPIndex);
-                    packageInfo.addInstruction(new InstructionACALL(opcode, actionRefCPIndex,
-                            actionRefCPEntry.getActionName(), getArgRegs(codeStream), getArgRegs(codeStream)));
+                    String actionName = actionRefCPEntry.getActionName();
+                    packageInfo.addInstruction(new InstructionACALL(opcode, actionRefCPIndex, actionName,
+                            programFile.getActionIndex(actionName), getArgRegs(codeStream), getArgRegs(codeStream)));
                     break;
                 case InstructionCodes.FPCALL:
                     funcRefCPIndex = codeStream.readInt();
@@ -20,6 +20,7 @@ package org.ballerinalang.util.codegen;
 import org.ballerinalang.model.types.BStructType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,10 @@ public class StructInfo extends StructureTypeInfo {
     private List<StructFieldInfo> fieldInfoEntries = new ArrayList<>();
     public Map<String, AttachedFunctionInfo> funcInfoEntries = new HashMap<>();
 
+    // Attached functions of this struct indexed by ProgramFile#getAttachedFunctionIndex(String). Entries are added
+    // as the functions are dispatched on this struct, hence it doesn't hold the functions of other structs.
+    private volatile AttachedFunctionInfo[] attachedFuncTable = new AttachedFunctionInfo[0];
+
     public StructInfo(int pkgPathCPIndex, String packagePath, int nameCPIndex, String name, int flags) {
         super(pkgPathCPIndex, packagePath, nameCPIndex, name, flags);
     }
@@ -56,6 +61,31 @@ public class StructInfo extends StructureTypeInfo {
         return fieldInfoEntries.toArray(new StructFieldInfo[0]);
     }
 
+    /**
+     * Returns the attached function at the given dispatch table index. A function which is not in the table yet is
+     * looked up by name, and added to the table if it has an index.
+     *
+     * @param funcIndex index assigned to the function name by the program file, or a negative value if it has none
+     * @param funcName  name of the function
+     * @return the attached function, or {@code null} if this struct doesn't have such a function
+     */
+    public AttachedFunctionInfo getAttachedFunctionInfo(int funcIndex, String funcName) {
+        AttachedFunctionInfo[] table = attachedFuncTable;
+        if (funcIndex >= 0 && funcIndex < table.length && table[funcIndex] != null) {
+            return table[funcIndex];
+        }
+
+        AttachedFunctionInfo funcInfo = funcInfoEntries.get(funcName);
+        if (funcInfo != null && funcIndex >= 0) {
+            synchronized (this) {
+                table = Arrays.copyOf(attachedFuncTable, Math.max(attachedFuncTable.length, funcIndex + 1));
+                table[funcIndex] = funcInfo;
+                attachedFuncTable = table;
+            }
+        }
+        return funcInfo;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(pkgPathCPIndex, nameCPIndex);
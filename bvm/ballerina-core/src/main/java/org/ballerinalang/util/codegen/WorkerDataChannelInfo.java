@@ -21,9 +21,12 @@ import org.ballerinalang.model.types.BType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * {@code WorkerDataChannelInfo} represents data channels used in Ballerina in order to communicate between workers.
@@ -44,6 +47,8 @@ public class WorkerDataChannelInfo {
     private int dataChannelRefIndex;
 
     private BlockingQueue<Object[]> channel;
+    // Receivers which gave up their thread while waiting for data on this channel.
+    private final Queue<Consumer<Object[]>> suspendedReceivers = new ArrayDeque<>();
     private BType[] types;
     private static final Logger log = LoggerFactory.getLogger(WorkerDataChannelInfo.class);
 
@@ -56,14 +61,47 @@ public class WorkerDataChannelInfo {
     }
 
     public void putData(Object[] data) {
-        try {
-            if (data != null) {
-                channel.put(data);
+        if (data == null) {
+            return;
+        }
+
+        Consumer<Object[]> receiver;
+        synchronized (this) {
+            receiver = suspendedReceivers.poll();
+            if (receiver == null) {
+                if (!channel.offer(data)) {
+                    log.error("Error occurred when inserting data to the channel");
+                }
+                return;
             }
-        } catch (InterruptedException e) {
-            // Handle the error properly
-            log.error("Error occurred when inserting data to the channel");
         }
+        // Hand the data over to the suspended receiver directly, outside the lock.
+        receiver.accept(data);
+    }
+
+    /**
+     * Take data from the channel without blocking the calling thread. If the channel is empty, the given receiver
+     * is registered and will be called with the data once it is put into the channel.
+     *
+     * @param receiver callback to be invoked with the data if it is not available yet
+     * @return the data if it is already available in the channel, {@code null} if the receiver was registered
+     */
+    public synchronized Object[] takeDataOrSuspend(Consumer<Object[]> receiver) {
+        Object[] data = channel.poll();
+        if (data == null) {
+            suspendedReceivers.add(receiver);
+        }
+        return data;
+    }
+
+    /**
+     * Unregister a receiver which no longer waits for data, e.g. because its worker was cancelled.
+     *
+     * @param receiver receiver registered by {@link #takeDataOrSuspend(Consumer)}
+     * @return {@code true} if the receiver was still waiting, {@code false} if it has already been given data
+     */
+    public synchronized boolean removeSuspendedReceiver(Consumer<Object[]> receiver) {
+        return suspendedReceivers.remove(receiver);
     }
 
     public Object[] takeData() {
@@ -51,6 +51,7 @@ import java.util.stream.Collectors;
 
 import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
 import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.SKIP_BYTECODE_OPTIMIZATION;
 import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
 
 /**
@@ -190,11 +191,30 @@ public class BCompileUtil {
      * @return Semantic errors
      */
     public static CompileResult compile(String sourceRoot, String packageName, CompilerPhase compilerPhase) {
+        return compile(sourceRoot, packageName, compilerPhase, false);
+    }
+
+    /**
+     * Compile without running the bytecode optimizer and return the semantic errors.
+     *
+     * @param sourceFilePath Path to source package/file
+     * @return Semantic errors
+     */
+    public static CompileResult compileWithoutOptimization(String sourceFilePath) {
+        Path sourcePath = Paths.get(sourceFilePath);
+        String packageName = sourcePath.getFileName().toString();
+        Path sourceRoot = resourceDir.resolve(sourcePath.getParent());
+        return compile(sourceRoot.toString(), packageName, CompilerPhase.CODE_GEN, true);
+    }
+
+    private static CompileResult compile(String sourceRoot, String packageName, CompilerPhase compilerPhase,
+                                         boolean skipOptimization) {
         CompilerContext context = new CompilerContext();
         CompilerOptions options = CompilerOptions.getInstance(context);
         options.put(SOURCE_ROOT, resourceDir.resolve(sourceRoot).toString());
         options.put(COMPILER_PHASE, compilerPhase.toString());
         options.put(PRESERVE_WHITESPACE, "false");
+        options.put(SKIP_BYTECODE_OPTIMIZATION, Boolean.toString(skipOptimization));
 
         CompileResult comResult = new CompileResult();
 
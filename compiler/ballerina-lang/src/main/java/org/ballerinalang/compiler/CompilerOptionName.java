@@ -30,7 +30,9 @@ public enum CompilerOptionName {
 
     COMPILER_PHASE("compilerPhase"),
 
-    SKIP_PACKAGE_VALIDATION("skipPackageValidation");
+    SKIP_PACKAGE_VALIDATION("skipPackageValidation"),
+
+    SKIP_BYTECODE_OPTIMIZATION("skipBytecodeOptimization");
 
     public final String name;
 
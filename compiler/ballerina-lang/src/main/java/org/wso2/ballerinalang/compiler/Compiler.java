@@ -21,6 +21,7 @@ import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.model.Name;
 import org.ballerinalang.model.tree.PackageNode;
+import org.wso2.ballerinalang.compiler.codegen.BytecodeOptimizer;
 import org.wso2.ballerinalang.compiler.codegen.CodeGenerator;
 import org.wso2.ballerinalang.compiler.desugar.Desugar;
 import org.wso2.ballerinalang.compiler.parser.BLangParserException;
@@ -50,6 +51,7 @@ public class Compiler {
     private CodeAnalyzer codeAnalyzer;
     private Desugar desugar;
     private CodeGenerator codeGenerator;
+    private BytecodeOptimizer bytecodeOptimizer;
 
     private CompilerPhase compilerPhase;
     private ProgramFile programFile;
@@ -77,6 +79,7 @@ public class Compiler {
         this.codeAnalyzer = CodeAnalyzer.getInstance(context);
         this.desugar = Desugar.getInstance(context);
         this.codeGenerator = CodeGenerator.getInstance(context);
+        this.bytecodeOptimizer = BytecodeOptimizer.getInstance(context);
 
         this.compilerPhase = getCompilerPhase();
     }
@@ -164,6 +167,9 @@ public class Compiler {
 
     private void gen(BLangPackage pkgNode) {
         programFile = this.codeGenerator.generate(pkgNode);
+        if (!Boolean.parseBoolean(options.get(CompilerOptionName.SKIP_BYTECODE_OPTIMIZATION))) {
+            this.bytecodeOptimizer.optimize(programFile);
+        }
     }
 
     private CompilerPhase getCompilerPhase() {
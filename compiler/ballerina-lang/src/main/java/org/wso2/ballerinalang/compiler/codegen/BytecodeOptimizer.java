@@ -0,0 +1,999 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.ballerinalang.compiler.codegen;
+
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.programfile.CallableUnitInfo;
+import org.wso2.ballerinalang.programfile.ConnectorInfo;
+import org.wso2.ballerinalang.programfile.ErrorTableEntry;
+import org.wso2.ballerinalang.programfile.ForkjoinInfo;
+import org.wso2.ballerinalang.programfile.Instruction;
+import org.wso2.ballerinalang.programfile.Instruction.Operand;
+import org.wso2.ballerinalang.programfile.Instruction.RegIndex;
+import org.wso2.ballerinalang.programfile.InstructionCodes;
+import org.wso2.ballerinalang.programfile.InstructionFactory;
+import org.wso2.ballerinalang.programfile.LineNumberInfo;
+import org.wso2.ballerinalang.programfile.PackageInfo;
+import org.wso2.ballerinalang.programfile.ProgramFile;
+import org.wso2.ballerinalang.programfile.ServiceInfo;
+import org.wso2.ballerinalang.programfile.WorkerInfo;
+import org.wso2.ballerinalang.programfile.attributes.AttributeInfo;
+import org.wso2.ballerinalang.programfile.attributes.CodeAttributeInfo;
+import org.wso2.ballerinalang.programfile.attributes.ErrorTableAttributeInfo;
+import org.wso2.ballerinalang.programfile.attributes.LineNumberTableAttributeInfo;
+import org.wso2.ballerinalang.programfile.cpentries.IntegerCPEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@code BytecodeOptimizer} rewrites the instructions generated by the {@link CodeGenerator} before the program file
+ * is written. Within basic blocks it propagates register copies and folds integer constants and constant branches.
+ * Using register liveness it then removes stores to dead temporary registers, and fuses integer compare-then-branch
+ * pairs and additions of constants into superinstructions.
+ * <p>
+ * Only temporary registers, i.e. registers above the local variable slots of a worker, are ever removed. Local
+ * variables stay observable by the debugger and by fork/join workers.
+ *
+ * @since 0.961.1
+ */
+public class BytecodeOptimizer {
+
+    private static final CompilerContext.Key<BytecodeOptimizer> BYTECODE_OPTIMIZER_KEY =
+            new CompilerContext.Key<>();
+
+    private static final int MAX_ROUNDS = 8;
+
+    // Register classes, one for each register array of a stack frame
+    private static final int NONE = -1;
+    private static final int LONG = 0;
+    private static final int DOUBLE = 1;
+    private static final int STRING = 2;
+    private static final int INT = 3;
+    private static final int BYTE = 4;
+    private static final int REF = 5;
+    private static final int REG_CLASS_COUNT = 6;
+
+    private static final int[] NO_TARGETS = new int[0];
+
+    private static final OpcodeInfo[] OPCODE_INFO = new OpcodeInfo[InstructionCodes.INSTRUCTION_CODE_COUNT];
+
+    static {
+        define(InstructionCodes.ICONST, true, 1, NONE, LONG);
+        define(InstructionCodes.FCONST, true, 1, NONE, DOUBLE);
+        define(InstructionCodes.SCONST, true, 1, NONE, STRING);
+        for (int opcode = InstructionCodes.ICONST_0; opcode <= InstructionCodes.ICONST_5; opcode++) {
+            define(opcode, true, 0, LONG);
+        }
+        for (int opcode = InstructionCodes.FCONST_0; opcode <= InstructionCodes.FCONST_5; opcode++) {
+            define(opcode, true, 0, DOUBLE);
+        }
+        define(InstructionCodes.BCONST_0, true, 0, INT);
+        define(InstructionCodes.BCONST_1, true, 0, INT);
+        define(InstructionCodes.RCONST_NULL, true, 0, REF);
+
+        define(InstructionCodes.IMOVE, true, 1, LONG, LONG);
+        define(InstructionCodes.FMOVE, true, 1, DOUBLE, DOUBLE);
+        define(InstructionCodes.SMOVE, true, 1, STRING, STRING);
+        define(InstructionCodes.BMOVE, true, 1, INT, INT);
+        define(InstructionCodes.LMOVE, true, 1, BYTE, BYTE);
+        define(InstructionCodes.RMOVE, true, 1, REF, REF);
+
+        define(InstructionCodes.IADD, true, 2, LONG, LONG, LONG);
+        define(InstructionCodes.IADD_IMM, true, 2, LONG, NONE, LONG);
+        define(InstructionCodes.ISUB, true, 2, LONG, LONG, LONG);
+        define(InstructionCodes.IMUL, true, 2, LONG, LONG, LONG);
+        define(InstructionCodes.IDIV, false, 2, LONG, LONG, LONG);
+        define(InstructionCodes.IMOD, false, 2, LONG, LONG, LONG);
+        define(InstructionCodes.INEG, true, 1, LONG, LONG);
+        define(InstructionCodes.FADD, true, 2, DOUBLE, DOUBLE, DOUBLE);
+        define(InstructionCodes.FSUB, true, 2, DOUBLE, DOUBLE, DOUBLE);
+        define(InstructionCodes.FMUL, true, 2, DOUBLE, DOUBLE, DOUBLE);
+        define(InstructionCodes.FDIV, false, 2, DOUBLE, DOUBLE, DOUBLE);
+        define(InstructionCodes.FMOD, false, 2, DOUBLE, DOUBLE, DOUBLE);
+        define(InstructionCodes.FNEG, true, 1, DOUBLE, DOUBLE);
+        define(InstructionCodes.SADD, true, 2, STRING, STRING, STRING);
+        define(InstructionCodes.BNOT, true, 1, INT, INT);
+
+        define(InstructionCodes.IEQ, true, 2, LONG, LONG, INT);
+        define(InstructionCodes.INE, true, 2, LONG, LONG, INT);
+        define(InstructionCodes.IGT, true, 2, LONG, LONG, INT);
+        define(InstructionCodes.IGE, true, 2, LONG, LONG, INT);
+        define(InstructionCodes.ILT, true, 2, LONG, LONG, INT);
+        define(InstructionCodes.ILE, true, 2, LONG, LONG, INT);
+        define(InstructionCodes.FEQ, true, 2, DOUBLE, DOUBLE, INT);
+        define(InstructionCodes.FNE, true, 2, DOUBLE, DOUBLE, INT);
+        define(InstructionCodes.FGT, true, 2, DOUBLE, DOUBLE, INT);
+        define(InstructionCodes.FGE, true, 2, DOUBLE, DOUBLE, INT);
+        define(InstructionCodes.FLT, true, 2, DOUBLE, DOUBLE, INT);
+        define(InstructionCodes.FLE, true, 2, DOUBLE, DOUBLE, INT);
+        define(InstructionCodes.SEQ, true, 2, STRING, STRING, INT);
+        define(InstructionCodes.SNE, true, 2, STRING, STRING, INT);
+        define(InstructionCodes.BEQ, true, 2, INT, INT, INT);
+        define(InstructionCodes.BNE, true, 2, INT, INT, INT);
+        define(InstructionCodes.REQ, true, 2, REF, REF, INT);
+        define(InstructionCodes.RNE, true, 2, REF, REF, INT);
+
+        define(InstructionCodes.BR_TRUE, false, -1, INT, NONE);
+        define(InstructionCodes.BR_FALSE, false, -1, INT, NONE);
+        define(InstructionCodes.BR_IEQ, false, -1, LONG, LONG, NONE);
+        define(InstructionCodes.BR_INE, false, -1, LONG, LONG, NONE);
+        define(InstructionCodes.BR_IGT, false, -1, LONG, LONG, NONE);
+        define(InstructionCodes.BR_IGE, false, -1, LONG, LONG, NONE);
+        define(InstructionCodes.BR_ILT, false, -1, LONG, LONG, NONE);
+        define(InstructionCodes.BR_ILE, false, -1, LONG, LONG, NONE);
+        define(InstructionCodes.GOTO, false, -1, NONE);
+        define(InstructionCodes.IRET, false, -1, NONE, LONG);
+        define(InstructionCodes.FRET, false, -1, NONE, DOUBLE);
+        define(InstructionCodes.SRET, false, -1, NONE, STRING);
+        define(InstructionCodes.BRET, false, -1, NONE, INT);
+        define(InstructionCodes.LRET, false, -1, NONE, BYTE);
+        define(InstructionCodes.RRET, false, -1, NONE, REF);
+
+        // Loads may fail on null references or invalid indexes, hence they are never removed
+        define(InstructionCodes.IALOAD, false, 2, REF, LONG, LONG);
+        define(InstructionCodes.FALOAD, false, 2, REF, LONG, DOUBLE);
+        define(InstructionCodes.SALOAD, false, 2, REF, LONG, STRING);
+        define(InstructionCodes.BALOAD, false, 2, REF, LONG, INT);
+        define(InstructionCodes.LALOAD, false, 2, REF, LONG, BYTE);
+        define(InstructionCodes.RALOAD, false, 2, REF, LONG, REF);
+        define(InstructionCodes.JSONALOAD, false, 2, REF, LONG, REF);
+        define(InstructionCodes.IGLOAD, false, 1, NONE, LONG);
+        define(InstructionCodes.FGLOAD, false, 1, NONE, DOUBLE);
+        define(InstructionCodes.SGLOAD, false, 1, NONE, STRING);
+        define(InstructionCodes.BGLOAD, false, 1, NONE, INT);
+        define(InstructionCodes.LGLOAD, false, 1, NONE, BYTE);
+        define(InstructionCodes.RGLOAD, false, 1, NONE, REF);
+        define(InstructionCodes.IFIELDLOAD, false, 2, REF, NONE, LONG);
+        define(InstructionCodes.FFIELDLOAD, false, 2, REF, NONE, DOUBLE);
+        define(InstructionCodes.SFIELDLOAD, false, 2, REF, NONE, STRING);
+        define(InstructionCodes.BFIELDLOAD, false, 2, REF, NONE, INT);
+        define(InstructionCodes.LFIELDLOAD, false, 2, REF, NONE, BYTE);
+        define(InstructionCodes.RFIELDLOAD, false, 2, REF, NONE, REF);
+    }
+
+    public static BytecodeOptimizer getInstance(CompilerContext context) {
+        BytecodeOptimizer bytecodeOptimizer = context.get(BYTECODE_OPTIMIZER_KEY);
+        if (bytecodeOptimizer == null) {
+            bytecodeOptimizer = new BytecodeOptimizer(context);
+        }
+
+        return bytecodeOptimizer;
+    }
+
+    public BytecodeOptimizer(CompilerContext context) {
+        context.put(BYTECODE_OPTIMIZER_KEY, this);
+    }
+
+    /**
+     * Optimizes the instructions of all the packages in the given program file in place.
+     *
+     * @param programFile program file generated by the {@link CodeGenerator}
+     */
+    public void optimize(ProgramFile programFile) {
+        for (PackageInfo packageInfo : programFile.packageInfoMap.values()) {
+            for (int round = 0; round < MAX_ROUNDS; round++) {
+                boolean changed = propagate(new ControlFlow(packageInfo));
+                changed |= eliminate(new ControlFlow(packageInfo));
+                if (!changed) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Forward pass over each basic block, which substitutes copied temporary registers with their source registers
+     * and folds operations on known integer and boolean constants.
+     */
+    private boolean propagate(ControlFlow flow) {
+        Instruction[] code = flow.code;
+        boolean[] removed = new boolean[code.length];
+        boolean changed = false;
+        Map<Integer, Integer> copies = new HashMap<>();
+        Map<Integer, Long> constants = new HashMap<>();
+        for (int ip = 0; ip < code.length; ip++) {
+            OpcodeInfo info = OPCODE_INFO[code[ip].opcode];
+            if (flow.leaders[ip] || flow.units[ip] == null || info == null) {
+                copies.clear();
+                constants.clear();
+                if (flow.units[ip] == null || info == null) {
+                    continue;
+                }
+            }
+
+            Instruction instruction = fold(flow.packageInfo, substituteCopies(code[ip], info, copies), constants);
+            if (instruction == null) {
+                removed[ip] = true;
+                changed = true;
+                continue;
+            }
+            if (instruction != code[ip]) {
+                code[ip] = instruction;
+                changed = true;
+            }
+            updateFacts(flow.packageInfo, flow.units[ip], instruction, copies, constants);
+        }
+
+        if (changed) {
+            compact(flow, removed);
+        }
+        return changed;
+    }
+
+    /**
+     * Pass based on register liveness, which removes stores to dead temporary registers and fuses integer
+     * comparisons with the branch which consumes their result.
+     */
+    private boolean eliminate(ControlFlow flow) {
+        Instruction[] code = flow.code;
+        boolean[] removed = new boolean[code.length];
+        boolean changed = false;
+        BitSet[] liveOut = flow.computeLiveOut();
+        for (int ip = 0; ip < code.length; ip++) {
+            CodeAttributeInfo unit = flow.units[ip];
+            Instruction instruction = code[ip];
+            OpcodeInfo info = OPCODE_INFO[instruction.opcode];
+            if (unit == null || info == null || info.defOperand < 0) {
+                continue;
+            }
+
+            int defReg = instruction.ops[info.defOperand].value;
+            int defClass = info.operandClasses[info.defOperand];
+            if (!isTemp(unit, defReg, defClass)) {
+                continue;
+            }
+            if (info.removable && (!liveOut[ip].get(regKey(defReg, defClass)) || isSelfMove(instruction))) {
+                removed[ip] = true;
+                changed = true;
+                continue;
+            }
+
+            int nextIP = ip + 1;
+            if (nextIP == code.length || flow.leaders[nextIP] || flow.units[nextIP] != unit ||
+                    liveOut[nextIP].get(regKey(defReg, defClass))) {
+                continue;
+            }
+
+            Instruction fused = fuse(instruction, code[nextIP], defReg);
+            if (fused != null) {
+                code[ip] = fused;
+                removed[nextIP] = true;
+                changed = true;
+                ip++;
+            }
+        }
+
+        if (changed) {
+            compact(flow, removed);
+        }
+        return changed;
+    }
+
+    private Instruction substituteCopies(Instruction instruction, OpcodeInfo info, Map<Integer, Integer> copies) {
+        Operand[] ops = null;
+        for (int i = 0; i < info.operandClasses.length; i++) {
+            if (i == info.defOperand || info.operandClasses[i] == NONE) {
+                continue;
+            }
+            Integer source = copies.get(regKey(instruction.ops[i].value, info.operandClasses[i]));
+            if (source == null) {
+                continue;
+            }
+            if (ops == null) {
+                ops = instruction.ops.clone();
+            }
+            ops[i] = new Operand(source);
+        }
+        return ops == null ? instruction : InstructionFactory.get(instruction.opcode, ops);
+    }
+
+    /**
+     * Folds the given instruction if its operands are known constants.
+     *
+     * @return the folded instruction, the same instruction if it cannot be folded or null if the instruction has no
+     * effect
+     */
+    private Instruction fold(PackageInfo packageInfo, Instruction instruction, Map<Integer, Long> constants) {
+        Operand[] ops = instruction.ops;
+        Long lhs;
+        Long rhs;
+        switch (instruction.opcode) {
+            case InstructionCodes.IADD:
+            case InstructionCodes.ISUB:
+            case InstructionCodes.IMUL:
+                lhs = constants.get(regKey(ops[0].value, LONG));
+                rhs = constants.get(regKey(ops[1].value, LONG));
+                if (lhs != null && rhs != null) {
+                    return loadInt(packageInfo, evaluate(instruction.opcode, lhs, rhs), ops[2]);
+                }
+                if (instruction.opcode == InstructionCodes.IADD && rhs != null && isImmediate(rhs)) {
+                    return InstructionFactory.get(InstructionCodes.IADD_IMM, ops[0], new Operand(rhs.intValue()),
+                            ops[2]);
+                }
+                if (instruction.opcode == InstructionCodes.IADD && lhs != null && isImmediate(lhs)) {
+                    return InstructionFactory.get(InstructionCodes.IADD_IMM, ops[1], new Operand(lhs.intValue()),
+                            ops[2]);
+                }
+                if (instruction.opcode == InstructionCodes.ISUB && rhs != null && isImmediate(-rhs)) {
+                    return InstructionFactory.get(InstructionCodes.IADD_IMM, ops[0], new Operand(-rhs.intValue()),
+                            ops[2]);
+                }
+                return instruction;
+            case InstructionCodes.IADD_IMM:
+                lhs = constants.get(regKey(ops[0].value, LONG));
+                return lhs == null ? instruction : loadInt(packageInfo, lhs + ops[1].value, ops[2]);
+            case InstructionCodes.INEG:
+                lhs = constants.get(regKey(ops[0].value, LONG));
+                return lhs == null ? instruction : loadInt(packageInfo, -lhs, ops[1]);
+            case InstructionCodes.IEQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.IGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.ILE:
+                lhs = constants.get(regKey(ops[0].value, LONG));
+                rhs = constants.get(regKey(ops[1].value, LONG));
+                if (lhs == null || rhs == null) {
+                    return instruction;
+                }
+                return loadBoolean(compare(instruction.opcode, lhs, rhs), ops[2]);
+            case InstructionCodes.BEQ:
+            case InstructionCodes.BNE:
+                lhs = constants.get(regKey(ops[0].value, INT));
+                rhs = constants.get(regKey(ops[1].value, INT));
+                if (lhs == null || rhs == null) {
+                    return instruction;
+                }
+                return loadBoolean(lhs.equals(rhs) == (instruction.opcode == InstructionCodes.BEQ), ops[2]);
+            case InstructionCodes.BNOT:
+                lhs = constants.get(regKey(ops[0].value, INT));
+                return lhs == null ? instruction : loadBoolean(lhs == 0, ops[1]);
+            case InstructionCodes.BR_TRUE:
+            case InstructionCodes.BR_FALSE:
+                lhs = constants.get(regKey(ops[0].value, INT));
+                if (lhs == null) {
+                    return instruction;
+                }
+                boolean jumps = lhs == (instruction.opcode == InstructionCodes.BR_TRUE ? 1 : 0);
+                return jumps ? InstructionFactory.get(InstructionCodes.GOTO, ops[1]) : null;
+            case InstructionCodes.BR_IEQ:
+            case InstructionCodes.BR_INE:
+            case InstructionCodes.BR_IGT:
+            case InstructionCodes.BR_IGE:
+            case InstructionCodes.BR_ILT:
+            case InstructionCodes.BR_ILE:
+                lhs = constants.get(regKey(ops[0].value, LONG));
+                rhs = constants.get(regKey(ops[1].value, LONG));
+                if (lhs == null || rhs == null) {
+                    return instruction;
+                }
+                return compare(instruction.opcode, lhs, rhs) ?
+                        InstructionFactory.get(InstructionCodes.GOTO, ops[2]) : null;
+            default:
+                return instruction;
+        }
+    }
+
+    private void updateFacts(PackageInfo packageInfo, CodeAttributeInfo unit, Instruction instruction,
+                             Map<Integer, Integer> copies, Map<Integer, Long> constants) {
+        OpcodeInfo info = OPCODE_INFO[instruction.opcode];
+        if (info.defOperand < 0) {
+            return;
+        }
+
+        int defReg = instruction.ops[info.defOperand].value;
+        int defClass = info.operandClasses[info.defOperand];
+        int defKey = regKey(defReg, defClass);
+        copies.remove(defKey);
+        copies.entrySet().removeIf(copy -> copy.getKey() % REG_CLASS_COUNT == defClass && copy.getValue() == defReg);
+        constants.remove(defKey);
+
+        Long constant = getConstant(packageInfo, instruction);
+        if (constant != null) {
+            constants.put(defKey, constant);
+        } else if (isMove(instruction.opcode)) {
+            int sourceReg = instruction.ops[0].value;
+            if (sourceReg == defReg) {
+                return;
+            }
+            Long sourceConstant = constants.get(regKey(sourceReg, defClass));
+            if (sourceConstant != null) {
+                constants.put(defKey, sourceConstant);
+            }
+            if (isTemp(unit, defReg, defClass)) {
+                copies.put(defKey, sourceReg);
+            }
+        }
+    }
+
+    private Long getConstant(Instruction instruction) {
+        switch (instruction.opcode) {
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.BCONST_0:
+                return 0L;
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.BCONST_1:
+                return 1L;
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                return (long) (instruction.opcode - InstructionCodes.ICONST_0);
+            default:
+                return null;
+        }
+    }
+
+    private Long getConstant(PackageInfo packageInfo, Instruction instruction) {
+        if (instruction.opcode == InstructionCodes.ICONST) {
+            return ((IntegerCPEntry) packageInfo.getCPEntry(instruction.ops[0].value)).getValue();
+        }
+        return getConstant(instruction);
+    }
+
+    /**
+     * Fuses the given instruction, which defines a temporary register dead after the next instruction, with the
+     * next instruction.
+     *
+     * @return the fused instruction or null if the instructions cannot be fused
+     */
+    private Instruction fuse(Instruction instruction, Instruction next, int defReg) {
+        if ((next.opcode == InstructionCodes.BR_TRUE || next.opcode == InstructionCodes.BR_FALSE) &&
+                next.ops[0].value == defReg) {
+            int branchOpcode = getCompareAndBranchOpcode(instruction.opcode, next.opcode == InstructionCodes.BR_TRUE);
+            if (branchOpcode >= 0) {
+                return InstructionFactory.get(branchOpcode, instruction.ops[0], instruction.ops[1], next.ops[1]);
+            }
+        }
+        return null;
+    }
+
+    private void compact(ControlFlow flow, boolean[] removed) {
+        Instruction[] code = flow.code;
+        int[] nextIndex = new int[code.length + 1];
+        int[] prevIndex = new int[code.length];
+        int count = 0;
+        for (int ip = 0; ip < code.length; ip++) {
+            if (!removed[ip]) {
+                count++;
+            }
+            prevIndex[ip] = count - 1;
+        }
+        nextIndex[code.length] = count;
+        for (int ip = code.length - 1; ip >= 0; ip--) {
+            nextIndex[ip] = removed[ip] ? nextIndex[ip + 1] : prevIndex[ip];
+        }
+
+        PackageInfo packageInfo = flow.packageInfo;
+        List<Instruction> instructions = new ArrayList<>(count);
+        for (int ip = 0; ip < code.length; ip++) {
+            if (!removed[ip]) {
+                instructions.add(relocate(code[ip], nextIndex));
+            }
+        }
+        packageInfo.instructionList = instructions;
+
+        for (CodeAttributeInfo codeAttributeInfo : flow.codeAttributes) {
+            if (codeAttributeInfo.codeAddrs >= 0) {
+                codeAttributeInfo.codeAddrs = nextIndex[codeAttributeInfo.codeAddrs];
+            }
+        }
+
+        for (int i = 0; i < flow.errorEntries.size(); i++) {
+            ErrorTableEntry entry = flow.errorEntries.get(i);
+            int ipTo = entry.getIpTo() < 0 ? -1 : prevIndex[Math.min(entry.getIpTo(), code.length - 1)];
+            flow.errorEntries.set(i, new ErrorTableEntry(nextIndex[entry.getIpFrom()], ipTo,
+                    nextIndex[entry.getIpTarget()], entry.getPriority(), entry.getErrorStructCPIndex()));
+        }
+
+        LineNumberTableAttributeInfo lineNumberTable = (LineNumberTableAttributeInfo) packageInfo
+                .getAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
+        if (lineNumberTable == null) {
+            return;
+        }
+        TreeSet<Integer> lineStarts = new TreeSet<>();
+        lineNumberTable.getLineNumberInfoList().forEach(lineNumberInfo -> lineStarts.add(lineNumberInfo.getIp()));
+        Map<LineNumberInfo, Integer> newIPs = new IdentityHashMap<>();
+        for (LineNumberInfo lineNumberInfo : lineNumberTable.getLineNumberInfoList()) {
+            int startIP = lineNumberInfo.getIp();
+            Integer endIP = lineStarts.higher(startIP);
+            endIP = endIP == null ? code.length : Math.min(endIP, code.length);
+            if (startIP >= 0 && startIP < endIP && nextIndex[startIP] == nextIndex[endIP]) {
+                // Every instruction of the line has been removed
+                newIPs.put(lineNumberInfo, -1);
+            } else if (startIP >= 0 && startIP <= code.length) {
+                newIPs.put(lineNumberInfo, nextIndex[startIP]);
+            }
+        }
+        Iterator<LineNumberInfo> iterator = lineNumberTable.getLineNumberInfoList().iterator();
+        while (iterator.hasNext()) {
+            LineNumberInfo lineNumberInfo = iterator.next();
+            Integer newIP = newIPs.get(lineNumberInfo);
+            if (newIP == null) {
+                continue;
+            }
+            if (newIP < 0) {
+                iterator.remove();
+            } else {
+                lineNumberInfo.setIp(newIP);
+            }
+        }
+    }
+
+    private Instruction relocate(Instruction instruction, int[] nextIndex) {
+        int[] targetOperands = getTargetOperands(instruction);
+        if (targetOperands.length == 0) {
+            return instruction;
+        }
+
+        // Operands are shared between instructions, hence relocated targets always get new operands
+        Operand[] ops = instruction.ops.clone();
+        for (int operand : targetOperands) {
+            ops[operand] = new Operand(nextIndex[ops[operand].value]);
+        }
+        return InstructionFactory.get(instruction.opcode, ops);
+    }
+
+    private static int[] getTargetOperands(Instruction instruction) {
+        switch (instruction.opcode) {
+            case InstructionCodes.GOTO:
+                return new int[]{0};
+            case InstructionCodes.BR_TRUE:
+            case InstructionCodes.BR_FALSE:
+            case InstructionCodes.TR_RETRY:
+                return new int[]{1};
+            case InstructionCodes.BR_IEQ:
+            case InstructionCodes.BR_INE:
+            case InstructionCodes.BR_IGT:
+            case InstructionCodes.BR_IGE:
+            case InstructionCodes.BR_ILT:
+            case InstructionCodes.BR_ILE:
+                return new int[]{2};
+            case InstructionCodes.FORKJOIN:
+                // The timeout block address is -1 if the fork/join statement does not have a timeout block
+                return instruction.ops[5].value < 0 ? new int[]{3} : new int[]{3, 5};
+            default:
+                return NO_TARGETS;
+        }
+    }
+
+    private static boolean isTerminator(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.GOTO:
+            case InstructionCodes.FORKJOIN:
+            case InstructionCodes.HALT:
+            case InstructionCodes.RET:
+            case InstructionCodes.WRKRETURN:
+            case InstructionCodes.THROW:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isMove(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.IMOVE:
+            case InstructionCodes.FMOVE:
+            case InstructionCodes.SMOVE:
+            case InstructionCodes.BMOVE:
+            case InstructionCodes.LMOVE:
+            case InstructionCodes.RMOVE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isSelfMove(Instruction instruction) {
+        return isMove(instruction.opcode) && instruction.ops[0].value == instruction.ops[1].value;
+    }
+
+    private static boolean isImmediate(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    private static int getCompareAndBranchOpcode(int compareOpcode, boolean branchIfTrue) {
+        switch (compareOpcode) {
+            case InstructionCodes.IEQ:
+                return branchIfTrue ? InstructionCodes.BR_IEQ : InstructionCodes.BR_INE;
+            case InstructionCodes.INE:
+                return branchIfTrue ? InstructionCodes.BR_INE : InstructionCodes.BR_IEQ;
+            case InstructionCodes.IGT:
+                return branchIfTrue ? InstructionCodes.BR_IGT : InstructionCodes.BR_ILE;
+            case InstructionCodes.IGE:
+                return branchIfTrue ? InstructionCodes.BR_IGE : InstructionCodes.BR_ILT;
+            case InstructionCodes.ILT:
+                return branchIfTrue ? InstructionCodes.BR_ILT : InstructionCodes.BR_IGE;
+            case InstructionCodes.ILE:
+                return branchIfTrue ? InstructionCodes.BR_ILE : InstructionCodes.BR_IGT;
+            default:
+                return -1;
+        }
+    }
+
+    private static long evaluate(int opcode, long lhs, long rhs) {
+        switch (opcode) {
+            case InstructionCodes.IADD:
+                return lhs + rhs;
+            case InstructionCodes.ISUB:
+                return lhs - rhs;
+            default:
+                return lhs * rhs;
+        }
+    }
+
+    private static boolean compare(int opcode, long lhs, long rhs) {
+        switch (opcode) {
+            case InstructionCodes.IEQ:
+            case InstructionCodes.BR_IEQ:
+                return lhs == rhs;
+            case InstructionCodes.INE:
+            case InstructionCodes.BR_INE:
+                return lhs != rhs;
+            case InstructionCodes.IGT:
+            case InstructionCodes.BR_IGT:
+                return lhs > rhs;
+            case InstructionCodes.IGE:
+            case InstructionCodes.BR_IGE:
+                return lhs >= rhs;
+            case InstructionCodes.ILT:
+            case InstructionCodes.BR_ILT:
+                return lhs < rhs;
+            default:
+                return lhs <= rhs;
+        }
+    }
+
+    private static Instruction loadInt(PackageInfo packageInfo, long value, Operand target) {
+        if (value >= 0 && value <= 5) {
+            return InstructionFactory.get(InstructionCodes.ICONST_0 + (int) value, target);
+        }
+        int cpIndex = packageInfo.addCPEntry(new IntegerCPEntry(value));
+        return InstructionFactory.get(InstructionCodes.ICONST, new Operand(cpIndex), target);
+    }
+
+    private static Instruction loadBoolean(boolean value, Operand target) {
+        return InstructionFactory.get(value ? InstructionCodes.BCONST_1 : InstructionCodes.BCONST_0, target);
+    }
+
+    private static boolean isTemp(CodeAttributeInfo unit, int reg, int regClass) {
+        switch (regClass) {
+            case LONG:
+                return reg >= unit.maxLongLocalVars;
+            case DOUBLE:
+                return reg >= unit.maxDoubleLocalVars;
+            case STRING:
+                return reg >= unit.maxStringLocalVars;
+            case INT:
+                return reg >= unit.maxIntLocalVars;
+            case BYTE:
+                return reg >= unit.maxByteLocalVars;
+            case REF:
+                return reg >= unit.maxRefLocalVars;
+            default:
+                return false;
+        }
+    }
+
+    private static int getRegClass(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT:
+                return LONG;
+            case TypeTags.FLOAT:
+                return DOUBLE;
+            case TypeTags.STRING:
+                return STRING;
+            case TypeTags.BOOLEAN:
+                return INT;
+            case TypeTags.BLOB:
+                return BYTE;
+            default:
+                return REF;
+        }
+    }
+
+    private static int regKey(int reg, int regClass) {
+        return reg * REG_CLASS_COUNT + regClass;
+    }
+
+    private static void define(int opcode, boolean removable, int defOperand, int... operandClasses) {
+        OPCODE_INFO[opcode] = new OpcodeInfo(operandClasses, defOperand, removable);
+    }
+
+    /**
+     * Register usage of an opcode understood by the optimizer. Instructions with other opcodes are never rewritten
+     * and are assumed to read every register named by their operands.
+     */
+    private static class OpcodeInfo {
+        // Register class of each operand, NONE for operands which are not registers
+        final int[] operandClasses;
+        // Index of the operand written by the instruction, -1 if none
+        final int defOperand;
+        // Whether the instruction can be removed once its result is dead
+        final boolean removable;
+
+        OpcodeInfo(int[] operandClasses, int defOperand, boolean removable) {
+            this.operandClasses = operandClasses;
+            this.defOperand = defOperand;
+            this.removable = removable;
+        }
+    }
+
+    /**
+     * Control flow of the instructions of a package, together with the worker each instruction belongs to.
+     */
+    private static class ControlFlow {
+        final PackageInfo packageInfo;
+        final Instruction[] code;
+        final List<CodeAttributeInfo> codeAttributes;
+        final List<ErrorTableEntry> errorEntries;
+        final int[][] handlers;
+        // Code attribute of the worker executing each instruction, null if unknown or shared by several workers
+        final CodeAttributeInfo[] units;
+        // Whether each instruction starts a basic block
+        final boolean[] leaders;
+
+        ControlFlow(PackageInfo packageInfo) {
+            this.packageInfo = packageInfo;
+            this.code = packageInfo.instructionList.toArray(new Instruction[0]);
+            this.codeAttributes = getCodeAttributes(packageInfo);
+            ErrorTableAttributeInfo errorTable = (ErrorTableAttributeInfo) packageInfo
+                    .getAttributeInfo(AttributeInfo.Kind.ERROR_TABLE);
+            this.errorEntries = errorTable == null ? new ArrayList<>() : errorTable.getErrorTableEntriesList();
+            this.handlers = getHandlers();
+            this.units = new CodeAttributeInfo[code.length];
+            this.leaders = new boolean[code.length];
+            markLeaders();
+            assignUnits();
+        }
+
+        int[] successors(int ip) {
+            Instruction instruction = code[ip];
+            int[] targetOperands = getTargetOperands(instruction);
+            boolean fallsThrough = !isTerminator(instruction.opcode);
+            int[] successors = new int[targetOperands.length + (fallsThrough ? 1 : 0)];
+            int i = 0;
+            for (int operand : targetOperands) {
+                successors[i++] = instruction.ops[operand].value;
+            }
+            if (fallsThrough) {
+                successors[i] = ip + 1;
+            }
+            return successors;
+        }
+
+        BitSet[] computeLiveOut() {
+            BitSet[] liveIn = new BitSet[code.length];
+            BitSet[] liveOut = new BitSet[code.length];
+            for (int ip = 0; ip < code.length; ip++) {
+                liveIn[ip] = new BitSet();
+            }
+
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int ip = code.length - 1; ip >= 0; ip--) {
+                    BitSet out = new BitSet();
+                    for (int successor : successors(ip)) {
+                        if (successor >= 0 && successor < code.length) {
+                            out.or(liveIn[successor]);
+                        }
+                    }
+                    // An instruction may fail before writing its result, hence the registers live in an error
+                    // handler are live both before and after the instruction.
+                    BitSet handlerIn = new BitSet();
+                    for (int handler : handlers[ip]) {
+                        handlerIn.or(liveIn[handler]);
+                    }
+                    out.or(handlerIn);
+                    liveOut[ip] = out;
+
+                    BitSet in = (BitSet) out.clone();
+                    transfer(code[ip], in);
+                    in.or(handlerIn);
+                    if (!in.equals(liveIn[ip])) {
+                        liveIn[ip] = in;
+                        changed = true;
+                    }
+                }
+            }
+            return liveOut;
+        }
+
+        private void transfer(Instruction instruction, BitSet live) {
+            OpcodeInfo info = OPCODE_INFO[instruction.opcode];
+            if (info == null) {
+                Operand[] ops = instruction.ops;
+                int usedOperands = getUsedOperandCount(instruction);
+                // Return registers of invocations are written when the callee returns normally
+                for (int i = usedOperands + 1; i < ops.length; i++) {
+                    if (ops[i] instanceof RegIndex) {
+                        live.clear(regKey(ops[i].value, getRegClass(((RegIndex) ops[i]).typeTag)));
+                    }
+                }
+                for (int i = 0; i < usedOperands; i++) {
+                    if (ops[i].value >= 0) {
+                        live.set(regKey(ops[i].value, 0), regKey(ops[i].value + 1, 0));
+                    }
+                }
+                return;
+            }
+
+            if (info.defOperand >= 0) {
+                live.clear(regKey(instruction.ops[info.defOperand].value, info.operandClasses[info.defOperand]));
+            }
+            for (int i = 0; i < info.operandClasses.length; i++) {
+                if (i != info.defOperand && info.operandClasses[i] != NONE) {
+                    live.set(regKey(instruction.ops[i].value, info.operandClasses[i]));
+                }
+            }
+        }
+
+        /**
+         * Returns the number of leading operands of an instruction not understood by the optimizer which may name
+         * registers read by it. Return registers of invocations are only written, hence they are excluded.
+         */
+        private static int getUsedOperandCount(Instruction instruction) {
+            int argCountOperand;
+            switch (instruction.opcode) {
+                case InstructionCodes.CALL:
+                case InstructionCodes.ACALL:
+                case InstructionCodes.FPCALL:
+                case InstructionCodes.TCALL:
+                    argCountOperand = 1;
+                    break;
+                case InstructionCodes.VCALL:
+                    argCountOperand = 2;
+                    break;
+                default:
+                    return instruction.ops.length;
+            }
+            return argCountOperand + instruction.ops[argCountOperand].value + 1;
+        }
+
+        private int[][] getHandlers() {
+            List<List<Integer>> handlerLists = new ArrayList<>();
+            for (int ip = 0; ip < code.length; ip++) {
+                handlerLists.add(new ArrayList<>());
+            }
+            for (ErrorTableEntry entry : errorEntries) {
+                int ipTo = Math.min(entry.getIpTo(), code.length - 1);
+                for (int ip = Math.max(entry.getIpFrom(), 0); ip <= ipTo; ip++) {
+                    if (entry.getIpTarget() >= 0 && entry.getIpTarget() < code.length) {
+                        handlerLists.get(ip).add(entry.getIpTarget());
+                    }
+                }
+            }
+
+            int[][] handlers = new int[code.length][];
+            for (int ip = 0; ip < code.length; ip++) {
+                handlers[ip] = handlerLists.get(ip).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return handlers;
+        }
+
+        private void markLeaders() {
+            for (CodeAttributeInfo codeAttributeInfo : codeAttributes) {
+                markLeader(codeAttributeInfo.codeAddrs);
+            }
+            for (ErrorTableEntry entry : errorEntries) {
+                markLeader(entry.getIpTarget());
+            }
+            for (int ip = 0; ip < code.length; ip++) {
+                if (getTargetOperands(code[ip]).length == 0 && !isTerminator(code[ip].opcode)) {
+                    continue;
+                }
+                for (int successor : successors(ip)) {
+                    markLeader(successor);
+                }
+                markLeader(ip + 1);
+            }
+        }
+
+        private void markLeader(int ip) {
+            if (ip >= 0 && ip < code.length) {
+                leaders[ip] = true;
+            }
+        }
+
+        private void assignUnits() {
+            boolean[] shared = new boolean[code.length];
+            for (CodeAttributeInfo unit : codeAttributes) {
+                if (unit.codeAddrs < 0 || unit.codeAddrs >= code.length) {
+                    continue;
+                }
+
+                Deque<Integer> pending = new ArrayDeque<>();
+                pending.push(unit.codeAddrs);
+                while (!pending.isEmpty()) {
+                    int ip = pending.pop();
+                    if (units[ip] == unit || shared[ip]) {
+                        continue;
+                    }
+                    if (units[ip] != null) {
+                        shared[ip] = true;
+                        continue;
+                    }
+                    units[ip] = unit;
+                    for (int successor : successors(ip)) {
+                        if (successor >= 0 && successor < code.length) {
+                            pending.push(successor);
+                        }
+                    }
+                    for (int handler : handlers[ip]) {
+                        pending.push(handler);
+                    }
+                }
+            }
+
+            for (int ip = 0; ip < code.length; ip++) {
+                if (shared[ip]) {
+                    units[ip] = null;
+                }
+            }
+        }
+
+        private static List<CodeAttributeInfo> getCodeAttributes(PackageInfo packageInfo) {
+            List<CallableUnitInfo> callableUnits = new ArrayList<>();
+            callableUnits.addAll(packageInfo.functionInfoMap.values());
+            callableUnits.addAll(packageInfo.transformerInfoMap.values());
+            for (ConnectorInfo connectorInfo : packageInfo.connectorInfoMap.values()) {
+                callableUnits.addAll(connectorInfo.actionInfoMap.values());
+            }
+            for (ServiceInfo serviceInfo : packageInfo.serviceInfoMap.values()) {
+                callableUnits.addAll(serviceInfo.resourceInfoMap.values());
+            }
+
+            Set<CodeAttributeInfo> codeAttributes = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<CodeAttributeInfo> codeAttributeList = new ArrayList<>();
+            for (CallableUnitInfo callableUnitInfo : callableUnits) {
+                addCodeAttributes(callableUnitInfo.defaultWorkerInfo, codeAttributes, codeAttributeList);
+                for (WorkerInfo workerInfo : callableUnitInfo.workerInfoMap.values()) {
+                    addCodeAttributes(workerInfo, codeAttributes, codeAttributeList);
+                }
+            }
+            return codeAttributeList;
+        }
+
+        private static void addCodeAttributes(WorkerInfo workerInfo, Set<CodeAttributeInfo> codeAttributes,
+                                              List<CodeAttributeInfo> codeAttributeList) {
+            if (workerInfo == null || !codeAttributes.add(workerInfo.codeAttributeInfo)) {
+                return;
+            }
+            codeAttributeList.add(workerInfo.codeAttributeInfo);
+            for (ForkjoinInfo forkjoinInfo : workerInfo.getForkjoinInfos()) {
+                for (WorkerInfo forkedWorkerInfo : forkjoinInfo.getWorkerInfos()) {
+                    addCodeAttributes(forkedWorkerInfo, codeAttributes, codeAttributeList);
+                }
+            }
+        }
+    }
+}
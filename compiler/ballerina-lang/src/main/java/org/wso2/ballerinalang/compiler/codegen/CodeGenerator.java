@@ -191,9 +191,11 @@ import org.wso2.ballerinalang.programfile.cpentries.TransformerRefCPEntry;
 import org.wso2.ballerinalang.programfile.cpentries.TypeRefCPEntry;
 import org.wso2.ballerinalang.programfile.cpentries.UTF8CPEntry;
 import org.wso2.ballerinalang.programfile.cpentries.WorkerDataChannelRefCPEntry;
+import org.wso2.ballerinalang.util.Flags;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -2558,6 +2560,9 @@ public class CodeGenerator extends BLangNodeVisitor {
     }
 
     public void visit(BLangLock lockNode) {
+        lockNode.lockVariables = lockNode.lockVariables.stream()
+                .filter(this::requiresLock)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
         if (lockNode.lockVariables.isEmpty()) {
             this.genNode(lockNode.body, this.env);
             return;
@@ -2584,6 +2589,34 @@ public class CodeGenerator extends BLangNodeVisitor {
         gotoLockEndAddr.value = nextIP();
     }
 
+    /**
+     * Checks whether a variable accessed within a lock block has to be locked. Constants and non-public variables of
+     * value types which are never assigned after their declaration cannot change while the lock block executes,
+     * hence locking them is not required.
+     *
+     * @param varSymbol package or service level variable accessed within the lock block
+     * @return true if the variable has to be locked
+     */
+    private boolean requiresLock(BVarSymbol varSymbol) {
+        if ((varSymbol.flags & Flags.CONST) == Flags.CONST) {
+            return false;
+        }
+        if (varSymbol.reassigned || (varSymbol.flags & Flags.PUBLIC) == Flags.PUBLIC) {
+            return true;
+        }
+        switch (varSymbol.type.tag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.STRING:
+            case TypeTags.BOOLEAN:
+            case TypeTags.BLOB:
+                return false;
+            default:
+                // Values of reference types may be mutated without assigning to the variable.
+                return true;
+        }
+    }
+
     private Operand[] getOperands(BLangLock lockNode) {
         Operand[] operands = new Operand[(lockNode.lockVariables.size() * 2) + 1];
         int i = 0;
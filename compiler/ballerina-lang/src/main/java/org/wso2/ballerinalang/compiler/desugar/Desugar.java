@@ -129,6 +129,7 @@ import org.wso2.ballerinalang.util.Lists;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Stack;
 import java.util.stream.Collectors;
@@ -434,7 +435,7 @@ public class Desugar extends BLangNodeVisitor {
             String o1FullName = String.join(":", v1.pkgID.getName().getValue(), v1.name.getValue());
             String o2FullName = String.join(":", v2.pkgID.getName().getValue(), v2.name.getValue());
             return o1FullName.compareTo(o2FullName);
-        }).collect(Collectors.toSet());
+        }).collect(Collectors.toCollection(LinkedHashSet::new));
         result = lockNode;
     }
 
@@ -23,6 +23,7 @@ import org.ballerinalang.model.tree.statements.ForkJoinNode;
 import org.ballerinalang.util.diagnostic.DiagnosticCode;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
@@ -53,6 +54,7 @@ import org.wso2.ballerinalang.compiler.tree.expressions.BLangAnnotAttachmentAttr
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangArrayLiteral;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangBinaryExpr;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangConnectorInit;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess;
 import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation;
@@ -471,6 +473,7 @@ public class CodeAnalyzer extends BLangNodeVisitor {
                 case ASSIGNMENT:
                     BLangAssignment assignStmt = (BLangAssignment) stmt;
                     assignStmt.varRefs.forEach(varRef -> {
+                        this.markReassigned(varRef);
                         varRef.accept(new TransformerVarRefValidator(inputs,
                                 DiagnosticCode.TRANSFORMER_INVALID_INPUT_UPDATE));
 
@@ -502,10 +505,28 @@ public class CodeAnalyzer extends BLangNodeVisitor {
 
     public void visit(BLangAssignment assignNode) {
         this.checkStatementExecutionValidity(assignNode);
+        assignNode.varRefs.forEach(this::markReassigned);
     }
 
     public void visit(BLangBind bindNode) {
         this.checkStatementExecutionValidity(bindNode);
+        this.markReassigned(bindNode.varRef);
+    }
+
+    /**
+     * Record that the variable referred by the given expression is assigned after its declaration. Lock blocks
+     * need not lock package level variables which are never reassigned, see {@code CodeGenerator}.
+     *
+     * @param varRef variable reference on the left hand side of an assignment
+     */
+    private void markReassigned(BLangExpression varRef) {
+        if (varRef.getKind() != NodeKind.SIMPLE_VARIABLE_REF) {
+            return;
+        }
+        BSymbol symbol = ((BLangSimpleVarRef) varRef).symbol;
+        if (symbol instanceof BVarSymbol) {
+            ((BVarSymbol) symbol).reassigned = true;
+        }
     }
 
     public void visit(BLangBreak breakNode) {
@@ -646,6 +667,7 @@ public class CodeAnalyzer extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangWorkerReceive workerReceiveNode) {
+        workerReceiveNode.exprs.forEach(this::markReassigned);
         if (!this.inWorker()) {
             return;
         }
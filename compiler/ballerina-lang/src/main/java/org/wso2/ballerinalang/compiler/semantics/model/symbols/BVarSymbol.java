@@ -35,6 +35,11 @@ public class BVarSymbol extends BSymbol implements VariableSymbol {
      */
     public RegIndex varIndex;
 
+    /**
+     * Indicates whether the variable is assigned anywhere other than in its declaration.
+     */
+    public boolean reassigned;
+
     public BVarSymbol(int flags, Name name, PackageID pkgID, BType type, BSymbol owner) {
         super(VARIABLE, flags, name, pkgID, type, owner);
     }
@@ -104,6 +104,7 @@ public class Mnemonics {
         mnemonics[InstructionCodes.ENUMERATORLOAD] = "enumeratorload";
 
         mnemonics[InstructionCodes.IADD] = "iadd";
+        mnemonics[InstructionCodes.IADD_IMM] = "iadd_imm";
         mnemonics[InstructionCodes.FADD] = "fadd";
         mnemonics[InstructionCodes.SADD] = "sadd";
         mnemonics[InstructionCodes.XMLADD] = "radd";
@@ -150,6 +151,12 @@ public class Mnemonics {
 
         mnemonics[InstructionCodes.GOTO] = "goto";
         mnemonics[InstructionCodes.HALT] = "halt";
+        mnemonics[InstructionCodes.BR_IEQ] = "br_ieq";
+        mnemonics[InstructionCodes.BR_INE] = "br_ine";
+        mnemonics[InstructionCodes.BR_IGT] = "br_igt";
+        mnemonics[InstructionCodes.BR_IGE] = "br_ige";
+        mnemonics[InstructionCodes.BR_ILT] = "br_ilt";
+        mnemonics[InstructionCodes.BR_ILE] = "br_ile";
         mnemonics[InstructionCodes.TR_RETRY] = "tr_retry";
         mnemonics[InstructionCodes.CALL] = "call";
         mnemonics[InstructionCodes.VCALL] = "ncall";
@@ -24,6 +24,8 @@ public struct Parameter {
 @Field {value:"allowPoolSuspension: Whether the pool can be suspended and resumed through JMX"}
 @Field {value:"readOnly:  Whether Connections obtained from the pool are in read-only mode by default"}
 @Field {value:"isXA:  Whether Connections are used for a distributed transaction"}
+@Field {value:"commitBatchChunks: Whether each chunk of a batch update is committed on its own, when the batch update is not part of a transaction"}
+@Field {value:"rewriteBatchedInserts: Whether the rows of a chunk of a batch insert are inserted with a single statement, for databases which support inserting many rows with one statement"}
 @Field {value:"maximumPoolSize: Maximum size that the pool is allowed to reach, including both idle and in-use connections"}
 @Field {value:"connectionTimeout: Maximum number of milliseconds that a client will wait for a connection from the pool"}
 @Field {value:"idleTimeout: Maximum amount of time that a connection is allowed to sit idle in the pool"}
@@ -31,6 +33,9 @@ public struct Parameter {
 @Field {value:"maxLifetime: Maximum lifetime of a connection in the pool"}
 @Field {value:"validationTimeout:  Maximum amount of time that a connection will be tested for aliveness"}
 @Field {value:"leakDetectionThreshold: Amount of time that a connection can be out of the pool before a message is logged indicating a possible connection leak"}
+@Field {value:"statementCacheSize: Maximum number of prepared statements cached for each connection. Statements are not cached if it is 0"}
+@Field {value:"fetchSize: Number of rows of query results fetched from the database and read into memory at a time. Rows are read one at a time unless it is set"}
+@Field {value:"batchChunkSize: Maximum number of parameter sets of a batch update sent to the database at a time. All of them are sent at once if it is -1"}
 @Field {value:"datasourceProperties: Data source specific properties which are used along with the dataSourceClassName"}
 public struct ConnectionProperties {
 	string url;
@@ -46,6 +51,8 @@ public struct ConnectionProperties {
 	boolean allowPoolSuspension;
 	boolean readOnly;
 	boolean isXA;
+	boolean commitBatchChunks;
+	boolean rewriteBatchedInserts;
 	int maximumPoolSize = -1;
 	int connectionTimeout = -1;
 	int idleTimeout = -1;
@@ -53,6 +60,9 @@ public struct ConnectionProperties {
 	int maxLifetime = -1;
 	int validationTimeout = -1;
 	int leakDetectionThreshold = -1;
+	int statementCacheSize = -1;
+	int fetchSize = -1;
+	int batchChunkSize = -1;
 	map datasourceProperties;
 }
 
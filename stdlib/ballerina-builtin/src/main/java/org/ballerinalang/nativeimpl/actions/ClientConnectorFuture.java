@@ -25,6 +25,9 @@ import org.ballerinalang.model.values.BValue;
 /**
  * {@code ClientConnectorFuture} This connector future will be provided to the ballerina side to get notifications
  * from client connections.
+ * <p>
+ * A notification may come from a transport or timer thread while the listener is being set by the VM, so a
+ * notification which comes first is kept under the lock of the future and handed to the listener once it is set.
  *
  * @since 0.94
  */
@@ -36,42 +39,62 @@ public class ClientConnectorFuture implements ConnectorFuture {
 
     @Override
     public void setConnectorFutureListener(ConnectorFutureListener futureListener) {
-        this.listener = futureListener;
-        if (value != null) {
-            listener.notifyReply(value);
-        } else if (exception != null) {
-            listener.notifyFailure(exception);
-            success = false; //double check this.
+        BValue[] pendingValue;
+        BallerinaConnectorException pendingException;
+        boolean pendingSuccess;
+        synchronized (this) {
+            this.listener = futureListener;
+            pendingValue = value;
+            pendingException = exception;
+            pendingSuccess = success;
+            value = null;
+            exception = null;
+            success = false;
         }
-        if (success) {
-            listener.notifySuccess();
+        if (pendingValue != null) {
+            futureListener.notifyReply(pendingValue);
+        } else if (pendingException != null) {
+            futureListener.notifyFailure(pendingException);
+            return;
+        }
+        if (pendingSuccess) {
+            futureListener.notifySuccess();
         }
-        value = null;
-        exception = null;
-        success = false;
     }
 
     public void notifySuccess() {
-        if (listener != null) {
-            listener.notifySuccess();
-            return;
+        ConnectorFutureListener futureListener;
+        synchronized (this) {
+            if (listener == null) {
+                this.success = true;
+                return;
+            }
+            futureListener = listener;
         }
-        this.success = true;
+        futureListener.notifySuccess();
     }
 
     public void notifyReply(BValue... value) {
-        if (listener != null) {
-            listener.notifyReply(value);
-            return;
+        ConnectorFutureListener futureListener;
+        synchronized (this) {
+            if (listener == null) {
+                this.value = value;
+                return;
+            }
+            futureListener = listener;
         }
-        this.value = value;
+        futureListener.notifyReply(value);
     }
 
     public void notifyFailure(BallerinaConnectorException ex) {
-        if (listener != null) {
-            listener.notifyFailure(ex);
-            return;
+        ConnectorFutureListener futureListener;
+        synchronized (this) {
+            if (listener == null) {
+                this.exception = ex;
+                return;
+            }
+            futureListener = listener;
         }
-        this.exception = ex;
+        futureListener.notifyFailure(ex);
     }
 }
@@ -61,32 +61,37 @@ public class SQLDataIterator implements DataIterator {
 
     private Connection conn;
     private Statement stmt;
+    private SQLStatementCache statementCache;
     private ResultSet rs;
     private Calendar utcCalendar;
     private List<ColumnDefinition> columnDefs;
     private BStructType bStructType;
     private StructInfo timeStructInfo;
     private StructInfo zoneStructInfo;
+    private SQLRowBatch rowBatch;
 
     public SQLDataIterator(Connection conn, Statement stmt, ResultSet rs, Calendar utcCalendar,
             List<ColumnDefinition> columnDefs, BStructType structType, StructInfo timeStructInfo,
-            StructInfo zoneStructInfo) throws SQLException {
+            StructInfo zoneStructInfo, SQLStatementCache statementCache, int batchSize) throws SQLException {
         this.conn = conn;
         this.stmt = stmt;
+        this.statementCache = statementCache;
         this.rs = rs;
         this.utcCalendar = utcCalendar;
         this.columnDefs = columnDefs;
         this.bStructType = structType;
         this.timeStructInfo = timeStructInfo;
         this.zoneStructInfo = zoneStructInfo;
+        this.rowBatch = SQLRowBatch.create(columnDefs, batchSize);
     }
 
     @Override
     public void close(boolean isInTransaction) {
-        SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction);
+        SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction, statementCache);
         rs = null;
         stmt = null;
         conn = null;
+        rowBatch = null;
     }
 
     @Override
@@ -95,6 +100,9 @@ public class SQLDataIterator implements DataIterator {
             return false;
         }
         try {
+            if (rowBatch != null) {
+                return rowBatch.next(rs);
+            }
             return rs.next();
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
@@ -103,6 +111,9 @@ public class SQLDataIterator implements DataIterator {
 
     @Override
     public String getString(int columnIndex) {
+        if (rowBatch != null) {
+            return rowBatch.getString(columnIndex);
+        }
         try {
             return rs.getString(columnIndex);
         } catch (SQLException e) {
@@ -112,6 +123,9 @@ public class SQLDataIterator implements DataIterator {
 
     @Override
     public long getInt(int columnIndex) {
+        if (rowBatch != null) {
+            return rowBatch.getInt(columnIndex);
+        }
         try {
             return rs.getLong(columnIndex);
         } catch (SQLException e) {
@@ -121,6 +135,9 @@ public class SQLDataIterator implements DataIterator {
 
     @Override
     public double getFloat(int columnIndex) {
+        if (rowBatch != null) {
+            return rowBatch.getFloat(columnIndex);
+        }
         try {
             return rs.getDouble(columnIndex);
         } catch (SQLException e) {
@@ -130,6 +147,9 @@ public class SQLDataIterator implements DataIterator {
 
     @Override
     public boolean getBoolean(int columnIndex) {
+        if (rowBatch != null) {
+            return rowBatch.getBoolean(columnIndex);
+        }
         try {
             return rs.getBoolean(columnIndex);
         } catch (SQLException e) {
@@ -183,6 +203,9 @@ public class SQLDataIterator implements DataIterator {
         if (bStructType == null) {
             throw new BallerinaException("the expected struct type is not specified in action");
         }
+        if (rowBatch != null) {
+            return rowBatch.generateStruct(bStructType);
+        }
         BStruct bStruct = new BStruct(bStructType);
         int longRegIndex = -1;
         int doubleRegIndex = -1;
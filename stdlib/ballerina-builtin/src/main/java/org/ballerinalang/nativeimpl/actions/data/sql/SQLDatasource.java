@@ -50,6 +50,11 @@ public class SQLDatasource implements BValue {
     private String databaseName;
     private String connectorId;
     private boolean xaConn;
+    private SQLStatementCache statementCache;
+    private int fetchSize = -1;
+    private int batchChunkSize = -1;
+    private boolean commitBatchChunks;
+    private boolean rewriteBatchedInserts;
 
     public String getDatabaseName() {
         return databaseName;
@@ -62,6 +67,13 @@ public class SQLDatasource implements BValue {
         buildDataSource(options, dbType, hostOrPath, dbName, port, username, password);
         connectorId = UUID.randomUUID().toString();
         xaConn = isXADataSource();
+        statementCache = new SQLStatementCache(getStatementCacheSize(options));
+        if (options != null) {
+            fetchSize = (int) options.getIntField(8);
+            batchChunkSize = (int) options.getIntField(9);
+            commitBatchChunks = options.getBooleanField(5) != 0;
+            rewriteBatchedInserts = options.getBooleanField(6) != 0;
+        }
         try (Connection con = getSQLConnection()) {
             databaseName = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
         } catch (SQLException e) {
@@ -88,6 +100,46 @@ public class SQLDatasource implements BValue {
         return this.xaConn;
     }
 
+    public SQLStatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
+    /**
+     * Get the number of rows to fetch from the database at a time for query results.
+     *
+     * @return the fetch size, or -1 if the driver default is used
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Get the number of rows of query results to read into memory at a time. Rows are only read in batches when a
+     * fetch size is set.
+     *
+     * @return the batch size, which is 0 if rows are read one at a time
+     */
+    public int getRowBatchSize() {
+        return fetchSize > 0 ? fetchSize : 0;
+    }
+
+    /**
+     * Get the maximum number of parameter sets of a batch update sent to the database at a time.
+     *
+     * @return the chunk size, or -1 if all of them are sent at once
+     */
+    public int getBatchChunkSize() {
+        return this.batchChunkSize;
+    }
+
+    public boolean isCommitBatchChunks() {
+        return this.commitBatchChunks;
+    }
+
+    public boolean isRewriteBatchedInserts() {
+        return this.rewriteBatchedInserts;
+    }
+
     public XADataSource getXADataSource() {
         XADataSource xaDataSource;
         try {
@@ -203,6 +255,23 @@ public class SQLDatasource implements BValue {
         }
     }
 
+    /**
+     * Statements are not cached for XA connections, which are not pooled, or when auto commit is disabled, since
+     * the pool would not roll back the work done through cached statements when a connection is given back.
+     */
+    private int getStatementCacheSize(BStruct options) {
+        if (xaConn || !hikariDataSource.isAutoCommit()) {
+            return 0;
+        }
+        if (options != null) {
+            int statementCacheSize = (int) options.getIntField(7);
+            if (statementCacheSize != -1) {
+                return statementCacheSize;
+            }
+        }
+        return SQLStatementCache.DEFAULT_SIZE;
+    }
+
     private BMap<String, BRefType> setDataSourceProperties(BMap<String, BRefType> dataSourceConfigMap, String jdbcurl,
             String username, String password, String dbType, String hostOrPath, int port, String dbName) {
         if (dataSourceConfigMap != null) {
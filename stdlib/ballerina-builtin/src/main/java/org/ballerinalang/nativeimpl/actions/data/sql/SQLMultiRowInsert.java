@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code SQLMultiRowInsert} rewrites an insert of a single row of parameters, such as
+ * {@code INSERT INTO t (a, b) VALUES (?, ?)}, into an insert of many rows with a single statement, such as
+ * {@code INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)}.
+ * <p>
+ * Only queries which end with the row of values are rewritten, so that clauses which apply to the whole statement
+ * are never repeated or left out.
+ *
+ * @since 0.961.1
+ */
+public class SQLMultiRowInsert {
+
+    // An insert into a table, with an optional list of columns, followed by a single row of values
+    private static final Pattern INSERT_PATTERN = Pattern.compile(
+            "(insert\\s+into\\s+[^\\s()]+\\s*(?:\\([^()]*\\))?\\s*values)\\s*(\\(.*\\))",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // Kept below the lowest limit on the number of parameters of a statement among the supported databases
+    private static final int MAX_PARAMETERS = 30000;
+
+    private static final String[] SUPPORTED_DATABASES = { "mysql", "mariadb", "postgresql", "hsql", "h2" };
+
+    private final String prefix;
+    private final String row;
+    private final int placeholderCount;
+
+    private SQLMultiRowInsert(String prefix, String row, int placeholderCount) {
+        this.prefix = prefix;
+        this.row = row;
+        this.placeholderCount = placeholderCount;
+    }
+
+    /**
+     * Check whether a database supports inserting many rows with a single insert statement.
+     *
+     * @param databaseName lower case product name of the database
+     * @return true if inserts can be rewritten for the database
+     */
+    public static boolean isSupported(String databaseName) {
+        for (String database : SUPPORTED_DATABASES) {
+            if (databaseName.contains(database)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse an insert query.
+     *
+     * @param query the query
+     * @return the parsed insert, or null if the query cannot be rewritten to insert many rows
+     */
+    public static SQLMultiRowInsert parse(String query) {
+        Matcher matcher = INSERT_PATTERN.matcher(query.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        String row = matcher.group(2);
+        int depth = 0;
+        int placeholderCount = 0;
+        for (int i = 0; i < row.length(); i++) {
+            char ch = row.charAt(i);
+            if (ch == '(') {
+                depth++;
+            } else if (ch == ')') {
+                depth--;
+                // The row must be a single parenthesized list, which ends the query
+                if (depth == 0 && i != row.length() - 1) {
+                    return null;
+                }
+            } else if (ch == '?') {
+                placeholderCount++;
+            } else if (ch == '\'' || ch == '"' || ch == ';') {
+                return null;
+            }
+        }
+        if (placeholderCount == 0) {
+            return null;
+        }
+        return new SQLMultiRowInsert(matcher.group(1) + " ", row, placeholderCount);
+    }
+
+    /**
+     * Get the number of parameters of a single row.
+     *
+     * @return number of parameters of a row
+     */
+    public int getPlaceholderCount() {
+        return placeholderCount;
+    }
+
+    /**
+     * Get the maximum number of rows inserted with a single statement.
+     *
+     * @return maximum number of rows of a statement
+     */
+    public int getMaxRowCount() {
+        return Math.max(1, MAX_PARAMETERS / placeholderCount);
+    }
+
+    /**
+     * Get the query which inserts a given number of rows.
+     *
+     * @param rowCount number of rows
+     * @return the rewritten query
+     */
+    public String getQuery(int rowCount) {
+        StringBuilder builder = new StringBuilder(prefix.length() + (row.length() + 1) * rowCount);
+        builder.append(prefix).append(row);
+        for (int i = 1; i < rowCount; i++) {
+            builder.append(',').append(row);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.values.BStruct;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * {@code SQLRowBatch} reads the rows of a result set a batch at a time, into an array for each column. Values of
+ * integer columns are kept in {@code long[]}s, values of floating point columns in {@code double[]}s, values of
+ * boolean columns in {@code boolean[]}s and values of character columns in {@code String[]}s.
+ * <p>
+ * Only result sets whose columns are all of these types are read in batches. Values are read the same way as
+ * {@link SQLDataIterator} reads them from the current row of a result set.
+ *
+ * @since 0.961.1
+ */
+class SQLRowBatch {
+
+    private static final int STRING_COLUMN = 0;
+    private static final int INT_COLUMN = 1;
+    private static final int FLOAT_COLUMN = 2;
+    private static final int BOOLEAN_COLUMN = 3;
+
+    private final int capacity;
+
+    // Kind and SQL type of each column, and the index of the struct field of each column among the fields of its kind
+    private final int[] kinds;
+    private final int[] sqlTypes;
+    private final int[] fieldIndexes;
+
+    private final String[][] stringColumns;
+    private final long[][] intColumns;
+    private final double[][] floatColumns;
+    private final boolean[][] booleanColumns;
+
+    private int size;
+    private int row = -1;
+    private boolean exhausted;
+
+    private SQLRowBatch(List<ColumnDefinition> columnDefs, int capacity) {
+        int columnCount = columnDefs.size();
+        this.capacity = capacity;
+        this.kinds = new int[columnCount];
+        this.sqlTypes = new int[columnCount];
+        this.fieldIndexes = new int[columnCount];
+        this.stringColumns = new String[columnCount][];
+        this.intColumns = new long[columnCount][];
+        this.floatColumns = new double[columnCount][];
+        this.booleanColumns = new boolean[columnCount][];
+
+        int[] fieldCounts = new int[4];
+        for (int i = 0; i < columnCount; i++) {
+            int sqlType = ((SQLDataIterator.SQLColumnDefinition) columnDefs.get(i)).getSqlType();
+            int kind = getKind(sqlType);
+            kinds[i] = kind;
+            sqlTypes[i] = sqlType;
+            fieldIndexes[i] = fieldCounts[kind]++;
+            switch (kind) {
+            case STRING_COLUMN:
+                stringColumns[i] = new String[capacity];
+                break;
+            case INT_COLUMN:
+                intColumns[i] = new long[capacity];
+                break;
+            case FLOAT_COLUMN:
+                floatColumns[i] = new double[capacity];
+                break;
+            default:
+                booleanColumns[i] = new boolean[capacity];
+                break;
+            }
+        }
+    }
+
+    /**
+     * Create a batch for the rows of a result set, if its columns can be read in batches.
+     *
+     * @param columnDefs column definitions of the result set
+     * @param capacity maximum number of rows in a batch
+     * @return new batch, or null if the rows should be read one at a time
+     */
+    static SQLRowBatch create(List<ColumnDefinition> columnDefs, int capacity) {
+        if (capacity <= 1 || columnDefs.isEmpty()) {
+            return null;
+        }
+        for (ColumnDefinition columnDef : columnDefs) {
+            if (!(columnDef instanceof SQLDataIterator.SQLColumnDefinition)
+                    || getKind(((SQLDataIterator.SQLColumnDefinition) columnDef).getSqlType()) < 0) {
+                return null;
+            }
+        }
+        return new SQLRowBatch(columnDefs, capacity);
+    }
+
+    /**
+     * Move to the next row, reading the next batch of rows from the result set once the rows of the current batch
+     * are consumed.
+     *
+     * @param rs result set to read from
+     * @return true if there is a next row
+     * @throws SQLException if the rows could not be read
+     */
+    boolean next(ResultSet rs) throws SQLException {
+        if (++row < size) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+
+        size = 0;
+        row = 0;
+        while (size < capacity) {
+            if (!rs.next()) {
+                exhausted = true;
+                break;
+            }
+            readRow(rs, size++);
+        }
+        return size > 0;
+    }
+
+    String getString(int columnIndex) {
+        int column = columnIndex - 1;
+        switch (kinds[column]) {
+        case STRING_COLUMN:
+            return stringColumns[column][row];
+        case INT_COLUMN:
+            return String.valueOf(intColumns[column][row]);
+        case FLOAT_COLUMN:
+            return String.valueOf(floatColumns[column][row]);
+        default:
+            return String.valueOf(booleanColumns[column][row]);
+        }
+    }
+
+    long getInt(int columnIndex) {
+        int column = columnIndex - 1;
+        switch (kinds[column]) {
+        case INT_COLUMN:
+            return intColumns[column][row];
+        case FLOAT_COLUMN:
+            return (long) floatColumns[column][row];
+        case BOOLEAN_COLUMN:
+            return booleanColumns[column][row] ? 1 : 0;
+        default:
+            String value = stringColumns[column][row];
+            return value == null ? 0 : Long.parseLong(value.trim());
+        }
+    }
+
+    double getFloat(int columnIndex) {
+        int column = columnIndex - 1;
+        switch (kinds[column]) {
+        case FLOAT_COLUMN:
+            return floatColumns[column][row];
+        case INT_COLUMN:
+            return intColumns[column][row];
+        case BOOLEAN_COLUMN:
+            return booleanColumns[column][row] ? 1 : 0;
+        default:
+            String value = stringColumns[column][row];
+            return value == null ? 0 : Double.parseDouble(value.trim());
+        }
+    }
+
+    boolean getBoolean(int columnIndex) {
+        int column = columnIndex - 1;
+        switch (kinds[column]) {
+        case BOOLEAN_COLUMN:
+            return booleanColumns[column][row];
+        case INT_COLUMN:
+            return intColumns[column][row] != 0;
+        case FLOAT_COLUMN:
+            return floatColumns[column][row] != 0;
+        default:
+            String value = stringColumns[column][row];
+            return value != null && (value.trim().equals("1") || value.trim().equalsIgnoreCase("true"));
+        }
+    }
+
+    /**
+     * Create a struct of the current row.
+     *
+     * @param structType type of the struct
+     * @return struct with the values of the current row
+     */
+    BStruct generateStruct(BStructType structType) {
+        BStruct bStruct = new BStruct(structType);
+        for (int column = 0; column < kinds.length; column++) {
+            switch (kinds[column]) {
+            case STRING_COLUMN:
+                bStruct.setStringField(fieldIndexes[column], stringColumns[column][row]);
+                break;
+            case INT_COLUMN:
+                bStruct.setIntField(fieldIndexes[column], intColumns[column][row]);
+                break;
+            case FLOAT_COLUMN:
+                double value = floatColumns[column][row];
+                if (sqlTypes[column] == Types.REAL || sqlTypes[column] == Types.FLOAT) {
+                    // Read as a float when a row is read on its own
+                    value = (float) value;
+                }
+                bStruct.setFloatField(fieldIndexes[column], value);
+                break;
+            default:
+                bStruct.setBooleanField(fieldIndexes[column], booleanColumns[column][row] ? 1 : 0);
+                break;
+            }
+        }
+        return bStruct;
+    }
+
+    private void readRow(ResultSet rs, int index) throws SQLException {
+        for (int column = 0; column < kinds.length; column++) {
+            int columnIndex = column + 1;
+            switch (kinds[column]) {
+            case STRING_COLUMN:
+                stringColumns[column][index] = rs.getString(columnIndex);
+                break;
+            case INT_COLUMN:
+                intColumns[column][index] = rs.getLong(columnIndex);
+                break;
+            case FLOAT_COLUMN:
+                if (sqlTypes[column] == Types.NUMERIC || sqlTypes[column] == Types.DECIMAL) {
+                    BigDecimal value = rs.getBigDecimal(columnIndex);
+                    floatColumns[column][index] = value == null ? 0 : value.doubleValue();
+                } else {
+                    floatColumns[column][index] = rs.getDouble(columnIndex);
+                }
+                break;
+            default:
+                booleanColumns[column][index] = rs.getBoolean(columnIndex);
+                break;
+            }
+        }
+    }
+
+    private static int getKind(int sqlType) {
+        switch (sqlType) {
+        case Types.CHAR:
+        case Types.VARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.NCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGNVARCHAR:
+            return STRING_COLUMN;
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+            return INT_COLUMN;
+        case Types.REAL:
+        case Types.FLOAT:
+        case Types.DOUBLE:
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+            return FLOAT_COLUMN;
+        case Types.BIT:
+        case Types.BOOLEAN:
+            return BOOLEAN_COLUMN;
+        default:
+            return -1;
+        }
+    }
+}
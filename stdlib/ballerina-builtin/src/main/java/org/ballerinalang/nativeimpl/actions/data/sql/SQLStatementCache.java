@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code SQLStatementCache} keeps the prepared statements of the connections of a datasource, so that running the
+ * same query again on a connection does not prepare it again.
+ * <p>
+ * Statements are prepared on the physical connection of a pooled connection, so that they are not closed when the
+ * connection is given back to the pool. A statement is taken out of the cache while it is in use, and is put back
+ * when it is released. The least recently used statements of a connection are closed when there are more than the
+ * maximum number of them. Statements of a connection are dropped once the connection is closed.
+ * <p>
+ * The cache also keeps the queries expanded for array parameters, by the query and the sizes of the arrays.
+ *
+ * @since 0.961.1
+ */
+public class SQLStatementCache {
+
+    public static final int DEFAULT_SIZE = 64;
+
+    private static final int MAX_EXPANDED_QUERIES = 256;
+
+    private final int size;
+
+    private final Map<Connection, ConnectionStatements> connections = new ConcurrentHashMap<>();
+
+    private final Map<String, String> expandedQueries = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_EXPANDED_QUERIES;
+        }
+    };
+
+    /**
+     * Create a statement cache.
+     *
+     * @param size maximum number of statements kept for a connection. Statements are not cached if it is 0.
+     */
+    public SQLStatementCache(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Get a prepared statement for a query, from the cache if there is one which is not in use.
+     *
+     * @param conn connection to run the query on
+     * @param key key of the query, which identifies the query and the way its statement is prepared
+     * @param creator prepares a statement for the query, on a given connection
+     * @return prepared statement, which should be given back with {@link #release(Statement)}
+     * @throws SQLException if the statement could not be prepared
+     */
+    public PreparedStatement prepare(Connection conn, String key, StatementCreator creator) throws SQLException {
+        if (size <= 0) {
+            return creator.create(conn);
+        }
+
+        Connection physicalConn = conn.unwrap(Connection.class);
+        ConnectionStatements statements = connections.get(physicalConn);
+        if (statements == null) {
+            removeClosedConnections();
+            statements = new ConnectionStatements();
+            connections.put(physicalConn, statements);
+        }
+
+        PreparedStatement stmt = statements.take(key);
+        if (stmt == null) {
+            stmt = creator.create(physicalConn);
+        }
+        statements.use(key, stmt);
+        return stmt;
+    }
+
+    /**
+     * Give a statement back to the cache once its results are closed, or close it if it is not cached.
+     *
+     * @param stmt statement to release
+     * @throws SQLException if the statement could not be released
+     */
+    public void release(Statement stmt) throws SQLException {
+        if (stmt == null || stmt.isClosed()) {
+            return;
+        }
+
+        if (size > 0) {
+            ConnectionStatements statements = connections.get(stmt.getConnection());
+            if (statements != null && statements.giveBack(stmt)) {
+                return;
+            }
+        }
+        stmt.close();
+    }
+
+    /**
+     * Get a query expanded for array parameters before.
+     *
+     * @param key the query and the sizes of its array parameters
+     * @return expanded query, or null if the query was not expanded before
+     */
+    public String getExpandedQuery(String key) {
+        synchronized (expandedQueries) {
+            return expandedQueries.get(key);
+        }
+    }
+
+    /**
+     * Keep a query expanded for array parameters.
+     *
+     * @param key the query and the sizes of its array parameters
+     * @param query expanded query
+     */
+    public void putExpandedQuery(String key, String query) {
+        synchronized (expandedQueries) {
+            expandedQueries.put(key, query);
+        }
+    }
+
+    private void removeClosedConnections() throws SQLException {
+        Iterator<Connection> iterator = connections.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isClosed()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * {@code StatementCreator} prepares the statement of a query.
+     */
+    public interface StatementCreator {
+
+        PreparedStatement create(Connection conn) throws SQLException;
+    }
+
+    /**
+     * {@code ConnectionStatements} keeps the statements of a connection which are not in use, in the order they
+     * were used in, and the keys of the statements in use.
+     */
+    private class ConnectionStatements {
+
+        private final Map<String, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final Map<Statement, String> inUse = new IdentityHashMap<>();
+
+        private synchronized PreparedStatement take(String key) throws SQLException {
+            PreparedStatement stmt = idle.remove(key);
+            if (stmt != null && stmt.isClosed()) {
+                return null;
+            }
+            return stmt;
+        }
+
+        private synchronized void use(String key, PreparedStatement stmt) {
+            inUse.put(stmt, key);
+        }
+
+        private synchronized boolean giveBack(Statement stmt) throws SQLException {
+            String key = inUse.remove(stmt);
+            if (key == null || idle.containsKey(key)) {
+                return false;
+            }
+
+            ((PreparedStatement) stmt).clearParameters();
+            idle.put(key, (PreparedStatement) stmt);
+            if (idle.size() > size) {
+                Iterator<PreparedStatement> iterator = idle.values().iterator();
+                PreparedStatement eldest = iterator.next();
+                iterator.remove();
+                eldest.close();
+            }
+            return true;
+        }
+    }
+}
@@ -47,6 +47,8 @@ import org.ballerinalang.nativeimpl.Utils;
 import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLDataIterator;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasource;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLMultiRowInsert;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLStatementCache;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLTransactionContext;
 import org.ballerinalang.natives.exceptions.ArgumentOutOfRangeException;
 import org.ballerinalang.util.DistributedTxManagerProvider;
@@ -72,9 +74,11 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import javax.sql.XAConnection;
@@ -88,6 +92,11 @@ import javax.transaction.xa.XAResource;
  */
 public abstract class AbstractSQLAction extends AbstractNativeAction {
 
+    // Prefixes of the statement cache keys of queries, which tell how their statements are prepared
+    private static final String QUERY_KEY = "query:";
+    private static final String UPDATE_KEY = "update:";
+    private static final String GENERATED_KEYS_KEY = "keys:";
+
     public Calendar utcCalendar;
 
     public AbstractSQLAction() {
@@ -110,14 +119,14 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         boolean isInTransaction = context.isInTransaction();
         try {
             conn = getDatabaseConnection(context, datasource, isInTransaction);
-            String processedQuery = createProcessedQueryString(query, parameters);
+            String processedQuery = createProcessedQueryString(datasource, query, parameters);
             stmt = getPreparedStatement(conn, datasource, processedQuery);
             createProcessedStatement(conn, stmt, parameters);
             rs = stmt.executeQuery();
             context.getControlStack().getCurrentFrame().returnValues[0] = constructTable(context, rs, stmt, conn,
-                    structType);
+                    structType, datasource, datasource.getStatementCache());
         } catch (Throwable e) {
-            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction);
+            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction, datasource.getStatementCache());
             throw new BallerinaException("execute query failed: " + e.getMessage(), e);
         }
     }
@@ -128,8 +137,9 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         boolean isInTransaction = context.isInTransaction();
         try {
             conn = getDatabaseConnection(context, datasource, isInTransaction);
-            String processedQuery = createProcessedQueryString(query, parameters);
-            stmt = conn.prepareStatement(processedQuery);
+            String processedQuery = createProcessedQueryString(datasource, query, parameters);
+            stmt = datasource.getStatementCache().prepare(conn, UPDATE_KEY + processedQuery,
+                    c -> c.prepareStatement(processedQuery));
             createProcessedStatement(conn, stmt, parameters);
             int count = stmt.executeUpdate();
             BInteger updatedCount = new BInteger(count);
@@ -137,7 +147,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         } catch (SQLException e) {
             throw new BallerinaException("execute update failed: " + e.getMessage(), e);
         } finally {
-            SQLDatasourceUtils.cleanupConnection(null, stmt, conn, isInTransaction);
+            SQLDatasourceUtils.cleanupConnection(null, stmt, conn, isInTransaction, datasource.getStatementCache());
         }
     }
 
@@ -149,19 +159,22 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         boolean isInTransaction = context.isInTransaction();
         try {
             conn = getDatabaseConnection(context, datasource, isInTransaction);
-            String processedQuery = createProcessedQueryString(query, parameters);
+            String processedQuery = createProcessedQueryString(datasource, query, parameters);
             int keyColumnCount = 0;
             if (keyColumns != null) {
                 keyColumnCount = (int) keyColumns.size();
             }
+            SQLStatementCache statementCache = datasource.getStatementCache();
             if (keyColumnCount > 0) {
                 String[] columnArray = new String[keyColumnCount];
                 for (int i = 0; i < keyColumnCount; i++) {
                     columnArray[i] = keyColumns.get(i);
                 }
-                stmt = conn.prepareStatement(processedQuery, columnArray);
+                stmt = statementCache.prepare(conn, GENERATED_KEYS_KEY + Arrays.toString(columnArray) + processedQuery,
+                        c -> c.prepareStatement(processedQuery, columnArray));
             } else {
-                stmt = conn.prepareStatement(processedQuery, Statement.RETURN_GENERATED_KEYS);
+                stmt = statementCache.prepare(conn, GENERATED_KEYS_KEY + processedQuery,
+                        c -> c.prepareStatement(processedQuery, Statement.RETURN_GENERATED_KEYS));
             }
             createProcessedStatement(conn, stmt, parameters);
             int count = stmt.executeUpdate();
@@ -177,7 +190,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         } catch (SQLException e) {
             throw new BallerinaException("execute update with generated keys failed: " + e.getMessage(), e);
         } finally {
-            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction);
+            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction, datasource.getStatementCache());
         }
     }
 
@@ -195,7 +208,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             setOutParameters(stmt, parameters);
             if (rs != null) {
                 context.getControlStack().getCurrentFrame().returnValues[0] = constructTable(context, rs, stmt,
-                        conn, structType);
+                        conn, structType, datasource, null);
             } else {
                 SQLDatasourceUtils.cleanupConnection(null, stmt, conn, isInTransaction);
             }
@@ -205,50 +218,161 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         }
     }
 
+    /**
+     * Parameter sets are sent to the database in chunks of the batch chunk size of the datasource, so that only a
+     * chunk of them is held by the driver at a time. Outside transactions, each chunk may be committed on its own.
+     * Inserts may be rewritten to insert all the rows of a chunk with one statement. The rows inserted with such
+     * a statement are counted as updating a row each, or as {@link Statement#SUCCESS_NO_INFO} if the statement
+     * updated a different number of rows.
+     */
     protected void executeBatchUpdate(Context context, SQLDatasource datasource,
                                       String query, BRefValueArray parameters) {
         Connection conn = null;
-        PreparedStatement stmt = null;
-        int[] updatedCount;
-        int paramArrayCount = 0;
+        // Statements by the number of rows they insert, with the statement of the query itself under 0
+        Map<Integer, PreparedStatement> stmts = new HashMap<>();
+        boolean isInTransaction = context.isInTransaction();
+        int paramArrayCount = parameters != null ? (int) parameters.size() : 1;
+        //After a command in a batch update fails to execute properly and a BatchUpdateException is thrown, the driver
+        // may or may not continue to process the remaining commands in the batch. If the driver does not continue
+        // processing after a failure, the array returned by the method will have -3 (EXECUTE_FAILED) for those updates.
+        long[] updatedCount = new long[paramArrayCount];
+        Arrays.fill(updatedCount, Statement.EXECUTE_FAILED);
+        int chunkSize = datasource.getBatchChunkSize() > 0 ? datasource.getBatchChunkSize() : paramArrayCount;
+        boolean commitChunks = datasource.isCommitBatchChunks() && !isInTransaction;
+        SQLMultiRowInsert multiRowInsert = null;
+        if (parameters != null && datasource.isRewriteBatchedInserts()
+                && SQLMultiRowInsert.isSupported(datasource.getDatabaseName())) {
+            multiRowInsert = SQLMultiRowInsert.parse(query);
+        }
         try {
-            conn = datasource.getSQLConnection();
-            stmt = conn.prepareStatement(query);
-            setConnectionAutoCommit(conn, false);
-            if (parameters != null) {
-                paramArrayCount = (int) parameters.size();
-                for (int index = 0; index < paramArrayCount; index++) {
-                    BRefValueArray params = (BRefValueArray) parameters.get(index);
-                    createProcessedStatement(conn, stmt, params);
-                    stmt.addBatch();
+            conn = getDatabaseConnection(context, datasource, isInTransaction);
+            if (!isInTransaction) {
+                setConnectionAutoCommit(conn, false);
+            }
+            for (int start = 0; start < paramArrayCount; start += chunkSize) {
+                int end = Math.min(start + chunkSize, paramArrayCount);
+                boolean executed;
+                if (multiRowInsert != null && hasRowParameters(parameters, start, end,
+                        multiRowInsert.getPlaceholderCount())) {
+                    executed = executeMultiRowInsert(conn, stmts, multiRowInsert, parameters, start, end,
+                            updatedCount);
+                } else {
+                    executed = executeBatch(conn, stmts, query, parameters, start, end, updatedCount);
+                }
+                if (!executed) {
+                    break;
+                }
+                if (commitChunks || (!isInTransaction && end == paramArrayCount)) {
+                    conn.commit();
                 }
-            } else {
-                createProcessedStatement(conn, stmt, null);
-                stmt.addBatch();
             }
-            updatedCount = stmt.executeBatch();
-            conn.commit();
-        } catch (BatchUpdateException e) {
-            updatedCount = e.getUpdateCounts();
         } catch (SQLException e) {
             throw new BallerinaException("execute batch update failed: " + e.getMessage(), e);
         } finally {
-            setConnectionAutoCommit(conn, true);
-            SQLDatasourceUtils.cleanupConnection(null, stmt, conn, false);
+            if (!isInTransaction) {
+                setConnectionAutoCommit(conn, true);
+            }
+            for (PreparedStatement stmt : stmts.values()) {
+                SQLDatasourceUtils.cleanupConnection(null, stmt, null, isInTransaction);
+            }
+            SQLDatasourceUtils.cleanupConnection(null, null, conn, isInTransaction);
         }
-        //After a command in a batch update fails to execute properly and a BatchUpdateException is thrown, the driver
-        // may or may not continue to process the remaining commands in the batch. If the driver does not continue
-        // processing after a failure, the array returned by the method will have -3 (EXECUTE_FAILED) for those updates.
-        long[] returnedCount = new long[paramArrayCount];
-        Arrays.fill(returnedCount, Statement.EXECUTE_FAILED);
-        BIntArray countArray = new BIntArray(returnedCount);
-        if (updatedCount != null) {
-            int iSize = updatedCount.length;
-            for (int i = 0; i < iSize; ++i) {
-                countArray.add(i, updatedCount[i]);
+        context.getControlStack().getCurrentFrame().returnValues[0] = new BIntArray(updatedCount);
+    }
+
+    /**
+     * Send a chunk of parameter sets to the database as a batch.
+     *
+     * @return false if the batch failed, in which case the remaining chunks are not sent
+     */
+    private boolean executeBatch(Connection conn, Map<Integer, PreparedStatement> stmts, String query,
+            BRefValueArray parameters, int start, int end, long[] updatedCount) throws SQLException {
+        PreparedStatement stmt = stmts.get(0);
+        if (stmt == null) {
+            stmt = conn.prepareStatement(query);
+            stmts.put(0, stmt);
+        }
+        if (parameters != null) {
+            for (int index = start; index < end; index++) {
+                BRefValueArray params = (BRefValueArray) parameters.get(index);
+                createProcessedStatement(conn, stmt, params);
+                stmt.addBatch();
+            }
+        } else {
+            createProcessedStatement(conn, stmt, null);
+            stmt.addBatch();
+        }
+        int[] counts;
+        boolean executed = true;
+        try {
+            counts = stmt.executeBatch();
+        } catch (BatchUpdateException e) {
+            counts = e.getUpdateCounts();
+            executed = false;
+        }
+        if (counts != null) {
+            for (int i = 0; i < counts.length && start + i < end; i++) {
+                updatedCount[start + i] = counts[i];
+            }
+        }
+        return executed;
+    }
+
+    /**
+     * Insert the rows of a chunk of parameter sets with as few statements as possible. Statements are prepared
+     * once for each number of rows, which only differs for the rows left over at the end of a chunk.
+     *
+     * @return false if a statement failed, in which case the remaining chunks are not sent
+     */
+    private boolean executeMultiRowInsert(Connection conn, Map<Integer, PreparedStatement> stmts,
+            SQLMultiRowInsert multiRowInsert, BRefValueArray parameters, int start, int end, long[] updatedCount)
+            throws SQLException {
+        int maxRowCount = multiRowInsert.getMaxRowCount();
+        for (int rowStart = start; rowStart < end; rowStart += maxRowCount) {
+            int rowCount = Math.min(maxRowCount, end - rowStart);
+            PreparedStatement stmt = stmts.get(rowCount);
+            if (stmt == null) {
+                stmt = conn.prepareStatement(multiRowInsert.getQuery(rowCount));
+                stmts.put(rowCount, stmt);
+            }
+
+            int ordinal = 0;
+            for (int index = rowStart; index < rowStart + rowCount; index++) {
+                ordinal = createProcessedStatement(conn, stmt, (BRefValueArray) parameters.get(index), ordinal);
+            }
+            int count;
+            try {
+                count = stmt.executeUpdate();
+            } catch (SQLException e) {
+                // The rows of the failed statement are left as failed, as with a failed batch
+                return false;
+            }
+            Arrays.fill(updatedCount, rowStart, rowStart + rowCount,
+                    count == rowCount ? 1 : Statement.SUCCESS_NO_INFO);
+        }
+        return true;
+    }
+
+    /**
+     * Check whether each of a range of parameter sets binds a single parameter to each placeholder of a row.
+     */
+    private boolean hasRowParameters(BRefValueArray parameters, int start, int end, int placeholderCount) {
+        for (int index = start; index < end; index++) {
+            BRefValueArray params = (BRefValueArray) parameters.get(index);
+            if (params == null || params.size() != placeholderCount) {
+                return false;
+            }
+            for (int i = 0; i < placeholderCount; i++) {
+                BStruct paramStruct = (BStruct) params.get(i);
+                if (paramStruct != null) {
+                    BValue value = paramStruct.getRefField(1);
+                    if (value != null && value.getType().getTag() == TypeTags.ARRAY_TAG) {
+                        return false;
+                    }
+                }
             }
         }
-        context.getControlStack().getCurrentFrame().returnValues[0] = countArray;
+        return true;
     }
 
     protected BStructType getStructType(Context context) {
@@ -262,32 +386,54 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
 
     /**
      * If there are any arrays of parameter for types other than sql array, the given query is expanded by adding "?" s
-     * to match with the array size.
+     * to match with the array size. Expanded queries are cached by the query and the sizes of the arrays, so that
+     * the same query is expanded only once for each shape of its parameters.
      */
-    private String createProcessedQueryString(String query, BRefValueArray parameters) {
-        String currentQuery = query;
-        if (parameters != null) {
-            int start = 0;
-            Object[] vals;
-            int count;
-            int paramCount = (int) parameters.size();
-            for (int i = 0; i < paramCount; i++) {
-                BStruct paramValue = (BStruct) parameters.get(i);
-                if (paramValue != null) {
-                    String sqlType = getSQLType(paramValue);
-                    BValue value = paramValue.getRefField(1);
-                    if (value != null && value.getType().getTag() == TypeTags.ARRAY_TAG &&
-                            !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
-                        count = (int) ((BNewArray) value).size();
-                    } else {
-                        count = 1;
-                    }
-                    vals = this.expandQuery(start, count, currentQuery);
-                    start = (Integer) vals[0];
-                    currentQuery = (String) vals[1];
+    private String createProcessedQueryString(SQLDatasource datasource, String query, BRefValueArray parameters) {
+        if (parameters == null) {
+            return query;
+        }
+
+        int paramCount = (int) parameters.size();
+        int[] counts = new int[paramCount];
+        boolean hasArrays = false;
+        for (int i = 0; i < paramCount; i++) {
+            BStruct paramValue = (BStruct) parameters.get(i);
+            if (paramValue != null) {
+                String sqlType = getSQLType(paramValue);
+                BValue value = paramValue.getRefField(1);
+                if (value != null && value.getType().getTag() == TypeTags.ARRAY_TAG &&
+                        !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
+                    counts[i] = (int) ((BNewArray) value).size();
+                    hasArrays = true;
+                } else {
+                    counts[i] = 1;
                 }
             }
         }
+        // A query is only changed by expanding its "?" for arrays
+        if (!hasArrays) {
+            return query;
+        }
+
+        String key = Arrays.toString(counts) + query;
+        SQLStatementCache statementCache = datasource.getStatementCache();
+        String currentQuery = statementCache.getExpandedQuery(key);
+        if (currentQuery != null) {
+            return currentQuery;
+        }
+
+        currentQuery = query;
+        int start = 0;
+        Object[] vals;
+        for (int i = 0; i < paramCount; i++) {
+            if (parameters.get(i) != null) {
+                vals = this.expandQuery(start, counts[i], currentQuery);
+                start = (Integer) vals[0];
+                currentQuery = (String) vals[1];
+            }
+        }
+        statementCache.putExpandedQuery(key, currentQuery);
         return currentQuery;
     }
 
@@ -345,6 +491,12 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
 
     private PreparedStatement getPreparedStatement(Connection conn, SQLDatasource datasource, String query)
             throws SQLException {
+        return datasource.getStatementCache().prepare(conn, QUERY_KEY + query,
+                c -> prepareQueryStatement(c, datasource, query));
+    }
+
+    private PreparedStatement prepareQueryStatement(Connection conn, SQLDatasource datasource, String query)
+            throws SQLException {
         PreparedStatement stmt;
         boolean mysql = datasource.getDatabaseName().contains("mysql");
         /* In MySQL by default, ResultSets are completely retrieved and stored in memory.
@@ -359,6 +511,15 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             }
         } else {
             stmt = conn.prepareStatement(query);
+            int fetchSize = datasource.getFetchSize();
+            if (fetchSize > 0) {
+                try {
+                    stmt.setFetchSize(fetchSize);
+                } catch (SQLException e) {
+                    stmt.close();
+                    throw e;
+                }
+            }
         }
         return stmt;
     }
@@ -447,11 +608,21 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
     }
 
     private void createProcessedStatement(Connection conn, PreparedStatement stmt, BRefValueArray params) {
+        createProcessedStatement(conn, stmt, params, 0);
+    }
+
+    /**
+     * Set the parameters of a statement, starting from the given parameter.
+     *
+     * @return ordinal of the parameter after the last one set
+     */
+    private int createProcessedStatement(Connection conn, PreparedStatement stmt, BRefValueArray params,
+            int firstOrdinal) {
         if (params == null) {
-            return;
+            return firstOrdinal;
         }
         int paramCount = (int) params.size();
-        int currentOrdinal = 0;
+        int currentOrdinal = firstOrdinal;
         for (int index = 0; index < paramCount; index++) {
             BStruct paramStruct = (BStruct) params.get(index);
             if (paramStruct != null) {
@@ -492,10 +663,11 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
                     currentOrdinal++;
                 }
             } else {
-                SQLDatasourceUtils.setNullObject(stmt, index);
+                SQLDatasourceUtils.setNullObject(stmt, currentOrdinal);
                 currentOrdinal++;
             }
         }
+        return currentOrdinal;
     }
 
     private void setParameter(Connection conn, PreparedStatement stmt, String sqlType, BValue value, int direction,
@@ -796,10 +968,11 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
     }
 
     private BTable constructTable(Context context, ResultSet rs, Statement stmt, Connection conn,
-            BStructType structType) throws SQLException {
+            BStructType structType, SQLDatasource datasource, SQLStatementCache statementCache) throws SQLException {
         List<ColumnDefinition> columnDefinitions = getColumnDefinitions(rs);
         return new BTable(new SQLDataIterator(conn, stmt, rs, utcCalendar, columnDefinitions, structType,
-                Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context)));
+                Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context), statementCache,
+                datasource.getRowBatchSize()));
     }
 
     private String getSQLType(BStruct parameter) {
@@ -32,6 +32,7 @@ import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLStatementCache;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.BufferedReader;
@@ -789,11 +790,26 @@ public class SQLDatasourceUtils {
      * @param conn SQL connection
      */
     public static void cleanupConnection(ResultSet rs, Statement stmt, Connection conn, boolean isInTransaction) {
+        cleanupConnection(rs, stmt, conn, isInTransaction, null);
+    }
+
+    /**
+     * This will close Database connection and the resultset, and give the statement back to the statement cache.
+     *
+     * @param rs             SQL resultset
+     * @param stmt           SQL statement
+     * @param conn           SQL connection
+     * @param statementCache cache the statement was taken from, if any
+     */
+    public static void cleanupConnection(ResultSet rs, Statement stmt, Connection conn, boolean isInTransaction,
+            SQLStatementCache statementCache) {
         try {
             if (rs != null && !rs.isClosed()) {
                 rs.close();
             }
-            if (stmt != null && !stmt.isClosed()) {
+            if (statementCache != null) {
+                statementCache.release(stmt);
+            } else if (stmt != null && !stmt.isClosed()) {
                 stmt.close();
             }
             if (conn != null && !conn.isClosed() && !isInTransaction) {
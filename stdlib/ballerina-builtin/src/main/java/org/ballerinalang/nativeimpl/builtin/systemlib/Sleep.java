@@ -39,7 +39,8 @@ public class Sleep extends AbstractNativeFunction {
     public BValue[] execute(Context ctx) {
         long timeout = getIntArgument(ctx, 0);
         try {
-            Thread.sleep(timeout);
+            // A cancelled worker, e.g. one which lost a fork/join, stops sleeping right away.
+            ctx.awaitCancellation(timeout);
         } catch (InterruptedException e) {
             throw new BallerinaException("System sleep has been interrupted", e);
         }
@@ -39,7 +39,7 @@ public class SleepCurrentThread extends AbstractNativeFunction {
     public BValue[] execute(Context context) {
         long millis = getIntArgument(context, 0);
         try {
-            Thread.sleep(millis);
+            context.awaitCancellation(millis);
         } catch (InterruptedException e) {
             // We ignore any interruptions.
         }
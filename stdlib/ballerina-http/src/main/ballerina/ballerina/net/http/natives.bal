@@ -264,9 +264,13 @@ public struct HttpConnectorError {
 @Description { value:"Retry struct represents retry related options for HTTP client invocation" }
 @Field {value:"count: Number of retries"}
 @Field {value:"interval: Retry interval in millisecond"}
+@Field {value:"maxWaitInterval: Maximum wait between retries in millisecond, when the interval is backed off"}
+@Field {value:"backOffFactor: Multiplier of the retry interval after each retry"}
 public struct Retry {
     int count;
     int interval;
+    int maxWaitInterval;
+    float backOffFactor;
 }
 
 @Description { value:"SSL struct represents SSL/TLS options to be used for HTTP client invocation" }
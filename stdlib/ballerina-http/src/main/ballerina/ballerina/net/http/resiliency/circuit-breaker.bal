@@ -2,16 +2,36 @@ package ballerina.net.http.resiliency;
 
 import ballerina.net.http;
 
-enum CircuitState {
-    OPEN, CLOSED, HALF_OPEN
-}
+const int REQUEST_REJECTED = 0;
 
+@Description {value:"CircuitHealth represents the health of the upstream service of a circuit. It is kept by a native circuit breaker, which counts the successes and failures of the requests within a rolling window."}
 struct CircuitHealth {
-    int requestCount;
-    int errorCount;
-    Time lastErrorTime;
 }
 
+@Description {value:"Creates the health of a circuit, which opens when the failure rate goes above the failure threshold and is kept open for the reset timeout."}
+@Param {value:"failureThreshold: The threshold for request failures, between 0 and 1"}
+@Param {value:"resetTimeout: The time period in milliseconds to keep the circuit open"}
+@Return {value:"The health of the circuit"}
+native function createCircuitHealth (float failureThreshold, int resetTimeout) (CircuitHealth);
+
+@Description {value:"Decides whether a request may be sent through the circuit. A request which is not rejected must be completed, and a probe of a half open circuit which is not completed within the reset timeout is taken to be lost."}
+@Param {value:"circuitHealth: The health of the circuit"}
+@Return {value:"The permit of the request, which is REQUEST_REJECTED if the request may not be sent"}
+@Return {value:"The time at which the request was allowed"}
+native function <CircuitHealth circuitHealth> tryAcquire () (int, int);
+
+@Description {value:"Records the result of a request which was sent through the circuit."}
+@Param {value:"circuitHealth: The health of the circuit"}
+@Param {value:"permit: The permit of the request"}
+@Param {value:"startTime: The time at which the request was allowed"}
+@Param {value:"failure: Whether the request failed"}
+native function <CircuitHealth circuitHealth> complete (int permit, int startTime, boolean failure);
+
+@Description {value:"Gets how long the circuit stays open for."}
+@Param {value:"circuitHealth: The health of the circuit"}
+@Return {value:"The remaining time in milliseconds, or zero if the circuit is not open"}
+native function <CircuitHealth circuitHealth> getRemainingOpenTime () (int);
+
 @Description {value:"A Circuit Breaker implementation for to be used with the HTTP client connector to gracefully handle network errors"}
 @Param {value:"httpClient: The HTTP client connector to be wrapped with the circuit breaker"}
 @Param {value:"failureThreshold: The threshold for request failures. When this threshold is crossed, the circuit will trip. The threshold should be a value between 0 and 1."}
@@ -23,9 +43,7 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
         httpClient;
     }
 
-    CircuitHealth circuitHealth = {};
-    // TODO: once enum init inside a struct is do-able, move this inside circuitHealth (issue #4340)
-    CircuitState currentState = CircuitState.CLOSED;
+    CircuitHealth circuitHealth = createCircuitHealth(failureThreshold, resetTimeout);
 
     @Description {value:"The POST action implementation of the Circuit Breaker. Protects the invocation of the POST action of the underlying HTTP client connector."}
     @Param {value:"path: Resource path"}
@@ -33,16 +51,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action post (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.post(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.post(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -54,16 +80,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action head (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.head(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.head(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -75,16 +109,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action put (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.put(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.put(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -97,16 +139,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action execute (string httpVerb, string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.execute(httpVerb, path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.execute(httpVerb, path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -118,16 +168,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action patch (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.patch(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.patch(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -139,16 +197,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action delete (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.delete(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.delete(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -160,16 +226,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action options (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.options(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.options(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -181,16 +255,24 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action forward (string path, http:InRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.forward(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.forward(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
@@ -202,69 +284,32 @@ public connector CircuitBreaker (http:HttpClient httpClient, float failureThresh
     @Return {value:"The InResponse struct"}
     @Return {value:"Error occurred during the action invocation, if any"}
     action get (string path, http:OutRequest request) (http:InResponse, http:HttpConnectorError) {
-        currentState = updateCircuitState(circuitHealth, currentState, failureThreshold, resetTimeout);
+        int permit;
+        int startTime;
+        permit, startTime = circuitHealth.tryAcquire();
         http:InResponse response;
         http:HttpConnectorError err;
 
-        if (currentState == CircuitState.OPEN) {
+        if (permit == REQUEST_REJECTED) {
             // TODO: Allow the user to handle this scenario. Maybe through a user provided function
-            err = handleOpenCircuit(circuitHealth, resetTimeout);
+            err = handleOpenCircuit(circuitHealth);
         } else {
-            response, err = httpEP.get(path, request);
-            updateCircuitHealth(circuitHealth, err);
+            try {
+                response, err = httpEP.get(path, request);
+            } catch (error e) {
+                // The permit must be given back even if the action throws
+                circuitHealth.complete(permit, startTime, true);
+                throw e;
+            }
+            circuitHealth.complete(permit, startTime, err != null);
         }
 
         return response, err;
     }
 }
 
-function updateCircuitState (CircuitHealth circuitHealth, CircuitState currentState, float failureThreshold,
-                             int resetTimeout) (CircuitState) {
-    if (currentState == CircuitState.OPEN) {
-        Time currentT = currentTime();
-        int elapsedTime = currentT.time - circuitHealth.lastErrorTime.time;
-
-        if (elapsedTime > resetTimeout) {
-            circuitHealth.errorCount = 0;
-            circuitHealth.requestCount = 0;
-            currentState = CircuitState.HALF_OPEN;
-        }
-    } else if (currentState == CircuitState.HALF_OPEN) {
-        if (circuitHealth.errorCount > 0) {
-            // If the trial run has failed, trip the circuit again
-            currentState = CircuitState.OPEN;
-        } else {
-            // If the trial run was successful reset the circuit
-            currentState = CircuitState.CLOSED;
-        }
-    } else {
-        float currentFailureRate = 0;
-
-        if (circuitHealth.requestCount > 0) {
-            currentFailureRate = ((float) circuitHealth.errorCount / circuitHealth.requestCount);
-        }
-
-        if (currentFailureRate > failureThreshold) {
-            currentState = CircuitState.OPEN;
-        }
-    }
-
-    return currentState;
-}
-
-function updateCircuitHealth(CircuitHealth circuitHealth, http:HttpConnectorError err) {
-    circuitHealth.requestCount = circuitHealth.requestCount + 1;
-
-    if (err != null) {
-        circuitHealth.errorCount = circuitHealth.errorCount + 1;
-        circuitHealth.lastErrorTime = currentTime();
-    }
-}
-
-function handleOpenCircuit (CircuitHealth circuitHealth, int resetTimeout) (http:HttpConnectorError) {
-    Time currentT = currentTime();
-    int timeDif = currentT.time - circuitHealth.lastErrorTime.time;
-    int timeRemaining = resetTimeout - timeDif;
+function handleOpenCircuit (CircuitHealth circuitHealth) (http:HttpConnectorError) {
+    int timeRemaining = circuitHealth.getRemainingOpenTime();
 
     http:HttpConnectorError err = {};
     err.msg = "Upstream service unavailable. Requests to upstream service will be suspended for "
@@ -24,6 +24,7 @@ import org.ballerinalang.connector.api.Annotation;
 import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.connector.api.ParamDetail;
 import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.net.uri.BasePathTrie;
 import org.ballerinalang.net.uri.DispatcherUtil;
 import org.ballerinalang.net.uri.URITemplateException;
 import org.ballerinalang.net.ws.WebSocketServicesRegistry;
@@ -40,7 +41,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -55,7 +55,8 @@ public class HTTPServicesRegistry {
 
     // Outer Map key=interface, Inner Map key=basePath
     private final Map<String, Map<String, HttpService>> servicesInfoMap = new ConcurrentHashMap<>();
-    private CopyOnWriteArrayList<String> sortedServiceURIs = new CopyOnWriteArrayList<>();
+    // Key=interface, the base paths of the services of the interface
+    private final Map<String, BasePathTrie> basePathTries = new ConcurrentHashMap<>();
     private final WebSocketServicesRegistry webSocketServicesRegistry;
 
     public HTTPServicesRegistry(WebSocketServicesRegistry webSocketServicesRegistry) {
@@ -110,6 +111,7 @@ public class HTTPServicesRegistry {
                                 + entryListenerInterface);
             }
             servicesOnInterface.put(basePath, service);
+            basePathTries.computeIfAbsent(entryListenerInterface, k -> new BasePathTrie()).add(basePath);
 
             // If WebSocket upgrade path is available, then register the name of the WebSocket service.
             if (annotation != null) {
@@ -179,9 +181,6 @@ public class HTTPServicesRegistry {
         }
         httpService.setResources(resources);
         httpService.setAllAllowMethods(DispatcherUtil.getAllResourceMethods(httpService));
-        //basePath will get cached after registering service
-        sortedServiceURIs.add(httpService.getBasePath());
-        sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
     }
 
     private String urlDecode(String basePath) {
@@ -274,21 +273,18 @@ public class HTTPServicesRegistry {
                 && paramDetail.getVarType().getName().equals(varTypeName);
     }
 
-    public String findTheMostSpecificBasePath(String requestURIPath, Map<String, HttpService> services) {
-        for (Object key : sortedServiceURIs) {
-            if (!requestURIPath.toLowerCase().contains(key.toString().toLowerCase())) {
-                continue;
-            }
-            if (requestURIPath.length() <= key.toString().length()) {
-                return key.toString();
-            }
-            if (requestURIPath.charAt(key.toString().length()) == '/') {
-                return key.toString();
-            }
-        }
-        if (services.containsKey(HttpConstants.DEFAULT_BASE_PATH)) {
-            return HttpConstants.DEFAULT_BASE_PATH;
+    /**
+     * Find the most specific base path of a request path among the services of a given interface.
+     *
+     * @param interfaceId    interface id of the services.
+     * @param requestURIPath path of the request.
+     * @return the most specific base path if exists else null.
+     */
+    public String findTheMostSpecificBasePath(String interfaceId, String requestURIPath) {
+        BasePathTrie basePathTrie = basePathTries.get(interfaceId);
+        if (basePathTrie == null) {
+            return null;
         }
-        return null;
+        return basePathTrie.findMostSpecificBasePath(requestURIPath);
     }
 }
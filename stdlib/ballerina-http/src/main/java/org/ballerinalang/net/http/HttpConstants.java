@@ -40,6 +40,7 @@ public class HttpConstants {
 
     public static final String PROTOCOL_HTTP = "http";
     public static final String PROTOCOL_PACKAGE_HTTP = "ballerina.net.http";
+    public static final String PROTOCOL_PACKAGE_HTTP_RESILIENCY = "ballerina.net.http.resiliency";
     public static final String PROTOCOL_HTTPS = "https";
     public static final String HTTP_METHOD = "HTTP_METHOD";
     public static final String HTTP_STATUS_CODE = "HTTP_STATUS_CODE";
@@ -163,6 +164,8 @@ public class HttpConstants {
     public static final String TRANSPORT_MESSAGE = "transport_message";
     public static final String MESSAGE_OUTPUT_STREAM = "message_output_stream";
     public static final String HTTP_SESSION = "http_session";
+    public static final String CIRCUIT_HEALTH = "CircuitHealth";
+    public static final String CIRCUIT_BREAKER = "circuit_breaker";
 
     public static final String HTTP_TRANSPORT_CONF = "transports.netty.conf";
     public static final String CIPHERS = "ciphers";
@@ -220,6 +223,8 @@ public class HttpConstants {
     public static final int RETRY_STRUCT_INDEX = 2;
     public static final int RETRY_COUNT_INDEX = 0;
     public static final int RETRY_INTERVAL_INDEX = 1;
+    public static final int RETRY_MAX_WAIT_INTERVAL_INDEX = 2;
+    public static final int RETRY_BACKOFF_FACTOR_INDEX = 0;
 
     public static final String CONNECTION_HEADER = "Connection";
     public static final String HEADER_VAL_CONNECTION_CLOSE = "Close";
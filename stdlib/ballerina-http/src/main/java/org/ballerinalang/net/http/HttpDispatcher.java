@@ -23,13 +23,13 @@ import org.ballerinalang.connector.api.ParamDetail;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.uri.RequestURIView;
 import org.ballerinalang.net.uri.URIUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 
 import java.io.UnsupportedEncodingException;
-import java.net.URI;
 import java.net.URLDecoder;
 import java.util.HashMap;
 import java.util.List;
@@ -46,7 +46,8 @@ public class HttpDispatcher {
 
     private static HttpService findService(HTTPServicesRegistry servicesRegistry, HTTPCarbonMessage inboundReqMsg) {
         try {
-            Map<String, HttpService> servicesOnInterface = getServicesOnInterface(servicesRegistry, inboundReqMsg);
+            String interfaceId = getInterface(inboundReqMsg);
+            Map<String, HttpService> servicesOnInterface = getServicesOnInterface(servicesRegistry, interfaceId);
 
             String rawUri = (String) inboundReqMsg.getProperty(HttpConstants.TO);
             inboundReqMsg.setProperty(HttpConstants.RAW_URI, rawUri);
@@ -56,11 +57,10 @@ public class HttpDispatcher {
             inboundReqMsg.setProperty(HttpConstants.TO, uriWithoutMatrixParams);
             inboundReqMsg.setProperty(HttpConstants.MATRIX_PARAMS, matrixParams);
 
-            URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
+            RequestURIView validatedUri = getValidatedURI(uriWithoutMatrixParams);
 
             // Most of the time we will find service from here
-            String basePath =
-                    servicesRegistry.findTheMostSpecificBasePath(validatedUri.getPath(), servicesOnInterface);
+            String basePath = servicesRegistry.findTheMostSpecificBasePath(interfaceId, validatedUri.getPath());
             HttpService service = servicesOnInterface.get(basePath);
             if (service == null) {
                 inboundReqMsg.setProperty(HttpConstants.HTTP_STATUS_CODE, 404);
@@ -77,8 +77,7 @@ public class HttpDispatcher {
     }
 
     private static Map<String, HttpService> getServicesOnInterface(HTTPServicesRegistry servicesRegistry,
-            HTTPCarbonMessage inboundReqMsg) {
-        String interfaceId = getInterface(inboundReqMsg);
+            String interfaceId) {
         Map<String, HttpService> servicesOnInterface = servicesRegistry.getServicesInfoByInterface(interfaceId);
         if (servicesOnInterface == null) {
             throw new BallerinaConnectorException("no services found for interface : " + interfaceId);
@@ -86,7 +85,8 @@ public class HttpDispatcher {
         return servicesOnInterface;
     }
 
-    private static void setInboundReqProperties(HTTPCarbonMessage inboundReqMsg, URI requestUri, String basePath) {
+    private static void setInboundReqProperties(HTTPCarbonMessage inboundReqMsg, RequestURIView requestUri,
+                                                String basePath) {
         String subPath = URIUtil.getSubPath(requestUri.getPath(), basePath);
         inboundReqMsg.setProperty(HttpConstants.BASE_PATH, basePath);
         inboundReqMsg.setProperty(HttpConstants.SUB_PATH, subPath);
@@ -95,10 +95,10 @@ public class HttpDispatcher {
         inboundReqMsg.setProperty(HttpConstants.RAW_QUERY_STR, requestUri.getRawQuery());
     }
 
-    private static URI getValidatedURI(String uriStr) {
-        URI requestUri;
+    private static RequestURIView getValidatedURI(String uriStr) {
+        RequestURIView requestUri;
         try {
-            requestUri = URI.create(uriStr);
+            requestUri = RequestURIView.create(uriStr);
         } catch (IllegalArgumentException e) {
             throw new BallerinaConnectorException(e.getMessage());
         }
@@ -191,7 +191,7 @@ public class HttpDispatcher {
             //No need for validation as validation already happened at deployment time,
             //only string parameters can be found here.
             String argumentValue = resourceArgumentValues.get(paramDetails.get(i).getVarName());
-            if (argumentValue != null) {
+            if (argumentValue != null && (argumentValue.indexOf('%') >= 0 || argumentValue.indexOf('+') >= 0)) {
                 try {
                     argumentValue = URLDecoder.decode(argumentValue, "UTF-8");
                 } catch (UnsupportedEncodingException e) {
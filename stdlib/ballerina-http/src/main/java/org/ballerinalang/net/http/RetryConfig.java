@@ -18,15 +18,29 @@
 
 package org.ballerinalang.net.http;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Retry configurations.
+ * <p>
+ * The wait before a retry starts at the configured interval and is multiplied by the back off factor after each
+ * retry, up to the max wait interval. Each wait is then spread randomly by {@link #JITTER} of itself, so that clients
+ * which failed together do not all retry at the same time.
  *
  * @since 0.95.0
  */
 public class RetryConfig {
+
+    /**
+     * Fraction of a wait by which it is randomly made shorter or longer.
+     */
+    public static final double JITTER = 0.2;
+
     private boolean enabled = false;
     private long retryCount = -1;
     private long interval = -1;
+    private double backOffFactor = 1;
+    private long maxWaitInterval = -1;
     private long currentCount;
 
     public RetryConfig() {
@@ -34,8 +48,14 @@ public class RetryConfig {
     }
 
     public RetryConfig(long retryCount, long interval) {
+        this(retryCount, interval, 1, -1);
+    }
+
+    public RetryConfig(long retryCount, long interval, double backOffFactor, long maxWaitInterval) {
         this.retryCount = retryCount;
         this.interval = interval;
+        this.backOffFactor = backOffFactor > 1 ? backOffFactor : 1;
+        this.maxWaitInterval = maxWaitInterval;
         this.enabled = true;
         this.currentCount = 0;
     }
@@ -50,16 +70,24 @@ public class RetryConfig {
         return true;
     }
 
-    public void incrementCountAndWait() {
+    /**
+     * Count a retry and get how long to wait before making it. The caller schedules the retry rather than waiting
+     * on its own thread.
+     *
+     * @return the wait in milliseconds, which is zero when the retry is to be made right away
+     */
+    public long incrementCountAndGetDelay() {
         currentCount++;
         if (interval <= 0) {
-            return;
+            return 0;
         }
-        try {
-            Thread.sleep(interval);
-        } catch (InterruptedException e) {
-            //We ignore any interruptions.
+        double wait = interval * Math.pow(backOffFactor, currentCount - 1);
+        if (maxWaitInterval > 0 && wait > maxWaitInterval) {
+            wait = maxWaitInterval;
         }
+        // Spread the wait after capping it, so that the waits of clients at the cap still differ
+        wait *= 1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Math.max(1, Math.round(wait));
     }
 
     public long getRetryCount() {
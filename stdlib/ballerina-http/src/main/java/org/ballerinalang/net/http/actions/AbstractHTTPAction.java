@@ -31,6 +31,7 @@ import org.ballerinalang.net.http.HttpConstants;
 import org.ballerinalang.net.http.HttpUtil;
 import org.ballerinalang.net.http.RetryConfig;
 import org.ballerinalang.runtime.message.MessageDataSource;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.StructInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -47,6 +48,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.activation.MimeType;
 import javax.activation.MimeTypeParseException;
 
@@ -64,6 +69,13 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractHTTPAction.class);
 
+    // Retries wait on this timer, so that no thread is held while waiting to retry
+    private static final ScheduledExecutorService RETRY_TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ballerina-http-client-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static final String CACHE_BALLERINA_VERSION;
     static {
         CACHE_BALLERINA_VERSION = System.getProperty(BALLERINA_VERSION);
@@ -261,7 +273,9 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         }
         long retryCount = retryConfig.getIntField(HttpConstants.RETRY_COUNT_INDEX);
         long interval = retryConfig.getIntField(HttpConstants.RETRY_INTERVAL_INDEX);
-        return new RetryConfig(retryCount, interval);
+        long maxWaitInterval = retryConfig.getIntField(HttpConstants.RETRY_MAX_WAIT_INTERVAL_INDEX);
+        double backOffFactor = retryConfig.getFloatField(HttpConstants.RETRY_BACKOFF_FACTOR_INDEX);
+        return new RetryConfig(retryCount, interval, backOffFactor, maxWaitInterval);
     }
 
     @Override
@@ -298,27 +312,45 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
         @Override
         public void onError(Throwable throwable) {
-            if (throwable instanceof IOException) {
+            if (throwable instanceof IOException && this.outboundMsgDataStreamer != null) {
                 this.outboundMsgDataStreamer.setIoException((IOException) throwable);
             }
-            if (checkRetryState(throwable)) {
-                return;
-            }
-
-            sendOutboundRequest(context, outboundReqMsg, this);
-        }
-
-        private boolean checkRetryState(Throwable throwable) {
             if (!retryConfig.shouldRetry()) {
                 notifyError(throwable);
-                return true;
+                return;
             }
+            long delay = retryConfig.incrementCountAndGetDelay();
             if (logger.isDebugEnabled()) {
-                logger.debug("action invocation failed, retrying action, count - "
+                logger.debug("action invocation failed, retrying action in " + delay + "ms, count - "
                         + retryConfig.getCurrentCount() + " limit - " + retryConfig.getRetryCount());
             }
-            retryConfig.incrementCountAndWait();
-            return false;
+            if (delay <= 0) {
+                retry();
+                return;
+            }
+            try {
+                RETRY_TIMER.schedule(this::dispatchRetry, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                notifyError(throwable);
+            }
+        }
+
+        // The timer only hands the retry over, as sending the request serializes its payload
+        private void dispatchRetry() {
+            try {
+                ThreadPoolFactory.getInstance().getExecutor().execute(this::retry);
+            } catch (RejectedExecutionException e) {
+                notifyError(e);
+            }
+        }
+
+        private void retry() {
+            try {
+                sendOutboundRequest(context, outboundReqMsg, this);
+            } catch (BallerinaException e) {
+                // Nothing waits on the thread which retries, so the failure is handed back to the action caller
+                notifyError(e);
+            }
         }
 
         private void notifyError(Throwable throwable) {
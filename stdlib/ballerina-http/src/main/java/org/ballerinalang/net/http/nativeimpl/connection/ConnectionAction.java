@@ -87,8 +87,15 @@ public abstract class ConnectionAction extends AbstractNativeFunction {
                     new HttpResponseConnectorListener(outboundMsgDataStreamer);
             outboundResponseStatusFuture.setHttpConnectorListener(outboundResStatusConnectorListener);
             OutputStream messageOutputStream = outboundMsgDataStreamer.getOutputStream();
-            outboundMessageSource.serializeData(messageOutputStream);
-            HttpUtil.closeMessageOutputStream(messageOutputStream);
+            // Payloads such as tables are written as they are read, rather than being built first. The message
+            // output stream does not wait for the client to take the content, which is queued until it is sent, so
+            // a slow client does not slow down reading the payload. Once the client goes away, writing fails and
+            // the payload is closed, and the response is still ended.
+            try {
+                outboundMessageSource.serializeData(messageOutputStream);
+            } finally {
+                HttpUtil.closeMessageOutputStream(messageOutputStream);
+            }
         }
     }
 
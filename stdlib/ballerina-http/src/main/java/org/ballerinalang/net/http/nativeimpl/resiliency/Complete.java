@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.nativeimpl.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.resiliency.CircuitBreaker;
+
+/**
+ * Native function to record the result of a request which was sent through a circuit.
+ *
+ * @since 0.961.1
+ */
+@BallerinaFunction(
+        packageName = "ballerina.net.http.resiliency",
+        functionName = "complete",
+        receiver = @Receiver(type = TypeKind.STRUCT, structType = "CircuitHealth",
+                             structPackage = "ballerina.net.http.resiliency"),
+        args = {@Argument(name = "permit", type = TypeKind.INT),
+                @Argument(name = "startTime", type = TypeKind.INT),
+                @Argument(name = "failure", type = TypeKind.BOOLEAN)}
+)
+public class Complete extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        BStruct circuitHealth = (BStruct) getRefArgument(context, 0);
+        CircuitBreaker circuitBreaker = (CircuitBreaker) circuitHealth.getNativeData(HttpConstants.CIRCUIT_BREAKER);
+        int permit = (int) getIntArgument(context, 0);
+        long startTime = getIntArgument(context, 1);
+        boolean failure = getBooleanArgument(context, 0);
+        circuitBreaker.complete(permit, startTime, failure, System.nanoTime());
+        return VOID_RETURN;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.nativeimpl.resiliency;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.connector.api.ConnectorUtils;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.resiliency.CircuitBreaker;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Native function to create the health of a circuit, which is kept by a native circuit breaker.
+ *
+ * @since 0.961.1
+ */
+@BallerinaFunction(
+        packageName = "ballerina.net.http.resiliency",
+        functionName = "createCircuitHealth",
+        args = {@Argument(name = "failureThreshold", type = TypeKind.FLOAT),
+                @Argument(name = "resetTimeout", type = TypeKind.INT)},
+        returnType = {@ReturnType(type = TypeKind.STRUCT, structType = "CircuitHealth",
+                                  structPackage = "ballerina.net.http.resiliency")}
+)
+public class CreateCircuitHealth extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        double failureThreshold = getFloatArgument(context, 0);
+        long resetTimeout = getIntArgument(context, 0);
+        CircuitBreaker circuitBreaker;
+        try {
+            circuitBreaker = new CircuitBreaker(failureThreshold, resetTimeout);
+        } catch (IllegalArgumentException e) {
+            throw new BallerinaException("Failed to create circuit breaker: " + e.getMessage(), e);
+        }
+        BStruct circuitHealth = ConnectorUtils.createAndGetStruct(context,
+                HttpConstants.PROTOCOL_PACKAGE_HTTP_RESILIENCY, HttpConstants.CIRCUIT_HEALTH);
+        circuitHealth.addNativeData(HttpConstants.CIRCUIT_BREAKER, circuitBreaker);
+        return getBValues(circuitHealth);
+    }
+}
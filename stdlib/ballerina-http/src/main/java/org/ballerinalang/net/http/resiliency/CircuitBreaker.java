@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code CircuitBreaker} keeps the health of an upstream endpoint, and decides whether a request may be sent to it.
+ * <p>
+ * While the circuit is closed, every request is allowed, and the circuit opens when the failure rate of the requests
+ * within the rolling window goes above the failure threshold. While the circuit is open, every request is rejected
+ * until the reset timeout has passed, after which the circuit is half open and a limited number of probe requests
+ * are allowed at a time. A successful probe closes the circuit, and a failed one opens it again. Probes which are
+ * not completed within the reset timeout are taken to be lost, and new probes are allowed in their place.
+ * <p>
+ * The state of the circuit, with its number of probes, is an immutable value which is replaced with a compare and
+ * set, and the counters are atomic, so no request waits on another.
+ *
+ * @since 0.961.1
+ */
+public class CircuitBreaker {
+
+    /**
+     * The request is rejected.
+     */
+    public static final int REJECTED = 0;
+
+    /**
+     * The request is allowed.
+     */
+    public static final int ALLOWED = 1;
+
+    /**
+     * The request is allowed as a probe of a half open circuit.
+     */
+    public static final int PROBE = 2;
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    private static final Circuit CLOSED_CIRCUIT = new Circuit(CLOSED, 0);
+
+    private static final long DEFAULT_ROLLING_WINDOW = 10000;
+    private static final int DEFAULT_BUCKET_COUNT = 10;
+    private static final int DEFAULT_MAX_PROBES = 1;
+
+    private final double failureThreshold;
+    private final long resetTimeoutNanos;
+    private final int maxProbes;
+    private final RollingWindow window;
+    private final AtomicReference<Circuit> circuit = new AtomicReference<>(CLOSED_CIRCUIT);
+
+    /**
+     * Create a circuit breaker with a rolling window of ten seconds, which allows one probe at a time.
+     *
+     * @param failureThreshold failure rate above which the circuit opens, between 0 and 1
+     * @param resetTimeout     time to keep the circuit open in milliseconds
+     */
+    public CircuitBreaker(double failureThreshold, long resetTimeout) {
+        this(failureThreshold, resetTimeout, DEFAULT_ROLLING_WINDOW, DEFAULT_BUCKET_COUNT, DEFAULT_MAX_PROBES);
+    }
+
+    /**
+     * Create a circuit breaker.
+     *
+     * @param failureThreshold failure rate above which the circuit opens, between 0 and 1
+     * @param resetTimeout     time to keep the circuit open in milliseconds
+     * @param rollingWindow    time to keep counting a request for in milliseconds
+     * @param bucketCount      number of buckets the rolling window is split into
+     * @param maxProbes        number of probe requests allowed at a time while the circuit is half open
+     */
+    public CircuitBreaker(double failureThreshold, long resetTimeout, long rollingWindow, int bucketCount,
+                          int maxProbes) {
+        if (failureThreshold < 0 || failureThreshold > 1) {
+            throw new IllegalArgumentException("invalid failure threshold: " + failureThreshold);
+        }
+        if (resetTimeout < 0) {
+            throw new IllegalArgumentException("invalid reset timeout: " + resetTimeout);
+        }
+        if (maxProbes <= 0) {
+            throw new IllegalArgumentException("invalid number of probes: " + maxProbes);
+        }
+        this.failureThreshold = failureThreshold;
+        this.resetTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(resetTimeout);
+        this.maxProbes = maxProbes;
+        this.window = new RollingWindow(TimeUnit.MILLISECONDS.toNanos(rollingWindow), bucketCount);
+    }
+
+    /**
+     * Decide whether a request may be sent. An allowed request must be completed with
+     * {@link #complete(int, long, boolean, long)}.
+     *
+     * @param now current time, from {@link System#nanoTime()}
+     * @return {@link #REJECTED}, {@link #ALLOWED} or {@link #PROBE}
+     */
+    public int tryAcquire(long now) {
+        while (true) {
+            Circuit current = circuit.get();
+            if (current.state == CLOSED) {
+                return ALLOWED;
+            }
+            if (current.state == OPEN) {
+                if (now - current.openedAt < resetTimeoutNanos) {
+                    return REJECTED;
+                }
+                circuit.compareAndSet(current, new Circuit(HALF_OPEN, current.openedAt));
+                continue;
+            }
+            int probes = current.probes;
+            if (probes >= maxProbes) {
+                if (now - current.probedAt < resetTimeoutNanos) {
+                    return REJECTED;
+                }
+                // None of the probes completed within the reset timeout, so they are lost and must not hold the
+                // circuit half open
+                probes = 0;
+            }
+            if (circuit.compareAndSet(current, new Circuit(HALF_OPEN, current.openedAt, probes + 1, now))) {
+                return PROBE;
+            }
+        }
+    }
+
+    /**
+     * Record the result of an allowed request.
+     *
+     * @param permit    what {@link #tryAcquire(long)} returned for the request
+     * @param startTime time the request was allowed at, from {@link System#nanoTime()}
+     * @param failed    whether the request failed
+     * @param now       current time, from {@link System#nanoTime()}
+     */
+    public void complete(int permit, long startTime, boolean failed, long now) {
+        if (permit == REJECTED) {
+            return;
+        }
+        window.record(now, failed, now - startTime);
+        if (permit == PROBE) {
+            // The probes of a half open circuit are let go of with it, as the circuit closes or opens again. The
+            // circuit is replaced whenever another probe is allowed, hence it is retried until it is not half open.
+            Circuit current = circuit.get();
+            while (current.state == HALF_OPEN) {
+                if (failed) {
+                    if (circuit.compareAndSet(current, new Circuit(OPEN, now))) {
+                        return;
+                    }
+                } else if (circuit.compareAndSet(current, CLOSED_CIRCUIT)) {
+                    // Failures from before the circuit opened should not open it again
+                    window.reset();
+                    return;
+                }
+                current = circuit.get();
+            }
+        } else if (failed && circuit.get() == CLOSED_CIRCUIT) {
+            long failures = window.getFailureCount(now);
+            long requests = failures + window.getSuccessCount(now);
+            if ((double) failures / requests > failureThreshold) {
+                circuit.compareAndSet(CLOSED_CIRCUIT, new Circuit(OPEN, now));
+            }
+        }
+    }
+
+    /**
+     * Get how long the circuit stays open for.
+     *
+     * @param now current time, from {@link System#nanoTime()}
+     * @return the remaining time in milliseconds, or zero if the circuit is not open
+     */
+    public long getRemainingOpenTime(long now) {
+        Circuit current = circuit.get();
+        if (current.state != OPEN) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(resetTimeoutNanos - (now - current.openedAt)));
+    }
+
+    /**
+     * Get the rolling window of the request counts of the circuit.
+     *
+     * @return the rolling window
+     */
+    public RollingWindow getRollingWindow() {
+        return window;
+    }
+
+    /**
+     * {@code Circuit} is the state of a circuit, with the time it last opened at, and the number of probes of a half
+     * open circuit with the time the last of them was allowed at.
+     */
+    private static class Circuit {
+
+        private final int state;
+        private final long openedAt;
+        private final int probes;
+        private final long probedAt;
+
+        Circuit(int state, long openedAt) {
+            this(state, openedAt, 0, 0);
+        }
+
+        Circuit(int state, long openedAt, int probes, long probedAt) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.probes = probes;
+            this.probedAt = probedAt;
+        }
+    }
+}
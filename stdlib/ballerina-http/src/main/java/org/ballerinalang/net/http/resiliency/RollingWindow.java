@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.resiliency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code RollingWindow} counts the successes, failures and latency of the requests made within a period of time.
+ * <p>
+ * The period is split into buckets, which are reused in turn as time passes. The counters of all buckets are kept in
+ * a single array of atomic longs, so that recording a request takes no lock. Each bucket starts with the number of
+ * the time slot it is counting, and is cleared by the first request which finds it counting an older slot. A request
+ * which is recorded while another one clears its bucket may not be counted.
+ *
+ * @since 0.961.1
+ */
+public class RollingWindow {
+
+    private static final int SLOT = 0;
+    private static final int SUCCESSES = 1;
+    private static final int FAILURES = 2;
+    private static final int LATENCY = 3;
+    private static final int FIELD_COUNT = 4;
+
+    private final int bucketCount;
+    private final long bucketNanos;
+    private final AtomicLongArray buckets;
+
+    /**
+     * Create a rolling window.
+     *
+     * @param windowNanos length of the window in nanoseconds
+     * @param bucketCount number of buckets the window is split into
+     */
+    public RollingWindow(long windowNanos, int bucketCount) {
+        if (bucketCount <= 0 || windowNanos < bucketCount) {
+            throw new IllegalArgumentException("invalid rolling window of " + windowNanos + "ns with " + bucketCount
+                    + " buckets");
+        }
+        this.bucketCount = bucketCount;
+        this.bucketNanos = windowNanos / bucketCount;
+        this.buckets = new AtomicLongArray(bucketCount * FIELD_COUNT);
+        reset();
+    }
+
+    /**
+     * Record a request.
+     *
+     * @param now          time the request completed at, from {@link System#nanoTime()}
+     * @param failed       whether the request failed
+     * @param latencyNanos time the request took in nanoseconds
+     */
+    public void record(long now, boolean failed, long latencyNanos) {
+        long slot = Math.floorDiv(now, bucketNanos);
+        int bucket = (int) Math.floorMod(slot, (long) bucketCount) * FIELD_COUNT;
+        long bucketSlot = buckets.get(bucket + SLOT);
+        if (bucketSlot < slot && buckets.compareAndSet(bucket + SLOT, bucketSlot, slot)) {
+            buckets.set(bucket + SUCCESSES, 0);
+            buckets.set(bucket + FAILURES, 0);
+            buckets.set(bucket + LATENCY, 0);
+        }
+        buckets.getAndIncrement(bucket + (failed ? FAILURES : SUCCESSES));
+        buckets.getAndAdd(bucket + LATENCY, latencyNanos);
+    }
+
+    /**
+     * Get the number of successful requests within the window.
+     *
+     * @param now current time, from {@link System#nanoTime()}
+     * @return the number of successful requests
+     */
+    public long getSuccessCount(long now) {
+        return sum(now, SUCCESSES);
+    }
+
+    /**
+     * Get the number of failed requests within the window.
+     *
+     * @param now current time, from {@link System#nanoTime()}
+     * @return the number of failed requests
+     */
+    public long getFailureCount(long now) {
+        return sum(now, FAILURES);
+    }
+
+    /**
+     * Get the total time taken by the requests within the window.
+     *
+     * @param now current time, from {@link System#nanoTime()}
+     * @return the total latency in nanoseconds
+     */
+    public long getTotalLatency(long now) {
+        return sum(now, LATENCY);
+    }
+
+    /**
+     * Forget all requests recorded so far.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < buckets.length(); bucket += FIELD_COUNT) {
+            buckets.set(bucket + SLOT, Long.MIN_VALUE);
+        }
+    }
+
+    private long sum(long now, int field) {
+        long oldestSlot = Math.floorDiv(now, bucketNanos) - bucketCount;
+        long sum = 0;
+        for (int bucket = 0; bucket < buckets.length(); bucket += FIELD_COUNT) {
+            if (buckets.get(bucket + SLOT) > oldestSlot) {
+                sum += buckets.get(bucket + field);
+            }
+        }
+        return sum;
+    }
+}
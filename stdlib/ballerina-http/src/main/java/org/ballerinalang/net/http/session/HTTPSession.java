@@ -20,6 +20,7 @@ package org.ballerinalang.net.http.session;
 
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.SharedValues;
 import org.ballerinalang.net.http.HttpConstants;
 import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 
@@ -42,6 +43,7 @@ public class HTTPSession implements Session, Serializable {
     private SessionManager sessionManager;
     private boolean isValid = true;
     private boolean isNew = true;
+    private transient volatile SessionManager.ExpiryTimer expiryTimer;
 
     public HTTPSession(String id, int maxInactiveInterval, String path) {
         this.id = id;
@@ -59,6 +61,8 @@ public class HTTPSession implements Session, Serializable {
 
     @Override
     public void setAttribute(String attributeKey, BValue attributeValue) {
+        // Session attributes are accessed by any request of the session.
+        SharedValues.markShared(attributeValue);
         attributeMap.put(attributeKey, attributeValue);
     }
 
@@ -111,6 +115,10 @@ public class HTTPSession implements Session, Serializable {
     @Override
     public void setMaxInactiveInterval(int maxInactiveInterval) {
         this.maxInactiveInterval = maxInactiveInterval;
+        if (sessionManager != null) {
+            // A shorter interval would otherwise only be noticed at the deadline of the current interval
+            sessionManager.scheduleExpiry(this);
+        }
     }
 
     @Override
@@ -146,6 +154,14 @@ public class HTTPSession implements Session, Serializable {
         this.sessionManager = sessionManager;
     }
 
+    SessionManager.ExpiryTimer getExpiryTimer() {
+        return expiryTimer;
+    }
+
+    void setExpiryTimer(SessionManager.ExpiryTimer expiryTimer) {
+        this.expiryTimer = expiryTimer;
+    }
+
     private void checkValidity() {
         if (!isValid) {
             throw new IllegalStateException("Failed to execute action: Invalid session");
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code InMemorySessionStore} keeps sessions in a concurrent map on the heap. This is the default session store.
+ *
+ * @since 0.961.1
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    /**
+     * Name of the in-memory store.
+     */
+    public static final String NAME = "memory";
+
+    private final Map<String, Session> sessionMap = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Session get(String sessionId) {
+        return sessionMap.get(sessionId);
+    }
+
+    @Override
+    public void add(Session session) {
+        sessionMap.put(session.getId(), session);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sessionMap.remove(sessionId);
+    }
+
+    @Override
+    public int size() {
+        return sessionMap.size();
+    }
+}
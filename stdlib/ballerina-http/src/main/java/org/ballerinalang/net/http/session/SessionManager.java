@@ -18,23 +18,47 @@
 
 package org.ballerinalang.net.http.session;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ServiceLoader;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * SessionManager to manage all transport sessions.
+ * <p>
+ * Sessions are kept in a {@link SessionStore}, and are expired with a {@link TimerWheel} which ticks every second.
+ * The timer of a session is set for its deadline when the session is created, and is not moved when the session is
+ * accessed. Once the timer expires, the session is invalidated if it has not been accessed since, or its timer is set
+ * again for its new deadline otherwise. The store and the max number of active sessions are configured with:
+ * <pre>
+ * ballerina.http.session.store=memory
+ * ballerina.http.session.max.active=100000
+ * </pre>
+ * An invalid configuration is logged, and the defaults are used instead.
  *
  * @since 0.89
  */
 public class SessionManager {
 
-    private static SessionManager instance = new SessionManager();
-    private Map<String, Session> sessionMap = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(SessionManager.class);
+
+    private static final String CONFIG_PREFIX = "ballerina.http.session.";
+    private static final String STORE = "store";
+    private static final String MAX_ACTIVE = "max.active";
+
+    private static volatile SessionManager instance;
+    private SessionStore sessionStore;
     private SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
+    private final LongSupplier clock;
+    private TimerWheel<ExpiryTimer> expiryTimers;
     private ScheduledExecutorService sessionExpiryChecker;
+    private int maxActiveSessions;
 
     /**
      * Max number of sessions that can be active at a given time.
@@ -48,26 +72,61 @@ public class SessionManager {
      */
     private static final int SESSION_ID_LENGTH = 16;
 
+    // Levels of one second ticks reach 64 seconds, 68 minutes and 72 hours
+    private static final long EXPIRY_TICK = 1000;
+    private static final int EXPIRY_LEVELS = 3;
+
     private SessionManager() {
-        sessionIdGenerator.setSessionIdLength(SESSION_ID_LENGTH);
+        this(System::currentTimeMillis);
         // Session expiry scheduled task
-        sessionExpiryChecker = Executors.newScheduledThreadPool(1);
-        sessionExpiryChecker.scheduleAtFixedRate(() ->
-                        sessionMap.values().parallelStream()
-                                .filter(session ->
-                                        (session.getMaxInactiveInterval() >= 0 &&
-                                                System.currentTimeMillis() - session.getLastAccessedTime() >=
-                                                        session.getMaxInactiveInterval() * 1000))
-                                .forEach(Session::invalidate),
-                30, 30, TimeUnit.SECONDS);
+        sessionExpiryChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-http-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessionExpiryChecker.scheduleAtFixedRate(this::expireSessions, EXPIRY_TICK, EXPIRY_TICK,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a session manager which expires sessions only when {@link #expireSessions()} is called.
+     *
+     * @param clock The clock, in milliseconds, the sessions are expired against.
+     */
+    public SessionManager(LongSupplier clock) {
+        this.clock = clock;
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        try {
+            sessionStore = createSessionStore(configRegistry.getGlobalConfigValue(CONFIG_PREFIX + STORE));
+        } catch (BallerinaException e) {
+            log.error(e.getMessage() + ", using the " + InMemorySessionStore.NAME + " session store");
+            sessionStore = new InMemorySessionStore();
+        }
+        try {
+            maxActiveSessions = getMaxActiveSessions(
+                    configRegistry.getGlobalConfigValue(CONFIG_PREFIX + MAX_ACTIVE));
+        } catch (BallerinaException e) {
+            log.error(e.getMessage() + ", allowing " + DEFAULT_MAX_ACTIVE_SESSIONS + " active sessions");
+            maxActiveSessions = DEFAULT_MAX_ACTIVE_SESSIONS;
+        }
+        sessionIdGenerator.setSessionIdLength(SESSION_ID_LENGTH);
+        expiryTimers = new TimerWheel<>(EXPIRY_TICK, EXPIRY_LEVELS, clock.getAsLong());
     }
 
     public static SessionManager getInstance() {
+        // Created on first use, so that the configuration is read once it is loaded
+        if (instance == null) {
+            synchronized (SessionManager.class) {
+                if (instance == null) {
+                    instance = new SessionManager();
+                }
+            }
+        }
         return instance;
     }
 
     public Session getHTTPSession(String sessionId) {
-        HTTPSession session = (HTTPSession) sessionMap.get(sessionId);
+        HTTPSession session = (HTTPSession) sessionStore.get(sessionId);
         if (session != null) {
             return session;
         }
@@ -75,13 +134,14 @@ public class SessionManager {
     }
 
     public Session createHTTPSession(String path) {
-        if (sessionMap.size() >= DEFAULT_MAX_ACTIVE_SESSIONS) {
+        if (sessionStore.size() >= maxActiveSessions) {
             throw new IllegalStateException("Failed to create session: Too many active sessions");
         }
         HTTPSession session = new HTTPSession(sessionIdGenerator.generateSessionId(),
                 DEFAULT_MAX_INACTIVE_INTERVAL, path);
         session.setManager(this);
-        sessionMap.put(session.getId(), session);
+        sessionStore.add(session);
+        scheduleExpiry(session);
         return session;
     }
 
@@ -91,7 +151,22 @@ public class SessionManager {
      * @param session The session to be invalidated.
      */
     public void invalidateSession(Session session) {
-        sessionMap.remove(session.getId());
+        sessionStore.remove(session.getId());
+    }
+
+    /**
+     * Set the expiry timer of a session for its deadline. Any timer set before for the session is ignored.
+     *
+     * @param session The session to be expired.
+     */
+    void scheduleExpiry(HTTPSession session) {
+        if (session.getMaxInactiveInterval() < 0) {
+            session.setExpiryTimer(null);
+            return;
+        }
+        ExpiryTimer expiryTimer = new ExpiryTimer(session.getId());
+        session.setExpiryTimer(expiryTimer);
+        expiryTimers.schedule(expiryTimer, getDeadline(session));
     }
 
     /**
@@ -99,7 +174,75 @@ public class SessionManager {
      *
      */
     public void stop() {
-        sessionExpiryChecker.shutdown();
+        if (sessionExpiryChecker != null) {
+            sessionExpiryChecker.shutdown();
+        }
+    }
+
+    /**
+     * Invalidate the sessions which have not been accessed within their max inactive intervals, as of the clock of
+     * this manager. Only one thread may expire sessions at a time.
+     */
+    public void expireSessions() {
+        expiryTimers.advance(clock.getAsLong(), this::expire);
+    }
+
+    private void expire(ExpiryTimer expiryTimer) {
+        try {
+            Session session = sessionStore.get(expiryTimer.sessionId);
+            if (!(session instanceof HTTPSession) || ((HTTPSession) session).getExpiryTimer() != expiryTimer
+                    || !session.isValid()) {
+                return;
+            }
+            long deadline = getDeadline(session);
+            if (deadline <= clock.getAsLong()) {
+                session.invalidate();
+            } else {
+                expiryTimers.schedule(expiryTimer, deadline);
+            }
+        } catch (RuntimeException e) {
+            // The expiry of the other sessions must go on
+            log.error("Failed to expire session: " + e.getMessage(), e);
+        }
+    }
+
+    private static long getDeadline(Session session) {
+        return session.getLastAccessedTime() + session.getMaxInactiveInterval() * 1000L;
+    }
+
+    private static SessionStore createSessionStore(String storeName) {
+        if (storeName == null || InMemorySessionStore.NAME.equals(storeName)) {
+            return new InMemorySessionStore();
+        }
+        for (SessionStore sessionStore : ServiceLoader.load(SessionStore.class)) {
+            if (storeName.equals(sessionStore.getName())) {
+                return sessionStore;
+            }
+        }
+        throw new BallerinaException("session store not found: " + storeName);
+    }
+
+    private static int getMaxActiveSessions(String value) {
+        if (value == null) {
+            return DEFAULT_MAX_ACTIVE_SESSIONS;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BallerinaException("invalid value for " + CONFIG_PREFIX + MAX_ACTIVE + ": " + value);
+        }
     }
 
+    /**
+     * {@code ExpiryTimer} is the expiry timer of a session, which is only honoured while it is the latest timer set
+     * for the session.
+     */
+    static final class ExpiryTimer {
+
+        private final String sessionId;
+
+        ExpiryTimer(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
 }
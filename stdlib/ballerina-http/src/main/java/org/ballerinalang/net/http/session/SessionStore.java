@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+/**
+ * {@code SessionStore} keeps the active sessions of the {@link SessionManager}.
+ * <p>
+ * Stores are found with {@link java.util.ServiceLoader}, and the one to use is named by the
+ * {@code ballerina.http.session.store} configuration. A store keeps the session instances it is given, as a
+ * session holds the attribute values of the running program and is looked up again by identity when it expires.
+ * Expiry is done by the session manager, so a store only needs to keep sessions by their id.
+ *
+ * @since 0.961.1
+ */
+public interface SessionStore {
+
+    /**
+     * Get the name the store is configured by.
+     *
+     * @return name of the store
+     */
+    String getName();
+
+    /**
+     * Get a session.
+     *
+     * @param sessionId id of the session
+     * @return the session, or null if there is no such session
+     */
+    Session get(String sessionId);
+
+    /**
+     * Add a session.
+     *
+     * @param session session to add
+     */
+    void add(Session session);
+
+    /**
+     * Remove a session.
+     *
+     * @param sessionId id of the session
+     */
+    void remove(String sessionId);
+
+    /**
+     * Get the number of sessions in the store.
+     *
+     * @return the number of sessions
+     */
+    int size();
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * {@code TimerWheel} is a hierarchical timer wheel, which expires timers in constant time for each timer.
+ * <p>
+ * Each level of the wheel has 64 slots. A slot of the first level holds the timers which expire within one tick,
+ * and a slot of each next level spans all the slots of the level below it. A timer is kept at the lowest level
+ * which spans its deadline, and moves one level down whenever the wheel reaches its slot, until it reaches the
+ * first level and expires. A timer whose deadline is beyond the top level waits in the top level, and is put back
+ * there until its deadline is in range.
+ * <p>
+ * Timers may be scheduled from any thread. They are queued, and put into the wheel by the single thread which
+ * advances the wheel, so that the wheel itself needs no locking.
+ *
+ * @param <T> type of the items the timers are set for
+ * @since 0.961.1
+ */
+public class TimerWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<Timer<T>>[][] slots;
+    private final Queue<Timer<T>> scheduledTimers = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+
+    /**
+     * Create a timer wheel.
+     *
+     * @param tickMillis length of a tick in milliseconds, which is how precisely timers expire
+     * @param levels     number of levels, each of which spans 64 times the time of the level below it
+     * @param nowMillis  current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int levels, long nowMillis) {
+        if (tickMillis <= 0 || levels <= 0 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("invalid timer wheel of " + levels + " levels with a tick of "
+                    + tickMillis + "ms");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.slots = new List[levels][SLOT_COUNT];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Set a timer for an item. The timer expires at the first tick at or after its deadline.
+     *
+     * @param item           item the timer is set for
+     * @param deadlineMillis time to expire the timer at in milliseconds
+     */
+    public void schedule(T item, long deadlineMillis) {
+        scheduledTimers.add(new Timer<>(item, (deadlineMillis + tickMillis - 1) / tickMillis));
+    }
+
+    /**
+     * Advance the wheel up to the current time. Only one thread may advance the wheel at a time.
+     *
+     * @param nowMillis current time in milliseconds
+     * @param expired   receives the items of the timers which expired
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        List<T> expiredItems = new ArrayList<>();
+        Timer<T> scheduledTimer;
+        while ((scheduledTimer = scheduledTimers.poll()) != null) {
+            add(scheduledTimer, expiredItems);
+        }
+        long nowTick = nowMillis / tickMillis;
+        while (currentTick < nowTick) {
+            currentTick++;
+            // Move the timers of the higher levels which reach this tick down, before expiring the first level
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    List<Timer<T>> timers = takeSlot(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                    if (timers != null) {
+                        for (Timer<T> timer : timers) {
+                            add(timer, expiredItems);
+                        }
+                    }
+                }
+            }
+            List<Timer<T>> timers = takeSlot(0, (int) currentTick & SLOT_MASK);
+            if (timers != null) {
+                for (Timer<T> timer : timers) {
+                    // A timer beyond the range of a single level wheel waits here, and is put back until it is due
+                    add(timer, expiredItems);
+                }
+            }
+        }
+        expiredItems.forEach(expired);
+    }
+
+    private void add(Timer<T> timer, List<T> expiredItems) {
+        long ticks = timer.deadlineTick - currentTick;
+        if (ticks <= 0) {
+            expiredItems.add(timer.item);
+            return;
+        }
+        int level = 0;
+        while (level < levels - 1 && ticks >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long deadlineTick = timer.deadlineTick;
+        if (ticks >= 1L << (SLOT_BITS * levels)) {
+            // Beyond the top level, so wait in the last slot the top level reaches, and be put back from there
+            deadlineTick = currentTick + (1L << (SLOT_BITS * levels)) - 1;
+        }
+        int slot = (int) (deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK;
+        List<Timer<T>> timers = slots[level][slot];
+        if (timers == null) {
+            timers = new ArrayList<>();
+            slots[level][slot] = timers;
+        }
+        timers.add(timer);
+    }
+
+    private List<Timer<T>> takeSlot(int level, int slot) {
+        List<Timer<T>> timers = slots[level][slot];
+        slots[level][slot] = null;
+        return timers;
+    }
+
+    /**
+     * {@code Timer} is an item with the tick it expires at.
+     *
+     * @param <T> type of the item
+     */
+    private static class Timer<T> {
+
+        private final T item;
+        private final long deadlineTick;
+
+        Timer(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
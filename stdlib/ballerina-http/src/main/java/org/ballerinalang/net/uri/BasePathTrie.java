@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.uri;
+
+import org.ballerinalang.net.http.HttpConstants;
+
+import java.util.Arrays;
+
+/**
+ * {@code BasePathTrie} holds the base paths of the services of a listener interface in a tree of path segments,
+ * so that the most specific base path of a request path is found with a single walk over the request path.
+ * <p>
+ * Segments are compared ignoring case. Each node keeps its children sorted, and a child is looked up with a binary
+ * search over a region of the request path, so that no part of the request path is copied.
+ *
+ * @since 0.961.1
+ */
+public class BasePathTrie {
+
+    private final TrieNode root = new TrieNode(null);
+
+    /**
+     * Add a base path. Of two base paths which only differ by case, the one added first is kept.
+     *
+     * @param basePath base path which starts with a '/' and does not end with one, or the default base path '/'
+     */
+    public synchronized void add(String basePath) {
+        TrieNode node = root;
+        if (!HttpConstants.DEFAULT_BASE_PATH.equals(basePath)) {
+            int start = 1;
+            while (start <= basePath.length()) {
+                int end = basePath.indexOf('/', start);
+                if (end < 0) {
+                    end = basePath.length();
+                }
+                node = node.getOrAddChild(basePath.substring(start, end));
+                start = end + 1;
+            }
+        }
+        if (node.basePath == null) {
+            node.basePath = basePath;
+        }
+    }
+
+    /**
+     * Find the longest base path which matches whole segments at the start of a request path.
+     *
+     * @param path path of the request
+     * @return the most specific base path, or null if no base path matches
+     */
+    public String findMostSpecificBasePath(String path) {
+        TrieNode node = root;
+        String basePath = root.basePath;
+        int start = path.startsWith(HttpConstants.DEFAULT_BASE_PATH) ? 1 : 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.getChild(path, start, end);
+            if (node == null) {
+                break;
+            }
+            if (node.basePath != null) {
+                basePath = node.basePath;
+            }
+            start = end + 1;
+        }
+        return basePath;
+    }
+
+    private static int compare(String segment, String path, int start, int end) {
+        int length = Math.min(segment.length(), end - start);
+        for (int i = 0; i < length; i++) {
+            char ch1 = fold(segment.charAt(i));
+            char ch2 = fold(path.charAt(start + i));
+            if (ch1 != ch2) {
+                return ch1 - ch2;
+            }
+        }
+        return segment.length() - (end - start);
+    }
+
+    private static char fold(char ch) {
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * {@code TrieNode} is a segment of the base paths, with the base path which ends with it, if any.
+     */
+    private static class TrieNode {
+
+        private final String segment;
+
+        // Sorted by segment, and replaced rather than modified so that lookups need no locking
+        private volatile TrieNode[] children = new TrieNode[0];
+
+        private volatile String basePath;
+
+        TrieNode(String segment) {
+            this.segment = segment;
+        }
+
+        TrieNode getChild(String path, int start, int end) {
+            TrieNode[] nodes = children;
+            int index = search(nodes, path, start, end);
+            return index >= 0 ? nodes[index] : null;
+        }
+
+        TrieNode getOrAddChild(String segment) {
+            TrieNode[] nodes = children;
+            int index = search(nodes, segment, 0, segment.length());
+            if (index >= 0) {
+                return nodes[index];
+            }
+            int insertAt = -index - 1;
+            TrieNode child = new TrieNode(segment);
+            TrieNode[] newNodes = Arrays.copyOf(nodes, nodes.length + 1);
+            System.arraycopy(nodes, insertAt, newNodes, insertAt + 1, nodes.length - insertAt);
+            newNodes[insertAt] = child;
+            children = newNodes;
+            return child;
+        }
+
+        private static int search(TrieNode[] nodes, String path, int start, int end) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int result = compare(nodes[mid].segment, path, start, end);
+                if (result < 0) {
+                    low = mid + 1;
+                } else if (result > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
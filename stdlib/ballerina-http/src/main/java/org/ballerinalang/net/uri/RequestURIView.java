@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.uri;
+
+import java.net.URI;
+
+/**
+ * {@code RequestURIView} is the path and query of a request URI, kept as offsets into the URI.
+ * <p>
+ * Most request URIs are a plain path, optionally followed by a query, with nothing escaped in them. Such a URI is
+ * split at its '?' without being parsed by {@link URI}, as its decoded path and query are the same as the raw ones,
+ * and each of them is only copied out of the URI once asked for. Any other URI is parsed and validated by
+ * {@link URI}.
+ *
+ * @since 0.961.1
+ */
+public class RequestURIView {
+
+    private final String uri;
+    private final int queryStart;
+    private final URI parsedUri;
+    private String path;
+    private String query;
+
+    private RequestURIView(String uri, int queryStart, URI parsedUri) {
+        this.uri = uri;
+        this.queryStart = queryStart;
+        this.parsedUri = parsedUri;
+    }
+
+    /**
+     * Create a view of a request URI.
+     *
+     * @param uri the request URI
+     * @return the view of the URI
+     * @throws IllegalArgumentException if the URI is not valid
+     */
+    public static RequestURIView create(String uri) {
+        int queryStart = -1;
+        // A URI which starts with "//" has an authority rather than a path
+        boolean plain = uri.startsWith("/") && !uri.startsWith("//");
+        for (int i = 0; plain && i < uri.length(); i++) {
+            char ch = uri.charAt(i);
+            if (ch == '?') {
+                if (queryStart < 0) {
+                    queryStart = i;
+                }
+            } else if (ch != '/' && !isPlainCharacter(ch)) {
+                plain = false;
+            }
+        }
+        if (!plain) {
+            return new RequestURIView(uri, -1, URI.create(uri));
+        }
+        return new RequestURIView(uri, queryStart, null);
+    }
+
+    /**
+     * Get the decoded path of the URI.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        if (parsedUri != null) {
+            return parsedUri.getPath();
+        }
+        if (path == null) {
+            path = queryStart < 0 ? uri : uri.substring(0, queryStart);
+        }
+        return path;
+    }
+
+    /**
+     * Get the decoded query of the URI.
+     *
+     * @return the query, or null if the URI has no query
+     */
+    public String getQuery() {
+        if (parsedUri != null) {
+            return parsedUri.getQuery();
+        }
+        return getRawQuery();
+    }
+
+    /**
+     * Get the query of the URI as it is in the URI.
+     *
+     * @return the query, or null if the URI has no query
+     */
+    public String getRawQuery() {
+        if (parsedUri != null) {
+            return parsedUri.getRawQuery();
+        }
+        if (query == null && queryStart >= 0) {
+            query = uri.substring(queryStart + 1);
+        }
+        return query;
+    }
+
+    /**
+     * Get the path of the URI as it is in the URI.
+     *
+     * @return the path
+     */
+    public String getRawPath() {
+        if (parsedUri != null) {
+            return parsedUri.getRawPath();
+        }
+        return getPath();
+    }
+
+    // Characters which stand for themselves in both the path and the query, other than '/' and '?'
+    private static boolean isPlainCharacter(char ch) {
+        if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')) {
+            return true;
+        }
+        switch (ch) {
+            case '-':
+            case '_':
+            case '.':
+            case '!':
+            case '~':
+            case '*':
+            case '\'':
+            case '(':
+            case ')':
+            case ';':
+            case ':':
+            case '@':
+            case '&':
+            case '=':
+            case '+':
+            case '$':
+            case ',':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
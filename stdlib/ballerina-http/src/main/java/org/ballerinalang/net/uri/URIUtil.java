@@ -27,6 +27,7 @@ import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -60,7 +61,7 @@ public class URIUtil {
             if (index != -1) {
                 String queryParamName = queryParam.substring(0, index).trim();
                 String queryParamValue = URLDecoder.decode(queryParam.substring(index + 1).trim(), "UTF-8");
-                if (queryParamValue.matches("")) {
+                if (queryParamValue.isEmpty()) {
                     queryParamsMap.put(queryParamName, new BString(""));
                     continue;
                 }
@@ -91,6 +92,12 @@ public class URIUtil {
         String[] pathSegments = pathSplits[0].split("/");
         String pathToMatrixParam = "";
         for (String pathSegment : pathSegments) {
+            if (pathSegment.indexOf(';') < 0) {
+                // Segments without matrix params are most of them, and need neither splitting nor a map
+                pathToMatrixParam = pathToMatrixParam.concat("/" + pathSegment);
+                matrixParams.put(pathToMatrixParam, Collections.emptyMap());
+                continue;
+            }
             String[] splitPathSegment = pathSegment.split(";");
             pathToMatrixParam = pathToMatrixParam.concat("/" + splitPathSegment[0]);
             Map<String, String> segmentMatrixParams = new HashMap<>();
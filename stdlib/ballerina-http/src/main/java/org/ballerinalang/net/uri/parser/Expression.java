@@ -80,8 +80,12 @@ public abstract class Expression<DataElementType extends DataElement> extends No
     }
 
     protected String decodeValue(String value) {
+        // Most values have nothing to decode
+        if (value.indexOf('%') < 0 && value.indexOf('+') < 0) {
+            return value;
+        }
         try {
-            return URLDecoder.decode(value.replaceAll("\\+", "%2B"), "UTF-8");
+            return URLDecoder.decode(value.replace("+", "%2B"), "UTF-8");
         } catch (UnsupportedEncodingException e) {
             throw new RuntimeException("Error while encoding value: " + value, e);
         }
@@ -46,33 +46,34 @@ public class Literal<DataElementType extends DataElement> extends Node<DataEleme
     }
 
     @Override
-    int match(String uriFragment, Map<String, String> variables) {
+    int match(String uri, int start, Map<String, String> variables) {
+        int fragmentLength = uri.length() - start;
         if (!token.endsWith("*")) {
-            if (uriFragment.length() < tokenLength) {
+            if (fragmentLength < tokenLength) {
                 return -1;
             }
             for (int i = 0; i < tokenLength; i++) {
-                if (token.charAt(i) != uriFragment.charAt(i)) {
+                if (token.charAt(i) != uri.charAt(start + i)) {
                     if (token.charAt(i) == '*' && i == token.length() - 1) {
-                        return uriFragment.length();
+                        return fragmentLength;
                     }
                     return -1;
                 }
             }
             return tokenLength;
         } else {
-            if (uriFragment.length() < tokenLength - 1) {
+            if (fragmentLength < tokenLength - 1) {
                 return -1;
             }
             for (int i = 0; i < tokenLength - 1; i++) {
-                if (token.charAt(i) != uriFragment.charAt(i)) {
+                if (token.charAt(i) != uri.charAt(start + i)) {
                     if (i == token.length() - 1) {
-                        return uriFragment.length();
+                        return fragmentLength;
                     }
                     return -1;
                 }
             }
-            return uriFragment.length();
+            return fragmentLength;
         }
     }
 
@@ -20,8 +20,8 @@ package org.ballerinalang.net.uri.parser;
 
 import org.ballerinalang.net.http.HttpConstants;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -34,7 +34,7 @@ public abstract class Node<DataElementType extends DataElement> {
 
     protected String token;
     protected DataElementType dataElement;
-    protected List<Node<DataElementType>> childNodesList = new LinkedList<>();
+    protected List<Node<DataElementType>> childNodesList = new ArrayList<>();
 
     protected Node(DataElementType dataElement, String token) {
         this.dataElement = dataElement;
@@ -59,46 +59,59 @@ public abstract class Node<DataElementType extends DataElement> {
         return node;
     }
 
-    public DataElementType matchAll(String uriFragment, Map<String, String> variables, int start) {
-        int matchLength = match(uriFragment, variables);
+    /**
+     * Match the uri from the given index onwards against this node and its children. The uri is walked with
+     * indexes into it rather than with substrings of it, so that a request is matched without copying its path.
+     *
+     * @param uri       the uri to match.
+     * @param variables map to which the values of the path params are added.
+     * @param start     index of the uri at which this node is matched.
+     * @return the data element of the matched node, or null if the uri does not match.
+     */
+    public DataElementType matchAll(String uri, Map<String, String> variables, int start) {
+        int matchLength = match(uri, start, variables);
         if (matchLength < 0) {
             return null;
         }
-        if (matchLength == uriFragment.length()) {
+        int end = start + matchLength;
+        if (end == uri.length()) {
             return dataElement;
         }
-        if (matchLength >= uriFragment.length()) {
+        if (end > uri.length()) {
             return null;
         }
-        String subUriFragment = nextURIFragment(uriFragment, matchLength);
-        String subPath = nextSubPath(subUriFragment);
 
+        int subUriStart = nextURIFragmentStart(uri, start, end);
+        int subPathEnd = uri.indexOf('/', subUriStart);
+        if (subPathEnd < 0) {
+            subPathEnd = uri.length();
+        }
         DataElementType dataElement;
-        for (Node<DataElementType> childNode : childNodesList) {
+        for (int i = 0; i < childNodesList.size(); i++) {
+            Node<DataElementType> childNode = childNodesList.get(i);
             if (childNode instanceof Literal) {
-                String regex = childNode.getToken();
-                if (regex.equals("*")) {
-                    regex = "." + regex;
-                    if (!subPath.matches(regex)) {
+                String token = childNode.getToken();
+                if (token.equals("*")) {
+                    if (!isSingleLine(uri, subUriStart, subPathEnd)) {
                         continue;
                     }
-                    dataElement = childNode.matchAll(subUriFragment, variables, start + matchLength);
+                    dataElement = childNode.matchAll(uri, variables, subUriStart);
                     if (dataElement != null) {
-                        setUriPostFix(variables, subUriFragment);
+                        setUriPostFix(variables, uri.substring(subUriStart));
                         return dataElement;
                     }
                     continue;
                 }
-                if (!subPath.contains(regex)) {
+                if (!containsToken(uri, subUriStart, subPathEnd, token)) {
                     continue;
                 }
-                dataElement = childNode.matchAll(subUriFragment, variables, start + matchLength);
+                dataElement = childNode.matchAll(uri, variables, subUriStart);
                 if (dataElement != null) {
                     return dataElement;
                 }
                 continue;
             }
-            dataElement = childNode.matchAll(subUriFragment, variables, start + matchLength);
+            dataElement = childNode.matchAll(uri, variables, subUriStart);
             if (dataElement != null) {
                 return dataElement;
             }
@@ -112,7 +125,12 @@ public abstract class Node<DataElementType extends DataElement> {
 
     abstract String expand(Map<String, String> variables);
 
-    abstract int match(String uriFragment, Map<String, String> variables);
+    /**
+     * Match the uri from the given index onwards against this node.
+     *
+     * @return the number of characters matched, or -1 if the uri does not match.
+     */
+    abstract int match(String uri, int start, Map<String, String> variables);
 
     abstract String getToken();
 
@@ -146,29 +164,27 @@ public abstract class Node<DataElementType extends DataElement> {
         }
     }
 
-    private String nextURIFragment(String uri, int matchLength) {
-        String uriFragment = uri;
-        if (uriFragment.startsWith("/")) {
-            uriFragment = uriFragment.substring(matchLength);
-        } else if (uriFragment.contains("/")) {
-            if (uriFragment.charAt(matchLength) == '/') {
-                uriFragment = uriFragment.substring(matchLength + 1);
-            } else {
-                uriFragment = uriFragment.substring(matchLength);
-            }
-        } else {
-            uriFragment = uriFragment.substring(matchLength);
+    private int nextURIFragmentStart(String uri, int start, int end) {
+        // The separator after a matched segment is skipped, unless the matched segment itself started with one
+        if (uri.charAt(start) != '/' && uri.charAt(end) == '/') {
+            return end + 1;
         }
-        return uriFragment;
+        return end;
     }
 
-    private String nextSubPath(String uriFragment) {
-        String subPath;
-        if (uriFragment.contains("/")) {
-            subPath = uriFragment.substring(0, uriFragment.indexOf("/"));
-        } else {
-            subPath = uriFragment;
+    private boolean containsToken(String uri, int subPathStart, int subPathEnd, String token) {
+        int index = uri.indexOf(token, subPathStart);
+        return index >= 0 && index + token.length() <= subPathEnd;
+    }
+
+    // Whether the sub path matches ".*", as the wildcard is matched against the sub path
+    private boolean isSingleLine(String uri, int subPathStart, int subPathEnd) {
+        for (int i = subPathStart; i < subPathEnd; i++) {
+            char ch = uri.charAt(i);
+            if (ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029') {
+                return false;
+            }
         }
-        return subPath;
+        return true;
     }
 }
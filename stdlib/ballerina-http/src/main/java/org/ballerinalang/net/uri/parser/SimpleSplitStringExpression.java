@@ -36,6 +36,8 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
             ':', '/', '?', '#', '[', ']', '@', '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '='
     };
 
+    private Pattern separatorPattern;
+
     public SimpleSplitStringExpression(DataElementType dataElement, String token) throws URITemplateException {
         super(dataElement, token);
     }
@@ -70,21 +72,21 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
     }
 
     @Override
-    int match(String uriFragment, Map<String, String> variables) {
-        int length = uriFragment.length();
+    int match(String uri, int start, Map<String, String> variables) {
+        int length = uri.length() - start;
         for (int i = 0; i < length; i++) {
-            char ch = uriFragment.charAt(i);
+            char ch = uri.charAt(start + i);
             if (isEndCharacter(ch)) {
                 if (ch == getSeparator() && variableList.size() > 0) {
                     continue;
                 }
 
-                if (!setVariables(uriFragment.substring(0, i), variables)) {
+                if (!setVariables(uri.substring(start, start + i), variables)) {
                     return -1;
                 }
                 return i;
             } else if (i == length - 1) {
-                if (!setVariables(uriFragment, variables)) {
+                if (!setVariables(uri.substring(start), variables)) {
                     return -1;
                 }
                 return length;
@@ -94,8 +96,10 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
     }
 
     protected boolean setVariables(String expressionValue, Map<String, String> variables) {
-        String separator = Pattern.quote(String.valueOf(getSeparator()));
-        String[] values = expressionValue.split(separator);
+        if (separatorPattern == null) {
+            separatorPattern = Pattern.compile(Pattern.quote(String.valueOf(getSeparator())));
+        }
+        String[] values = separatorPattern.split(expressionValue);
         int length = values.length;
         if (length > variableList.size()) {
             return false;
@@ -150,9 +154,9 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
         return false;
     }
 
-    protected boolean isEndCharacter(Character endCharacter) {
-        for (Node childNode : childNodesList) {
-            if (endCharacter == childNode.getFirstCharacter()) {
+    protected boolean isEndCharacter(char endCharacter) {
+        for (int i = 0; i < childNodesList.size(); i++) {
+            if (endCharacter == childNodesList.get(i).getFirstCharacter()) {
                 return true;
             }
         }
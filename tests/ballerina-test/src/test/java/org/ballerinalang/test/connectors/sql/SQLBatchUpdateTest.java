@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.SQLDBUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+/**
+ * Test class for batch updates sent in chunks, and inserts rewritten to insert many rows with one statement.
+ *
+ * @since 0.961.1
+ */
+public class SQLBatchUpdateTest {
+
+    private static final String DB_NAME = "TEST_SQL_BATCH_UPDATE";
+
+    private static final int ROW_COUNT = 50;
+
+    private static final int CHUNK_SIZE = 7;
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/connectors/sql/sql-batch-update.bal");
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/sql/SQLBatchUpdateTestData.sql");
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testBatchUpdate() {
+        int firstId = 1;
+        // A single batch, chunks, chunks committed one at a time, and chunks inserted with one statement each
+        Object[][] modes = {{-1, false, false}, {CHUNK_SIZE, false, false}, {CHUNK_SIZE, true, false},
+                {CHUNK_SIZE, true, true}, {-1, false, true}};
+        for (Object[] mode : modes) {
+            BIntArray counts = insertReadings(firstId, ROW_COUNT, (int) mode[0], (boolean) mode[1],
+                    (boolean) mode[2]);
+            Assert.assertEquals(counts.size(), ROW_COUNT);
+            for (int i = 0; i < ROW_COUNT; i++) {
+                Assert.assertEquals(counts.get(i), 1);
+            }
+            Assert.assertEquals(countReadings(firstId, firstId + ROW_COUNT - 1), ROW_COUNT);
+            firstId += ROW_COUNT;
+        }
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testFailedChunk() {
+        for (boolean rewrite : new boolean[]{false, true}) {
+            int firstId = rewrite ? 2000 : 1000;
+            insertReadings(firstId + 2 * CHUNK_SIZE, 1, -1, false, false);
+
+            // The third chunk fails on the row inserted above, and the chunks after it are not sent
+            BIntArray counts = insertReadings(firstId, ROW_COUNT, CHUNK_SIZE, true, rewrite);
+            Assert.assertEquals(counts.size(), ROW_COUNT);
+            for (int i = 0; i < 2 * CHUNK_SIZE; i++) {
+                Assert.assertEquals(counts.get(i), 1);
+            }
+            for (int i = 3 * CHUNK_SIZE; i < ROW_COUNT; i++) {
+                Assert.assertEquals(counts.get(i), -3);
+            }
+            Assert.assertEquals(countReadings(firstId, firstId + 2 * CHUNK_SIZE - 1), 2 * CHUNK_SIZE);
+            Assert.assertEquals(countReadings(firstId + 3 * CHUNK_SIZE, firstId + ROW_COUNT - 1), 0);
+        }
+    }
+
+    private BIntArray insertReadings(int firstId, int count, int batchChunkSize, boolean commitBatchChunks,
+            boolean rewriteBatchedInserts) {
+        BValue[] args = {new BInteger(firstId), new BInteger(count), new BInteger(batchChunkSize),
+                new BBoolean(commitBatchChunks), new BBoolean(rewriteBatchedInserts)};
+        return (BIntArray) BRunUtil.invoke(result, "insertReadings", args)[0];
+    }
+
+    private long countReadings(int firstId, int lastId) {
+        BValue[] args = {new BInteger(firstId), new BInteger(lastId)};
+        return ((BInteger) BRunUtil.invoke(result, "countReadings", args)[0]).intValue();
+    }
+
+    @AfterClass
+    public void cleanup() {
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.SQLDBUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+/**
+ * Test class for reading the rows of SQL query results in batches.
+ *
+ * @since 0.961.1
+ */
+public class SQLRowBatchTest {
+
+    private static final String DB_NAME = "TEST_SQL_ROW_BATCH";
+
+    private static final int ROW_COUNT = 20000;
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/connectors/sql/sql-row-batch.bal");
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/sql/SQLRowBatchTestData.sql");
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testIteration() {
+        long idSum = (long) ROW_COUNT * (ROW_COUNT + 1) / 2;
+        // Rows read one at a time with and without a fetch size, in batches which do not divide the row count and
+        // in a single batch
+        for (int fetchSize : new int[]{0, -1, 7, ROW_COUNT + 1}) {
+            BValue[] returns = BRunUtil.invoke(result, "sumMeasurements", new BValue[]{new BInteger(fetchSize)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), ROW_COUNT);
+            Assert.assertEquals(((BInteger) returns[1]).intValue(), idSum);
+            Assert.assertEquals(((BFloat) returns[2]).floatValue(), idSum * 1.5, 0.001);
+            Assert.assertEquals(((BInteger) returns[3]).intValue(), ROW_COUNT / 2);
+        }
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testToJson() {
+        BValue[] expected = BRunUtil.invoke(result, "measurementsToJson",
+                new BValue[]{new BInteger(0), new BInteger(25)});
+        Assert.assertTrue(expected[0].stringValue().contains("\"LABEL\":\"label 25\""));
+
+        BValue[] returns = BRunUtil.invoke(result, "measurementsToJson",
+                new BValue[]{new BInteger(7), new BInteger(25)});
+        Assert.assertEquals(returns[0].stringValue(), expected[0].stringValue());
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testToXml() {
+        BValue[] expected = BRunUtil.invoke(result, "measurementsToXml",
+                new BValue[]{new BInteger(0), new BInteger(25)});
+        BValue[] returns = BRunUtil.invoke(result, "measurementsToXml",
+                new BValue[]{new BInteger(7), new BInteger(25)});
+        Assert.assertEquals(returns[0].stringValue(), expected[0].stringValue());
+    }
+
+    @AfterClass
+    public void cleanup() {
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.SQLDBUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+/**
+ * Test class for caching prepared statements of SQL connector actions.
+ *
+ * @since 0.961.1
+ */
+public class SQLStatementCacheTest {
+
+    private static final String DB_NAME = "TEST_SQL_STATEMENT_CACHE";
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/connectors/sql/sql-statement-cache.bal");
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/sql/SQLTableCreate.sql");
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testCachedSelect() {
+        BValue[] returns = BRunUtil.invoke(result, "selectById", new BValue[]{new BInteger(10), new BInteger(-1)});
+        Assert.assertEquals(returns[0].stringValue(), "Peter");
+
+        returns = BRunUtil.invoke(result, "selectById", new BValue[]{new BInteger(10), new BInteger(0)});
+        Assert.assertEquals(returns[0].stringValue(), "Peter");
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testCachedUpdate() {
+        BValue[] returns = BRunUtil.invoke(result, "insertCustomers", new BValue[]{new BInteger(10), new BInteger(1)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testExpandedArrayParameters() {
+        BValue[] returns = BRunUtil.invoke(result, "countByIds",
+                new BValue[]{new BIntArray(new long[]{1, 2}), new BIntArray(new long[]{1, 2, 3})});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1);
+
+        // The same query, expanded again for arrays of a different size
+        returns = BRunUtil.invoke(result, "countByIds",
+                new BValue[]{new BIntArray(new long[]{1}), new BIntArray(new long[]{1, 2})});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+    }
+}
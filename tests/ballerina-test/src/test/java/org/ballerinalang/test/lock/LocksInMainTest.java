@@ -243,6 +243,17 @@ public class LocksInMainTest {
 
     }
 
+    @Test(description = "Tests lock accessing only globals which are never reassigned")
+    public void testLockReadOnlyGlobals() {
+        CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions.bal");
+
+        BValue[] returns =
+                BRunUtil.invoke(compileResult, "lockReadOnlyGlobals");
+        assertEquals(returns.length, 2);
+        assertEquals(((BInteger) returns[0]).intValue(), 20);
+        assertEquals(returns[1].stringValue(), "read only value");
+    }
+
     @Test(description = "Test lock negative cases")
     public void testLockNegativeCases() {
         CompileResult compileResult = BCompileUtil.compile("test-src/lock/locks-in-functions-negative.bal");
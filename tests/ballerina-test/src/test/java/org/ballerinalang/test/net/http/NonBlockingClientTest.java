@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.connector.api.BallerinaConnectorException;
+import org.ballerinalang.connector.api.ConnectorFutureListener;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
+import org.ballerinalang.net.http.RetryConfig;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the retries and replies of non-blocking HTTP client actions.
+ *
+ * @since 0.961.1
+ */
+public class NonBlockingClientTest {
+
+    @Test
+    public void testRetryCount() {
+        Assert.assertFalse(new RetryConfig().shouldRetry());
+
+        RetryConfig retryConfig = new RetryConfig(3, 0);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(retryConfig.shouldRetry());
+            Assert.assertEquals(retryConfig.incrementCountAndGetDelay(), 0);
+        }
+        Assert.assertFalse(retryConfig.shouldRetry());
+    }
+
+    @Test
+    public void testFixedInterval() {
+        RetryConfig retryConfig = new RetryConfig(100, 1000);
+        for (int i = 0; i < 100; i++) {
+            assertDelay(retryConfig.incrementCountAndGetDelay(), 1000);
+        }
+    }
+
+    @Test
+    public void testBackOff() {
+        RetryConfig retryConfig = new RetryConfig(5, 100, 2, 500);
+        assertDelay(retryConfig.incrementCountAndGetDelay(), 100);
+        assertDelay(retryConfig.incrementCountAndGetDelay(), 200);
+        assertDelay(retryConfig.incrementCountAndGetDelay(), 400);
+        assertDelay(retryConfig.incrementCountAndGetDelay(), 500);
+        assertDelay(retryConfig.incrementCountAndGetDelay(), 500);
+        Assert.assertFalse(retryConfig.shouldRetry());
+    }
+
+    @Test
+    public void testJitterAtMaxWaitInterval() {
+        // Clients whose back off has reached the cap still retry at different times
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            RetryConfig retryConfig = new RetryConfig(3, 1000, 2, 1000);
+            retryConfig.incrementCountAndGetDelay();
+            long delay = retryConfig.incrementCountAndGetDelay();
+            assertDelay(delay, 1000);
+            delays.add(delay);
+        }
+        Assert.assertTrue(delays.size() > 1, "delays " + delays);
+    }
+
+    @Test
+    public void testReplyBeforeListener() {
+        ClientConnectorFuture future = new ClientConnectorFuture();
+        future.notifyReply(new BString("reply"));
+        CountingListener listener = new CountingListener();
+        future.setConnectorFutureListener(listener);
+        Assert.assertEquals(listener.replies.get(), 1);
+
+        future = new ClientConnectorFuture();
+        future.notifyFailure(new BallerinaConnectorException("failed"));
+        listener = new CountingListener();
+        future.setConnectorFutureListener(listener);
+        Assert.assertEquals(listener.failures.get(), 1);
+        Assert.assertEquals(listener.replies.get(), 0);
+    }
+
+    @Test
+    public void testReplyWhileSettingListener() throws Exception {
+        // A reply which comes in on another thread while the VM sets the listener reaches the listener once
+        int iterations = 10000;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            for (int i = 0; i < iterations; i++) {
+                ClientConnectorFuture future = new ClientConnectorFuture();
+                CountingListener listener = new CountingListener();
+                executor.execute(() -> {
+                    await(barrier);
+                    future.notifyReply(new BString("reply"));
+                });
+                await(barrier);
+                future.setConnectorFutureListener(listener);
+                Assert.assertTrue(listener.replied.await(10, TimeUnit.SECONDS), "reply lost in iteration " + i);
+                Assert.assertEquals(listener.replies.get(), 1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(description = "Test whether a refused request is retried on the timer, and the action then returns")
+    public void testRetryThroughAction() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            // Nothing listens on the port once it is closed, so each attempt is refused
+            port = socket.getLocalPort();
+        }
+        CompileResult compileResult = BCompileUtil.compile("test-src/net/http/client-retry.bal");
+
+        long start = System.nanoTime();
+        BValue[] returns = BRunUtil.invoke(compileResult, "testRetryRefusedConnection",
+                new BValue[]{new BString("http://localhost:" + port)});
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // The VM context resumed with the error of the last attempt
+        Assert.assertNull(returns[0]);
+        Assert.assertTrue(returns[1] instanceof BStruct);
+        Assert.assertFalse(((BStruct) returns[1]).getStringField(0).isEmpty());
+        // Two retries, each waiting for 200ms less the jitter
+        Assert.assertTrue(elapsedMillis >= 2 * Math.round(200 * (1 - RetryConfig.JITTER)),
+                "retried in " + elapsedMillis + "ms");
+    }
+
+    private static void assertDelay(long delay, long interval) {
+        Assert.assertTrue(delay >= Math.round(interval * (1 - RetryConfig.JITTER)), "delay " + delay);
+        Assert.assertTrue(delay <= Math.round(interval * (1 + RetryConfig.JITTER)), "delay " + delay);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@code CountingListener} counts the notifications of a future.
+     */
+    private static class CountingListener implements ConnectorFutureListener {
+
+        private final AtomicInteger replies = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final CountDownLatch replied = new CountDownLatch(1);
+
+        @Override
+        public void notifySuccess() {
+        }
+
+        @Override
+        public void notifyReply(BValue... response) {
+            replies.incrementAndGet();
+            replied.countDown();
+        }
+
+        @Override
+        public void notifyFailure(BallerinaConnectorException ex) {
+            failures.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.net.http.resiliency;
+
+import org.ballerinalang.net.http.resiliency.CircuitBreaker;
+import org.ballerinalang.net.http.resiliency.RollingWindow;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the state and rolling window of the native circuit breaker.
+ *
+ * @since 0.961.1
+ */
+public class CircuitBreakerStateTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testTypicalScenario() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.1, 2000);
+        long now = 0;
+        request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+        request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.REJECTED);
+        Assert.assertEquals(circuitBreaker.getRemainingOpenTime(now + 500 * MILLIS), 1500);
+
+        now += 5000 * MILLIS;
+        Assert.assertEquals(circuitBreaker.getRemainingOpenTime(now), 0);
+        request(circuitBreaker, now, false, CircuitBreaker.PROBE);
+        request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+        request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+    }
+
+    @Test
+    public void testTrialRunFailure() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.1, 2000);
+        long now = 0;
+        request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.REJECTED);
+
+        now += 5000 * MILLIS;
+        request(circuitBreaker, now, true, CircuitBreaker.PROBE);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.REJECTED);
+        Assert.assertEquals(circuitBreaker.getRemainingOpenTime(now), 2000);
+    }
+
+    @Test
+    public void testLimitedProbes() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 10000, 10, 2);
+        long now = 0;
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+
+        now += 1000 * MILLIS;
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.PROBE);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.PROBE);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.REJECTED);
+
+        circuitBreaker.complete(CircuitBreaker.PROBE, now, false, now);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.ALLOWED);
+        // The other probe completes after the circuit closed, and is counted as any other request
+        circuitBreaker.complete(CircuitBreaker.PROBE, now, false, now);
+        Assert.assertEquals(circuitBreaker.getRollingWindow().getSuccessCount(now), 1);
+    }
+
+    @Test
+    public void testLostProbeExpires() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000);
+        long now = 0;
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+
+        // The probe is never completed, and holds the circuit half open only until the reset timeout has passed
+        now += 1000 * MILLIS;
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.PROBE);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now + 999 * MILLIS), CircuitBreaker.REJECTED);
+        now += 1000 * MILLIS;
+        request(circuitBreaker, now, false, CircuitBreaker.PROBE);
+        request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+    }
+
+    @Test
+    public void testRollingWindow() {
+        RollingWindow window = new RollingWindow(1000 * MILLIS, 10);
+        long now = 0;
+        window.record(now, true, 5 * MILLIS);
+        window.record(now + 150 * MILLIS, false, 10 * MILLIS);
+        window.record(now + 950 * MILLIS, false, 15 * MILLIS);
+        Assert.assertEquals(window.getFailureCount(now + 950 * MILLIS), 1);
+        Assert.assertEquals(window.getSuccessCount(now + 950 * MILLIS), 2);
+        Assert.assertEquals(window.getTotalLatency(now + 950 * MILLIS), 30 * MILLIS);
+
+        // The first bucket has rolled out of the window, and is reused for the next request
+        now += 1000 * MILLIS;
+        Assert.assertEquals(window.getFailureCount(now), 0);
+        window.record(now, false, 20 * MILLIS);
+        Assert.assertEquals(window.getFailureCount(now), 0);
+        Assert.assertEquals(window.getSuccessCount(now), 3);
+
+        now += 2000 * MILLIS;
+        Assert.assertEquals(window.getSuccessCount(now), 0);
+    }
+
+    @Test
+    public void testOldFailuresAreForgotten() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 1000, 10, 1);
+        long now = 0;
+        for (int i = 0; i < 3; i++) {
+            request(circuitBreaker, now, false, CircuitBreaker.ALLOWED);
+        }
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+        now += 600 * MILLIS;
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+
+        // Two of five requests failed, which is not above the threshold. Once the successes have rolled out of the
+        // window, another failure opens the circuit.
+        now += 600 * MILLIS;
+        Assert.assertEquals(circuitBreaker.getRollingWindow().getSuccessCount(now), 0);
+        request(circuitBreaker, now, true, CircuitBreaker.ALLOWED);
+        Assert.assertEquals(circuitBreaker.tryAcquire(now), CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    public void testConcurrentRequests() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 1000);
+        int threadCount = 4;
+        int requestCount = 100000;
+        long now = System.nanoTime();
+        // Record one request first, so that the bucket is cleared before the threads race on it
+        RollingWindow window = circuitBreaker.getRollingWindow();
+        window.record(now, false, 0);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < requestCount; j++) {
+                    int permit = circuitBreaker.tryAcquire(now);
+                    circuitBreaker.complete(permit, now, j % 2 == 0, now);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(window.getSuccessCount(now), threadCount * requestCount / 2 + 1);
+        Assert.assertEquals(window.getFailureCount(now), threadCount * requestCount / 2);
+    }
+
+    private static void request(CircuitBreaker circuitBreaker, long now, boolean failed, int expectedPermit) {
+        int permit = circuitBreaker.tryAcquire(now);
+        Assert.assertEquals(permit, expectedPermit);
+        circuitBreaker.complete(permit, now, failed, now);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.uri.BasePathTrie;
+import org.ballerinalang.net.uri.URITemplate;
+import org.ballerinalang.net.uri.URITemplateException;
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.Literal;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for finding the base path of a request, and matching the rest of the request path to a resource.
+ *
+ * @since 0.961.1
+ */
+public class BasePathTrieTest {
+
+    @Test
+    public void testMostSpecificBasePath() {
+        BasePathTrie basePaths = new BasePathTrie();
+        basePaths.add("/hello/world");
+        basePaths.add("/hello");
+        basePaths.add("/Foo/bar");
+
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/world/echo"), "/hello/world");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/worlds"), "/hello");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/"), "/hello");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/HELLO"), "/hello");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/foo/bar/baz"), "/Foo/bar");
+        Assert.assertNull(basePaths.findMostSpecificBasePath("/foo"));
+        Assert.assertNull(basePaths.findMostSpecificBasePath("/echo/hello"));
+
+        basePaths.add(HttpConstants.DEFAULT_BASE_PATH);
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/foo"), "/");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/"), "/");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/world"), "/hello/world");
+    }
+
+    @Test
+    public void testResourceMatching() throws URITemplateException, UnsupportedEncodingException {
+        URITemplate<String, Object> template = createTemplate();
+        template.parse("/orders/{orderId}", "order", TestDataElement::new);
+        template.parse("/orders/{orderId}/items/*", "items", TestDataElement::new);
+
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertEquals(template.matches("/orders/12", variables, null), "order");
+        Assert.assertEquals(variables.get("orderId"), "12");
+
+        variables.clear();
+        Assert.assertEquals(template.matches("/orders/12/items/3/price", variables, null), "items");
+        Assert.assertEquals(variables.get("orderId"), "12");
+        Assert.assertEquals(variables.get(HttpConstants.EXTRA_PATH_INFO), "/3/price");
+
+        Assert.assertNull(template.matches("/customers/12", new HashMap<>(), null));
+
+        URITemplate<String, Object> rangeTemplate = createTemplate();
+        rangeTemplate.parse("/orders/{from}+{to}", "range", TestDataElement::new);
+        variables.clear();
+        Assert.assertEquals(rangeTemplate.matches("/orders/12+20", variables, null), "range");
+        Assert.assertEquals(variables.get("from"), "12");
+        Assert.assertEquals(variables.get("to"), "20");
+    }
+
+    private static URITemplate<String, Object> createTemplate() throws URITemplateException {
+        return new URITemplate<>(new Literal<>(new TestDataElement(), "/"));
+    }
+
+    /**
+     * {@code TestDataElement} holds the name of a resource.
+     */
+    private static class TestDataElement implements DataElement<String, Object> {
+
+        private String resource;
+
+        @Override
+        public void setData(String resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        public String getData(Object inboundMessage) {
+            return resource;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.uri.RequestURIView;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+
+/**
+ * Test class for the view of the path and query of request URIs.
+ *
+ * @since 0.961.1
+ */
+public class RequestURIViewTest {
+
+    private static final String[] URIS = {
+            "/", "/hello", "/hello/world/", "/hello?", "/hello?name=ballerina&id=10", "/hello?a=b?c/d",
+            "/hello;a=b/world", "/hello%20world?name=a%20b", "/hello?name=a+b", "/hello#top", "//host/hello",
+            "hello/world", "/products/{id}", "/hello?name=a|b"
+    };
+
+    @Test
+    public void testPlainURI() {
+        RequestURIView uri = RequestURIView.create("/hello/world?name=ballerina&id=10");
+        Assert.assertEquals(uri.getPath(), "/hello/world");
+        Assert.assertEquals(uri.getRawPath(), "/hello/world");
+        Assert.assertEquals(uri.getQuery(), "name=ballerina&id=10");
+        Assert.assertEquals(uri.getRawQuery(), "name=ballerina&id=10");
+        Assert.assertNull(RequestURIView.create("/hello").getQuery());
+    }
+
+    @Test
+    public void testEscapedURI() {
+        RequestURIView uri = RequestURIView.create("/hello%20world?name=a%20b");
+        Assert.assertEquals(uri.getPath(), "/hello world");
+        Assert.assertEquals(uri.getRawPath(), "/hello%20world");
+        Assert.assertEquals(uri.getQuery(), "name=a b");
+        Assert.assertEquals(uri.getRawQuery(), "name=a%20b");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidURI() {
+        RequestURIView.create("/hello world");
+    }
+
+    @Test
+    public void testSameAsURI() {
+        for (String uriString : URIS) {
+            if (!isValid(uriString)) {
+                Assert.assertFalse(isValidView(uriString), uriString);
+                continue;
+            }
+            URI expected = URI.create(uriString);
+            RequestURIView uri = RequestURIView.create(uriString);
+            Assert.assertEquals(uri.getPath(), expected.getPath(), uriString);
+            Assert.assertEquals(uri.getRawPath(), expected.getRawPath(), uriString);
+            Assert.assertEquals(uri.getQuery(), expected.getQuery(), uriString);
+            Assert.assertEquals(uri.getRawQuery(), expected.getRawQuery(), uriString);
+        }
+    }
+
+    private static boolean isValid(String uri) {
+        try {
+            URI.create(uri);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isValidView(String uri) {
+        try {
+            RequestURIView.create(uri);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -277,6 +277,33 @@ public class UriTemplateBestMatchTest {
                 , "Resource dispatched to wrong template");
     }
 
+    @Test(description = "Test dispatching with a base path in a different case. /HELLO/World/echo2")
+    public void testBasePathIgnoresCase() {
+        String path = "/HELLO/World/echo2";
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        HTTPCarbonMessage response = Services.invokeNew(application, cMsg);
+
+        Assert.assertNotNull(response, "Response message not found");
+        BJSON bJson = new BJSON(new HttpMessageDataStreamer(response).getInputStream());
+
+        Assert.assertEquals(bJson.value().get("echo1").asText(), "echo1"
+                , "Resource dispatched to wrong template");
+    }
+
+    @Test(description = "Test dispatching with a base path which is not at the start of the path. "
+            + "/echo33/abcd/hello/world")
+    public void testBasePathInsidePath() {
+        String path = "/echo33/abcd/hello/world";
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        HTTPCarbonMessage response = Services.invokeNew(application, cMsg);
+
+        Assert.assertNotNull(response, "Response message not found");
+        BJSON bJson = new BJSON(new HttpMessageDataStreamer(response).getInputStream());
+
+        Assert.assertEquals(bJson.value().get("echo33").asText(), "echo2"
+                , "Resource dispatched to wrong service");
+    }
+
     @Test(description = "Test dispatching with all default values")
     public void testAllDefaultValues() {
         String path = "/echo44/echo1?foo=zzz";
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.services.session;
+
+import org.ballerinalang.net.http.session.Session;
+import org.ballerinalang.net.http.session.SessionManager;
+import org.ballerinalang.net.http.session.TimerWheel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for the timer wheel which expires HTTP sessions.
+ *
+ * @since 0.961.1
+ */
+public class SessionExpiryTest {
+
+    @Test(description = "Test whether timers expire at the first tick at or after their deadlines")
+    public void testTimersExpireOnTime() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(10, 2, 0);
+        timerWheel.schedule("a", 25);
+        timerWheel.schedule("b", 30);
+        timerWheel.schedule("c", 100);
+        List<String> expired = new ArrayList<>();
+
+        timerWheel.advance(29, expired::add);
+        Assert.assertTrue(expired.isEmpty());
+        timerWheel.advance(30, expired::add);
+        Assert.assertEquals(expired, Arrays.asList("a", "b"));
+        timerWheel.advance(99, expired::add);
+        Assert.assertEquals(expired.size(), 2);
+        timerWheel.advance(100, expired::add);
+        Assert.assertEquals(expired, Arrays.asList("a", "b", "c"));
+    }
+
+    @Test(description = "Test whether timers of the higher levels move down and expire on time")
+    public void testTimersCascade() {
+        TimerWheel<Long> timerWheel = new TimerWheel<>(1, 3, 0);
+        List<Long> deadlines = Arrays.asList(63L, 64L, 65L, 4095L, 4096L, 4097L, 100000L);
+        deadlines.forEach(deadline -> timerWheel.schedule(deadline, deadline));
+        List<Long> expired = new ArrayList<>();
+        for (long now = 1; now <= 100000; now++) {
+            long currentTime = now;
+            timerWheel.advance(now, deadline -> {
+                Assert.assertEquals((long) deadline, currentTime);
+                expired.add(deadline);
+            });
+        }
+        Assert.assertEquals(expired, deadlines);
+    }
+
+    @Test(description = "Test whether timers beyond the range of the wheel wait at the top level until they are due")
+    public void testTimersBeyondRange() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(1, 1, 0);
+        timerWheel.schedule("far", 200);
+        List<String> expired = new ArrayList<>();
+        timerWheel.advance(199, expired::add);
+        Assert.assertTrue(expired.isEmpty());
+        timerWheel.advance(200, expired::add);
+        Assert.assertEquals(expired, Collections.singletonList("far"));
+    }
+
+    @Test(description = "Test whether timers which are already due expire with the next advance")
+    public void testOverdueTimers() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(1000, 3, 5000);
+        timerWheel.schedule("overdue", 1000);
+        List<String> expired = new ArrayList<>();
+        timerWheel.advance(5000, expired::add);
+        Assert.assertEquals(expired, Collections.singletonList("overdue"));
+    }
+
+    @Test(description = "Test scheduling timers from many threads while the wheel advances")
+    public void testConcurrentScheduling() throws InterruptedException {
+        TimerWheel<Integer> timerWheel = new TimerWheel<>(1, 3, 0);
+        int threadCount = 4;
+        int timerCount = 10000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < timerCount; j++) {
+                    timerWheel.schedule(j, j);
+                }
+            });
+            threads[i].start();
+        }
+        int[] expired = new int[1];
+        for (long now = 0; now < timerCount; now++) {
+            timerWheel.advance(now, item -> expired[0]++);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        timerWheel.advance(timerCount, item -> expired[0]++);
+        Assert.assertEquals(expired[0], threadCount * timerCount);
+    }
+
+    @Test(description = "Test whether an inactive session is invalidated by the session manager")
+    public void testInactiveSessionExpires() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        SessionManager sessionManager = new SessionManager(now::get);
+        Session session = sessionManager.createHTTPSession("/");
+        session.setMaxInactiveInterval(1);
+        Session activeSession = sessionManager.createHTTPSession("/");
+        activeSession.setMaxInactiveInterval(-1);
+
+        now.set(session.getLastAccessedTime() + 999);
+        sessionManager.expireSessions();
+        Assert.assertTrue(session.isValid());
+        now.set(session.getLastAccessedTime() + 2000);
+        sessionManager.expireSessions();
+        Assert.assertFalse(session.isValid());
+        Assert.assertNull(sessionManager.getHTTPSession(session.getId()));
+        Assert.assertTrue(activeSession.isValid());
+        activeSession.invalidate();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.values.BJSON;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests related to copying JSON values.
+ */
+public class JsonCopyTest {
+
+    private static final String DOCUMENT = "{\"a\":{\"b\":1,\"c\":[1,2]},\"d\":\"text\"}";
+
+    @Test
+    public void testCopyIsIndependent() {
+        BJSON json = new BJSON(DOCUMENT);
+        BJSON copy = (BJSON) json.copy();
+        Assert.assertEquals(copy.stringValue(), DOCUMENT);
+
+        JSONUtils.setElement(JSONUtils.getElement(copy, "a"), "b", new BJSON("2"));
+        Assert.assertEquals(json.stringValue(), DOCUMENT);
+        Assert.assertEquals(copy.stringValue(), "{\"a\":{\"b\":2,\"c\":[1,2]},\"d\":\"text\"}");
+
+        JSONUtils.setArrayElement(JSONUtils.getElement(JSONUtils.getElement(json, "a"), "c"), 0, new BJSON("5"));
+        Assert.assertEquals(json.stringValue(), "{\"a\":{\"b\":1,\"c\":[5,2]},\"d\":\"text\"}");
+        Assert.assertEquals(copy.stringValue(), "{\"a\":{\"b\":2,\"c\":[1,2]},\"d\":\"text\"}");
+    }
+
+    @Test
+    public void testReferencesTakenBeforeCopy() {
+        BJSON json = new BJSON(DOCUMENT);
+        BJSON a = JSONUtils.getElement(json, "a");
+        BJSON copy = (BJSON) json.copy();
+
+        JSONUtils.setElement(a, "b", new BJSON("3"));
+        Assert.assertEquals(json.stringValue(), "{\"a\":{\"b\":3,\"c\":[1,2]},\"d\":\"text\"}");
+        Assert.assertEquals(copy.stringValue(), DOCUMENT);
+    }
+
+    @Test
+    public void testCopyOfUpdatedJson() {
+        BJSON json = new BJSON(DOCUMENT);
+        JSONUtils.setElement(json, "e", new BJSON("true"));
+        BJSON copy = (BJSON) json.copy();
+        Assert.assertEquals(copy.stringValue(), "{\"a\":{\"b\":1,\"c\":[1,2]},\"d\":\"text\",\"e\":true}");
+
+        JSONUtils.remove(JSONUtils.getElement(copy, "a"), "b");
+        JSONUtils.setElement(JSONUtils.getElement(json, "a"), "f", new BJSON("null"));
+        Assert.assertEquals(json.stringValue(), "{\"a\":{\"b\":1,\"c\":[1,2],\"f\":null},\"d\":\"text\",\"e\":true}");
+        Assert.assertEquals(copy.stringValue(), "{\"a\":{\"c\":[1,2]},\"d\":\"text\",\"e\":true}");
+    }
+
+    @Test
+    public void testCopyOfConstructedJson() {
+        JsonNode node = new JsonNode();
+        node.set("name", "John");
+        JsonNode numbers = new JsonNode(JsonNode.Type.ARRAY);
+        numbers.add(1);
+        numbers.add(2.5);
+        node.set("numbers", numbers);
+        BJSON json = new BJSON(node);
+
+        BJSON copy = (BJSON) json.copy();
+        numbers.add(true);
+        Assert.assertEquals(copy.stringValue(), "{\"name\":\"John\",\"numbers\":[1,2.5]}");
+        Assert.assertEquals(json.stringValue(), "{\"name\":\"John\",\"numbers\":[1,2.5,true]}");
+    }
+
+    @Test
+    public void testCopyOfValues() {
+        Assert.assertEquals(new BJSON("\"hello\"").copy().stringValue(), "hello");
+        Assert.assertEquals(new BJSON("[1,2]").copy().stringValue(), "[1,2]");
+        Assert.assertEquals(new BJSON("1.5").copy().stringValue(), "1.5");
+    }
+
+    @Test
+    public void testConcurrentFirstAccess() throws InterruptedException {
+        int threadCount = 8;
+        for (int i = 0; i < 100; i++) {
+            JsonNode node = new BJSON(DOCUMENT).value().get("a");
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger loaded = new AtomicInteger();
+            Thread[] threads = new Thread[threadCount];
+            for (int j = 0; j < threadCount; j++) {
+                threads[j] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (node.get("b").longValue() == 1 && node.get("c").size() == 2) {
+                        loaded.incrementAndGet();
+                    }
+                });
+                threads[j].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            Assert.assertEquals(loaded.get(), threadCount);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.model.util.JsonGenerator;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests related to writing JSON values to output streams.
+ */
+public class JsonSerializationTest {
+
+    private static final String TEXT = "café வணக்கம் 😀";
+
+    @Test
+    public void testUtf8Output() {
+        JsonNode node = new JsonNode(JsonNode.Type.OBJECT);
+        node.set(TEXT, TEXT);
+        String expected = "{\"" + TEXT + "\":\"" + TEXT + "\"}";
+
+        Assert.assertEquals(serialize(new BJSON(node)), expected);
+        Assert.assertEquals(serialize(new BJSON(expected)), expected);
+        Assert.assertEquals(serialize(new BJSON(gen -> node.serialize(gen))), expected);
+        Assert.assertEquals(new BJSON(gen -> node.serialize(gen)).value().get(TEXT).stringValue(), TEXT);
+    }
+
+    @Test
+    public void testEscapedStrings() {
+        String value = "quote\" backslash\\ slash/ tab\t newline\n control\u0001 end";
+        JsonNode node = new JsonNode(JsonNode.Type.OBJECT);
+        node.set(value, value);
+        JsonNode array = new JsonNode(JsonNode.Type.ARRAY);
+        array.add("a");
+        array.add(value);
+        node.set("array", array);
+
+        String json = node.toString();
+        Assert.assertEquals(json, "{\"quote\\\" backslash\\\\ slash/ tab\\t newline\\n control\\u0001 end\":"
+                + "\"quote\\\" backslash\\\\ slash/ tab\\t newline\\n control\\u0001 end\","
+                + "\"array\":[\"a\",\"quote\\\" backslash\\\\ slash/ tab\\t newline\\n control\\u0001 end\"]}");
+
+        JsonNode parsed = JsonParser.parse(json);
+        Assert.assertEquals(parsed.get(value).stringValue(), value);
+        Assert.assertEquals(parsed.get("array").get(1).stringValue(), value);
+        Assert.assertEquals(serialize(new BJSON(json)), json);
+    }
+
+    @Test
+    public void testIncrementalOutput() {
+        String document = createDocument(1024 * 1024);
+        CountingOutputStream out = new CountingOutputStream();
+        new BJSON(document).serializeData(out);
+        Assert.assertEquals(out.bytes.toString(), document);
+        Assert.assertTrue(out.writes > 1, "the document should be written out in parts");
+    }
+
+    @Test
+    public void testMapOutput() {
+        BMap<String, BValue> inner = new BMap<>();
+        inner.put("name", new BString(TEXT));
+        BMap<String, BValue> map = new BMap<>();
+        map.put("count", new BInteger(2));
+        map.put("price", new BFloat(1.5));
+        map.put("inner", inner);
+        map.put("missing", null);
+        map.put("json", new BJSON("{\"a\":[1,2]}"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        map.serializeData(out);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), map.stringValue());
+    }
+
+    @Test
+    public void testGeneratorReuseAfterFlush() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator gen = new JsonGenerator(out);
+        gen.writeStartArray();
+        gen.writeString(TEXT);
+        gen.flush();
+        gen.writeNumber(1);
+        gen.writeEndArray();
+        gen.flush();
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), "[\"" + TEXT + "\",1]");
+    }
+
+    private static String serialize(BJSON json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.serializeData(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String createDocument(int size) {
+        StringBuilder sb = new StringBuilder(size + 256);
+        sb.append("{\"count\":0,\"items\":[");
+        for (int i = 0; sb.length() < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item ").append(i)
+                    .append("\",\"price\":").append(i * 1.25).append(",\"tags\":[\"a\",\"b\"]}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * An output stream which keeps the bytes written to it only while they are few.
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private static final int MAX_KEPT_BYTES = 2 * 1024 * 1024;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private int writes;
+
+        @Override
+        public void write(int b) {
+            this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.writes++;
+            if (this.bytes.size() < MAX_KEPT_BYTES) {
+                this.bytes.write(b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.util.JsonStructBinder;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests related to binding JSON values to structs and back.
+ */
+public class JsonStructBindingTest {
+
+    private static final String PARENT = "{\"name\":\"Parent\",\"age\":50,\"score\":1.0,\"alive\":false,"
+            + "\"info\":null,\"address\":null,\"marks\":null,\"tags\":null,\"parent\":null,\"children\":null}";
+
+    private static final String PERSON = "{\"name\":\"Child\",\"age\":25,\"score\":5.5,\"alive\":true,"
+            + "\"info\":{\"status\":\"single\"},\"address\":{\"city\":\"Colombo\",\"zip\":10100},"
+            + "\"marks\":[67,38,91],\"tags\":[\"a\",\"b\"],\"parent\":" + PARENT + ",\"children\":[" + PARENT + "]}";
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/types/jsontype/json-struct-binding.bal");
+    }
+
+    @Test
+    public void testJsonToStruct() {
+        BJSON json = new BJSON(PERSON);
+        BValue[] returns = BRunUtil.invoke(compileResult, "jsonToStruct", new BValue[]{json});
+        Assert.assertNull(returns[1]);
+
+        BStruct person = (BStruct) returns[0];
+        Assert.assertEquals(person.getStringField(0), "Child");
+        Assert.assertEquals(person.getIntField(0), 25);
+        Assert.assertEquals(person.getFloatField(0), 5.5);
+        Assert.assertEquals(person.getBooleanField(0), 1);
+        Assert.assertEquals(person.getRefField(0).stringValue(), "{\"status\":\"single\"}");
+        Assert.assertEquals(((BInteger) ((BMap) person.getRefField(1)).get("zip")).intValue(), 10100);
+        Assert.assertEquals(((BIntArray) person.getRefField(2)).get(2), 91);
+        Assert.assertEquals(((BStringArray) person.getRefField(3)).get(1), "b");
+        Assert.assertEquals(((BStruct) person.getRefField(4)).getStringField(0), "Parent");
+        Assert.assertNull(((BStruct) person.getRefField(4)).getRefField(0));
+        Assert.assertEquals(((BRefValueArray) person.getRefField(5)).size(), 1);
+        Assert.assertNotNull(json.getTape(), "binding the json should not build the object model");
+    }
+
+    @Test
+    public void testSameStructFromParsedAndBuiltJson() {
+        String[] documents = {
+                PERSON,
+                PARENT.replace("\"age\":50", "\"age\":50,\"age\":60"),
+                "{\"children\":[],\"parent\":null,\"tags\":[],\"marks\":[],\"address\":{},\"info\":[1,{\"a\":true}],"
+                        + "\"alive\":true,\"score\":-0.5,\"age\":-1,\"name\":\"\\u0041\\\"\",\"extra\":1}",
+                PARENT.replace("\"name\":\"Parent\"", "\"name\":{\"first\":\"Parent\"}"),
+        };
+        for (String document : documents) {
+            BValue[] fromTape = BRunUtil.invoke(compileResult, "jsonToStructToJson",
+                    new BValue[]{new BJSON(document)});
+            BValue[] fromNodes = BRunUtil.invoke(compileResult, "jsonToStructToJson",
+                    new BValue[]{new BJSON(JsonParser.parse(document))});
+            Assert.assertEquals(fromTape[0].stringValue(), fromNodes[0].stringValue(), document);
+        }
+    }
+
+    @Test
+    public void testSameErrorsFromParsedAndBuiltJson() {
+        String[] documents = {
+                PARENT.replace("\"age\":50,", ""),
+                PARENT.replace("\"age\":50", "\"age\":\"50\""),
+                PARENT.replace("\"score\":1.0", "\"score\":1"),
+                PARENT.replace("\"marks\":null", "\"marks\":[1,\"2\"]"),
+                PARENT.replace("\"address\":null", "\"address\":[]"),
+                PARENT.replace("\"parent\":null", "\"parent\":{\"name\":\"x\"}"),
+                PARENT.replace("\"children\":null", "\"children\":[1]"),
+                "[1,2]",
+        };
+        for (String document : documents) {
+            BValue[] fromTape = BRunUtil.invoke(compileResult, "jsonToStruct", new BValue[]{new BJSON(document)});
+            BValue[] fromNodes = BRunUtil.invoke(compileResult, "jsonToStruct",
+                    new BValue[]{new BJSON(JsonParser.parse(document))});
+            Assert.assertNull(fromTape[0], document);
+            Assert.assertNotNull(fromTape[1], document);
+            Assert.assertEquals(((BStruct) fromTape[1]).getStringField(0),
+                    ((BStruct) fromNodes[1]).getStringField(0), document);
+        }
+    }
+
+    @Test
+    public void testStructToJson() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "jsonToStruct", new BValue[]{new BJSON(PERSON)});
+        BStruct person = (BStruct) returns[0];
+
+        returns = BRunUtil.invoke(compileResult, "structToJson", new BValue[]{person});
+        Assert.assertNull(returns[1]);
+        Assert.assertEquals(returns[0].stringValue(), PERSON);
+
+        JsonStructBinder binder = JsonStructBinder.get((BStructType) person.getType());
+        Assert.assertSame(JsonStructBinder.get((BStructType) person.getType()), binder);
+    }
+}
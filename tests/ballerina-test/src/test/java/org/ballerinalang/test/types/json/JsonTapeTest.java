@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.model.util.JsonTape;
+import org.ballerinalang.model.values.BJSON;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests related to the tape based JSON parser.
+ */
+public class JsonTapeTest {
+
+    private static final String[] DOCUMENTS = {
+            "{\"name\":{\"fname\":\"Jack\",\"lname\":\"Taylor\"}, \"state\":\"CA\", \"age\":20}",
+            "{'books':[{'bookName':'book1','bookId':101},{'bookName':'book2','bookId':102}]}",
+            " [ 1, -2.5, 3.0e2, true, false, null, \"a\\\"b\\u0041\\n\", [], {} ] ",
+            "{\"a\":1, \"a\":2, \"b\":{\"c\":[1,2,{\"d\":\"e\"}]}}",
+            "{\"k0\":0,\"k1\":1,\"k2\":2,\"k3\":3,\"k4\":4,\"k5\":5,\"k6\":6,\"k7\":7,\"k8\":8,\"k1\":9}",
+            "\"text\"",
+            "-12",
+            "1.5",
+            "null",
+            "1234567890123456789",
+            "{\"a\":1]",
+    };
+
+    @Test
+    public void testSameTreeAsStateMachine() {
+        for (String document : DOCUMENTS) {
+            JsonNode expected = JsonParser.parse(document);
+            JsonTape tape = JsonParser.parseTape(document);
+            Assert.assertEquals(new BJSON(tape, 0).stringValue(), new BJSON(expected).stringValue(), document);
+            Assert.assertEquals(tape.getNode(0).toString(), expected.toString(), document);
+        }
+    }
+
+    @Test
+    public void testSameErrorsAsStateMachine() {
+        String[] invalidDocuments = {"", "{\"a\":}", "{\"a\":1,}", "[1 2]", "{\"a\" 1}", "\"abc", "{'a':'\\x'}"};
+        for (String document : invalidDocuments) {
+            RuntimeException expected = null;
+            try {
+                JsonParser.parse(document);
+            } catch (RuntimeException e) {
+                expected = e;
+            }
+            Assert.assertNotNull(expected, document);
+            try {
+                JsonParser.parseTape(document);
+                Assert.fail("expected an error for: " + document);
+            } catch (RuntimeException e) {
+                Assert.assertEquals(e.getClass(), expected.getClass(), document);
+                Assert.assertEquals(e.getMessage(), expected.getMessage(), document);
+            }
+        }
+    }
+
+    @Test
+    public void testLazyRead() {
+        BJSON json = new BJSON("{\"items\":[{\"id\":1},{\"id\":2,\"tags\":[\"x\",\"y\"]}],\"count\":2}");
+        BJSON items = JSONUtils.getElement(json, "items");
+        Assert.assertTrue(JSONUtils.isJSONArray(items));
+        Assert.assertEquals(JSONUtils.getJSONArrayLength(items), 2);
+        BJSON second = JSONUtils.getArrayElement(items, 1);
+        Assert.assertEquals(JSONUtils.getElement(second, "tags").stringValue(), "[\"x\",\"y\"]");
+        Assert.assertEquals(JSONUtils.getKeys(second).size(), 2);
+        Assert.assertNull(JSONUtils.getElement(json, "missing"));
+        Assert.assertNotNull(json.getTape(), "reading the json should not build the object model");
+    }
+
+    @Test
+    public void testMutationIsSeenByAllValues() {
+        BJSON json = new BJSON("{\"a\":{\"b\":1},\"c\":[1,2]}");
+        BJSON a = JSONUtils.getElement(json, "a");
+        BJSON c = JSONUtils.getElement(json, "c");
+
+        JSONUtils.setElement(a, "b", new BJSON("5"));
+        Assert.assertNull(a.getTape());
+        Assert.assertEquals(json.stringValue(), "{\"a\":{\"b\":5},\"c\":[1,2]}");
+
+        JSONUtils.setArrayElement(c, 2, new BJSON("3"));
+        Assert.assertEquals(json.stringValue(), "{\"a\":{\"b\":5},\"c\":[1,2,3]}");
+    }
+
+    @Test
+    public void testParseStream() {
+        String document = "{\"name\":\"été\", \"values\":[1,2,3]}";
+        JsonTape tape = JsonParser.parseTape(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8.name());
+        Assert.assertEquals(tape.stringValue(tape.get(0, "name")), "été");
+        Assert.assertEquals(tape.size(tape.get(0, "values")), 3);
+    }
+}
@@ -26,6 +26,7 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.model.values.SharedValues;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -108,6 +109,50 @@ public class BMapValueTest {
         assertEquals(map.hasKey(new BString("APIM")), true);
     }
 
+    @Test
+    public void testSharedBMap() {
+        BMap<String, BValue> inner = new BMap<>();
+        BMap<String, BValue> map = new BMap<>();
+        map.put("inner", inner);
+        Assert.assertFalse(map.isShared());
+
+        SharedValues.markShared(map);
+        Assert.assertTrue(map.isShared());
+        Assert.assertTrue(inner.isShared());
+
+        BMap<String, BValue> added = new BMap<>();
+        map.put("added", added);
+        Assert.assertTrue(added.isShared());
+        Assert.assertEquals(map.keySet().size(), 2);
+        Assert.assertTrue(map.hasKey("added"));
+
+        map.remove("inner");
+        assertEquals(map.size(), 1);
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentSharedBMap() throws InterruptedException {
+        BMap<String, BInteger> map = new BMap<>();
+        SharedValues.markShared(map);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int offset = t * 1000;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    map.put(String.valueOf(offset + i), new BInteger(i));
+                    map.hasKey(String.valueOf(offset + i / 2));
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(map.size(), 4000);
+    }
+
     @Test
     void testGrammar() {
         programFile = BCompileUtil.compile("test-src/types/map/map-value.bal");
@@ -251,4 +296,16 @@ public class BMapValueTest {
         BValue[] returnVals = BRunUtil.invoke(programFile, "testMapSynchronization", new BValue[0]);
         Assert.assertEquals(((BInteger) returnVals[0]).intValue(), 2000);
         }
+
+    @Test(dependsOnMethods = "testGrammar")
+    public void testMapStoredInSharedContainer() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testMapStoredInSharedStruct", new BValue[0]);
+        Assert.assertTrue(((BMap) returnVals[0]).isShared());
+
+        returnVals = BRunUtil.invoke(programFile, "testMapStoredInSharedArray", new BValue[0]);
+        Assert.assertTrue(((BMap) returnVals[0]).isShared());
+
+        returnVals = BRunUtil.invoke(programFile, "testMapStoredInLocalStruct", new BValue[0]);
+        Assert.assertFalse(((BMap) returnVals[0]).isShared());
+    }
 }
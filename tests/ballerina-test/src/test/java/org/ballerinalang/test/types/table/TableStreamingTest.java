@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.table;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BTable;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests related to writing tables out as JSON and XML, one row at a time.
+ */
+public class TableStreamingTest {
+
+    @Test
+    public void testJSONSerialization() {
+        RowIterator rows = new RowIterator(3);
+        BJSON json = JSONUtils.toJSON(new BTable(rows), false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.serializeData(out);
+
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8),
+                "[{\"ID\":1,\"NAME\":\"name 1\"},{\"ID\":2,\"NAME\":\"name 2\"},{\"ID\":3,\"NAME\":\"name 3\"}]");
+        Assert.assertTrue(rows.closed);
+    }
+
+    @Test
+    public void testXMLSerialization() {
+        RowIterator rows = new RowIterator(2);
+        BXML<?> xml = XMLUtils.tableToXML(new BTable(rows), false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        xml.serializeData(out);
+
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8),
+                "<results><result><ID>1</ID><NAME>name 1</NAME></result>"
+                        + "<result><ID>2</ID><NAME>name 2</NAME></result></results>");
+        Assert.assertTrue(rows.closed);
+    }
+
+    @Test
+    public void testXMLValue() {
+        // Building the element reads the rows, which are then written from the element
+        BXML<?> xml = XMLUtils.tableToXML(new BTable(new RowIterator(2)), false);
+        Assert.assertEquals(xml.children().length(), 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        xml.serializeData(out);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), xml.stringValue());
+    }
+
+    @Test
+    public void testFailedJSONWrite() {
+        RowIterator rows = new RowIterator(100000);
+        BJSON json = JSONUtils.toJSON(new BTable(rows), false);
+        try {
+            json.serializeData(new FailingOutputStream(64 * 1024));
+            Assert.fail("writing the table should fail");
+        } catch (BallerinaException e) {
+            // The connection is closed once the output fails, without reading the rest of the rows
+            Assert.assertTrue(rows.closed);
+            Assert.assertTrue(rows.row < 100000);
+        }
+    }
+
+    @Test
+    public void testFailedXMLWrite() {
+        RowIterator rows = new RowIterator(100000);
+        BXML<?> xml = XMLUtils.tableToXML(new BTable(rows), false);
+        try {
+            xml.serializeData(new FailingOutputStream(64 * 1024));
+            Assert.fail("writing the table should fail");
+        } catch (BallerinaException e) {
+            Assert.assertTrue(rows.closed);
+            Assert.assertTrue(rows.row < 100000);
+        }
+    }
+
+    /**
+     * {@code RowIterator} generates rows with an id and a name, and records whether it is closed.
+     */
+    private static class RowIterator implements DataIterator {
+
+        private final int rowCount;
+
+        private int row;
+
+        private boolean closed;
+
+        RowIterator(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public boolean next() {
+            if (closed || row == rowCount) {
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        @Override
+        public void close(boolean isInTransaction) {
+            closed = true;
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            return "name " + row;
+        }
+
+        @Override
+        public long getInt(int columnIndex) {
+            return row;
+        }
+
+        @Override
+        public double getFloat(int columnIndex) {
+            return row;
+        }
+
+        @Override
+        public boolean getBoolean(int columnIndex) {
+            return false;
+        }
+
+        @Override
+        public String getBlob(int columnIndex) {
+            return null;
+        }
+
+        @Override
+        public Object[] getStruct(int columnIndex) {
+            return null;
+        }
+
+        @Override
+        public Object[] getArray(int columnIndex) {
+            return null;
+        }
+
+        @Override
+        public BStruct generateNext() {
+            return null;
+        }
+
+        @Override
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return Arrays.asList(new ColumnDefinition("ID", TypeKind.INT),
+                    new ColumnDefinition("NAME", TypeKind.STRING));
+        }
+
+        @Override
+        public BStructType getStructType() {
+            return null;
+        }
+    }
+
+    /**
+     * {@code FailingOutputStream} fails once a given number of bytes are written to it, as when a client goes away.
+     */
+    private static class FailingOutputStream extends OutputStream {
+
+        private int remaining;
+
+        FailingOutputStream(int limit) {
+            this.remaining = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            remaining -= len;
+            if (remaining < 0) {
+                throw new IOException("connection closed");
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.xml;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.model.values.BXMLItem;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests related to selecting children and descendants of XML elements repeatedly.
+ */
+public class XMLIndexTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/types/xml/xml-index.bal");
+    }
+
+    @Test
+    public void testRepeatedSelection() {
+        BXML<?> order = new BXMLItem(createDocument(3));
+        Assert.assertSame(order.children("items"), order.children("items"));
+        Assert.assertSame(order.children(), order.children());
+        Assert.assertSame(order.descendants("item"), order.descendants("item"));
+
+        // Elements selected from a selection share the index of the document
+        BXML<?> items = order.children("items");
+        Assert.assertSame(items.getItem(0).children("item"), order.descendants("items").getItem(0).children("item"));
+        Assert.assertEquals(items.children("item").length(), 3);
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "countItems", new BValue[]{order, new BInteger(10)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 30);
+    }
+
+    @Test
+    public void testSetChildren() {
+        BXML<?> order = new BXMLItem(createDocument(3));
+        Assert.assertEquals(order.descendants("item").length(), 3);
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "addItem", new BValue[]{order, new BString("item 3")});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 4);
+        Assert.assertEquals(order.descendants("item").getItem(3).getTextValue().stringValue(), "item 3");
+        Assert.assertEquals(order.children("items").children("item").length(), 4);
+    }
+
+    @Test
+    public void testMoveChildren() {
+        BXML<?> from = new BXMLItem(createDocument(3));
+        BXML<?> to = new BXMLItem("<items/>");
+        Assert.assertEquals(to.children("item").length(), 0);
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "moveItems", new BValue[]{from, to});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+        Assert.assertEquals(to.children("item").length(), 3);
+        Assert.assertEquals(from.children("items").children().length(), 0);
+    }
+
+    @Test
+    public void testAttributes() {
+        BXML<?> order = new BXMLItem(createDocument(3));
+        BXML<?> items = order.children("items");
+
+        BMap<String, BString> attributes = new BMap<>();
+        attributes.put("count", new BString("3"));
+        items.getItem(0).setAttributes(attributes);
+        Assert.assertSame(order.children("items"), items);
+        Assert.assertEquals(order.children("items").getItem(0).getAttribute("count", ""), "3");
+    }
+
+    @Test
+    public void testUnparsedSelection() {
+        BXML<?> order = parse(createDocument(3));
+        BXML<?> items = order.children("items");
+        Assert.assertSame(order.children("items"), items);
+        Assert.assertSame(order.descendants("item"), order.descendants("item"));
+
+        // Changing an unparsed document builds it, and its selections are made from the built document
+        BXML<?> item = items.getItem(0).children("item").getItem(0);
+        items.getItem(0).addChildren(new BXMLItem("<item>item 3</item>"));
+        Assert.assertEquals(order.descendants("item").length(), 4);
+        Assert.assertEquals(order.children("items").children("item").getItem(0).stringValue(), item.stringValue());
+    }
+
+    private static BXML<?> parse(String document) {
+        return new BXMLItem(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String createDocument(int itemCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<order><id>order-1</id><items>");
+        for (int i = 0; i < itemCount; i++) {
+            sb.append("<item>item ").append(i).append("</item>");
+        }
+        return sb.append("</items></order>").toString();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.xml;
+
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests related to reading XML documents from streams without building the whole document.
+ */
+public class XMLLazyParsingTest {
+
+    private static final String SOAP = "{http://schemas.xmlsoap.org/soap/envelope/}";
+
+    private static final String ORD = "{http://example.com/orders}";
+
+    private static final String ENVELOPE_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+            + "xmlns:ord=\"http://example.com/orders\"><soap:Header><ord:trace id='t1'/></soap:Header>"
+            + "<soap:Body><ord:placeOrder><ord:id>order-1</ord:id><ord:items>";
+
+    private static final String ENVELOPE_END = "</ord:items></ord:placeOrder></soap:Body></soap:Envelope>";
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/types/xml/xml-lazy-parsing.bal");
+    }
+
+    @Test
+    public void testSelectFromStream() {
+        BXML<?> envelope = parse(createDocument(3)).elements();
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "getOrderId", new BValue[]{envelope});
+        Assert.assertEquals(returns[0].stringValue(), "order-1");
+
+        returns = BRunUtil.invoke(compileResult, "getItemNames", new BValue[]{envelope});
+        BXML<?> names = (BXML<?>) returns[0];
+        Assert.assertEquals(names.length(), 3);
+        Assert.assertEquals(names.getItem(2).getTextValue().stringValue(), "item 2 – café");
+
+        // Selected elements are written out as they are, with the namespaces of the ancestors they use
+        BXML<?> trace = envelope.children(SOAP + "Header").children(ORD + "trace");
+        Assert.assertEquals(trace.stringValue(), "<ord:trace xmlns:ord=\"http://example.com/orders\" id='t1'/>");
+        Assert.assertEquals(trace.getAttribute("id", null), "t1");
+        Assert.assertEquals(envelope.children(SOAP + "Header").children(ORD + "missing").length(), 0);
+    }
+
+    @Test
+    public void testSameValuesAsBuiltDocument() {
+        byte[] document = createDocument(5);
+        BXML<?> lazy = parse(document).elements();
+        BXML<?> built = new BXMLItem(OMXMLBuilderFactory.createOMBuilder(new ByteArrayInputStream(document))
+                .getDocumentElement());
+
+        Assert.assertEquals(lazy.getElementName().stringValue(), built.getElementName().stringValue());
+        Assert.assertEquals(lazy.getTextValue().stringValue(), built.getTextValue().stringValue());
+        assertSameItems(lazy.children(SOAP + "Body").children(ORD + "placeOrder"),
+                built.children(SOAP + "Body").children(ORD + "placeOrder"));
+        assertSameItems(lazy.descendants(ORD + "item"), built.descendants(ORD + "item"));
+        assertSameItems(lazy.descendants(ORD + "item").children(ORD + "price"),
+                built.descendants(ORD + "item").children(ORD + "price"));
+        assertSameItems(lazy.children(SOAP + "Header").elements(ORD + "trace"),
+                built.children(SOAP + "Header").elements(ORD + "trace"));
+    }
+
+    @Test
+    public void testChangesToSelectedElements() {
+        BXML<?> envelope = parse(createDocument(2)).elements();
+        BXML<?> trace = envelope.children(SOAP + "Header").children(ORD + "trace");
+        BXML<?> items = envelope.descendants(ORD + "items");
+        Assert.assertEquals(items.getItem(0).getAttributesMap().size(), 0);
+
+        BValue[] returns = BRunUtil.invoke(compileResult, "setOrderStatus",
+                new BValue[]{envelope, new BString("shipped")});
+        Assert.assertTrue(returns[0].stringValue().contains("<ord:placeOrder status=\"shipped\">"));
+
+        // Elements selected before the document was changed are a part of the changed document
+        trace.setAttribute("id", "", null, "t2");
+        items.setChildren(XMLUtils.parse("<ord:item xmlns:ord=\"http://example.com/orders\"/>"));
+        Assert.assertEquals(envelope.stringValue(), "<soap:Envelope "
+                + "xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\" xmlns:ord=\"http://example.com/orders\">"
+                + "<soap:Header><ord:trace id=\"t2\"/></soap:Header><soap:Body><ord:placeOrder status=\"shipped\">"
+                + "<ord:id>order-1</ord:id><ord:items><ord:item/></ord:items></ord:placeOrder></soap:Body>"
+                + "</soap:Envelope>");
+
+        // Copies are not changed along with the document
+        BXML<?> copy = parse(createDocument(2)).elements().copy();
+        copy.children(SOAP + "Header").children(ORD + "trace").setAttribute("id", "", null, "t3");
+        Assert.assertTrue(copy.stringValue().contains("<ord:trace id=\"t3\"/>"));
+    }
+
+    @Test
+    public void testSerializeUnchangedDocument() {
+        byte[] document = createDocument(2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parse(document).elements().serializeData(out);
+        String xml = new String(document, StandardCharsets.UTF_8);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), xml.substring(xml.indexOf('<', 1)));
+    }
+
+    @Test
+    public void testOtherEncodings() {
+        String document = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><a><b>café</b></a>";
+        BXML<?> xml = XMLUtils.parse(new ByteArrayInputStream(document.getBytes(StandardCharsets.ISO_8859_1)));
+        Assert.assertEquals(xml.elements().children("b").getTextValue().stringValue(), "café");
+
+        document = "<!DOCTYPE a [<!ENTITY e \"entity\">]><a><b>&e;</b></a>";
+        xml = XMLUtils.parse(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(xml.elements().children("b").getTextValue().stringValue(), "entity");
+    }
+
+    @Test(expectedExceptions = BallerinaException.class, expectedExceptionsMessageRegExp = "Unexpected close tag.*")
+    public void testMalformedDocument() {
+        parse("<a><b></a>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadingDoesNotBuildDocument() {
+        byte[] document = createDocument(1000);
+        BXML<?> envelope = parse(document).elements();
+
+        Assert.assertEquals(getOrderId(envelope), "order-1");
+        BXML<?> items = envelope.descendants(ORD + "item");
+        Assert.assertEquals(items.length(), 1000);
+        for (int i = 0; i < items.length(); i += 100) {
+            BXML<?> item = items.getItem(i);
+            Assert.assertEquals(item.getAttribute("code", null), "c" + i);
+            Assert.assertEquals(item.children(ORD + "price").getTextValue().stringValue(), i + ".25");
+            // Only an unparsed element is written out with the quotes of the document it was read from
+            Assert.assertTrue(item.stringValue().contains(" code='c" + i + "'>"), item.stringValue());
+        }
+
+        // Reading the selected elements has not bound the document to an object model either
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        envelope.serializeData(out);
+        String xml = new String(document, StandardCharsets.UTF_8);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), xml.substring(xml.indexOf('<', 1)));
+
+        // Until an element is changed, which binds the whole document
+        items.getItem(0).setAttribute("code", "", null, "changed");
+        Assert.assertTrue(items.getItem(1).stringValue().contains(" code=\"c1\">"), items.getItem(1).stringValue());
+        Assert.assertTrue(envelope.stringValue().contains("<ord:item code=\"changed\">"));
+    }
+
+    private static String getOrderId(BXML<?> envelope) {
+        return envelope.children(SOAP + "Body").children(ORD + "placeOrder").children(ORD + "id").getTextValue()
+                .stringValue();
+    }
+
+    private static void assertSameItems(BXML<?> actual, BXML<?> expected) {
+        Assert.assertEquals(actual.length(), expected.length());
+        for (int i = 0; i < expected.length(); i++) {
+            BXML<?> actualItem = actual.getItem(i);
+            BXML<?> expectedItem = expected.getItem(i);
+            Assert.assertEquals(actualItem.getElementName().stringValue(),
+                    expectedItem.getElementName().stringValue());
+            Assert.assertEquals(actualItem.getTextValue().stringValue(), expectedItem.getTextValue().stringValue());
+            Assert.assertEquals(actualItem.getAttributesMap().stringValue(),
+                    expectedItem.getAttributesMap().stringValue());
+            // The written out element is well-formed on its own
+            Assert.assertEquals(XMLUtils.parse(actualItem.stringValue()).stringValue(), expectedItem.stringValue());
+        }
+    }
+
+    private static BXML<?> parse(byte[] document) {
+        return XMLUtils.parse(new ByteArrayInputStream(document));
+    }
+
+    private static byte[] createDocument(int items) {
+        StringBuilder sb = new StringBuilder(ENVELOPE_START);
+        for (int i = 0; i < items; i++) {
+            appendItem(sb, i);
+        }
+        return sb.append(ENVELOPE_END).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendItem(StringBuilder sb, int i) {
+        sb.append("<ord:item code='c").append(i).append("'><ord:name>item ").append(i)
+                .append(" – café</ord:name><ord:price>").append(i).append(".25</ord:price></ord:item>");
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.Mnemonics;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Tests related to the bytecode optimizer run at the end of code generation.
+ */
+public class BytecodeOptimizerTest {
+
+    private CompileResult optimized;
+    private CompileResult unoptimized;
+
+    @BeforeClass
+    public void setup() {
+        this.optimized = BCompileUtil.compile("test-src/vm/bytecode-optimizer-test.bal");
+        Assert.assertEquals(optimized.getErrorCount(), 0);
+        this.unoptimized = BCompileUtil.compileWithoutOptimization("test-src/vm/bytecode-optimizer-test.bal");
+        Assert.assertEquals(unoptimized.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testInstructionCountReduced() {
+        int before = unoptimized.getProgFile().getEntryPackage().getInstructionCount();
+        int after = optimized.getProgFile().getEntryPackage().getInstructionCount();
+        Assert.assertTrue(after < before, "expected fewer than " + before + " instructions, found " + after);
+    }
+
+    @Test
+    public void testLoopResults() {
+        BValue[] args = {new BInteger(1001)};
+        assertSameResults("countEven", args);
+        BValue[] vals = BRunUtil.invoke(optimized, "countEven", args);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 501);
+
+        args = new BValue[]{new BInteger(20)};
+        assertSameResults("nestedLoops", args);
+        vals = BRunUtil.invoke(optimized, "nestedLoops", args);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 1540);
+    }
+
+    @Test
+    public void testConstantFolding() {
+        assertSameResults("foldConstants", new BValue[0]);
+        BValue[] vals = BRunUtil.invoke(optimized, "foldConstants", new BValue[0]);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 100);
+        Assert.assertEquals(((BBoolean) vals[1]).booleanValue(), false);
+    }
+
+    @Test
+    public void testCompareAndBranch() {
+        for (int x : new int[]{-5, 0, 1, 42, 99, 100, 500}) {
+            BValue[] args = {new BInteger(x)};
+            assertSameResults("compareChain", args);
+        }
+        BValue[] vals = BRunUtil.invoke(optimized, "compareChain", new BValue[]{new BInteger(42)});
+        Assert.assertEquals(((BString) vals[0]).stringValue(), "answer");
+    }
+
+    @Test(description = "Test fusing each kind of int comparison with the branch which consumes it")
+    public void testCompareAndBranchFusion() {
+        Assert.assertEquals(getCode(unoptimized, "compareAll").subList(1, 3), Arrays.asList(
+                "ieq 0 1 0",
+                "br_false 0 @6"));
+        Assert.assertEquals(getCode(optimized, "compareAll"), Arrays.asList(
+                "iconst_0 2",
+                "br_ine 0 1 @4",
+                "iadd_imm 2 1 2",
+                "goto @4",
+                "br_ieq 0 1 @7",
+                "iadd_imm 2 2 2",
+                "goto @7",
+                "br_ile 0 1 @10",
+                "iadd_imm 2 4 2",
+                "goto @10",
+                "br_ilt 0 1 @13",
+                "iadd_imm 2 8 2",
+                "goto @13",
+                "br_ige 0 1 @16",
+                "iadd_imm 2 16 2",
+                "goto @16",
+                "br_igt 0 1 @19",
+                "iadd_imm 2 32 2",
+                "goto @19",
+                "iret 0 2",
+                "ret"));
+        for (int[] operands : new int[][]{{1, 2}, {2, 2}, {3, 2}}) {
+            assertSameResults("compareAll", new BValue[]{new BInteger(operands[0]), new BInteger(operands[1])});
+        }
+    }
+
+    @Test(description = "Test turning additions and subtractions of small constants into immediate additions")
+    public void testAddImmediate() {
+        Assert.assertEquals(getCode(unoptimized, "addImmediates"), Arrays.asList(
+                "iconst_3 1",
+                "iadd 0 1 2",
+                "iret 0 2",
+                "iconst_4 3",
+                "iadd 3 0 4",
+                "iret 1 4",
+                "iconst_5 5",
+                "isub 0 5 6",
+                "iret 2 6",
+                "ret"));
+        Assert.assertEquals(getCode(optimized, "addImmediates"), Arrays.asList(
+                "iadd_imm 0 3 2",
+                "iret 0 2",
+                "iadd_imm 0 4 4",
+                "iret 1 4",
+                "iadd_imm 0 -5 6",
+                "iret 2 6",
+                "ret"));
+        assertSameResults("addImmediates", new BValue[]{new BInteger(10)});
+    }
+
+    @Test(description = "Test folding constant arithmetic and dropping the dead temporaries")
+    public void testFoldArithmetic() {
+        Assert.assertEquals(getCode(optimized, "foldArithmetic"), Arrays.asList(
+                "iconst #14 6",
+                "iret 0 6",
+                "ret"));
+        assertSameResults("foldArithmetic", new BValue[0]);
+    }
+
+    @Test(description = "Test folding a branch on a constant condition into a jump, or dropping it")
+    public void testFoldBranch() {
+        Assert.assertEquals(getCode(unoptimized, "foldBranch").subList(0, 4), Arrays.asList(
+                "iconst_3 0",
+                "iconst_2 1",
+                "igt 0 1 0",
+                "br_false 0 @8"));
+        Assert.assertEquals(getCode(optimized, "foldBranch"), Arrays.asList(
+                "sconst \"taken\" 0",
+                "sret 0 0",
+                "ret",
+                "goto @4",
+                "sconst \"not taken\" 0",
+                "sret 0 0",
+                "ret"));
+        assertSameResults("foldBranch", new BValue[0]);
+    }
+
+    @Test(description = "Test propagating constants through local variables")
+    public void testPropagateConstants() {
+        Assert.assertEquals(getCode(unoptimized, "propagateConstants"), Arrays.asList(
+                "iconst_5 0",
+                "iconst_2 2",
+                "iadd 0 2 1",
+                "iconst_2 2",
+                "imul 1 2 3",
+                "iret 0 3",
+                "ret"));
+        // Local variables are kept, only their values are propagated
+        Assert.assertEquals(getCode(optimized, "propagateConstants"), Arrays.asList(
+                "iconst_5 0",
+                "iconst #7 1",
+                "iconst #14 3",
+                "iret 0 3",
+                "ret"));
+        assertSameResults("propagateConstants", new BValue[0]);
+    }
+
+    @Test(description = "Test substituting copied temporaries with their sources and dropping the copies")
+    public void testPropagateCopies() {
+        Assert.assertEquals(getCode(unoptimized, "propagateCopies"), Arrays.asList(
+                "imove 0 1",
+                "iconst #7 2",
+                "iadd 1 2 3",
+                "iret 0 3",
+                "ret"));
+        Assert.assertEquals(getCode(optimized, "propagateCopies"), Arrays.asList(
+                "iadd_imm 0 7 3",
+                "iret 0 3",
+                "ret"));
+        assertSameResults("propagateCopies", new BValue[]{new BInteger(35)});
+    }
+
+    private void assertSameResults(String function, BValue[] args) {
+        BValue[] expected = BRunUtil.invoke(unoptimized, function, args);
+        BValue[] actual = BRunUtil.invoke(optimized, function, args);
+        Assert.assertEquals(actual.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(actual[i].stringValue(), expected[i].stringValue());
+        }
+    }
+
+    /**
+     * Returns the instructions of the given function. Jump targets are given relative to the start of the function
+     * as {@code @n}, and int and string constants by their values rather than their constant pool indexes.
+     */
+    private static List<String> getCode(CompileResult result, String functionName) {
+        PackageInfo packageInfo = result.getProgFile().getEntryPackage();
+        Instruction[] code = packageInfo.getInstructions();
+        int start = getCodeAddress(packageInfo.getFunctionInfo(functionName));
+        // The code of a function ends where the code of the next one starts
+        int end = code.length;
+        for (FunctionInfo functionInfo : packageInfo.getFunctionInfoEntries()) {
+            int address = getCodeAddress(functionInfo);
+            if (address > start && address < end) {
+                end = address;
+            }
+        }
+
+        List<String> instructions = new ArrayList<>();
+        for (int ip = start; ip < end; ip++) {
+            int opcode = code[ip].getOpcode();
+            int[] operands = code[ip].getOperands();
+            StringJoiner sj = new StringJoiner(" ");
+            sj.add(Mnemonics.getMnem(opcode));
+            for (int i = 0; i < operands.length; i++) {
+                if (i == 0 && opcode == InstructionCodes.ICONST) {
+                    sj.add("#" + ((IntegerCPEntry) packageInfo.getCPEntry(operands[i])).getValue());
+                } else if (i == 0 && opcode == InstructionCodes.SCONST) {
+                    sj.add("\"" + ((StringCPEntry) packageInfo.getCPEntry(operands[i])).getValue() + "\"");
+                } else if (i == operands.length - 1 && isJump(opcode)) {
+                    sj.add("@" + (operands[i] - start));
+                } else {
+                    sj.add(String.valueOf(operands[i]));
+                }
+            }
+            instructions.add(sj.toString());
+        }
+        return instructions;
+    }
+
+    private static int getCodeAddress(FunctionInfo functionInfo) {
+        return functionInfo.getDefaultWorkerInfo().getCodeAttributeInfo().getCodeAddrs();
+    }
+
+    private static boolean isJump(int opcode) {
+        return opcode == InstructionCodes.GOTO || opcode == InstructionCodes.BR_TRUE ||
+                opcode == InstructionCodes.BR_FALSE ||
+                (opcode >= InstructionCodes.BR_IEQ && opcode <= InstructionCodes.BR_ILE);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.InstructionACALL;
+import org.ballerinalang.util.codegen.Instruction.InstructionVCALL;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests related to the inline caches and dispatch tables of ACALL and VCALL call sites.
+ */
+public class CallSiteCacheTest {
+
+    private static final String SOURCE = "test-src/vm/call-site-cache-test.bal";
+
+    @Test
+    public void testPolymorphicFunctionCall() {
+        CompileResult result = compile();
+        InstructionVCALL callSite = getCallSites(result, InstructionVCALL.class).get(0);
+        assertAreas(BRunUtil.invoke(result, "testPolymorphicFunctionCall", new BValue[0]));
+        Assert.assertEquals(callSite.cache.getReceiverType().getName(), "Triangle");
+        // Calls made with a warm cache and filled dispatch tables resolve the same functions
+        assertAreas(BRunUtil.invoke(result, "testPolymorphicFunctionCall", new BValue[0]));
+    }
+
+    @Test
+    public void testPolymorphicActionCall() {
+        CompileResult result = compile();
+        assertLookups(BRunUtil.invoke(result, "testPolymorphicActionCall", new BValue[0]));
+        Assert.assertTrue(getCallSites(result, InstructionACALL.class).stream()
+                .anyMatch(callSite -> callSite.cache.getReceiverType().getName().equals("PrefixedStore")));
+        assertLookups(BRunUtil.invoke(result, "testPolymorphicActionCall", new BValue[0]));
+    }
+
+    @Test
+    public void testCallSitesWithoutDispatchIndex() {
+        CompileResult result = compile();
+        List<InstructionVCALL> functionCallSites = getCallSites(result, InstructionVCALL.class);
+        functionCallSites.forEach(callSite -> callSite.funcIndex = -1);
+        List<InstructionACALL> actionCallSites = getCallSites(result, InstructionACALL.class);
+        actionCallSites.forEach(callSite -> callSite.actionIndex = -1);
+
+        assertAreas(BRunUtil.invoke(result, "testPolymorphicFunctionCall", new BValue[0]));
+        assertLookups(BRunUtil.invoke(result, "testPolymorphicActionCall", new BValue[0]));
+    }
+
+    private static CompileResult compile() {
+        CompileResult result = BCompileUtil.compile(SOURCE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+        return result;
+    }
+
+    private static <T extends Instruction> List<T> getCallSites(CompileResult result, Class<T> instructionClass) {
+        List<T> callSites = Arrays.stream(result.getProgFile().getEntryPackage().getInstructions())
+                .filter(instructionClass::isInstance)
+                .map(instructionClass::cast)
+                .collect(Collectors.toList());
+        Assert.assertFalse(callSites.isEmpty());
+        return callSites;
+    }
+
+    private static void assertAreas(BValue[] vals) {
+        Assert.assertEquals(vals.length, 5);
+        long[] areas = Arrays.stream(vals).mapToLong(val -> ((BInteger) val).intValue()).toArray();
+        Assert.assertEquals(areas, new long[] { 16, 6, 27, 16, 6 });
+    }
+
+    private static void assertLookups(BValue[] vals) {
+        Assert.assertEquals(vals.length, 4);
+        Assert.assertEquals(vals[0].stringValue(), "db:a");
+        Assert.assertEquals(vals[1].stringValue(), "cached-db:b");
+        Assert.assertEquals(vals[2].stringValue(), "db:c");
+        Assert.assertEquals(vals[3].stringValue(), "cached-db:d");
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests related to reusing BVM stack frames across function calls.
+ */
+public class StackFrameReuseTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/frame-reuse-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testRecursiveCalls() {
+        BValue[] vals = BRunUtil.invoke(result, "testRecursiveCalls", new BValue[0]);
+        Assert.assertEquals(vals.length, 1);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 6765);
+    }
+
+    @Test
+    public void testCallsWithDifferentFrameShapes() {
+        BValue[] vals = BRunUtil.invoke(result, "testCallsWithDifferentFrameShapes", new BValue[0]);
+        Assert.assertEquals(vals.length, 3);
+        Assert.assertEquals(vals[0].stringValue(), "VAL99");
+        Assert.assertEquals(((BFloat) vals[1]).floatValue(), 2475.0);
+        Assert.assertEquals(((BInteger) vals[2]).intValue(), 4950);
+    }
+
+    @Test
+    public void testUninitializedLocals() {
+        BValue[] vals = BRunUtil.invoke(result, "testUninitializedLocals", new BValue[0]);
+        Assert.assertEquals(vals.length, 2);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 55);
+        Assert.assertEquals(((BBoolean) vals[1]).booleanValue(), false);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.bvm.BLangVMProfiler;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Tests related to the BVM sampling profiler.
+ */
+public class VMProfilerTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/profiler-test.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @AfterMethod
+    public void stopProfiler() {
+        BLangVMProfiler.stop();
+    }
+
+    @Test
+    public void testCallCounts() {
+        BLangVMProfiler profiler = BLangVMProfiler.start(1);
+        BValue[] args = {new BInteger(1000)};
+        BValue[] vals = BRunUtil.invoke(result, "sumOfSquares", args);
+        BLangVMProfiler.stop();
+
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 332833500);
+        FunctionInfo square = result.getProgFile().getEntryPackage().getFunctionInfo("square");
+        Assert.assertEquals(profiler.getCallCount(square), 1000);
+    }
+
+    @Test
+    public void testCollapsedStacks() {
+        BLangVMProfiler profiler = BLangVMProfiler.start(1);
+        BValue[] args = {new BInteger(100000)};
+        // Keep the VM busy until at least one sample is taken.
+        for (int i = 0; i < 100 && profiler.getSampleCount() == 0; i++) {
+            BRunUtil.invoke(result, "sumOfSquares", args);
+        }
+        BLangVMProfiler.stop();
+
+        Assert.assertTrue(profiler.getSampleCount() > 0);
+        StringWriter stacks = new StringWriter();
+        profiler.writeCollapsedStacks(new PrintWriter(stacks));
+        Assert.assertTrue(stacks.toString().contains("sumOfSquares"));
+        StringWriter summary = new StringWriter();
+        profiler.writeSummary(new PrintWriter(summary));
+        Assert.assertTrue(summary.toString().contains("sumOfSquares"));
+    }
+}
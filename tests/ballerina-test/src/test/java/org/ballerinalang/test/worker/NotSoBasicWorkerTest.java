@@ -23,6 +23,8 @@ import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.ThreadPoolMetricsMXBean;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -122,6 +124,24 @@ public class NotSoBasicWorkerTest {
         Assert.assertEquals(map.get("x").intValue(), 555);
     }
     
+    @Test
+    public void forkJoinCancelLosingWorkers() throws InterruptedException {
+        BValue[] vals = BRunUtil.invoke(result, "forkJoinCancelLosingWorkers", new BValue[0]);
+        Assert.assertEquals(vals.length, 1);
+        @SuppressWarnings("unchecked")
+        BMap<String, BInteger> map = (BMap<String, BInteger>) vals[0];
+        Assert.assertEquals(map.get("x").intValue(), 1);
+        // The losing worker has started before the winner finishes, and then sleeps for a minute unless it is woken
+        // up and stopped by the cancellation which follows the join. Either way it must never update the map.
+        ThreadPoolMetricsMXBean workerPool = ThreadPoolFactory.getInstance().getWorkerExecutorMetrics();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (workerPool.getActiveThreadCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(workerPool.getActiveThreadCount(), 0, "the losing worker was not stopped");
+        Assert.assertFalse(map.hasKey("late"));
+    }
+    
     @Test
     public void forkJoinWithAllSelectedJoin1() {
         BValue[] vals = BRunUtil.invoke(result, "forkJoinWithAllSelectedJoin1", new BValue[0]);
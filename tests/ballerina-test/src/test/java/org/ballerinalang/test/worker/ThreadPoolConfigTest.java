@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.config.utils.ConfigFileParserException;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.runtime.threadpool.BLangThreadPoolExecutor;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for the thread pools configured through the config registry.
+ *
+ * @since 0.961.1
+ */
+public class ThreadPoolConfigTest {
+
+    private ConfigRegistry configRegistry;
+
+    @BeforeClass
+    public void setup() throws ConfigFileParserException {
+        Map<String, String> runtimeParams = new HashMap<>();
+        runtimeParams.put("ballerina.runtime.aborting.pool.size", "2");
+        runtimeParams.put("ballerina.runtime.aborting.queue.capacity", "1");
+        runtimeParams.put("ballerina.runtime.callerruns.pool.size", "1");
+        runtimeParams.put("ballerina.runtime.callerruns.queue.capacity", "0");
+        runtimeParams.put("ballerina.runtime.callerruns.rejection.policy", "callerRuns");
+        runtimeParams.put("ballerina.runtime.invalid.pool.size", "many");
+        runtimeParams.put("ballerina.runtime.invalidpolicy.rejection.policy", "discard");
+        configRegistry = ConfigRegistry.getInstance();
+        configRegistry.initRegistry(runtimeParams);
+        configRegistry.loadConfigurations();
+    }
+
+    @Test(description = "Test whether a saturated pool rejects tasks unless configured otherwise")
+    public void testAbortByDefault() throws InterruptedException {
+        BLangThreadPoolExecutor executor = ThreadPoolFactory.createThreadPool(configRegistry, "aborting", 8,
+                new BLangThreadFactory("aborting"));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        try {
+            Assert.assertEquals(executor.getMaximumPoolSize(), 2);
+            Assert.assertEquals(executor.getQueueCapacity(), 1);
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    await(release);
+                });
+            }
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+            executor.execute(() -> await(release));
+            Assert.assertEquals(executor.getQueueDepth(), 1);
+            Assert.assertEquals(executor.getActiveThreadCount(), 2);
+
+            try {
+                executor.execute(() -> Assert.fail("a rejected task ran"));
+                Assert.fail("a task was accepted by a saturated pool");
+            } catch (RejectedExecutionException e) {
+                Assert.assertEquals(e.getMessage(), "thread pool 'aborting' is saturated");
+            }
+            Assert.assertEquals(executor.getRejectedTaskCount(), 1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test(description = "Test whether the submitting thread runs rejected tasks when configured to")
+    public void testCallerRuns() throws InterruptedException {
+        BLangThreadPoolExecutor executor = ThreadPoolFactory.createThreadPool(configRegistry, "callerruns", 8,
+                new BLangThreadFactory("callerruns"));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Assert.assertEquals(executor.getMaximumPoolSize(), 1);
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> runner = new AtomicReference<>();
+            executor.execute(() -> runner.set(Thread.currentThread()));
+            Assert.assertSame(runner.get(), Thread.currentThread());
+            Assert.assertEquals(executor.getRejectedTaskCount(), 1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test(description = "Test the defaults of a pool which is not configured",
+          expectedExceptions = RejectedExecutionException.class)
+    public void testDefaults() {
+        BLangThreadPoolExecutor executor = ThreadPoolFactory.createThreadPool(configRegistry, "unconfigured", 3,
+                new BLangThreadFactory("unconfigured"));
+        Assert.assertEquals(executor.getMaximumPoolSize(), 3);
+        Assert.assertEquals(executor.getQueueCapacity(), 10000);
+        executor.shutdown();
+        // Tasks submitted after a shutdown are rejected whatever the policy is
+        executor.execute(() -> { });
+    }
+
+    @Test(description = "Test invalid pool sizes", expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = "invalid value for ballerina.runtime.invalid.pool.size: many")
+    public void testInvalidPoolSize() {
+        ThreadPoolFactory.createThreadPool(configRegistry, "invalid", 1, new BLangThreadFactory("invalid"));
+    }
+
+    @Test(description = "Test invalid rejection policies", expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = "invalid thread pool rejection policy: discard")
+    public void testInvalidRejectionPolicy() {
+        ThreadPoolFactory.createThreadPool(configRegistry, "invalidpolicy", 1,
+                new BLangThreadFactory("invalidpolicy"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
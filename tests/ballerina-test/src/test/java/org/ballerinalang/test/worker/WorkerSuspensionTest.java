@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.BLangThreadPoolExecutor;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.ThreadPoolMetricsMXBean;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for workers which give up their thread while waiting on a worker receive.
+ */
+public class WorkerSuspensionTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/workers/worker-suspension.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test a chain of workers where each worker waits on the previous one")
+    public void testRelay() {
+        BValue[] returns = BRunUtil.invoke(result, "relay", new BValue[] { new BInteger(10) });
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 12);
+    }
+
+    @Test(description = "Test repeated invocations do not leak threads on suspended receivers")
+    public void testRepeatedRelay() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            BValue[] returns = BRunUtil.invoke(result, "relay", new BValue[] { new BInteger(i) });
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), i + 2);
+        }
+        // The last workers may still be returning their threads after the function returned.
+        ThreadPoolMetricsMXBean workerPool = ThreadPoolFactory.getInstance().getWorkerExecutorMetrics();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (workerPool.getActiveThreadCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(workerPool.getActiveThreadCount(), 0);
+    }
+
+    @Test(description = "Test fork/join workers waiting on a receive do not hold pool threads")
+    public void testForkJoinRelay() throws InterruptedException {
+        ThreadPoolMetricsMXBean workerPool = ThreadPoolFactory.getInstance().getWorkerExecutorMetrics();
+        BValue[][] returns = new BValue[1][];
+        Thread invoker = new Thread(() ->
+                returns[0] = BRunUtil.invoke(result, "forkJoinRelay", new BValue[] { new BInteger(3) }));
+        long start = System.currentTimeMillis();
+        invoker.start();
+        // The first worker sleeps for a second before it sends, while the seven other workers wait for data. They
+        // have all started and given up their threads well before the sleep is over.
+        int peakActiveThreads = 0;
+        while (invoker.isAlive()) {
+            int activeThreads = workerPool.getActiveThreadCount();
+            if (System.currentTimeMillis() - start > 250) {
+                peakActiveThreads = Math.max(peakActiveThreads, activeThreads);
+            }
+            Thread.sleep(1);
+        }
+        invoker.join();
+        Assert.assertEquals(((BInteger) returns[0][0]).intValue(), 5);
+        Assert.assertTrue(peakActiveThreads <= 2, "fork/join workers held " + peakActiveThreads + " threads");
+    }
+
+    @Test(description = "Test receiving on an empty channel resumes once the data is sent")
+    public void testReceiveBeforeSend() {
+        BValue[] returns = BRunUtil.invoke(result, "receiveBeforeSend", new BValue[] { new BString("hello") });
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(returns[0].stringValue(), "hello world");
+    }
+
+    @Test(description = "Test workers waiting on a receive are resumed while the resource pool is saturated",
+          timeOut = 60000)
+    public void testResumeOnSaturatedPool() throws InterruptedException {
+        CountDownLatch release = saturate((BLangThreadPoolExecutor) ThreadPoolFactory.getInstance().getExecutor());
+        try {
+            BValue[] returns = BRunUtil.invoke(result, "relay", new BValue[] { new BInteger(10) });
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 12);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(description = "Test workers which cannot be started fail their caller while the worker pool is saturated",
+          timeOut = 60000)
+    public void testStartOnSaturatedPool() throws InterruptedException {
+        CountDownLatch release = saturate(
+                (BLangThreadPoolExecutor) ThreadPoolFactory.getInstance().getWorkerExecutor());
+        try {
+            BRunUtil.invoke(result, "relay", new BValue[] { new BInteger(10) });
+            Assert.fail("workers were started on a saturated pool");
+        } catch (BLangRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("unable to start workers"), e.getMessage());
+        } finally {
+            release.countDown();
+        }
+        BValue[] returns = BRunUtil.invoke(result, "relay", new BValue[] { new BInteger(10) });
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 12);
+    }
+
+    private static CountDownLatch saturate(BLangThreadPoolExecutor pool) throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(pool.getMaximumPoolSize());
+        for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+            pool.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < pool.getQueueCapacity(); i++) {
+            pool.execute(() -> { });
+        }
+        return release;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS Reading(
+  id       INTEGER,
+  label    VARCHAR(50),
+  PRIMARY KEY (id)
+);
+/
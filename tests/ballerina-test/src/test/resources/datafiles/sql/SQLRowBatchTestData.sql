@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS Measurement(
+  id       INTEGER,
+  reading  DOUBLE,
+  ratio    DECIMAL(10,2),
+  label    VARCHAR(50),
+  valid    BOOLEAN,
+  PRIMARY KEY (id)
+);
+/
+INSERT INTO Measurement (id, reading, ratio, label, valid)
+  SELECT x, x * 1.5, x * 0.25, 'label ' || x, CASE WHEN MOD(x, 2) = 0 THEN TRUE ELSE FALSE END
+  FROM UNNEST(SEQUENCE_ARRAY(1, 20000, 1)) AS t(x);
+/
@@ -0,0 +1,46 @@
+import ballerina.data.sql;
+
+struct ResultCount {
+    int COUNTVAL;
+}
+
+function insertReadings (int firstId, int count, int batchChunkSize, boolean commitBatchChunks,
+                         boolean rewriteBatchedInserts) (int[]) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_BATCH_UPDATE", "SA", "",
+                                   {maximumPoolSize:1, batchChunkSize:batchChunkSize,
+                                    commitBatchChunks:commitBatchChunks,
+                                    rewriteBatchedInserts:rewriteBatchedInserts});
+    }
+
+    sql:Parameter[][] parameters = [];
+    int i = 0;
+    while (i < count) {
+        sql:Parameter para1 = {sqlType:sql:Type.INTEGER, value:firstId + i};
+        sql:Parameter para2 = {sqlType:sql:Type.VARCHAR, value:"reading " + (firstId + i)};
+        parameters[i] = [para1, para2];
+        i = i + 1;
+    }
+    int[] updatedCount = testDB.batchUpdate("Insert into Reading (id, label) values (?, ?)", parameters);
+    testDB.close();
+    return updatedCount;
+}
+
+function countReadings (int firstId, int lastId) (int count) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_BATCH_UPDATE", "SA", "",
+                                   {maximumPoolSize:1});
+    }
+
+    sql:Parameter para1 = {sqlType:sql:Type.INTEGER, value:firstId};
+    sql:Parameter para2 = {sqlType:sql:Type.INTEGER, value:lastId};
+    sql:Parameter[] parameters = [para1, para2];
+    table dt = testDB.select("SELECT count(*) as countval from Reading where id >= ? and id <= ?", parameters,
+                             typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, _ = (ResultCount)dt.getNext();
+        count = rs.COUNTVAL;
+    }
+    testDB.close();
+    return;
+}
@@ -0,0 +1,62 @@
+import ballerina.data.sql;
+
+struct Measurement {
+    int ID;
+    float READING;
+    float RATIO;
+    string LABEL;
+    boolean VALID;
+}
+
+function sumMeasurements (int fetchSize) (int count, int idSum, float readingSum, int validCount) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_ROW_BATCH", "SA", "",
+                                   {maximumPoolSize:1, fetchSize:fetchSize});
+    }
+
+    table dt = testDB.select("SELECT id, reading, ratio, label, valid from Measurement", null,
+                             typeof Measurement);
+    while (dt.hasNext()) {
+        var rs, _ = (Measurement)dt.getNext();
+        count = count + 1;
+        idSum = idSum + rs.ID;
+        readingSum = readingSum + rs.READING;
+        if (rs.VALID) {
+            validCount = validCount + 1;
+        }
+    }
+    testDB.close();
+    return;
+}
+
+function measurementsToJson (int fetchSize, int maxId) (string) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_ROW_BATCH", "SA", "",
+                                   {maximumPoolSize:1, fetchSize:fetchSize});
+    }
+
+    sql:Parameter para = {sqlType:sql:Type.INTEGER, value:maxId};
+    sql:Parameter[] parameters = [para];
+    table dt = testDB.select("SELECT id, reading, ratio, label, valid from Measurement where id <= ?", parameters,
+                             null);
+    var j, _ = <json>dt;
+    string result = j.toString();
+    testDB.close();
+    return result;
+}
+
+function measurementsToXml (int fetchSize, int maxId) (string) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_ROW_BATCH", "SA", "",
+                                   {maximumPoolSize:1, fetchSize:fetchSize});
+    }
+
+    sql:Parameter para = {sqlType:sql:Type.INTEGER, value:maxId};
+    sql:Parameter[] parameters = [para];
+    table dt = testDB.select("SELECT id, reading, ratio, label, valid from Measurement where id <= ?", parameters,
+                             null);
+    var x, _ = <xml>dt;
+    string result = <string>x;
+    testDB.close();
+    return result;
+}
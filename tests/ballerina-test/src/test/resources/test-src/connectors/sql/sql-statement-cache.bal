@@ -0,0 +1,77 @@
+import ballerina.data.sql;
+
+struct ResultCustomers {
+    string FIRSTNAME;
+}
+
+struct ResultCount {
+    int COUNTVAL;
+}
+
+function selectById (int count, int cacheSize) (string firstName) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_STATEMENT_CACHE", "SA", "",
+                                   {maximumPoolSize:1, statementCacheSize:cacheSize});
+    }
+
+    int i = 0;
+    while (i < count) {
+        sql:Parameter para = {sqlType:sql:Type.INTEGER, value:1};
+        sql:Parameter[] parameters = [para];
+        table dt = testDB.select("SELECT FirstName from Customers where registrationID = ?", parameters,
+                                 typeof ResultCustomers);
+        while (dt.hasNext()) {
+            var rs, _ = (ResultCustomers)dt.getNext();
+            firstName = rs.FIRSTNAME;
+        }
+        i = i + 1;
+    }
+    testDB.close();
+    return;
+}
+
+function insertCustomers (int count, int cacheSize) (int insertCount) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_STATEMENT_CACHE", "SA", "",
+                                   {maximumPoolSize:1, statementCacheSize:cacheSize});
+    }
+
+    int i = 0;
+    while (i < count) {
+        sql:Parameter para1 = {sqlType:sql:Type.VARCHAR, value:"James"};
+        sql:Parameter para2 = {sqlType:sql:Type.INTEGER, value:i + 100};
+        sql:Parameter[] parameters = [para1, para2];
+        insertCount = insertCount + testDB.update("Insert into Customers (firstName, registrationID) values (?, ?)",
+                                                  parameters);
+        i = i + 1;
+    }
+    testDB.close();
+    return;
+}
+
+function countByIds (int[] firstIds, int[] secondIds) (int firstCount, int secondCount) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/", 0, "TEST_SQL_STATEMENT_CACHE", "SA", "",
+                                   {maximumPoolSize:1});
+    }
+
+    sql:Parameter para = {sqlType:sql:Type.INTEGER, value:firstIds};
+    sql:Parameter[] parameters = [para];
+    table dt = testDB.select("SELECT count(*) as countVal from Customers where registrationID in (?)", parameters,
+                             typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, _ = (ResultCount)dt.getNext();
+        firstCount = rs.COUNTVAL;
+    }
+
+    para = {sqlType:sql:Type.INTEGER, value:secondIds};
+    parameters = [para];
+    dt = testDB.select("SELECT count(*) as countVal from Customers where registrationID in (?)", parameters,
+                       typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, _ = (ResultCount)dt.getNext();
+        secondCount = rs.COUNTVAL;
+    }
+    testDB.close();
+    return;
+}
@@ -364,3 +364,17 @@ function nextInsideLock() (int, string) {
     }
 }
 
+
+int readOnlyInt = 10;
+
+string readOnlyString = "read only";
+
+function lockReadOnlyGlobals() (int, string) {
+    int i;
+    string s;
+    lock {
+        i = readOnlyInt * 2;
+        s = readOnlyString + " value";
+    }
+    return i, s;
+}
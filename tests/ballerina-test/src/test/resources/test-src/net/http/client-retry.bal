@@ -0,0 +1,11 @@
+import ballerina.net.http;
+
+function testRetryRefusedConnection (string serviceUri) (http:InResponse, http:HttpConnectorError) {
+    endpoint<http:HttpClient> clientEP {
+        create http:HttpClient(serviceUri, {retryConfig:{count:2, interval:200}});
+    }
+
+    http:OutRequest request = {};
+    var response, err = clientEP.get("/hello", request);
+    return response, err;
+}
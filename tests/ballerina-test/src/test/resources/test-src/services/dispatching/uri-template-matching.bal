@@ -282,6 +282,17 @@ service<http> echo33 {
         res.setJsonPayload(responseJson);
         _ = conn.respond(res);
     }
+
+    @http:resourceConfig {
+        methods:["GET"],
+        path:"/echo33/*"
+    }
+    resource echo2 (http:Connection conn, http:InRequest req) {
+        http:OutResponse res = {};
+        json responseJson = {"echo33":"echo2"};
+        res.setJsonPayload(responseJson);
+        _ = conn.respond(res);
+    }
 }
 
 service<http> echo44 {
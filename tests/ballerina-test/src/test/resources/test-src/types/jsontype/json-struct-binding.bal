@@ -0,0 +1,30 @@
+struct Person {
+    string name;
+    int age;
+    float score;
+    boolean alive;
+    json info;
+    map address;
+    int[] marks;
+    string[] tags;
+    Person parent;
+    Person[] children;
+}
+
+function jsonToStruct (json j) (Person, TypeConversionError) {
+    var p, e = <Person> j;
+    return p, e;
+}
+
+function structToJson (Person p) (json, TypeConversionError) {
+    var j, e = <json> p;
+    return j, e;
+}
+
+function jsonToStructToJson (json j) (json) {
+    Person p;
+    p, _ = <Person> j;
+    json result;
+    result, _ = <json> p;
+    return result;
+}
@@ -102,3 +102,29 @@ function testMapSynchronization()(int)
         return lengthof m;
     }
 }
+
+struct MapHolder {
+    map attributes;
+}
+
+MapHolder sharedHolder = {};
+any[] sharedArray = [];
+
+function testMapStoredInSharedStruct() (map) {
+    map m = {"a":"b"};
+    sharedHolder.attributes = m;
+    return m;
+}
+
+function testMapStoredInSharedArray() (map) {
+    map m = {"a":"b"};
+    sharedArray[0] = m;
+    return m;
+}
+
+function testMapStoredInLocalStruct() (map) {
+    MapHolder holder = {};
+    map m = {"a":"b"};
+    holder.attributes = m;
+    return m;
+}
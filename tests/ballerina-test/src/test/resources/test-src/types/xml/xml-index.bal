@@ -0,0 +1,24 @@
+function countItems (xml order, int times) (int) {
+    int count = 0;
+    int i = 0;
+    while (i < times) {
+        count = count + lengthof order.selectChildren("items").selectChildren("item");
+        i = i + 1;
+    }
+    return count;
+}
+
+function addItem (xml order, string name) (int, int) {
+    xml items = order.selectChildren("items");
+    int before = lengthof items.selectChildren("item");
+    var item, _ = <xml> ("<item>" + name + "</item>");
+    items.setChildren(items.selectChildren("item") + item);
+    return before, lengthof order.selectDescendants("item");
+}
+
+function moveItems (xml from, xml to) (int, int) {
+    xml items = from.selectDescendants("item");
+    int before = lengthof from.selectDescendants("item");
+    to.setChildren(items);
+    return before, lengthof from.selectDescendants("item");
+}
@@ -0,0 +1,17 @@
+xmlns "http://schemas.xmlsoap.org/soap/envelope/" as soap;
+xmlns "http://example.com/orders" as ord;
+
+function getOrderId (xml envelope) (string) {
+    xml order = envelope.selectChildren(soap:Body).selectChildren(ord:placeOrder);
+    return order.selectChildren(ord:id).getTextValue();
+}
+
+function getItemNames (xml envelope) (xml) {
+    return envelope.selectDescendants(ord:name);
+}
+
+function setOrderStatus (xml envelope, string status) (xml) {
+    xml order = envelope.selectChildren(soap:Body).selectChildren(ord:placeOrder);
+    order@["status"] = status;
+    return envelope;
+}
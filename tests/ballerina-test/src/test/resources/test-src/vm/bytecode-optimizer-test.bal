@@ -0,0 +1,91 @@
+function countEven(int limit) (int) {
+    int i = 0;
+    int count = 0;
+    while (i < limit) {
+        if (i % 2 == 0) {
+            count = count + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+function foldConstants() (int, boolean) {
+    int a = 2 + 3 * 4;
+    int b = a - 4;
+    boolean flag = b > 5 && a != 14;
+    return b * 10, flag;
+}
+
+function nestedLoops(int n) (int) {
+    int total = 0;
+    int i = 0;
+    while (i < n) {
+        int j = n;
+        while (j > i) {
+            total = total + j - i;
+            j = j - 1;
+        }
+        i = i + 1;
+    }
+    return total;
+}
+
+function compareChain(int x) (string) {
+    if (x <= 0) {
+        return "non-positive";
+    } else if (x >= 100) {
+        return "large";
+    } else if (x != 42) {
+        return "small";
+    }
+    return "answer";
+}
+
+function compareAll(int a, int b) (int) {
+    int r = 0;
+    if (a == b) {
+        r = r + 1;
+    }
+    if (a != b) {
+        r = r + 2;
+    }
+    if (a > b) {
+        r = r + 4;
+    }
+    if (a >= b) {
+        r = r + 8;
+    }
+    if (a < b) {
+        r = r + 16;
+    }
+    if (a <= b) {
+        r = r + 32;
+    }
+    return r;
+}
+
+function addImmediates(int a) (int, int, int) {
+    return a + 3, 4 + a, a - 5;
+}
+
+function foldArithmetic() (int) {
+    return (2 + 3) * 4 - 6;
+}
+
+function foldBranch() (string) {
+    if (3 > 2) {
+        return "taken";
+    }
+    return "not taken";
+}
+
+function propagateConstants() (int) {
+    int a = 5;
+    int b = a + 2;
+    return b * 2;
+}
+
+function propagateCopies(int a) (int) {
+    return +a + 7;
+}
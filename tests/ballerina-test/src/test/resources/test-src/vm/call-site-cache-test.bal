@@ -0,0 +1,66 @@
+struct Shape {
+    int size;
+}
+
+function <Shape s> area () (int) {
+    return s.size * s.size;
+}
+
+struct Triangle {
+    int size;
+    int height;
+}
+
+function <Triangle t> area () (int) {
+    return t.size * t.height / 2;
+}
+
+struct Circle {
+    int size;
+    int radius;
+}
+
+function <Circle c> area () (int) {
+    return 3 * c.radius * c.radius;
+}
+
+function areaOf (Shape s) (int) {
+    return s.area();
+}
+
+function testPolymorphicFunctionCall () (int, int, int, int, int) {
+    Shape square = {size:4};
+    Triangle t = {size:4, height:3};
+    var triangle = (Shape)t;
+    Circle c = {size:6, radius:3};
+    var circle = (Shape)c;
+    return areaOf(square), areaOf(triangle), areaOf(circle), areaOf(square), areaOf(triangle);
+}
+
+connector Store (string name) {
+    action get (string key) (string) {
+        return name + ":" + key;
+    }
+}
+
+connector PrefixedStore (Store store, string prefix) {
+    action get (string key) (string) {
+        endpoint<Store> ep {
+            store;
+        }
+        return prefix + ep.get(key);
+    }
+}
+
+function lookup (Store store, string key) (string) {
+    endpoint<Store> ep {
+        store;
+    }
+    return ep.get(key);
+}
+
+function testPolymorphicActionCall () (string, string, string, string) {
+    Store store = create Store("db");
+    Store prefixed = (Store)create PrefixedStore(store, "cached-");
+    return lookup(store, "a"), lookup(prefixed, "b"), lookup(store, "c"), lookup(prefixed, "d");
+}
@@ -0,0 +1,81 @@
+struct Person {
+    string name;
+    int age;
+}
+
+function fib(int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function testRecursiveCalls() (int) {
+    return fib(20);
+}
+
+function testCallsWithDifferentFrameShapes() (string, float, int) {
+    int i = 0;
+    string s = "";
+    float f = 0.0;
+    int total = 0;
+    while (i < 100) {
+        s = concat(i);
+        f = f + half(i);
+        total = total + ageOf(newPerson(s, i));
+        i = i + 1;
+    }
+    return s, f, total;
+}
+
+function concat(int i) (string) {
+    string value = "val" + i;
+    return value.toUpperCase();
+}
+
+function half(int i) (float) {
+    float x = <float> i;
+    return x / 2;
+}
+
+function newPerson(string name, int age) (Person) {
+    Person p = {name:name, age:age};
+    return p;
+}
+
+function ageOf(Person p) (int) {
+    return p.age;
+}
+
+function testUninitializedLocals() (int, boolean) {
+    int i = 0;
+    int sum = 0;
+    boolean b;
+    while (i < 10) {
+        sum = sum + dirty(i);
+        var r1, r2 = locals(i);
+        sum = sum + r1;
+        b = r2;
+        i = i + 1;
+    }
+    return sum, b;
+}
+
+function dirty(int seed) (int) {
+    int x = seed + 1;
+    boolean z = true;
+    if (z) {
+        return x;
+    }
+    return 0;
+}
+
+function locals(int seed) (int, boolean) {
+    int x;
+    boolean z;
+    if (seed > 100) {
+        x = seed;
+        z = true;
+    }
+    return x, z;
+}
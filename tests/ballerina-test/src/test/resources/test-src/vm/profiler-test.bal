@@ -0,0 +1,13 @@
+function square(int n) (int) {
+    return n * n;
+}
+
+function sumOfSquares(int count) (int) {
+    int i = 0;
+    int total = 0;
+    while (i < count) {
+        total = total + square(i);
+        i = i + 1;
+    }
+    return total;
+}
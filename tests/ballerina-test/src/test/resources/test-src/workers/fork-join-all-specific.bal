@@ -21,7 +21,7 @@ function testForkJoinAllOfSpecific()(string[]) {
             results[0], _ = (string) abc[0];
             results[1], _ = (string) xyz[0];
             return results;
-        } timeout (30) (map airlineResponses) {
+        } timeout (30000) (map airlineResponses) {
             return results;
         }
 }
\ No newline at end of file
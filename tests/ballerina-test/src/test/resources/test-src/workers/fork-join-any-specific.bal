@@ -31,7 +31,7 @@ function testForkJoinAnyOfSpecific () (string[]) {
             results[0], _ = (string)pqr[0];
         }
         return results;
-    } timeout (30) (map airlineResponses) {
+    } timeout (30000) (map airlineResponses) {
         return results;
     }
 }
\ No newline at end of file
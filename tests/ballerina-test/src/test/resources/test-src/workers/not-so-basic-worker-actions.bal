@@ -16,7 +16,7 @@ function forkJoinWithTimeoutTest1() (map) {
 	     b -> w1;
 	     sleep(5000);
 	   }
-    } join (all) (map results) { m["x"] = 25; } timeout (1) (map results) { m["x"] = 15; }
+    } join (all) (map results) { m["x"] = 25; } timeout (1000) (map results) { m["x"] = 15; }
     return m;
 }
 
@@ -32,7 +32,7 @@ function forkJoinWithTimeoutTest2() (map) {
 	     int b = 15;
 	     sleep(100);
 	   }
-    } join (all) (map results) { m["x"] = 25; } timeout (5) (map results) { m["x"] = 15; }
+    } join (all) (map results) { m["x"] = 25; } timeout (5000) (map results) { m["x"] = 15; }
     return m;
 }
 
@@ -212,7 +212,7 @@ function forkJoinWithSomeSelectedJoin5() (map) {
 	     m["x"] = a * 2;
 	     a -> w2;
 	   }
-	} join (some 2 w1, w2, w3) (map results) { } timeout (1) (map results) {  m["x"] = 555;  }
+	} join (some 2 w1, w2, w3) (map results) { } timeout (1000) (map results) {  m["x"] = 555;  }
 	return m;
 }
 
@@ -274,7 +274,7 @@ function forkJoinWithAllSelectedJoin2() (map) {
 	     (a * 2) -> w1;
 	     m["x"] <- w2;
 	   }
-	} join (all w2, w3) (map results) { } timeout (1) (map results) {  m["x"] = 777;  }
+	} join (all w2, w3) (map results) { } timeout (1000) (map results) {  m["x"] = 777;  }
 	return m;
 }
 
@@ -304,7 +304,7 @@ function forkJoinWithMessagePassingTimeoutNotTriggered() (map) {
         anyArray, _ = (any[]) results["w2"];
         a, _ = (int) anyArray[0];
         m["x"] = (a + 1) * b;
-    } timeout (5) (map results) { 
+    } timeout (5000) (map results) { 
         m["x"] = 15; 
     }
     return m;
@@ -482,3 +482,23 @@ function testWorkerStackCreation ()(int) {
         println("testWorkerStackCreation done.");
     }
 }
+
+function forkJoinCancelLosingWorkers() (map) {
+    map m = {};
+    fork {
+	   worker w1 {
+	     int a = 5;
+	     int b = 0;
+	     b <- w2;
+	     a -> fork;
+	   }
+	   worker w2 {
+	     int a = 10;
+	     a -> w1;
+	     sleep(60000);
+	     m["late"] = a;
+	     a -> fork;
+	   }
+	} join (some 1) (map results) { m["x"] = 1; }
+	return m;
+}
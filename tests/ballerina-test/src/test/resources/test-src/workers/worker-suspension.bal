@@ -0,0 +1,106 @@
+function relay (int k) (int) {
+    worker default {
+        int x = k;
+        x -> w1;
+        x <- w5;
+        return x;
+    }
+
+    worker w1 {
+        int x;
+        x <- default;
+        x -> w2;
+    }
+
+    worker w2 {
+        int x;
+        x <- w1;
+        x = x + 1;
+        x -> w3;
+    }
+
+    worker w3 {
+        int x;
+        x <- w2;
+        x -> w4;
+    }
+
+    worker w4 {
+        int x;
+        x <- w3;
+        x = x + 1;
+        x -> w5;
+    }
+
+    worker w5 {
+        int x;
+        x <- w4;
+        x -> default;
+    }
+}
+
+function receiveBeforeSend (string s) (string) {
+    worker default {
+        string reply;
+        reply <- w1;
+        return reply;
+    }
+
+    worker w1 {
+        string reply = s + " world";
+        reply -> default;
+    }
+}
+
+function forkJoinRelay (int k) (int) {
+    int result;
+    fork {
+        worker w1 {
+            int x = k;
+            sleep(1000);
+            x -> w2;
+        }
+        worker w2 {
+            int x;
+            x <- w1;
+            x = x + 1;
+            x -> w3;
+        }
+        worker w3 {
+            int x;
+            x <- w2;
+            x -> w4;
+        }
+        worker w4 {
+            int x;
+            x <- w3;
+            x = x + 1;
+            x -> w5;
+        }
+        worker w5 {
+            int x;
+            x <- w4;
+            x -> w6;
+        }
+        worker w6 {
+            int x;
+            x <- w5;
+            x -> w7;
+        }
+        worker w7 {
+            int x;
+            x <- w6;
+            x -> w8;
+        }
+        worker w8 {
+            int x;
+            x <- w7;
+            x -> fork;
+        }
+    } join (all w8) (map results) {
+        any[] values;
+        values, _ = (any[]) results["w8"];
+        result, _ = (int) values[0];
+    }
+    return result;
+}